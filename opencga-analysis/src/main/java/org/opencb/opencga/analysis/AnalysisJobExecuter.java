@@ -7,14 +7,11 @@ import org.opencb.opencga.catalog.CatalogManager;
 import org.opencb.opencga.catalog.beans.File;
 import org.opencb.opencga.catalog.beans.Job;
 import org.opencb.opencga.catalog.io.CatalogIOManagerException;
-import org.opencb.opencga.lib.SgeManager;
 import org.opencb.opencga.lib.common.Config;
 import org.opencb.opencga.analysis.beans.Analysis;
 import org.opencb.opencga.analysis.beans.Execution;
 import org.opencb.opencga.analysis.beans.Option;
 import org.opencb.opencga.lib.common.StringUtils;
-import org.opencb.opencga.lib.exec.Command;
-import org.opencb.opencga.lib.exec.SingleProcess;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,6 +39,7 @@ public class AnalysisJobExecuter {
     protected Execution execution;
 
     protected static ObjectMapper jsonObjectMapper  = new ObjectMapper();
+    private static JobExecutor defaultJobExecutor;
 
     private AnalysisJobExecuter() throws  IOException, AnalysisExecutionException {
         home = Config.getGcsaHome();
@@ -102,8 +100,7 @@ public class AnalysisJobExecuter {
     public static void execute(Job job) throws AnalysisExecutionException, IOException {
         logger.debug("AnalysisJobExecuter: execute, job: {}", job);
 
-        executeCommandLine(job.getCommandLine(), job.getResourceManagerAttributes().get(Job.JOB_SCHEDULER_NAME).toString(),
-                job.getId(), job.getTmpOutDirUri().getPath(), job.getToolName());
+        getDefaultJobExecutor().execute(job);
     }
 
     private boolean checkRequiredParams(Map<String, List<String>> params, List<Option> validParams) {
@@ -209,27 +206,43 @@ public class AnalysisJobExecuter {
 
     private static void executeCommandLine(String commandLine, String jobName, int jobId, String jobFolder, String analysisName)
             throws AnalysisExecutionException, IOException {
+        getDefaultJobExecutor().execute(commandLine, jobName, jobId, jobFolder, analysisName);
+    }
+
+    private static synchronized JobExecutor getDefaultJobExecutor() {
+        if (defaultJobExecutor == null) {
+            logger.warn("AnalysisJobExecuter: no default JobExecutor set. The status of the jobs will not be written to catalog");
+            defaultJobExecutor = newJobExecutor(Config.getAnalysisProperties(), null);
+        }
+        return defaultJobExecutor;
+    }
+
+    /**
+     * Sets the executor used by {@link #execute(Job)}. The previous executor is not closed, as it may still be
+     * running jobs.
+     */
+    public static synchronized void setDefaultJobExecutor(JobExecutor jobExecutor) {
+        defaultJobExecutor = jobExecutor;
+    }
+
+    /**
+     * Creates the JobExecutor defined by "OPENCGA.ANALYSIS.JOB.EXECUTOR": LOCAL or SGE
+     *
+     * @param listener  Optional. Receives the status transitions of the jobs.
+     */
+    public static JobExecutor newJobExecutor(Properties analysisProperties, JobExecutor.StatusListener listener) {
         // read execution param
-        String jobExecutor = Config.getAnalysisProperties().getProperty("OPENCGA.ANALYSIS.JOB.EXECUTOR");
+        String jobExecutor = analysisProperties.getProperty("OPENCGA.ANALYSIS.JOB.EXECUTOR");
 
         // local execution
         if (jobExecutor == null || jobExecutor.trim().equalsIgnoreCase("LOCAL")) {
-            logger.debug("AnalysisJobExecuter: execute, running by SingleProcess");
-
-            Command com = new Command(commandLine);
-            SingleProcess sp = new SingleProcess(com);
-            sp.getRunnableProcess().run();
+            logger.debug("AnalysisJobExecuter: execute, running by LocalJobExecutor");
+            return new LocalJobExecutor(analysisProperties, listener);
         }
         // sge execution
         else {
             logger.debug("AnalysisJobExecuter: execute, running by SgeManager");
-
-            try {
-                SgeManager.queueJob(analysisName, jobName, -1, jobFolder, commandLine, null, "job." + jobId);
-            } catch (Exception e) {
-                logger.error(e.toString());
-                throw new AnalysisExecutionException("ERROR: sge execution failed.");
-            }
+            return new SgeJobExecutor(listener);
         }
     }
 
@@ -9,14 +9,15 @@ import org.opencb.opencga.catalog.CatalogManager;
 import org.opencb.opencga.catalog.beans.File;
 import org.opencb.opencga.catalog.beans.Job;
 import org.opencb.opencga.catalog.db.CatalogDBException;
+import org.opencb.opencga.catalog.io.CatalogIOManagerException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.net.URI;
 import java.nio.file.*;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * Created by jacobo on 4/11/14.
@@ -34,15 +35,69 @@ public class AnalysisOutputRecorder {
     private final String sessionId;
     private final String policy = "delete";
 
+    private final ExecutorService jobExecutorService;
+    private final ExecutorService fileExecutorService;
+    private final Set<Integer> recordingJobs = Collections.newSetFromMap(new ConcurrentHashMap<Integer, Boolean>());
+
     public AnalysisOutputRecorder(CatalogManager catalogManager, String sessionId) {
+        this(catalogManager, sessionId, 1, 1);
+    }
+
+    /**
+     * @param numJobThreads     Maximum number of jobs being recorded at the same time by {@link #recordJobOutputAsync}
+     * @param numFileThreads    Maximum number of files being moved at the same time, shared by all the jobs
+     */
+    public AnalysisOutputRecorder(CatalogManager catalogManager, String sessionId, int numJobThreads, int numFileThreads) {
         this.catalogManager = catalogManager;
         this.sessionId = sessionId;
+        this.jobExecutorService = Executors.newFixedThreadPool(Math.max(numJobThreads, 1));
+        this.fileExecutorService = Executors.newFixedThreadPool(Math.max(numFileThreads, 1));
+    }
+
+    /**
+     * Records the output of the job in background. Does nothing if the output of this job is already being recorded,
+     * or if it was recorded since the job was read.
+     *
+     * @return  False if the job was already being recorded
+     */
+    public boolean recordJobOutputAsync(final Job job) {
+        if (!recordingJobs.add(job.getId())) {
+            return false;
+        }
+        try {
+            jobExecutorService.submit(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        // The job may be a stale read from before the last recording finished
+                        Job.Status status = catalogManager.getJob(job.getId(), null, sessionId).getResult().get(0).getStatus();
+                        if (status != Job.Status.DONE && status != Job.Status.ERROR) {
+                            logger.debug("Job {} is {}. Output already recorded", job.getId(), status);
+                            return;
+                        }
+                        recordJobOutput(job);
+                    } catch (CatalogException | IOException e) {
+                        logger.error("Unable to read the status of job " + job.getId(), e);
+                    } finally {
+                        recordingJobs.remove(job.getId());
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            recordingJobs.remove(job.getId());
+            throw e;
+        }
+        return true;
     }
 
+    /**
+     * Records the output of the job, moving all the files in parallel. The job is marked as READY only if
+     * all the files are recorded.
+     */
     public void recordJobOutput(Job job) {
 
         List<Integer> fileIds = new LinkedList<>();
-        CatalogFileManager catalogFileManager = new CatalogFileManager(catalogManager);
+        final CatalogFileManager catalogFileManager = new CatalogFileManager(catalogManager);
 
         try {
             URI tmpOutDirUri = job.getTmpOutDirUri();
@@ -52,34 +107,71 @@ public class AnalysisOutputRecorder {
 //            int studyId = catalogManager.getAnalysisIdByJobId(job.getId());
             int studyId = catalogManager.getStudyIdByJobId(job.getId());
 
+            List<String> filePaths = new ArrayList<>(uris.size());
             for (URI uri : uris) {
                 String generatedFile = Paths.get(uri).toAbsolutePath().toString().substring(tmpOutDirUri.getPath().length());
-                String filePath = Paths.get(outDir.getPath(), generatedFile).toString();
-                QueryResult<File> searchFile = catalogManager.searchFile(studyId, new QueryOptions("path", filePath), sessionId);
-                if(searchFile.getNumResults() != 0) {
-                    File file = searchFile.getResult().get(0);
-                    switch (policy) {
-                        case "delete":
-                            catalogManager.deleteFile(file.getId(), sessionId);
-                            break;
-                        case "rename":
-                            throw new UnsupportedOperationException("Unimplemented policy 'rename'");
-                        case "doError":
-                            throw new UnsupportedOperationException("Unimplemented policy 'error'");
-                    }
+                filePaths.add(Paths.get(outDir.getPath(), generatedFile).toString());
+            }
+
+            QueryOptions query = new QueryOptions("path", filePaths);
+            for (File file : catalogManager.searchFile(studyId, query, sessionId).getResult()) {
+                switch (policy) {
+                    case "delete":
+                        catalogManager.deleteFile(file.getId(), sessionId);
+                        break;
+                    case "rename":
+                        throw new UnsupportedOperationException("Unimplemented policy 'rename'");
+                    case "doError":
+                        throw new UnsupportedOperationException("Unimplemented policy 'error'");
                 }
-                QueryResult<File> fileQueryResult = catalogManager.createFile(
-                        studyId, File.Format.PLAIN, File.Bioformat.NONE, filePath, "Generated from job " + job.getId(),
-                        true, job.getId(), sessionId);
+            }
 
-                File file = fileQueryResult.getResult().get(0);
+            List<File> files = new ArrayList<>(filePaths.size());
+            for (String filePath : filePaths) {
+                File file = new File(null, File.Type.FILE, File.Format.PLAIN, File.Bioformat.NONE, filePath, null, null,
+                        "Generated from job " + job.getId(), null, 0);
+                file.setJobId(job.getId());
+                files.add(file);
+            }
+            List<File> createdFiles = catalogManager.createFiles(studyId, files, true, null, sessionId).getResult();
+
+            List<Future<?>> futures = new ArrayList<>(uris.size());
+            for (int i = 0; i < uris.size(); i++) {
+                final File file = createdFiles.get(i);
+                final URI uri = uris.get(i);
                 fileIds.add(file.getId());
-                catalogFileManager.upload(uri, file, null, sessionId, false, false, true, true);
+                futures.add(fileExecutorService.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws CatalogIOManagerException {
+                        catalogFileManager.upload(uri, file, null, sessionId, false, false, true, true);
+                        return null;
+                    }
+                }));
+            }
+            // Wait for all the files, even if some of them fail
+            CatalogException exception = null;
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    if (exception == null) {
+                        exception = e.getCause() instanceof CatalogException
+                                ? (CatalogException) e.getCause()
+                                : new CatalogException(e.getCause());
+                    }
+                }
+            }
+            if (exception != null) {
+                throw exception;
             }
         } catch (CatalogException | IOException e) {
             e.printStackTrace();
             logger.error("Error while processing Job", e);
             return;
+        } catch (InterruptedException e) {
+            logger.error("Interrupted while processing Job " + job.getId(), e);
+            Thread.currentThread().interrupt();
+            return;
         }
 
         try {
@@ -107,6 +199,11 @@ public class AnalysisOutputRecorder {
     }
 
 
+    public void close() {
+        jobExecutorService.shutdown();
+        fileExecutorService.shutdown();
+    }
+
 /**
     public void recordIndexOutput(Index index) throws CatalogManagerException, IOException, CatalogIOManagerException {
         QueryResult<File> fileResult = catalogManager.getFileByIndexJobId(index.getJobId()); //TODO: sessionId¿?¿?
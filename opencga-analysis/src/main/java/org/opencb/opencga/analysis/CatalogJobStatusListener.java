@@ -0,0 +1,41 @@
+package org.opencb.opencga.analysis;
+
+import org.opencb.datastore.core.ObjectMap;
+import org.opencb.opencga.catalog.CatalogException;
+import org.opencb.opencga.catalog.CatalogManager;
+import org.opencb.opencga.catalog.beans.Job;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes the status transitions of the jobs to catalog, with the end time of the finished jobs and the error
+ * message, if any. The session must have the admin role to modify the jobs.
+ */
+public class CatalogJobStatusListener implements JobExecutor.StatusListener {
+
+    protected static Logger logger = LoggerFactory.getLogger(CatalogJobStatusListener.class);
+
+    private final CatalogManager catalogManager;
+    private final String sessionId;
+
+    public CatalogJobStatusListener(CatalogManager catalogManager, String sessionId) {
+        this.catalogManager = catalogManager;
+        this.sessionId = sessionId;
+    }
+
+    @Override
+    public void statusChanged(int jobId, Job.Status status, String message) {
+        ObjectMap parameters = new ObjectMap("status", status);
+        if (message != null) {
+            parameters.put("outputError", message);
+        }
+        if (status == Job.Status.DONE || status == Job.Status.ERROR) {
+            parameters.put("endTime", System.currentTimeMillis());
+        }
+        try {
+            catalogManager.modifyJob(jobId, parameters, sessionId);
+        } catch (CatalogException e) {
+            logger.error("Error updating status of job " + jobId + " to " + status, e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.opencb.opencga.analysis;
+
+import org.opencb.opencga.catalog.beans.Job;
+
+/**
+ * Backend that runs the command line of the jobs. See {@link AnalysisJobExecuter#newJobExecutor}
+ */
+public interface JobExecutor {
+
+    /**
+     * Receives the status transitions of the jobs.
+     */
+    interface StatusListener {
+        /**
+         * @param message   Optional. Error message for the ERROR status
+         */
+        void statusChanged(int jobId, Job.Status status, String message);
+    }
+
+    /**
+     * Submits the job. Returns without waiting for the job to finish.
+     */
+    void execute(Job job) throws AnalysisExecutionException;
+
+    void execute(String commandLine, String jobName, int jobId, String jobFolder, String toolName)
+            throws AnalysisExecutionException;
+
+    /**
+     * @return  False if the job is unknown, already finished, or the backend does not support cancellation
+     */
+    boolean cancel(int jobId);
+
+    /**
+     * @return  True if the status transitions are reported to the StatusListener. If false, the status has to be
+     *          polled from the resource manager.
+     */
+    boolean isStatusReported();
+
+    void close();
+}
@@ -0,0 +1,285 @@
+package org.opencb.opencga.analysis;
+
+import org.opencb.datastore.core.ObjectMap;
+import org.opencb.opencga.catalog.beans.Job;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.StringTokenizer;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs the jobs in this machine, in a bounded pool of workers.
+ *
+ * Each job takes a number of cpu slots and megabytes of memory, read from the resourceManagerAttributes
+ * {@link Job#CPUS} and {@link Job#MEMORY}. A job waits until there are enough free slots, so many small jobs
+ * can run at the same time. The status transitions are reported to the StatusListener as soon as they happen.
+ */
+public class LocalJobExecutor implements JobExecutor {
+
+    /** Number of cpu slots. Default: number of available processors */
+    public static final String CPUS = "OPENCGA.ANALYSIS.LOCAL.CPUS";
+    /** Megabytes of memory to share between the jobs. Default: 0, memory is not accounted */
+    public static final String MEMORY = "OPENCGA.ANALYSIS.LOCAL.MEMORY";
+    /** Default job timeout, in seconds. Default: 0, no timeout */
+    public static final String TIMEOUT = "OPENCGA.ANALYSIS.LOCAL.TIMEOUT";
+
+    protected static Logger logger = LoggerFactory.getLogger(LocalJobExecutor.class);
+
+    private final int totalCpus;
+    private final int totalMemory;
+    private final long defaultTimeout;
+    private final Semaphore cpuSlots;
+    private final Semaphore memorySlots;
+    private final ExecutorService executorService;
+    private final ScheduledExecutorService timeoutService;
+    private final StatusListener listener;
+    private final ConcurrentHashMap<Integer, LocalJob> jobs = new ConcurrentHashMap<>();
+
+    public LocalJobExecutor(Properties properties, StatusListener listener) {
+        this(Integer.parseInt(properties.getProperty(CPUS, String.valueOf(Runtime.getRuntime().availableProcessors()))),
+                Integer.parseInt(properties.getProperty(MEMORY, "0")),
+                Long.parseLong(properties.getProperty(TIMEOUT, "0")) * 1000,
+                listener);
+    }
+
+    /**
+     * @param totalCpus         Number of cpu slots. Also the maximum number of jobs running at the same time
+     * @param totalMemory       Megabytes of memory. 0 to not account the memory
+     * @param defaultTimeout    Timeout in milliseconds for the jobs without {@link Job#TIMEOUT}. 0 for no timeout
+     */
+    public LocalJobExecutor(int totalCpus, int totalMemory, long defaultTimeout, StatusListener listener) {
+        this.totalCpus = Math.max(totalCpus, 1);
+        this.totalMemory = Math.max(totalMemory, 0);
+        this.defaultTimeout = defaultTimeout;
+        this.listener = listener;
+        this.cpuSlots = new Semaphore(this.totalCpus, true);
+        this.memorySlots = new Semaphore(this.totalMemory, true);
+        this.executorService = Executors.newFixedThreadPool(this.totalCpus);
+        this.timeoutService = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @Override
+    public void execute(Job job) throws AnalysisExecutionException {
+        ObjectMap attributes = new ObjectMap(job.getResourceManagerAttributes());
+        submit(job.getCommandLine(), job.getId(), job.getTmpOutDirUri().getPath(),
+                attributes.getInt(Job.CPUS, 1), attributes.getInt(Job.MEMORY, 0),
+                attributes.containsKey(Job.TIMEOUT) ? attributes.getLong(Job.TIMEOUT) * 1000 : defaultTimeout);
+    }
+
+    @Override
+    public void execute(String commandLine, String jobName, int jobId, String jobFolder, String toolName)
+            throws AnalysisExecutionException {
+        submit(commandLine, jobId, jobFolder, 1, 0, defaultTimeout);
+    }
+
+    private void submit(String commandLine, int jobId, String jobFolder, int cpus, int memory, long timeout)
+            throws AnalysisExecutionException {
+        LocalJob localJob = new LocalJob(commandLine, jobId, jobFolder,
+                Math.min(Math.max(cpus, 1), totalCpus),
+                Math.min(Math.max(memory, 0), totalMemory),
+                timeout);
+        if (jobs.putIfAbsent(jobId, localJob) != null) {
+            throw new AnalysisExecutionException("Job " + jobId + " is already being executed");
+        }
+        logger.debug("LocalJobExecutor: queue job {}, cpus: {}, memory: {}", jobId, localJob.cpus, localJob.memory);
+        statusChanged(jobId, Job.Status.QUEUED, null);
+        try {
+            localJob.future = executorService.submit(localJob);
+        } catch (RejectedExecutionException e) {
+            jobs.remove(jobId, localJob);
+            throw new AnalysisExecutionException(e);
+        }
+    }
+
+    @Override
+    public boolean cancel(int jobId) {
+        LocalJob localJob = jobs.get(jobId);
+        if (localJob == null) {
+            return false;
+        }
+        localJob.cancel();
+        return true;
+    }
+
+    @Override
+    public boolean isStatusReported() {
+        return true;
+    }
+
+    @Override
+    public void close() {
+        executorService.shutdownNow();
+        timeoutService.shutdownNow();
+        for (LocalJob localJob : jobs.values()) {
+            localJob.cancel();
+        }
+    }
+
+    public int getFreeCpus() {
+        return cpuSlots.availablePermits();
+    }
+
+    public int getFreeMemory() {
+        return memorySlots.availablePermits();
+    }
+
+    /**
+     * @return  Number of queued or running jobs
+     */
+    public int getNumJobs() {
+        return jobs.size();
+    }
+
+    private void statusChanged(int jobId, Job.Status status, String message) {
+        if (listener != null) {
+            try {
+                listener.statusChanged(jobId, status, message);
+            } catch (RuntimeException e) {
+                logger.error("Error reporting status " + status + " of job " + jobId, e);
+            }
+        }
+    }
+
+    private class LocalJob implements Runnable {
+        private final String commandLine;
+        private final int jobId;
+        private final String jobFolder;
+        private final int cpus;
+        private final int memory;
+        private final long timeout;
+
+        private final AtomicBoolean finished = new AtomicBoolean(false);
+        private volatile boolean cancelled = false;
+        private volatile boolean timedOut = false;
+        private Process process;
+        private volatile Future<?> future;
+
+        private LocalJob(String commandLine, int jobId, String jobFolder, int cpus, int memory, long timeout) {
+            this.commandLine = commandLine;
+            this.jobId = jobId;
+            this.jobFolder = jobFolder;
+            this.cpus = cpus;
+            this.memory = memory;
+            this.timeout = timeout;
+        }
+
+        @Override
+        public void run() {
+            boolean cpusAcquired = false;
+            boolean memoryAcquired = false;
+            try {
+                cpuSlots.acquire(cpus);
+                cpusAcquired = true;
+                memorySlots.acquire(memory);
+                memoryAcquired = true;
+
+                Process p;
+                synchronized (this) {
+                    if (cancelled) {
+                        finish(Job.Status.ERROR, "Cancelled");
+                        return;
+                    }
+                    p = process = start();
+                }
+                finishRunning(p);
+            } catch (InterruptedException e) {
+                finish(Job.Status.ERROR, cancelled ? "Cancelled" : "Interrupted");
+            } catch (IOException | RuntimeException e) {
+                logger.error("Error executing job " + jobId, e);
+                finish(Job.Status.ERROR, e.toString());
+            } finally {
+                if (memoryAcquired) {
+                    memorySlots.release(memory);
+                }
+                if (cpusAcquired) {
+                    cpuSlots.release(cpus);
+                }
+                jobs.remove(jobId, this);
+            }
+        }
+
+        private Process start() throws IOException {
+            List<String> args = new ArrayList<>();
+            StringTokenizer tokenizer = new StringTokenizer(commandLine);
+            while (tokenizer.hasMoreTokens()) {
+                args.add(tokenizer.nextToken());
+            }
+            Path outFile = Paths.get(jobFolder, "local_out.job." + jobId + ".log");
+            Path errFile = Paths.get(jobFolder, "local_err.job." + jobId + ".log");
+
+            logger.info("LocalJobExecutor: running job {}: {}", jobId, commandLine);
+            Process p = new ProcessBuilder(args)
+                    .redirectOutput(outFile.toFile())
+                    .redirectError(errFile.toFile())
+                    .start();
+            statusChanged(jobId, Job.Status.RUNNING, null);
+            return p;
+        }
+
+        private void finishRunning(final Process p) throws InterruptedException {
+            ScheduledFuture<?> timeoutFuture = null;
+            if (timeout > 0) {
+                timeoutFuture = timeoutService.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        timedOut = true;
+                        p.destroy();
+                    }
+                }, timeout, TimeUnit.MILLISECONDS);
+            }
+            int exitValue;
+            try {
+                exitValue = p.waitFor();
+            } catch (InterruptedException e) {
+                p.destroy();
+                throw e;
+            } finally {
+                if (timeoutFuture != null) {
+                    timeoutFuture.cancel(false);
+                }
+            }
+
+            if (cancelled) {
+                finish(Job.Status.ERROR, "Cancelled");
+            } else if (timedOut) {
+                finish(Job.Status.ERROR, "Timeout. Killed after " + timeout / 1000 + "s");
+            } else if (exitValue != 0) {
+                finish(Job.Status.ERROR, "Exit value " + exitValue);
+            } else {
+                finish(Job.Status.DONE, null);
+            }
+        }
+
+        private void cancel() {
+            synchronized (this) {
+                cancelled = true;
+                if (process != null) {
+                    process.destroy();
+                }
+            }
+            // Interrupts the worker if it is waiting for free slots. If it was not started, it will never run
+            if (future != null && future.cancel(true)) {
+                jobs.remove(jobId, this);
+                finish(Job.Status.ERROR, "Cancelled");
+            }
+        }
+
+        /**
+         * Reports the final status only once
+         */
+        private void finish(Job.Status status, String message) {
+            if (finished.compareAndSet(false, true)) {
+                logger.info("LocalJobExecutor: job {} finished with status {}", jobId, status);
+                statusChanged(jobId, status, message);
+            }
+        }
+    }
+}
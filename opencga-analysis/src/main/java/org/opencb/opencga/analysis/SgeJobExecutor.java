@@ -0,0 +1,54 @@
+package org.opencb.opencga.analysis;
+
+import org.opencb.opencga.catalog.beans.Job;
+import org.opencb.opencga.lib.SgeManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Queues the jobs in SGE with "qsub". The status of the jobs has to be polled with {@link SgeManager#status}
+ */
+public class SgeJobExecutor implements JobExecutor {
+
+    protected static Logger logger = LoggerFactory.getLogger(SgeJobExecutor.class);
+    private final StatusListener listener;
+
+    public SgeJobExecutor(StatusListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void execute(Job job) throws AnalysisExecutionException {
+        execute(job.getCommandLine(), job.getResourceManagerAttributes().get(Job.JOB_SCHEDULER_NAME).toString(),
+                job.getId(), job.getTmpOutDirUri().getPath(), job.getToolName());
+    }
+
+    @Override
+    public void execute(String commandLine, String jobName, int jobId, String jobFolder, String toolName)
+            throws AnalysisExecutionException {
+        logger.debug("SgeJobExecutor: execute, running by SgeManager");
+        try {
+            SgeManager.queueJob(toolName, jobName, -1, jobFolder, commandLine, null, "job." + jobId);
+        } catch (Exception e) {
+            logger.error(e.toString());
+            throw new AnalysisExecutionException("ERROR: sge execution failed.");
+        }
+        if (listener != null) {
+            listener.statusChanged(jobId, Job.Status.QUEUED, null);
+        }
+    }
+
+    @Override
+    public boolean cancel(int jobId) {
+        return false;
+    }
+
+    @Override
+    public boolean isStatusReported() {
+        return false;
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -209,6 +209,17 @@ public class OpenCGAMain {
                         logout();
                         break;
                     }
+                    case "disk-usage": {
+                        OptionsParser.StudyCommands.DiskUsageCommand c = optionsParser.getStudyCommands().diskUsageCommand;
+                        login(c.up);
+
+                        int studyId = catalogManager.getStudyId(c.id);
+                        QueryResult<Long> diskUsage = catalogManager.updateStudyDiskUsage(studyId, sessionId);
+                        System.out.println(diskUsage);
+
+                        logout();
+                        break;
+                    }
                     case "share": {
                         OptionsParser.CommandShareResource c = optionsParser.commandShareResource;
                         login(c.up);
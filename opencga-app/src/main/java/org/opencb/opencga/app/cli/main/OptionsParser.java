@@ -58,6 +58,7 @@ public class OptionsParser {
         JCommander studies = jcommander.getCommands().get("studies");
         studies.addCommand(studyCommands.createCommand);
         studies.addCommand(studyCommands.infoCommand);
+        studies.addCommand(studyCommands.diskUsageCommand);
         studies.addCommand(commandShareResource);
 
 
@@ -286,6 +287,7 @@ public class OptionsParser {
 
         CreateCommand createCommand = new CreateCommand();
         InfoCommand infoCommand = new InfoCommand();
+        DiskUsageCommand diskUsageCommand = new DiskUsageCommand();
 
         @Parameters(commandNames = {"create"}, commandDescription = "Description")
         class CreateCommand {
@@ -323,6 +325,18 @@ public class OptionsParser {
             @Parameter(names = {"--id"}, description = "Study id", required = true, arity = 1)
             String id;
         }
+
+        @Parameters(commandNames = {"disk-usage"}, commandDescription = "Recompute the study disk usage from its files")
+        class DiskUsageCommand {
+            @ParametersDelegate
+            UserAndPasswordOptions up = userAndPasswordOptions;
+
+            @ParametersDelegate
+            CommonOptions cOpt = commonOptions;
+
+            @Parameter(names = {"--id"}, description = "Study id", required = true, arity = 1)
+            String id;
+        }
     }
 
 
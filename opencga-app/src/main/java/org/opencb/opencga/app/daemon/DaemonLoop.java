@@ -10,6 +10,8 @@ import org.opencb.datastore.core.QueryOptions;
 import org.opencb.datastore.core.QueryResult;
 import org.opencb.opencga.analysis.AnalysisJobExecuter;
 import org.opencb.opencga.analysis.AnalysisOutputRecorder;
+import org.opencb.opencga.analysis.CatalogJobStatusListener;
+import org.opencb.opencga.analysis.JobExecutor;
 import org.opencb.opencga.catalog.CatalogException;
 import org.opencb.opencga.catalog.CatalogManager;
 import org.opencb.opencga.catalog.beans.File;
@@ -26,7 +28,10 @@ import org.slf4j.LoggerFactory;
 import org.slf4j.Logger;
 
 import java.io.IOException;
-import java.util.Properties;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Created by jacobo on 23/10/14.
@@ -35,9 +40,12 @@ public class DaemonLoop implements Runnable {
 
     public static final String PORT     = "OPENCGA.APP.DAEMON.PORT";
     public static final String SLEEP    = "OPENCGA.APP.DAEMON.SLEEP";
+    public static final String MAX_SLEEP = "OPENCGA.APP.DAEMON.MAX_SLEEP";
     public static final String USER     = "OPENCGA.APP.DAEMON.USER";
     public static final String PASSWORD = "OPENCGA.APP.DAEMON.PASSWORD";
     public static final String DELETE_DELAY = "OPENCGA.APP.DAEMON.DELETE_DELAY";
+    public static final String RECORD_JOB_THREADS = "OPENCGA.APP.DAEMON.RECORD_OUTPUT.JOB_THREADS";
+    public static final String RECORD_FILE_THREADS = "OPENCGA.APP.DAEMON.RECORD_OUTPUT.FILE_THREADS";
 
     private final Properties properties;
 
@@ -49,6 +57,9 @@ public class DaemonLoop implements Runnable {
     private static Logger logger = LoggerFactory.getLogger(DaemonLoop.class);
     private AnalysisOutputRecorder analysisOutputRecorder;
     private String sessionId;
+    private JobExecutor jobExecutor;
+    private boolean pollResourceManager;
+    private final BlockingQueue<Integer> finishedJobs = new LinkedBlockingQueue<>();
 
     public DaemonLoop(Properties properties) {
         this.properties = properties;
@@ -78,7 +89,9 @@ public class DaemonLoop implements Runnable {
 
     @Override
     public void run() {
-        int sleep = Integer.parseInt(properties.getProperty(SLEEP, "4000"));
+        int minSleep = Integer.parseInt(properties.getProperty(SLEEP, "4000"));
+        int maxSleep = Integer.parseInt(properties.getProperty(MAX_SLEEP, String.valueOf(minSleep * 8)));
+        long deleteDelay = Long.valueOf(properties.getProperty(DELETE_DELAY, "30")) * 1000; //Seconds to millis
         sessionId = null;
         try {
             QueryResult<ObjectMap> login = catalogManager.login(properties.getProperty(USER), properties.getProperty(PASSWORD), "daemon");
@@ -87,121 +100,94 @@ public class DaemonLoop implements Runnable {
             e.printStackTrace();
             exit = true;
         }
-        analysisOutputRecorder = new AnalysisOutputRecorder(catalogManager, sessionId);
+        analysisOutputRecorder = new AnalysisOutputRecorder(catalogManager, sessionId,
+                Integer.parseInt(properties.getProperty(RECORD_JOB_THREADS, "2")),
+                Integer.parseInt(properties.getProperty(RECORD_FILE_THREADS, "4")));
+        JobExecutor.StatusListener statusListener = new CatalogJobStatusListener(catalogManager, sessionId) {
+            @Override
+            public void statusChanged(int jobId, Job.Status status, String message) {
+                super.statusChanged(jobId, status, message);
+                // Wake up the loop to record the output
+                if (status == Job.Status.DONE || status == Job.Status.ERROR) {
+                    finishedJobs.add(jobId);
+                }
+            }
+        };
+        Properties analysisProperties = Config.getAnalysisProperties();
+        jobExecutor = AnalysisJobExecuter.newJobExecutor(analysisProperties, statusListener);
+        // The in-process INDEX jobs always report their status, but the rest may still need to be polled
+        pollResourceManager = !jobExecutor.isStatusReported();
+        if (Boolean.parseBoolean(analysisProperties.getProperty(StorageJobExecutor.IN_PROCESS, "false"))) {
+            jobExecutor = new StorageJobExecutor(jobExecutor,
+                    Integer.parseInt(analysisProperties.getProperty(StorageJobExecutor.IN_PROCESS_THREADS, "1")),
+                    statusListener);
+        }
+        AnalysisJobExecuter.setDefaultJobExecutor(jobExecutor);
+
+        if (!exit) {
+            try {
+                failInterruptedJobs();
+            } catch (CatalogException e) {
+                logger.error("Error checking the jobs interrupted by a restart", e);
+            }
+        }
+
+        // Jobs whose status can change without the daemon being notified. Jobs in DONE or ERROR are included
+        // to record the output of jobs finished while the daemon was stopped.
+        List<Job.Status> polledStatus = !pollResourceManager
+                ? Arrays.asList(Job.Status.PREPARED, Job.Status.DONE, Job.Status.ERROR)
+                : Arrays.asList(Job.Status.PREPARED, Job.Status.QUEUED, Job.Status.RUNNING, Job.Status.DONE, Job.Status.ERROR);
 
+        int sleep = minSleep;
+        long nextPoll = 0;
         while(!exit) {
             try {
-                Thread.sleep(sleep);
+                Integer finishedJobId = finishedJobs.poll(Math.max(nextPoll - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+                if (finishedJobId != null) {
+                    Set<Integer> jobIds = new HashSet<>();
+                    jobIds.add(finishedJobId);
+                    finishedJobs.drainTo(jobIds);
+                    logger.info("----- Finished jobs {} -----", jobIds);
+                    checkJobs(catalogManager.searchJob(new QueryOptions("id", new ArrayList<>(jobIds)), sessionId).getResult());
+                }
             } catch (InterruptedException e) {
                 if(!exit) {
                     e.printStackTrace();
                 }
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+            if (exit || System.currentTimeMillis() < nextPoll) {
+                continue;
             }
             logger.info("----- WakeUp {} -----", TimeUtils.getTimeMillis());
 
+            boolean idle = true;
             logger.info("----- Pending jobs -----");
             try {
-                QueryResult<Job> unfinishedJobs = catalogManager.getUnfinishedJobs(sessionId);
-                for (Job job : unfinishedJobs.getResult()) {
-                    String status = SgeManager.status(job.getResourceManagerAttributes().get(Job.JOB_SCHEDULER_NAME).toString());
-                    Job.Status jobStatus = job.getStatus();
-//                    String type = job.getResourceManagerAttributes().get(Job.TYPE).toString();
-//                    System.out.println("job : {id: " + job.getId() + ", status: '" + job.getStatus() + "', name: '" + job.getName() + "'}, sgeStatus : " + status);
-                    logger.info("job : {id: " + job.getId() + ", status: '" + job.getStatus() + "', name: '" + job.getName() + "'}, sgeStatus : " + status);
-
-                    //Track SGEManager
-                    switch(status) {
-                        case SgeManager.FINISHED:
-                            if(!Job.Status.DONE.equals(job.getStatus())) {
-                                catalogManager.modifyJob(job.getId(), new ObjectMap("status", Job.Status.DONE), sessionId);
-                                jobStatus = Job.Status.DONE;
-                            }
-                            break;
-                        case SgeManager.ERROR:
-                        case SgeManager.EXECUTION_ERROR:
-                            if(!Job.Status.ERROR.equals(job.getStatus())) {
-                                catalogManager.modifyJob(job.getId(), new ObjectMap("status", Job.Status.ERROR), sessionId);
-                                jobStatus = Job.Status.ERROR;
-                            }
-                            break;
-                        case SgeManager.QUEUED:
-                            if(!Job.Status.QUEUED.equals(job.getStatus())) {
-                                catalogManager.modifyJob(job.getId(), new ObjectMap("status", Job.Status.QUEUED), sessionId);
-                                jobStatus = Job.Status.QUEUED;
-                            }
-                            break;
-                        case SgeManager.RUNNING:
-                            if(!Job.Status.RUNNING.equals(job.getStatus())) {
-                                catalogManager.modifyJob(job.getId(), new ObjectMap("status", Job.Status.RUNNING), sessionId);
-                                jobStatus = Job.Status.RUNNING;
-                            }
-                            break;
-                        case SgeManager.TRANSFERRED:
-                            break;
-                        case SgeManager.UNKNOWN:
-                            break;
-                    }
-
-                    //Track Catalog Job status
-                    switch (jobStatus) {
-                        case DONE:
-                            analysisOutputRecorder.recordJobOutput(job);
-                            break;
-                        case ERROR:
-                            String jobErrorPolicy = "recordOutput";
-                            switch(jobErrorPolicy) {
-                                case "deleteOutput":
-                                    throw new UnsupportedOperationException("Unimplemented policy");
-                                case "waitForInstructions":
-                                    throw new UnsupportedOperationException("Unimplemented policy");
-                                case "recordOutput":
-                                    analysisOutputRecorder.recordJobOutput(job);
-                                    break;
-                            }
-                            break;
-                        case PREPARED:
-                            AnalysisJobExecuter.execute(job);
-                            catalogManager.modifyJob(job.getId(), new ObjectMap("status", Job.Status.QUEUED), sessionId);
-                            break;
-                        case QUEUED:
-                            break;
-                        case RUNNING:
-                            break;
-                        case READY:
-                            //Never expected!
-                            break;
-                    }
-                }
+                List<Job> jobs = catalogManager.searchJob(new QueryOptions("status", polledStatus), sessionId).getResult();
+                idle &= jobs.isEmpty();
+                checkJobs(jobs);
             } catch (Exception e) {
                 e.printStackTrace();
             }
 
             logger.info("----- Pending deletions -----");
             try {
-                QueryResult<File> files = catalogManager.searchFile(-1, new QueryOptions("status", File.Status.DELETING), sessionId);
-                long currentTimeMillis = System.currentTimeMillis();
-                for (File file : files.getResult()) {
-                    try {       //TODO: skip if the file is a non-empty folder
-                        long deleteDate = new ObjectMap(file.getAttributes()).getLong(File.DELETE_DATE, 0);
-                        if(currentTimeMillis - deleteDate > Long.valueOf(properties.getProperty(DELETE_DELAY, "30"))*1000) { //Seconds to millis
-                            QueryResult<Study> studyQueryResult = catalogManager.getStudy(catalogManager.getStudyIdByFileId(file.getId()), sessionId);
-                            Study study = studyQueryResult.getResult().get(0);
-                            logger.info("Deleting file {} from study {id: {}, alias: {}}", file, study.getId(), study.getAlias());
-                            CatalogIOManager catalogIOManager = catalogManager.getCatalogIOManagerFactory().get(study.getUri());
-                            catalogIOManager.deleteFile(catalogIOManager.getFileUri(study.getUri(), file.getPath()));
-                            catalogManager.modifyFile(file.getId(), new ObjectMap("status", File.Status.DELETED), sessionId);
-                        } else {
-                            logger.info("Don't delete file {id: {}, path: '{}', attributes: {}}}", file.getId(), file.getPath(), file.getAttributes());
-                            logger.info("{}", (currentTimeMillis - deleteDate)/1000);
-                        }
-                    } catch (Exception e) {
-                        e.printStackTrace();
-                    }
-                }
+                idle &= deletePendingFiles(deleteDelay) == 0;
             } catch (Exception e) {
                 e.printStackTrace();
             }
+
+            // Back off while there is nothing to do
+            sleep = idle ? Math.min(sleep * 2, maxSleep) : minSleep;
+            nextPoll = System.currentTimeMillis() + sleep;
+        }
+
+        if (jobExecutor != null) {
+            jobExecutor.close();
         }
+        analysisOutputRecorder.close();
 
         if(sessionId != null) {
             try {
@@ -220,6 +206,147 @@ public class DaemonLoop implements Runnable {
         }
     }
 
+    private void checkJobs(List<Job> jobs) throws Exception {
+        List<String> jobSchedulerNames = new ArrayList<>(jobs.size());
+        for (Job job : jobs) {
+            if (job.getStatus() == Job.Status.QUEUED || job.getStatus() == Job.Status.RUNNING) {
+                jobSchedulerNames.add(job.getResourceManagerAttributes().get(Job.JOB_SCHEDULER_NAME).toString());
+            }
+        }
+        // One single qstat call for all the jobs. Not needed if the executor reports the status
+        Map<String, String> statusMap = jobSchedulerNames.isEmpty() || !pollResourceManager
+                ? Collections.<String, String>emptyMap()
+                : SgeManager.status(jobSchedulerNames);
+        for (Job job : jobs) {
+            String jobSchedulerName = job.getResourceManagerAttributes().get(Job.JOB_SCHEDULER_NAME).toString();
+            String status = statusMap.containsKey(jobSchedulerName) ? statusMap.get(jobSchedulerName) : SgeManager.UNKNOWN;
+            Job.Status jobStatus = job.getStatus();
+//                    String type = job.getResourceManagerAttributes().get(Job.TYPE).toString();
+//                    System.out.println("job : {id: " + job.getId() + ", status: '" + job.getStatus() + "', name: '" + job.getName() + "'}, sgeStatus : " + status);
+            logger.info("job : {id: " + job.getId() + ", status: '" + job.getStatus() + "', name: '" + job.getName() + "'}, sgeStatus : " + status);
+
+            //Track SGEManager
+            switch(status) {
+                case SgeManager.FINISHED:
+                    if(!Job.Status.DONE.equals(job.getStatus())) {
+                        catalogManager.modifyJob(job.getId(), new ObjectMap("status", Job.Status.DONE), sessionId);
+                        jobStatus = Job.Status.DONE;
+                    }
+                    break;
+                case SgeManager.ERROR:
+                case SgeManager.EXECUTION_ERROR:
+                    if(!Job.Status.ERROR.equals(job.getStatus())) {
+                        catalogManager.modifyJob(job.getId(), new ObjectMap("status", Job.Status.ERROR), sessionId);
+                        jobStatus = Job.Status.ERROR;
+                    }
+                    break;
+                case SgeManager.QUEUED:
+                    if(!Job.Status.QUEUED.equals(job.getStatus())) {
+                        catalogManager.modifyJob(job.getId(), new ObjectMap("status", Job.Status.QUEUED), sessionId);
+                        jobStatus = Job.Status.QUEUED;
+                    }
+                    break;
+                case SgeManager.RUNNING:
+                    if(!Job.Status.RUNNING.equals(job.getStatus())) {
+                        catalogManager.modifyJob(job.getId(), new ObjectMap("status", Job.Status.RUNNING), sessionId);
+                        jobStatus = Job.Status.RUNNING;
+                    }
+                    break;
+                case SgeManager.TRANSFERRED:
+                    break;
+                case SgeManager.UNKNOWN:
+                    break;
+            }
+
+            //Track Catalog Job status
+            switch (jobStatus) {
+                case DONE:
+                    analysisOutputRecorder.recordJobOutputAsync(job);
+                    break;
+                case ERROR:
+                    String jobErrorPolicy = "recordOutput";
+                    switch(jobErrorPolicy) {
+                        case "deleteOutput":
+                            throw new UnsupportedOperationException("Unimplemented policy");
+                        case "waitForInstructions":
+                            throw new UnsupportedOperationException("Unimplemented policy");
+                        case "recordOutput":
+                            analysisOutputRecorder.recordJobOutputAsync(job);
+                            break;
+                    }
+                    break;
+                case PREPARED:
+                    // The executor reports the QUEUED status
+                    jobExecutor.execute(job);
+                    break;
+                case QUEUED:
+                    break;
+                case RUNNING:
+                    break;
+                case READY:
+                    //Never expected!
+                    break;
+            }
+        }
+    }
+
+    /**
+     * The jobs run by this daemon (LOCAL executor or in-process INDEX jobs) are lost when it stops. Jobs left QUEUED
+     * or RUNNING by a previous execution will never report their status, so they are marked as ERROR, and their
+     * output is recorded as for any other failed job. They are not queued again, as they may have written part of
+     * the output. The jobs polled from SGE are left untouched, as SGE keeps running them.
+     */
+    private void failInterruptedJobs() throws CatalogException {
+        List<Job> jobs = catalogManager.searchJob(new QueryOptions("status",
+                Arrays.asList(Job.Status.QUEUED, Job.Status.RUNNING)), sessionId).getResult();
+        for (Job job : jobs) {
+            if (pollResourceManager && !(jobExecutor instanceof StorageJobExecutor && StorageJobExecutor.isInProcess(job))) {
+                continue;
+            }
+            logger.warn("Job {id: {}, name: '{}'} was {} when the daemon stopped. Marking as {}",
+                    job.getId(), job.getName(), job.getStatus(), Job.Status.ERROR);
+            ObjectMap parameters = new ObjectMap("status", Job.Status.ERROR);
+            parameters.put("outputError", "Interrupted by a restart of the daemon");
+            parameters.put("endTime", System.currentTimeMillis());
+            catalogManager.modifyJob(job.getId(), parameters, sessionId);
+        }
+    }
+
+    /**
+     * Deletes the files in status DELETING whose delete date is older than deleteDelay, oldest first.
+     * Files without delete date are deleted first.
+     * The catalog itself is the queue of pending deletions, so nothing is lost if the daemon is stopped.
+     *
+     * @return Number of deleted files
+     */
+    private int deletePendingFiles(long deleteDelay) throws CatalogException {
+        QueryOptions query = new QueryOptions("status", File.Status.DELETING);
+        query.put("maxDeleteDate", System.currentTimeMillis() - deleteDelay);
+        List<File> files = new ArrayList<>(catalogManager.searchFile(-1, query, sessionId).getResult());
+        Collections.sort(files, new Comparator<File>() {
+            @Override
+            public int compare(File f1, File f2) {
+                return Long.compare(new ObjectMap(f1.getAttributes()).getLong(File.DELETE_DATE, 0),
+                        new ObjectMap(f2.getAttributes()).getLong(File.DELETE_DATE, 0));
+            }
+        });
+        int deleted = 0;
+        for (File file : files) {
+            try {       //TODO: skip if the file is a non-empty folder
+                QueryResult<Study> studyQueryResult = catalogManager.getStudy(catalogManager.getStudyIdByFileId(file.getId()), sessionId);
+                Study study = studyQueryResult.getResult().get(0);
+                logger.info("Deleting file {} from study {id: {}, alias: {}}", file, study.getId(), study.getAlias());
+                CatalogIOManager catalogIOManager = catalogManager.getCatalogIOManagerFactory().get(study.getUri());
+                catalogIOManager.deleteFile(catalogIOManager.getFileUri(study.getUri(), file.getPath()));
+                catalogManager.modifyFile(file.getId(), new ObjectMap("status", File.Status.DELETED), sessionId);
+                deleted++;
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+        return deleted;
+    }
+
     public void start() throws Exception {
         //Start services
         server.start();
@@ -0,0 +1,200 @@
+package org.opencb.opencga.app.daemon;
+
+import org.opencb.opencga.analysis.AnalysisExecutionException;
+import org.opencb.opencga.analysis.JobExecutor;
+import org.opencb.opencga.catalog.beans.Job;
+import org.opencb.opencga.storage.app.cli.OpenCGAStorageMain;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.StringTokenizer;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs the INDEX jobs in the daemon JVM, calling {@link OpenCGAStorageMain#index} from a bounded pool of
+ * workers instead of starting a new "opencga-storage.sh" process for each job. The storage managers, the database
+ * connections and the compiled code are reused between jobs. Any other job is sent to the delegate executor.
+ *
+ * A failing job does not affect the others: any exception or error thrown by the storage is reported as
+ * the ERROR status of that job.
+ */
+public class StorageJobExecutor implements JobExecutor {
+
+    /** Run the INDEX jobs in the daemon. Default: false */
+    public static final String IN_PROCESS = "OPENCGA.ANALYSIS.STORAGE.IN_PROCESS";
+    /** Number of INDEX jobs running at the same time in the daemon. Default: 1 */
+    public static final String IN_PROCESS_THREADS = "OPENCGA.ANALYSIS.STORAGE.IN_PROCESS.THREADS";
+
+    static final String STORAGE_SCRIPT = "opencga-storage.sh";
+
+    protected static Logger logger = LoggerFactory.getLogger(StorageJobExecutor.class);
+
+    private final JobExecutor delegate;
+    private final StatusListener listener;
+    private final ExecutorService executorService;
+    private final ConcurrentHashMap<Integer, StorageJob> jobs = new ConcurrentHashMap<>();
+
+    public StorageJobExecutor(JobExecutor delegate, int numThreads, StatusListener listener) {
+        this.delegate = delegate;
+        this.listener = listener;
+        this.executorService = Executors.newFixedThreadPool(Math.max(numThreads, 1));
+    }
+
+    @Override
+    public void execute(Job job) throws AnalysisExecutionException {
+        if (isInProcess(job)) {
+            submit(job.getId(), getStorageArgs(job.getCommandLine()));
+        } else {
+            delegate.execute(job);
+        }
+    }
+
+    /**
+     * @return  True if the job is an INDEX job run in the daemon, false if it is sent to the delegate executor
+     */
+    public static boolean isInProcess(Job job) {
+        Object type = job.getResourceManagerAttributes() == null ? null : job.getResourceManagerAttributes().get(Job.TYPE);
+        return type != null && Job.Type.INDEX.toString().equals(type.toString()) && getStorageArgs(job.getCommandLine()) != null;
+    }
+
+    @Override
+    public void execute(String commandLine, String jobName, int jobId, String jobFolder, String toolName)
+            throws AnalysisExecutionException {
+        delegate.execute(commandLine, jobName, jobId, jobFolder, toolName);
+    }
+
+    /**
+     * @return  Arguments for {@link OpenCGAStorageMain#index}, or null if the command line does not run
+     *          an index command of the storage script
+     */
+    static List<String> getStorageArgs(String commandLine) {
+        if (commandLine == null) {
+            return null;
+        }
+        List<String> args = new ArrayList<>();
+        StringTokenizer tokenizer = new StringTokenizer(commandLine);
+        while (tokenizer.hasMoreTokens()) {
+            args.add(tokenizer.nextToken());
+        }
+        if (args.size() < 2 || !args.get(0).endsWith(STORAGE_SCRIPT)) {
+            return null;
+        }
+        args.remove(0);
+        String command = args.get(0);
+        if (!command.equals("index-variants") && !command.equals("index-alignments")) {
+            return null;
+        }
+        return args;
+    }
+
+    private void submit(int jobId, List<String> args) throws AnalysisExecutionException {
+        StorageJob storageJob = new StorageJob(jobId, args.toArray(new String[args.size()]));
+        if (jobs.putIfAbsent(jobId, storageJob) != null) {
+            throw new AnalysisExecutionException("Job " + jobId + " is already being executed");
+        }
+        statusChanged(jobId, Job.Status.QUEUED, null);
+        try {
+            storageJob.future = executorService.submit(storageJob);
+        } catch (RejectedExecutionException e) {
+            jobs.remove(jobId, storageJob);
+            throw new AnalysisExecutionException(e);
+        }
+    }
+
+    /**
+     * Only the jobs still waiting for a free worker can be cancelled. A running storage operation can not be
+     * safely interrupted.
+     */
+    @Override
+    public boolean cancel(int jobId) {
+        StorageJob storageJob = jobs.get(jobId);
+        if (storageJob == null) {
+            return delegate.cancel(jobId);
+        }
+        Future<?> future = storageJob.future;
+        if (future != null && future.cancel(false)) {
+            jobs.remove(jobId, storageJob);
+            storageJob.finish(Job.Status.ERROR, "Cancelled");
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * The INDEX jobs always report their status, as they never reach the resource manager. The status of the rest
+     * of the jobs depends on the delegate executor, see {@link #getDelegate()}.
+     */
+    @Override
+    public boolean isStatusReported() {
+        return true;
+    }
+
+    public JobExecutor getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void close() {
+        executorService.shutdownNow();
+        delegate.close();
+    }
+
+    /**
+     * @return  Number of queued or running INDEX jobs
+     */
+    public int getNumJobs() {
+        return jobs.size();
+    }
+
+    private void statusChanged(int jobId, Job.Status status, String message) {
+        if (listener != null) {
+            try {
+                listener.statusChanged(jobId, status, message);
+            } catch (RuntimeException e) {
+                logger.error("Error reporting status " + status + " of job " + jobId, e);
+            }
+        }
+    }
+
+    private class StorageJob implements Runnable {
+        private final int jobId;
+        private final String[] args;
+        private final AtomicBoolean finished = new AtomicBoolean(false);
+        private volatile Future<?> future;
+
+        private StorageJob(int jobId, String[] args) {
+            this.jobId = jobId;
+            this.args = args;
+        }
+
+        @Override
+        public void run() {
+            try {
+                logger.info("StorageJobExecutor: running job {}: {}", jobId, Arrays.toString(args));
+                statusChanged(jobId, Job.Status.RUNNING, null);
+                OpenCGAStorageMain.index(args);
+                finish(Job.Status.DONE, null);
+            } catch (Exception | LinkageError | AssertionError e) {
+                // Isolate the failure to this job. OutOfMemoryError and other VM errors are not caught
+                logger.error("Error executing job " + jobId, e);
+                finish(Job.Status.ERROR, e.toString());
+            } finally {
+                jobs.remove(jobId, this);
+            }
+        }
+
+        /**
+         * Reports the final status only once
+         */
+        private void finish(Job.Status status, String message) {
+            if (finished.compareAndSet(false, true)) {
+                logger.info("StorageJobExecutor: job {} finished with status {}", jobId, status);
+                statusChanged(jobId, status, message);
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package org.opencb.opencga.catalog;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, in-process cache with a time to live for each entry.
+ * Least recently used entries are evicted when the maximum size is reached.
+ *
+ * A ttl <= 0 or a maxSize <= 0 disables the cache: every get is a miss and nothing is stored.
+ */
+public class CatalogCache<K, V> {
+
+    public interface KeyFilter<K> {
+        boolean matches(K key);
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long expireTime;
+
+        private Entry(V value, long expireTime) {
+            this.value = value;
+            this.expireTime = expireTime;
+        }
+    }
+
+    private final long ttl;
+    private final int maxSize;
+    private final LinkedHashMap<K, Entry<V>> map;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param ttl     Time to live of each entry, in milliseconds
+     * @param maxSize Maximum number of entries
+     */
+    public CatalogCache(long ttl, final int maxSize) {
+        this.ttl = ttl;
+        this.maxSize = maxSize;
+        this.map = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return ttl > 0 && maxSize > 0;
+    }
+
+    /**
+     * @return Cached value, or null if absent or expired
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = map.get(key);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (entry.expireTime < System.currentTimeMillis()) {
+            map.remove(key);
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.value;
+    }
+
+    public synchronized void put(K key, V value) {
+        if (isEnabled() && value != null) {
+            map.put(key, new Entry<>(value, System.currentTimeMillis() + ttl));
+        }
+    }
+
+    public synchronized void invalidate(K key) {
+        map.remove(key);
+    }
+
+    public synchronized void invalidate(KeyFilter<K> filter) {
+        Iterator<K> iterator = map.keySet().iterator();
+        while (iterator.hasNext()) {
+            if (filter.matches(iterator.next())) {
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        map.clear();
+    }
+
+    public synchronized int size() {
+        return map.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    @Override
+    public String toString() {
+        return "CatalogCache{" +
+                "size=" + size() +
+                ", hits=" + hits +
+                ", misses=" + misses +
+                '}';
+    }
+}
@@ -4,6 +4,7 @@ import org.opencb.datastore.core.ObjectMap;
 import org.opencb.opencga.catalog.beans.File;
 import org.opencb.opencga.catalog.db.CatalogDBException;
 import org.opencb.opencga.catalog.io.CatalogIOManager;
+import org.opencb.opencga.catalog.io.ChecksumInputStream;
 import org.opencb.opencga.catalog.io.CatalogIOManagerException;
 import org.opencb.opencga.lib.common.TimeUtils;
 import org.slf4j.Logger;
@@ -43,6 +44,56 @@ public class CatalogFileManager {
     public void upload(URI sourceUri, File file, String sourceChecksum, String sessionId,
                        boolean ignoreStatus, boolean overwrite, boolean deleteSource, boolean secureMove)
             throws CatalogIOManagerException {
+        upload(sourceUri, file, sourceChecksum, CatalogIOManager.DEFAULT_CHECKSUM_ALGORITHM, sessionId,
+                ignoreStatus, overwrite, deleteSource, secureMove);
+    }
+
+    /**
+     * Upload file to a created entry file in Catalog.
+     * The checksum and the size are calculated while copying, and stored in Catalog with the status READY.
+     *
+     * @param sourceUri         File URI to be moved into Catalog workspace
+     * @param file              File from Catalog
+     * @param sourceChecksum    Optional: Source checksum, calculated with the checksumAlgorithm
+     * @param checksumAlgorithm MessageDigest algorithm. "MD5", "SHA-1", "SHA-256"...
+     * @param sessionId         Valid sessionID to modify the File in Catalog
+     * @param ignoreStatus      Ignore the status (uploading, uploaded, ready) from Catalog
+     * @param overwrite         Overwrite if there is a file in the target
+     * @param deleteSource      After moving, delete file
+     * @param secureMove        Don't check checksum. If deleteSource is also set, the file is moved instead of copied
+     *                          when the source and the target are in the same file system.
+     * @throws CatalogIOManagerException
+     */
+    public void upload(URI sourceUri, File file, String sourceChecksum, String checksumAlgorithm, String sessionId,
+                       boolean ignoreStatus, boolean overwrite, boolean deleteSource, boolean secureMove)
+            throws CatalogIOManagerException {
+        upload(sourceUri, file, sourceChecksum, checksumAlgorithm, sessionId, ignoreStatus, overwrite, deleteSource,
+                secureMove, false);
+    }
+
+    /**
+     * Upload file to a created entry file in Catalog.
+     * The checksum and the size are calculated while copying, and stored in Catalog with the status READY.
+     *
+     * @param sourceUri         File URI to be moved into Catalog workspace
+     * @param file              File from Catalog
+     * @param sourceChecksum    Optional: Source checksum, calculated with the checksumAlgorithm. Compared with the
+     *                          checksum of the copied bytes
+     * @param checksumAlgorithm MessageDigest algorithm. "MD5", "SHA-1", "SHA-256"...
+     * @param sessionId         Valid sessionID to modify the File in Catalog
+     * @param ignoreStatus      Ignore the status (uploading, uploaded, ready) from Catalog
+     * @param overwrite         Overwrite if there is a file in the target
+     * @param deleteSource      After moving, delete file
+     * @param secureMove        Don't check checksum. If deleteSource is also set, the file is moved instead of copied
+     *                          when the source and the target are in the same file system.
+     * @param verify            Read the target again after copying, to check the bytes in the target file system.
+     *                          Ignored with secureMove
+     * @throws CatalogIOManagerException
+     */
+    public void upload(URI sourceUri, File file, String sourceChecksum, String checksumAlgorithm, String sessionId,
+                       boolean ignoreStatus, boolean overwrite, boolean deleteSource, boolean secureMove,
+                       boolean verify)
+            throws CatalogIOManagerException {
 
         URI targetUri;
         CatalogIOManager sourceIOManager;
@@ -59,9 +110,7 @@ public class CatalogFileManager {
             //TODO: Check if can delete source
         }
 
-//        long size = sourceIOManager.getFileSize(sourceUri);       //TODO: Add fileStats methods
 //        String creationDate = sourceIOManager.getCreationDate(sourceUri);
-        long size = 0;
         String creationDate = TimeUtils.getTime();
 
 
@@ -87,42 +136,61 @@ public class CatalogFileManager {
                     "Needs 'overwrite = true' for continue.");
         }
 
-        if(sourceChecksum == null || sourceChecksum.isEmpty()) {
-            sourceChecksum = sourceIOManager.calculateChecksum(sourceUri);
+        // Move without reading the file, if possible. The checksum is not calculated
+        if (deleteSource && secureMove && sourceIOManager == targetIOManager) {
+            try {
+                if (sourceIOManager.moveFile(sourceUri, targetUri)) {
+                    logger.info("File {} moved to {}", sourceUri, targetUri);
+                    catalogManager.setFileDiskUsage(file.getId(), targetIOManager.getFileSize(targetUri));
+                    catalogManager.modifyFile(file.getId(), new ObjectMap("status", File.Status.READY), sessionId);
+                    return;
+                }
+            } catch (IOException e) {
+                throw new CatalogIOManagerException("Error while moving file. ", e);
+            } catch (CatalogException e) {
+                throw new CatalogIOManagerException("Can't update file properties in Catalog.", e);
+            }
         }
 
+        ChecksumInputStream copied;
         try {
-            copy(sourceIOManager, sourceUri, targetIOManager, targetUri);
+            copied = copy(sourceIOManager, sourceUri, targetIOManager, targetUri, checksumAlgorithm);
         } catch (CatalogIOManagerException | IOException e) {
             throw new CatalogIOManagerException("Error while copying file. ", e);
         }
-
-        String targetChecksum;
-        try {
-            targetChecksum = targetIOManager.calculateChecksum(targetUri);
-        } catch (CatalogIOManagerException catalogIOManagerException) {
+        // Checksum of the bytes written to the target, calculated while copying
+        String targetChecksum = copied.getChecksum();
+        if (verify && !secureMove) {
             try {
-                targetIOManager.deleteFile(targetUri);
-            } catch (IOException ioException) {
-                ioException.printStackTrace();
-                //You fail at failing!
-                throw new CatalogIOManagerException(
-                        "Fail calculating target checksum : " + catalogIOManagerException.getMessage() + "" +
-                        "Fail deleting target file : " + ioException.getMessage(), catalogIOManagerException);
+                targetChecksum = targetIOManager.calculateChecksum(targetUri, copied.getAlgorithm());
+            } catch (CatalogIOManagerException e) {
+                throw new CatalogIOManagerException("Can't calculate the checksum of the target file.", e);
+            }
+            if (!targetChecksum.equals(copied.getChecksum())) {
+                logger.error("Checksum of the target {} does not match the copied bytes {}", targetChecksum, copied.getChecksum());
             }
-            throw catalogIOManagerException;
+        }
+        boolean checksumMatches;
+        if (secureMove) {
+            checksumMatches = true;
+        } else if (sourceChecksum == null || sourceChecksum.isEmpty()) {
+            checksumMatches = targetChecksum.equals(copied.getChecksum());
+        } else {
+            checksumMatches = targetChecksum.equals(sourceChecksum);
         }
 
-        if(targetChecksum.equals(sourceChecksum)) {
-            logger.info("Checksum matches {}", sourceChecksum);
+        if(checksumMatches) {
+            logger.info("Checksum matches {}", targetChecksum);
 
             //Update file
             ObjectMap parameters = new ObjectMap();
             parameters.put("status", File.Status.READY);
-//            parameters.put("diskUsage", size);  // TODO
 //            parameters.put("creationDate", creationDate);
-            parameters.put("attributes", new ObjectMap("checksum", targetChecksum));
+            ObjectMap attributes = new ObjectMap("checksum", targetChecksum);
+            attributes.put("checksumAlgorithm", copied.getAlgorithm());
+            parameters.put("attributes", attributes);
             try {
+                catalogManager.setFileDiskUsage(file.getId(), copied.getSize());
                 catalogManager.modifyFile(file.getId(), parameters, sessionId);
             } catch (CatalogException e) {
                 throw new CatalogIOManagerException("Can't update file properties in Catalog.", e);
@@ -137,19 +205,24 @@ public class CatalogFileManager {
                 }
             }
         } else {
+            try {
+                targetIOManager.deleteFile(targetUri);
+            } catch (IOException e) {
+                logger.error("Fail deleting target file " + targetUri, e);
+            }
             throw new CatalogIOManagerException("Checksum mismatches at moving files.");
         }
 
     }
 
-    private void copy(CatalogIOManager sourceIOManager, URI source, CatalogIOManager targetIOManager, URI target)
+    private ChecksumInputStream copy(CatalogIOManager sourceIOManager, URI source, CatalogIOManager targetIOManager,
+                                     URI target, String checksumAlgorithm)
             throws IOException, CatalogIOManagerException {
 
         logger.info("Coping file from {} to {}", source, target);
         //If it's the same IOManager, copy intra FS
         if(sourceIOManager == targetIOManager) {
-            sourceIOManager.copyFile(source, target);
-            return;
+            return sourceIOManager.copyFile(source, target, checksumAlgorithm);
         }
 
         //TODO: Implement copies inter FS
@@ -157,8 +230,9 @@ public class CatalogFileManager {
 //        POSIX -> HDFS
 
         logger.info("Unable to copy directly from {} to {} . Doing manual copy.", source.getScheme(), target.getScheme());
-        DataInputStream fileObject = sourceIOManager.getFileObject(source, -1, -1);
-        targetIOManager.createFile(target, fileObject);
+        try (DataInputStream fileObject = sourceIOManager.getFileObject(source, -1, -1)) {
+            return targetIOManager.createFile(target, fileObject, checksumAlgorithm);
+        }
 
         //throw new CatalogIOManagerException("Unable to copy from " + source.getScheme() + " to " + target.getScheme());
     }
@@ -23,13 +23,19 @@ import org.slf4j.LoggerFactory;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 public class CatalogManager {
 
@@ -38,12 +44,25 @@ public class CatalogManager {
     public static final String CATALOG_DB_PASSWORD = "OPENCGA.CATALOG.DB.PASSWORD";
     public static final String CATALOG_DB_HOST = "OPENCGA.CATALOG.DB.HOST";
     public static final String CATALOG_DB_PORT = "OPENCGA.CATALOG.DB.PORT";
+    public static final String CATALOG_DB_ID_BLOCK_SIZE = "OPENCGA.CATALOG.DB.ID_BLOCK_SIZE";
     public static final String CATALOG_MAIN_ROOTDIR = "OPENCGA.CATALOG.MAIN.ROOTDIR";
+    public static final String CATALOG_CACHE_TTL = "OPENCGA.CATALOG.CACHE.TTL";
+    public static final String CATALOG_CACHE_SIZE = "OPENCGA.CATALOG.CACHE.SIZE";
+    /** Threads searching files in parallel, shared by all the greps. Default: 4 */
+    public static final String CATALOG_GREP_MAX_THREADS = "OPENCGA.CATALOG.GREP.MAX_THREADS";
 
     private CatalogDBAdaptor catalogDBAdaptor;
     private CatalogIOManager ioManager;
     private CatalogIOManagerFactory catalogIOManagerFactory;
 
+    /* Permission caches. Invalidated on logout, modifyUser, shareProject and shareStudy */
+    private CatalogCache<String, String> sessionCache;
+    private CatalogCache<String, User.Role> userRoleCache;
+    private CatalogCache<String, Acl> projectAclCache;
+    private CatalogCache<String, Acl> studyAclCache;
+
+    private ExecutorService grepExecutorService;
+
 //    private PosixCatalogIOManager ioManager;
 
 
@@ -64,6 +83,7 @@ public class CatalogManager {
         this.properties = catalogProperties;
 
         configureIOManager(properties);
+        configureCache(properties);
     }
 
     @Deprecated
@@ -82,6 +102,7 @@ public class CatalogManager {
 
         configureDBAdaptor(properties);
         configureIOManager(properties);
+        configureCache(properties);
     }
 
     public CatalogManager(Properties properties)
@@ -90,6 +111,7 @@ public class CatalogManager {
 
         configureDBAdaptor(properties);
         configureIOManager(properties);
+        configureCache(properties);
     }
 
     public CatalogIOManagerFactory getCatalogIOManagerFactory() {
@@ -107,6 +129,15 @@ public class CatalogManager {
         ioManager = this.catalogIOManagerFactory.get(scheme);
     }
 
+    private void configureCache(Properties properties) {
+        long ttl = Long.parseLong(properties.getProperty(CATALOG_CACHE_TTL, "60000"));
+        int size = Integer.parseInt(properties.getProperty(CATALOG_CACHE_SIZE, "10000"));
+        sessionCache = new CatalogCache<>(ttl, size);
+        userRoleCache = new CatalogCache<>(ttl, size);
+        projectAclCache = new CatalogCache<>(ttl, size);
+        studyAclCache = new CatalogCache<>(ttl, size);
+    }
+
     private void configureDBAdaptor(Properties properties)
             throws CatalogDBException {
 
@@ -119,7 +150,9 @@ public class CatalogManager {
                 properties.getProperty(CATALOG_DB_HOST, ""),
                 Integer.parseInt(properties.getProperty(CATALOG_DB_PORT, "0")));
 
-        catalogDBAdaptor = new CatalogMongoDBAdaptor(dataStoreServerAddress, mongoCredential);
+        int idBlockSize = Integer.parseInt(properties.getProperty(CATALOG_DB_ID_BLOCK_SIZE, "100"));
+
+        catalogDBAdaptor = new CatalogMongoDBAdaptor(dataStoreServerAddress, mongoCredential, idBlockSize);
 
     }
 
@@ -320,6 +353,7 @@ public class CatalogManager {
         checkParameter(userId, "userId");
         checkParameter(sessionId, "sessionId");
         checkSessionId(userId, sessionId);
+        sessionCache.invalidate(sessionId);
         return catalogDBAdaptor.logout(userId, sessionId);
     }
 
@@ -332,6 +366,8 @@ public class CatalogManager {
         logger.info("new anonymous user. userId: " + userId + " sesionId: " + sessionId);
 
         ioManager.deleteAnonymousUser(userId);
+        sessionCache.invalidate(sessionId);
+        invalidateUserCache(userId);
         return catalogDBAdaptor.logoutAnonymous(sessionId);
     }
 
@@ -403,7 +439,45 @@ public class CatalogManager {
     }
 
     public String getUserIdBySessionId(String sessionId) {
-        return catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userId = sessionCache.get(sessionId);
+        if (userId == null) {
+            userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+            if (!userId.isEmpty()) {
+                sessionCache.put(sessionId, userId);
+            }
+        }
+        return userId;
+    }
+
+    /**
+     * Hits, misses and size of the session, role and ACL caches.
+     */
+    public ObjectMap getCacheStats() {
+        ObjectMap stats = new ObjectMap();
+        stats.put("session", cacheStats(sessionCache));
+        stats.put("userRole", cacheStats(userRoleCache));
+        stats.put("projectAcl", cacheStats(projectAclCache));
+        stats.put("studyAcl", cacheStats(studyAclCache));
+        return stats;
+    }
+
+    private ObjectMap cacheStats(CatalogCache cache) {
+        ObjectMap stats = new ObjectMap("size", cache.size());
+        stats.put("hits", cache.getHits());
+        stats.put("misses", cache.getMisses());
+        return stats;
+    }
+
+    private void invalidateUserCache(final String userId) {
+        userRoleCache.invalidate(userId);
+        CatalogCache.KeyFilter<String> userFilter = new CatalogCache.KeyFilter<String>() {
+            @Override
+            public boolean matches(String key) {
+                return key.startsWith(userId + "@");
+            }
+        };
+        projectAclCache.invalidate(userFilter);
+        studyAclCache.invalidate(userFilter);
     }
 
     /**
@@ -437,13 +511,14 @@ public class CatalogManager {
             checkEmail(parameters.getString("email"));
         }
         catalogDBAdaptor.updateUserLastActivity(userId);
+        invalidateUserCache(userId);
         return catalogDBAdaptor.modifyUser(userId, parameters);
     }
 
     public void deleteUser(String userId, String sessionId) throws CatalogException {
         checkParameter(userId, "userId");
         checkParameter(sessionId, "sessionId");
-        String userIdBySessionId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userIdBySessionId = getUserIdBySessionId(sessionId);
         if (userIdBySessionId.equals(userId) || getUserRole(userIdBySessionId).equals(User.Role.ADMIN)) {
             try {
                 ioManager.deleteUser(userId);
@@ -451,6 +526,7 @@ public class CatalogManager {
                 e.printStackTrace();
             }
             catalogDBAdaptor.deleteUser(userId);
+            invalidateUserCache(userId);
         }
     }
 
@@ -495,7 +571,7 @@ public class CatalogManager {
     public QueryResult<Project> getProject(int projectId, QueryOptions options, String sessionId)
             throws CatalogException {
         checkParameter(sessionId, "sessionId");
-        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userId = getUserIdBySessionId(sessionId);
 
         Acl projectAcl = getProjectAcl(userId, projectId);
         if (projectAcl.isRead()) {
@@ -514,7 +590,7 @@ public class CatalogManager {
         checkParameter(ownerId, "ownerId");
         checkParameter(sessionId, "sessionId");
 
-        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userId = getUserIdBySessionId(sessionId);
 
         QueryResult<Project> allProjects = catalogDBAdaptor.getAllProjects(ownerId, options);
 
@@ -529,7 +605,7 @@ public class CatalogManager {
             throws CatalogException {
         checkAlias(newProjectAlias, "newProjectAlias");
         checkParameter(sessionId, "sessionId");
-        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userId = getUserIdBySessionId(sessionId);
         String ownerId = catalogDBAdaptor.getProjectOwnerId(projectId);
 
         Acl projectAcl = getProjectAcl(userId, projectId);
@@ -560,7 +636,7 @@ public class CatalogManager {
             throws CatalogException {
         checkObj(parameters, "Parameters");
         checkParameter(sessionId, "sessionId");
-        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userId = getUserIdBySessionId(sessionId);
         String ownerId = catalogDBAdaptor.getProjectOwnerId(projectId);
         if (!getProjectAcl(userId, projectId).isWrite()) {
             throw new CatalogDBException("User '" + userId + "' can't modify the project " + projectId);
@@ -578,13 +654,22 @@ public class CatalogManager {
         checkObj(acl, "acl");
         checkParameter(sessionId, "sessionId");
 
-        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userId = getUserIdBySessionId(sessionId);
         Acl projectAcl = getProjectAcl(userId, projectId);
         if (!projectAcl.isWrite()) {
             throw new CatalogDBException("Permission denied. Can't modify project");
         }
 
-        return catalogDBAdaptor.setProjectAcl(projectId, acl);
+        QueryResult queryResult = catalogDBAdaptor.setProjectAcl(projectId, acl);
+        final String projectKey = "@" + projectId;
+        projectAclCache.invalidate(new CatalogCache.KeyFilter<String>() {
+            @Override
+            public boolean matches(String key) {
+                return key.endsWith(projectKey);
+            }
+        });
+        studyAclCache.invalidateAll();  //Study ACLs are merged with the project ACL
+        return queryResult;
     }
 
     /**
@@ -611,7 +696,7 @@ public class CatalogManager {
         if (description == null) {
             description = "";
         }
-        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userId = getUserIdBySessionId(sessionId);
 
         creatorId = defaultString(creatorId, userId);
         creationDate = defaultString(creationDate, TimeUtils.getTime());
@@ -699,7 +784,7 @@ public class CatalogManager {
     public QueryResult<Study> getStudy(int studyId, String sessionId, QueryOptions options)
             throws CatalogException {
         checkParameter(sessionId, "sessionId");
-        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userId = getUserIdBySessionId(sessionId);
         Acl studyAcl = getStudyAcl(userId, studyId);
         if (studyAcl.isRead()) {
             QueryResult<Study> studyResult = catalogDBAdaptor.getStudy(studyId, options);
@@ -715,7 +800,7 @@ public class CatalogManager {
     public QueryResult<Study> getAllStudies(int projectId, QueryOptions options, String sessionId)
             throws CatalogException {
         checkParameter(sessionId, "sessionId");
-        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userId = getUserIdBySessionId(sessionId);
 
         Acl projectAcl = getProjectAcl(userId, projectId);
         if (!projectAcl.isRead()) {
@@ -736,7 +821,7 @@ public class CatalogManager {
             throws CatalogException {
         checkAlias(newStudyAlias, "newStudyAlias");
         checkParameter(sessionId, "sessionId");
-        String sessionUserId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String sessionUserId = getUserIdBySessionId(sessionId);
         String studyOwnerId = catalogDBAdaptor.getStudyOwnerId(studyId);
 
         if (!getStudyAcl(sessionUserId, studyId).isWrite()) {  //User can't write/modify the study
@@ -773,7 +858,7 @@ public class CatalogManager {
             throws CatalogException {
         checkObj(parameters, "Parameters");
         checkParameter(sessionId, "sessionId");
-        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userId = getUserIdBySessionId(sessionId);
         if (!getStudyAcl(userId, studyId).isWrite()) {
             throw new CatalogDBException("User " + userId + " can't modify the study " + studyId);
         }
@@ -792,13 +877,34 @@ public class CatalogManager {
         checkObj(acl, "acl");
         checkParameter(sessionId, "sessionId");
 
-        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userId = getUserIdBySessionId(sessionId);
         Acl studyAcl = getStudyAcl(userId, studyId);
         if (!studyAcl.isWrite()) {
             throw new CatalogDBException("Permission denied. Can't modify project");
         }
 
-        return catalogDBAdaptor.setStudyAcl(studyId, acl);
+        QueryResult queryResult = catalogDBAdaptor.setStudyAcl(studyId, acl);
+        final String studyKey = "@" + studyId;
+        studyAclCache.invalidate(new CatalogCache.KeyFilter<String>() {
+            @Override
+            public boolean matches(String key) {
+                return key.endsWith(studyKey);
+            }
+        });
+        return queryResult;
+    }
+
+    /**
+     * Recomputes the disk usage of the study from all its files. The study disk usage is updated incrementally
+     * with each file operation, so this is only needed to fix inconsistencies.
+     */
+    public QueryResult<Long> updateStudyDiskUsage(int studyId, String sessionId) throws CatalogException {
+        checkParameter(sessionId, "sessionId");
+        String userId = getUserIdBySessionId(sessionId);
+        if (!getStudyAcl(userId, studyId).isWrite()) {
+            throw new CatalogDBException("Permission denied. Can't modify this study");
+        }
+        return catalogDBAdaptor.updateStudyDiskUsage(studyId);
     }
 
     /**
@@ -839,7 +945,7 @@ public class CatalogManager {
                                         Map<String, Object> stats, Map<String, Object> attributes,
                                         boolean parents, QueryOptions options, String sessionId)
             throws CatalogException {
-        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userId = getUserIdBySessionId(sessionId);
         checkParameter(sessionId, "sessionId");
         checkPath(path, "filePath");
 
@@ -929,6 +1035,85 @@ public class CatalogManager {
 
     }
 
+    /**
+     * Registers several files in the same study at once.
+     * User role and permissions are checked once for each parent folder, and all the entries are inserted together.
+     * Nothing is created if any of the paths already exists.
+     *
+     * @param files Files to create. Only "path" is mandatory. Ids are ignored.
+     * @return      Created files, with their new ids
+     */
+    public QueryResult<File> createFiles(int studyId, List<File> files, boolean parents, QueryOptions options, String sessionId)
+            throws CatalogException {
+        checkObj(files, "files");
+        checkParameter(sessionId, "sessionId");
+        String userId = getUserIdBySessionId(sessionId);
+
+        if (!catalogDBAdaptor.studyExists(studyId)) {
+            throw new CatalogException("Study { id: " + studyId + "} does not exist.");
+        }
+
+        Set<String> parentFolders = new HashSet<>();
+        for (File file : files) {
+            checkPath(file.getPath(), "filePath");
+            file.setName(Paths.get(file.getPath()).getFileName().toString());
+            file.setType(defaultObject(file.getType(), File.Type.FILE));
+            file.setFormat(defaultObject(file.getFormat(), File.Format.PLAIN));
+            file.setBioformat(defaultObject(file.getBioformat(), File.Bioformat.NONE));
+            file.setOwnerId(defaultString(file.getOwnerId(), userId));
+            file.setCreationDate(defaultString(file.getCreationDate(), TimeUtils.getTime()));
+            file.setDescription(defaultString(file.getDescription(), ""));
+            file.setStatus(defaultObject(file.getStatus(), File.Status.UPLOADING));
+            file.setSampleIds(defaultObject(file.getSampleIds(), new LinkedList<Integer>()));
+            file.setAcl(defaultObject(file.getAcl(), new LinkedList<Acl>()));
+            file.setStats(defaultObject(file.getStats(), new HashMap<String, Object>()));
+            file.setAttributes(defaultObject(file.getAttributes(), new HashMap<String, Object>()));
+
+            if (file.getDiskUsage() < 0) {
+                throw new CatalogException("Error: DiskUsage can't be negative!");
+            }
+            if (!file.getOwnerId().equals(userId)) {
+                if (!getUserRole(userId).equals(User.Role.ADMIN)) {
+                    throw new CatalogException("Permission denied. Required ROLE_ADMIN to create a file with ownerId != userId");
+                } else if (!catalogDBAdaptor.userExists(file.getOwnerId())) {
+                    throw new CatalogException("ERROR: ownerId does not exist.");
+                }
+            }
+            if (file.getStatus() != File.Status.UPLOADING && !getUserRole(userId).equals(User.Role.ADMIN)) {
+                throw new CatalogException("Permission denied. Required ROLE_ADMIN to create a file with status != UPLOADING");
+            }
+            if (file.getJobId() > 0 && !catalogDBAdaptor.jobExists(file.getJobId())) {
+                throw new CatalogException("Job { id: " + file.getJobId() + "} does not exist.");
+            }
+
+            Path parent = Paths.get(file.getPath()).getParent();
+            parentFolders.add(parent == null ? null : parent.toString());
+        }
+
+        //Find parents. If parents == true, create folders. Check permissions once for each parent
+        for (String parent : parentFolders) {
+            int fileId = -1;
+            if (parent != null) {
+                fileId = catalogDBAdaptor.getFileId(studyId, parent + "/");
+                if (fileId < 0) {
+                    if (parents) {
+                        createFolder(studyId, Paths.get(parent), true, null, sessionId);
+                        fileId = catalogDBAdaptor.getFileId(studyId, parent + "/");
+                    } else {
+                        throw new CatalogDBException("Directory not found " + parent);
+                    }
+                }
+            }
+            Acl parentAcl = fileId < 0 ? getStudyAcl(userId, studyId) : getFileAcl(userId, fileId);
+            if (!parentAcl.isWrite()) {
+                throw new CatalogException("Permission denied, " + userId + " can not write in " +
+                        (parent != null ? "directory " + parent : "study " + studyId));
+            }
+        }
+
+        return catalogDBAdaptor.createFilesToStudy(studyId, files, options);
+    }
+
     private <T> T defaultObject(T object, T defaultObject) {
         if (object == null) {
             object = defaultObject;
@@ -987,7 +1172,7 @@ public class CatalogManager {
             throws CatalogException {
         checkPath(folderPath, "folderPath");
         checkParameter(sessionId, "sessionId");
-        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userId = getUserIdBySessionId(sessionId);
         String ownerId = catalogDBAdaptor.getStudyOwnerId(studyId);
         int projectId = catalogDBAdaptor.getProjectIdByStudyId(studyId);
 
@@ -1063,7 +1248,7 @@ public class CatalogManager {
             throws CatalogException, IOException {
         //Safe delete: Don't delete. Just rename file and set {deleting:true}
         checkParameter(sessionId, "sessionId");
-        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userId = getUserIdBySessionId(sessionId);
         int studyId = catalogDBAdaptor.getStudyIdByFileId(fileId);
         int projectId = catalogDBAdaptor.getProjectIdByStudyId(studyId);
         String ownerId = catalogDBAdaptor.getProjectOwnerId(projectId);
@@ -1126,7 +1311,7 @@ public class CatalogManager {
 
     public QueryResult moveFile(int fileId, int folderId, String sessionId) throws CatalogException {
 //        checkParameter(sessionId, "sessionId");
-//        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+//        String userId = getUserIdBySessionId(sessionId);
 //        int studyId = catalogDBAdaptor.getStudyIdByFileId(fileId);
 //        int projectId = catalogDBAdaptor.getProjectIdByStudyId(studyId);
 //        String ownerId = catalogDBAdaptor.getProjectOwnerId(projectId);
@@ -1146,7 +1331,7 @@ public class CatalogManager {
             throws CatalogException, IOException, CatalogIOManagerException {
         checkParameter(sessionId, "sessionId");
         checkPath(newName, "newName");
-        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userId = getUserIdBySessionId(sessionId);
         int studyId = catalogDBAdaptor.getStudyIdByFileId(fileId);
         int projectId = catalogDBAdaptor.getProjectIdByStudyId(studyId);
         String ownerId = catalogDBAdaptor.getProjectOwnerId(projectId);
@@ -1212,7 +1397,7 @@ public class CatalogManager {
             throws CatalogException {
         checkObj(parameters, "Parameters");
         checkParameter(sessionId, "sessionId");
-        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userId = getUserIdBySessionId(sessionId);
         switch (getUserRole(userId)) {
             case ADMIN:
                 logger.info("UserAdmin " + userId + " modifies file {id: " + fileId + "}");
@@ -1234,10 +1419,18 @@ public class CatalogManager {
         return queryResult;
     }
 
+    /**
+     * Sets the size of a file measured by catalog, like after copying it into the workspace. Not exposed to the
+     * users, as the disk usage of the study is updated incrementally from this value.
+     */
+    QueryResult setFileDiskUsage(int fileId, long diskUsage) throws CatalogDBException {
+        return catalogDBAdaptor.modifyFile(fileId, new ObjectMap("diskUsage", diskUsage));
+    }
+
 //    public QueryResult setIndexFile(int fileId, String backend, Index index, String sessionId) throws CatalogManagerException {
 //        checkObj(backend, "backend");
 //        checkParameter(sessionId, "sessionId");
-//        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+//        String userId = getUserIdBySessionId(sessionId);
 //        if (!getFileAcl(userId, fileId).isWrite()) {
 //            throw new CatalogManagerException("User " + userId + " can't modify the file " + fileId);
 //        }
@@ -1253,7 +1446,7 @@ public class CatalogManager {
             throws CatalogIOManagerException, IOException, CatalogException {
         checkParameter(sessionId, "sessionId");
 
-        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userId = getUserIdBySessionId(sessionId);
         if (!getFileAcl(userId, fileId).isRead()) {
             throw new CatalogException("Permission denied. User can't read file");
         }
@@ -1264,7 +1457,7 @@ public class CatalogManager {
     public QueryResult<File> getAllFiles(int studyId, QueryOptions options, String sessionId) throws CatalogException {
         checkParameter(sessionId, "sessionId");
 
-        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userId = getUserIdBySessionId(sessionId);
         Acl studyAcl = getStudyAcl(userId, studyId);
         if (!studyAcl.isRead()) {
             throw new CatalogException("Permission denied. User can't read file");
@@ -1280,7 +1473,7 @@ public class CatalogManager {
         checkParameter(sessionId, "sessionId");
         checkId(folderId, "folderId");
 
-        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userId = getUserIdBySessionId(sessionId);
         int studyId = catalogDBAdaptor.getStudyIdByFileId(folderId);
         Acl studyAcl = getStudyAcl(userId, studyId);
         if (!studyAcl.isRead()) {
@@ -1298,12 +1491,16 @@ public class CatalogManager {
         return downloadFile(fileId, -1, -1, sessionId);
     }
 
-    public DataInputStream downloadFile(int fileId, int start, int limit, String sessionId)    //TODO: start & limit does not work
+    /**
+     * @param start Number of lines to skip
+     * @param limit Number of lines to read. -1 to read until the end of the file
+     */
+    public DataInputStream downloadFile(int fileId, int start, int limit, String sessionId)
             throws CatalogIOManagerException, IOException, CatalogException {
         checkParameter(sessionId, "sessionId");
 
 
-        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userId = getUserIdBySessionId(sessionId);
         if (!getFileAcl(userId, fileId).isRead()) {
             throw new CatalogDBException("Permission denied. User can't download file");
         }
@@ -1321,27 +1518,113 @@ public class CatalogManager {
                 file.getPath(), start, limit);
     }
 
-    public DataInputStream grepFile(int fileId, String pattern, boolean ignoreCase, boolean multi, String sessionId)
-            throws CatalogIOManagerException, IOException, CatalogException {
-        checkParameter(sessionId, "sessionId");
+    /**
+     * Writes a range of bytes of the file content into the channel, without loading it in memory.
+     *
+     * @param offset    First byte to read
+     * @param length    Number of bytes to read. -1 to read until the end of the file
+     * @return          Number of bytes written
+     */
+    public long downloadFile(int fileId, long offset, long length, WritableByteChannel target, String sessionId)
+            throws CatalogException, IOException {
+        URI fileUri = getReadableFileUri(fileId, sessionId);
+        return catalogIOManagerFactory.get(fileUri).transferTo(fileUri, offset, length, target);
+    }
+
+    /**
+     * @return Size in bytes of the file content
+     */
+    public long getFileSize(int fileId, String sessionId) throws CatalogException, IOException {
+        URI fileUri = getReadableFileUri(fileId, sessionId);
+        return catalogIOManagerFactory.get(fileUri).getFileSize(fileUri);
+    }
 
+    private URI getReadableFileUri(int fileId, String sessionId) throws CatalogException {
+        checkParameter(sessionId, "sessionId");
 
-        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userId = getUserIdBySessionId(sessionId);
         if (!getFileAcl(userId, fileId).isRead()) {
-            throw new CatalogException("Permission denied. User can't download file");
+            throw new CatalogDBException("Permission denied. User can't download file");
         }
-        int studyId = catalogDBAdaptor.getStudyIdByFileId(fileId);
-        int projectId = catalogDBAdaptor.getProjectIdByStudyId(studyId);
         QueryResult<File> fileResult = catalogDBAdaptor.getFile(fileId);
         if (fileResult.getResult().isEmpty()) {
-            throw new CatalogException("File not found");
+            throw new CatalogDBException("File not found");
         }
-        File file = fileResult.getResult().get(0);
+        return getFileUri(fileResult.getResult().get(0));
+    }
 
-        return ioManager.getGrepFileObject(userId,
-                Integer.toString(projectId),
-                Integer.toString(studyId),
-                file.getPath(), pattern, ignoreCase, multi);
+    public DataInputStream grepFile(int fileId, String pattern, boolean ignoreCase, boolean multi, String sessionId)
+            throws CatalogIOManagerException, IOException, CatalogException {
+        return grepFile(fileId, pattern, ignoreCase, false, multi ? -1 : 1, sessionId);
+    }
+
+    /**
+     * Lazy grep. The file is read while the returned stream is consumed.
+     * Plain, gzip and bgzip files are supported.
+     *
+     * @param find          Match any part of the line instead of the whole line
+     * @param maxMatches    Stop after this number of matches. -1 for no limit
+     */
+    public DataInputStream grepFile(int fileId, String pattern, boolean ignoreCase, boolean find, int maxMatches,
+                                    String sessionId)
+            throws CatalogException, IOException {
+        checkParameter(pattern, "pattern");
+        URI fileUri = getReadableFileUri(fileId, sessionId);
+        return catalogIOManagerFactory.get(fileUri).getGrepFileObject(fileUri, pattern, ignoreCase, find, maxMatches);
+    }
+
+    /**
+     * Checks that the file can be read and the pattern is a valid regular expression. Allows reporting errors
+     * before the output of {@link #grepFile(int, String, boolean, boolean, int, int, OutputStream, String)}
+     * starts being written.
+     */
+    public void checkGrepFile(int fileId, String pattern, String sessionId) throws CatalogException, IOException {
+        checkParameter(pattern, "pattern");
+        try {
+            Pattern.compile(pattern);
+        } catch (PatternSyntaxException e) {
+            throw new CatalogException("Invalid pattern " + pattern + ": " + e.getDescription());
+        }
+        URI fileUri = getReadableFileUri(fileId, sessionId);
+        if (!catalogIOManagerFactory.get(fileUri).exists(fileUri)) {
+            throw new CatalogIOManagerException("File " + fileId + " not found in " + fileUri);
+        }
+    }
+
+    /**
+     * Writes the matching lines into the OutputStream as they are found.
+     *
+     * @param numThreads    Big plain files are split in byte ranges searched in parallel by this number of threads.
+     *                      Limited to {@link #CATALOG_GREP_MAX_THREADS}, shared by all the greps
+     * @return              Number of matches
+     */
+    public long grepFile(int fileId, String pattern, boolean ignoreCase, boolean find, int maxMatches, int numThreads,
+                         OutputStream outputStream, String sessionId)
+            throws CatalogException, IOException {
+        checkParameter(pattern, "pattern");
+        URI fileUri = getReadableFileUri(fileId, sessionId);
+        int maxThreads = Integer.parseInt(properties.getProperty(CATALOG_GREP_MAX_THREADS, "4"));
+        numThreads = Math.max(1, Math.min(numThreads, maxThreads));
+        return catalogIOManagerFactory.get(fileUri).grep(fileUri, pattern, ignoreCase, find, maxMatches, numThreads,
+                numThreads > 1 ? getGrepExecutorService() : null, outputStream);
+    }
+
+    private synchronized ExecutorService getGrepExecutorService() {
+        if (grepExecutorService == null) {
+            int maxThreads = Integer.parseInt(properties.getProperty(CATALOG_GREP_MAX_THREADS, "4"));
+            grepExecutorService = Executors.newFixedThreadPool(Math.max(1, maxThreads), new ThreadFactory() {
+                private final ThreadFactory threadFactory = Executors.defaultThreadFactory();
+
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = threadFactory.newThread(r);
+                    thread.setName("catalog-grep-" + thread.getName());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return grepExecutorService;
     }
 
 
@@ -1352,7 +1635,7 @@ public class CatalogManager {
         checkObj(acl, "acl");
         checkParameter(sessionId, "sessionId");
 
-        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userId = getUserIdBySessionId(sessionId);
         Acl fileAcl = getFileAcl(userId, fileId);
         if (!fileAcl.isWrite()) {
             throw new CatalogDBException("Permission denied. Can't modify file");
@@ -1372,7 +1655,7 @@ public class CatalogManager {
 
     public QueryResult<File> searchFile(int studyId, QueryOptions query, QueryOptions options, String sessionId) throws CatalogException {
         checkParameter(sessionId, "sessionId");
-        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userId = getUserIdBySessionId(sessionId);
 
         if (studyId < 0) {
             switch (getUserRole(userId)) {
@@ -1393,7 +1676,7 @@ public class CatalogManager {
         checkParameter(sessionId, "sessionId");
         checkParameter(name, "name");
         checkObj(files, "files");
-        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userId = getUserIdBySessionId(sessionId);
 
         description = defaultString(description, "");
         attributes = defaultObject(attributes, Collections.<String, Object>emptyMap());
@@ -1417,7 +1700,7 @@ public class CatalogManager {
 
     public QueryResult<Dataset> getDataset(int dataSetId, QueryOptions options, String sessionId) throws CatalogException {
         checkParameter(sessionId, "sessionId");
-        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userId = getUserIdBySessionId(sessionId);
         int studyId = catalogDBAdaptor.getStudyIdByDatasetId(dataSetId);
 
         if (!getStudyAcl(userId, studyId).isWrite()) {
@@ -1686,7 +1969,7 @@ public class CatalogManager {
 //        checkAlias(alias, "alias");
 //        checkParameter(sessionId, "sessionId");
 //
-//        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+//        String userId = getUserIdBySessionId(sessionId);
 //        if (!getStudyAcl(userId, studyId).isWrite()) {
 //            throw new CatalogManagerException("Permission denied. Can't write in this study");
 //        }
@@ -1700,7 +1983,7 @@ public class CatalogManager {
 //
 //    public QueryResult<Analysis> getAnalysis(int analysisId, String sessionId) throws CatalogManagerException {
 //        checkParameter(sessionId, "sessionId");
-//        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+//        String userId = getUserIdBySessionId(sessionId);
 //        int studyId = catalogDBAdaptor.getStudyIdByAnalysisId(analysisId);
 //
 //        if (!getStudyAcl(userId, studyId).isRead()) {
@@ -1713,7 +1996,7 @@ public class CatalogManager {
 //
 //    public QueryResult<Analysis> getAllAnalysis(int studyId, String sessionId) throws CatalogManagerException {
 //        checkParameter(sessionId, "sessionId");
-//        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+//        String userId = getUserIdBySessionId(sessionId);
 //
 //        if (!getStudyAcl(userId, studyId).isRead()) {
 //            throw new CatalogManagerException("Permission denied. Can't read from this study"); //TODO: Should Analysis have ACL?
@@ -1725,7 +2008,7 @@ public class CatalogManager {
 //    public QueryResult modifyAnalysis(int analysisId, ObjectMap parameters, String sessionId) throws CatalogManagerException {
 //        checkParameter(sessionId, "sessionId");
 //        checkObj(parameters, "Parameters");
-//        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+//        String userId = getUserIdBySessionId(sessionId);
 //        int studyId = catalogDBAdaptor.getStudyIdByAnalysisId(analysisId);
 //
 //        for (String s : parameters.keySet()) {
@@ -1765,7 +2048,7 @@ public class CatalogManager {
             throws CatalogException, CatalogIOManagerException {
         checkParameter(sessionId, "sessionId");
         checkParameter(name, "name");
-        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userId = getUserIdBySessionId(sessionId);
         checkParameter(toolName, "toolName");
         checkParameter(commandLine, "commandLine");
         description = description != null ? description : "";
@@ -1797,7 +2080,7 @@ public class CatalogManager {
         checkParameter(sessionId, "sessionId");
         checkParameter(dirName, "dirName");
 
-        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userId = getUserIdBySessionId(sessionId);
         QueryOptions studyQueryOptions = null;
 //        studyQueryOptions = new QueryOptions("include", Arrays.asList("projects.studies.uri", "projects.studies.id"));
         QueryResult<Study> studyQueryResult = getStudy(studyId, sessionId, studyQueryOptions);
@@ -1819,7 +2102,7 @@ public class CatalogManager {
 
     public QueryResult<ObjectMap> incJobVisites(int jobId, String sessionId) throws CatalogException {
         checkParameter(sessionId, "sessionId");
-        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userId = getUserIdBySessionId(sessionId);
 //        int analysisId = catalogDBAdaptor.getStudyIdByJobId(jobId);
 //        int studyId = catalogDBAdaptor.getStudyIdByAnalysisId(analysisId);
         int studyId = catalogDBAdaptor.getStudyIdByJobId(jobId);
@@ -1832,7 +2115,7 @@ public class CatalogManager {
     public QueryResult deleteJob(int jobId, String sessionId)
             throws CatalogException, CatalogIOManagerException {
         checkParameter(sessionId, "sessionId");
-        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userId = getUserIdBySessionId(sessionId);
 //        int analysisId = catalogDBAdaptor.getStudyIdByJobId(jobId);
 //        int studyId = catalogDBAdaptor.getStudyIdByAnalysisId(analysisId);
         int studyId = catalogDBAdaptor.getStudyIdByJobId(jobId);
@@ -1846,7 +2129,7 @@ public class CatalogManager {
 
     public QueryResult<Job> getJob(int jobId, QueryOptions options, String sessionId) throws IOException, CatalogIOManagerException, CatalogException {
         checkParameter(sessionId, "sessionId");
-        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userId = getUserIdBySessionId(sessionId);
 //        int analysisId = catalogDBAdaptor.getStudyIdByJobId(jobId);
 //        int studyId = catalogDBAdaptor.getStudyIdByAnalysisId(analysisId);
         int studyId = catalogDBAdaptor.getStudyIdByJobId(jobId);
@@ -1858,11 +2141,18 @@ public class CatalogManager {
     }
 
     public QueryResult<Job> getUnfinishedJobs(String sessionId) throws CatalogException {
+        return searchJob(new QueryOptions("ready", false), sessionId);
+    }
+
+    /**
+     * @param query     Accepts "id" and "status" as a single value or as a list of values
+     */
+    public QueryResult<Job> searchJob(QueryOptions query, String sessionId) throws CatalogException {
         String userId = getUserIdBySessionId(sessionId);
         User.Role role = getUserRole(userId);
         switch (role) {
             case ADMIN:
-                return catalogDBAdaptor.searchJob(new QueryOptions("ready", false));
+                return catalogDBAdaptor.searchJob(query);
             default:
                 throw new CatalogException("Permission denied. Admin role required");
         }
@@ -1987,7 +2277,7 @@ public class CatalogManager {
         source = defaultString(source, "");
         description = defaultString(description, "");
 
-        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userId = getUserIdBySessionId(sessionId);
 
         if (!getStudyAcl(userId, studyId).isWrite()) {
             throw new CatalogException("Permission denied. User " + userId + " can't modify study");
@@ -2001,7 +2291,7 @@ public class CatalogManager {
     public QueryResult<Sample> getSample(int sampleId, QueryOptions options, String sessionId) throws CatalogException {
         checkParameter(sessionId, "sessionId");
 
-        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userId = getUserIdBySessionId(sessionId);
         int studyId = catalogDBAdaptor.getStudyIdBySampleId(sampleId);
 
         if (!getStudyAcl(userId, studyId).isRead()) {
@@ -2014,7 +2304,7 @@ public class CatalogManager {
     public QueryResult<Sample> getAllSamples(int studyId, QueryOptions options, String sessionId) throws CatalogException {
         checkParameter(sessionId, "sessionId");
 
-        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userId = getUserIdBySessionId(sessionId);
 
         if (!getStudyAcl(userId, studyId).isRead()) {
             throw new CatalogException("Permission denied. User " + userId + " can't read study");
@@ -2040,7 +2330,7 @@ public class CatalogManager {
                                                       String description, Map<String, Object> attributes,
                                                       Set<Variable> variables, String sessionId)
             throws CatalogException {
-        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userId = getUserIdBySessionId(sessionId);
         checkParameter(sessionId, "sessionId");
         checkParameter(name, "name");
         checkObj(variables, "Variables Set");
@@ -2072,7 +2362,7 @@ public class CatalogManager {
     public QueryResult<VariableSet> getVariableSet(int variableSet, QueryOptions options, String sessionId)
             throws CatalogException {
 
-        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userId = getUserIdBySessionId(sessionId);
         int studyId = catalogDBAdaptor.getStudyIdByVariableSetId(variableSet);
         if (!getStudyAcl(userId, studyId).isRead()) {
             throw new CatalogException("Permission denied. User " + userId + " can't read study");
@@ -2092,7 +2382,7 @@ public class CatalogManager {
         checkObj(annotations, "annotations");
         attributes = defaultObject(attributes, new HashMap<String, Object>());
 
-        String userId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userId = getUserIdBySessionId(sessionId);
         int studyId = catalogDBAdaptor.getStudyIdBySampleId(sampleId);
         if (!getStudyAcl(userId, studyId).isWrite()) {
             throw new CatalogException("Permission denied. User " + userId + " can't modify study");
@@ -2205,7 +2495,7 @@ public class CatalogManager {
     }
 
     private void checkSessionId(String userId, String sessionId) throws CatalogException {
-        String userIdBySessionId = catalogDBAdaptor.getUserIdBySessionId(sessionId);
+        String userIdBySessionId = getUserIdBySessionId(sessionId);
         if (!userIdBySessionId.equals(userId)) {
             throw new CatalogException("Invalid sessionId for user: " + userId);
         }
@@ -2325,10 +2615,25 @@ public class CatalogManager {
     }
 
     private User.Role getUserRole(String userId) throws CatalogDBException {
-        return catalogDBAdaptor.getUser(userId, new QueryOptions("include", Arrays.asList("role")), null).getResult().get(0).getRole();
+        User.Role role = userRoleCache.get(userId);
+        if (role == null) {
+            role = catalogDBAdaptor.getUser(userId, new QueryOptions("include", Arrays.asList("role")), null).getResult().get(0).getRole();
+            userRoleCache.put(userId, role);
+        }
+        return role;
     }
 
     private Acl getProjectAcl(String userId, int projectId) throws CatalogDBException {
+        String key = userId + "@" + projectId;
+        Acl projectAcl = projectAclCache.get(key);
+        if (projectAcl == null) {
+            projectAcl = __getProjectAcl(userId, projectId);
+            projectAclCache.put(key, projectAcl);
+        }
+        return projectAcl;
+    }
+
+    private Acl __getProjectAcl(String userId, int projectId) throws CatalogDBException {
         Acl projectAcl;
         if (getUserRole(userId).equals(User.Role.ADMIN)) {
             return new Acl(userId, true, true, true, true);
@@ -2354,8 +2659,14 @@ public class CatalogManager {
     }
 
     private Acl getStudyAcl(String userId, int studyId) throws CatalogDBException {
-        int projectId = catalogDBAdaptor.getProjectIdByStudyId(studyId);
-        return getStudyAcl(userId, studyId, getProjectAcl(userId, projectId));
+        String key = userId + "@" + studyId;
+        Acl studyAcl = studyAclCache.get(key);
+        if (studyAcl == null) {
+            int projectId = catalogDBAdaptor.getProjectIdByStudyId(studyId);
+            studyAcl = getStudyAcl(userId, studyId, getProjectAcl(userId, projectId));
+            studyAclCache.put(key, studyAcl);
+        }
+        return studyAcl;
     }
 
     private Acl getStudyAcl(String userId, int studyId, Acl projectAcl) throws CatalogDBException {
@@ -56,6 +56,9 @@ public class Job {
     public static final String TYPE = "type";
     public static final String JOB_SCHEDULER_NAME = "jobSchedulerName";
     public static final String INDEXED_FILE_ID = "indexedFileId";
+    public static final String CPUS = "cpus";           // Cpu slots required by the job
+    public static final String MEMORY = "memory";       // Megabytes of memory required by the job
+    public static final String TIMEOUT = "timeout";     // Seconds before killing the job
 
     public Job() {
     }
@@ -0,0 +1,117 @@
+package org.opencb.opencga.catalog.db;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mongodb.DBObject;
+import com.mongodb.util.JSON;
+import org.opencb.datastore.core.ComplexTypeConverter;
+
+import java.net.URI;
+import java.util.*;
+
+/**
+ * Base for the catalog converters. Beans are built directly from the DBObject, without rendering
+ * it to a JSON string. Only the fields present in the DBObject are set, so projections
+ * ("include" and "exclude" options) leave the missing fields with their default values.
+ */
+public abstract class AbstractDBObjectConverter<T> implements ComplexTypeConverter<T, DBObject> {
+
+    private static final ObjectWriter jsonObjectWriter = new ObjectMapper().writer();
+
+    @Override
+    public DBObject convertToStorageType(T object) {
+        try {
+            return (DBObject) JSON.parse(jsonObjectWriter.writeValueAsString(object));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Error while writing to Json : " + object.getClass().getSimpleName(), e);
+        }
+    }
+
+    public List<T> convertToDataModelType(List<DBObject> objects) {
+        List<T> list = new LinkedList<>();
+        for (DBObject object : objects) {
+            list.add(convertToDataModelType(object));
+        }
+        return list;
+    }
+
+    protected static String getString(DBObject object, String key) {
+        Object value = object.get(key);
+        return value == null ? null : value.toString();
+    }
+
+    protected static int getInt(DBObject object, String key) {
+        Object value = object.get(key);
+        return value instanceof Number ? ((Number) value).intValue() : 0;
+    }
+
+    protected static long getLong(DBObject object, String key) {
+        Object value = object.get(key);
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+
+    protected static boolean getBoolean(DBObject object, String key) {
+        Object value = object.get(key);
+        return value instanceof Boolean && (Boolean) value;
+    }
+
+    protected static URI getUri(DBObject object, String key) {
+        String value = getString(object, key);
+        return value == null ? null : URI.create(value);
+    }
+
+    protected static <E extends Enum<E>> E getEnum(DBObject object, String key, Class<E> enumClass) {
+        String value = getString(object, key);
+        return value == null ? null : Enum.valueOf(enumClass, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected static Map<String, Object> getMap(DBObject object, String key) {
+        Object value = object.get(key);
+        if (value == null) {
+            return null;
+        } else if (value instanceof Map) {
+            return (Map<String, Object>) value;
+        } else {
+            return (Map<String, Object>) ((DBObject) value).toMap();
+        }
+    }
+
+    protected static List<Integer> getIntList(DBObject object, String key) {
+        List<?> values = (List<?>) object.get(key);
+        if (values == null) {
+            return null;
+        }
+        List<Integer> list = new ArrayList<>(values.size());
+        for (Object value : values) {
+            list.add(value == null ? null : ((Number) value).intValue());
+        }
+        return list;
+    }
+
+    protected static List<String> getStringList(DBObject object, String key) {
+        List<?> values = (List<?>) object.get(key);
+        if (values == null) {
+            return null;
+        }
+        List<String> list = new ArrayList<>(values.size());
+        for (Object value : values) {
+            list.add(value == null ? null : value.toString());
+        }
+        return list;
+    }
+
+    protected static <E> List<E> getList(DBObject object, String key, ComplexTypeConverter<E, DBObject> converter) {
+        List<?> values = (List<?>) object.get(key);
+        if (values == null) {
+            return null;
+        }
+        List<E> list = new ArrayList<>(values.size());
+        for (Object value : values) {
+            list.add(value == null ? null : converter.convertToDataModelType((DBObject) value));
+        }
+        return list;
+    }
+
+}
@@ -154,6 +154,8 @@ public abstract class CatalogDBAdaptor {
 
     public abstract QueryResult setStudyAcl(int projectId, Acl newAcl) throws CatalogDBException;
 
+    public abstract QueryResult<Long> updateStudyDiskUsage(int studyId) throws CatalogDBException;
+
 
     /**
      * File methods
@@ -163,6 +165,8 @@ public abstract class CatalogDBAdaptor {
     // add file to study
     public abstract QueryResult<File> createFileToStudy(int studyId, File file, QueryOptions options) throws CatalogDBException;
 
+    public abstract QueryResult<File> createFilesToStudy(int studyId, List<File> files, QueryOptions options) throws CatalogDBException;
+
     public abstract QueryResult<Integer> deleteFile(int fileId) throws CatalogDBException;
 
     public abstract int getFileId(int studyId, String path) throws CatalogDBException;
@@ -3,7 +3,6 @@ package org.opencb.opencga.catalog.db;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.mongodb.*;
 import com.mongodb.util.JSON;
@@ -18,7 +17,6 @@ import org.opencb.opencga.catalog.beans.*;
 import org.opencb.opencga.lib.common.TimeUtils;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
 import java.net.URI;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -42,6 +40,8 @@ public class CatalogMongoDBAdaptor extends CatalogDBAdaptor {
     private static final String _ID = "_id";
     private static final String _PROJECT_ID = "_projectId";
     private static final String _STUDY_ID = "_studyId";
+    /** Path of the folder containing the file. Used to list folders with an indexed equality query */
+    private static final String _PARENT_PATH = "_parentPath";
     private static final String FILTER_ROUTE_STUDIES = "projects.studies.";
     private static final String FILTER_ROUTE_SAMPLES = "projects.studies.samples.";
     private static final String FILTER_ROUTE_FILES =   "projects.studies.files.";
@@ -62,14 +62,17 @@ public class CatalogMongoDBAdaptor extends CatalogDBAdaptor {
     //    private static final Logger logger = LoggerFactory.getLogger(CatalogMongoDBAdaptor.class);
     private static ObjectMapper jsonObjectMapper;
     private static ObjectWriter jsonObjectWriter;
-    private static ObjectReader jsonFileReader;
-    private static ObjectReader jsonUserReader;
-    private static ObjectReader jsonJobReader;
-    private static ObjectReader jsonStudyReader;
-    private static ObjectReader jsonSampleReader;
-    private static Map<Class, ObjectReader> jsonReaderMap;
+
+    private static final DBObjectToUserConverter userConverter = new DBObjectToUserConverter();
+    private static final DBObjectToStudyConverter studyConverter = new DBObjectToStudyConverter();
+    private static final DBObjectToFileConverter fileConverter = new DBObjectToFileConverter();
+    private static final DBObjectToJobConverter jobConverter = new DBObjectToJobConverter();
+    private static final DBObjectToSampleConverter sampleConverter = new DBObjectToSampleConverter();
+    private static final DBObjectToAclConverter aclConverter = new DBObjectToAclConverter();
 
     private Properties catalogProperties;
+    private final int idBlockSize;
+    private CatalogMongoDBIdAllocator idAllocator;
 
     static {
         jsonObjectMapper = new ObjectMapper();
@@ -77,19 +80,20 @@ public class CatalogMongoDBAdaptor extends CatalogDBAdaptor {
         jsonObjectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         jsonObjectMapper.configure(DeserializationFeature.FAIL_ON_NULL_FOR_PRIMITIVES, false);
         jsonObjectWriter = jsonObjectMapper.writer();
-        jsonReaderMap = new HashMap<>();
-        jsonReaderMap.put(File.class, jsonFileReader = jsonObjectMapper.reader(File.class));
-        jsonReaderMap.put(User.class, jsonUserReader = jsonObjectMapper.reader(User.class));
-        jsonReaderMap.put(Job.class, jsonJobReader = jsonObjectMapper.reader(Job.class));
-//        jsonProjectReader = jsonObjectMapper.reader(Project.class);
-        jsonReaderMap.put(Study.class, jsonStudyReader = jsonObjectMapper.reader(Study.class));
-//        jsonAnalysisReader = jsonObjectMapper.reader(Job.class);
-        jsonReaderMap.put(Sample.class, jsonSampleReader = jsonObjectMapper.reader(Sample.class));
     }
 
     public CatalogMongoDBAdaptor(DataStoreServerAddress dataStoreServerAddress, MongoCredential credentials)
             throws CatalogDBException {
+        this(dataStoreServerAddress, credentials, 1);
+    }
+
+    /**
+     * @param idBlockSize   Number of ids reserved in each access to the metadata document.
+     */
+    public CatalogMongoDBAdaptor(DataStoreServerAddress dataStoreServerAddress, MongoCredential credentials, int idBlockSize)
+            throws CatalogDBException {
         super();
+        this.idBlockSize = idBlockSize;
 //        this.dataStoreServerAddress = dataStoreServerAddress;
         this.mongoManager = new MongoDataStoreManager(dataStoreServerAddress.getHost(), dataStoreServerAddress.getPort());
         this.credentials = credentials;
@@ -107,6 +111,7 @@ public class CatalogMongoDBAdaptor extends CatalogDBAdaptor {
         }
 
         metaCollection = db.getCollection(METADATA_COLLECTION);
+        idAllocator = new CatalogMongoDBIdAllocator("idCounter", idBlockSize, metaCollection);
         userCollection = db.getCollection(USER_COLLECTION);
         studyCollection = db.getCollection(STUDY_COLLECTION);
         fileCollection = db.getCollection(FILE_COLLECTION);
@@ -129,6 +134,59 @@ public class CatalogMongoDBAdaptor extends CatalogDBAdaptor {
 //            nativeFileCollection.createIndex(BasicDBObjectBuilder.start("studyId", 1).append("path", 1).get(), unique);
 //            nativeJobCollection.createIndex(new BasicDBObject("id", 1), unique);
         }
+
+        createFileIndexes();
+        createJobIndexes();
+    }
+
+    /**
+     * Creates the file indexes, and fills the parent path of the files created before it existed.
+     */
+    private void createFileIndexes() {
+        DBCollection nativeFileCollection = db.getDb().getCollection(FILE_COLLECTION);
+
+        DBCursor cursor = nativeFileCollection.find(new BasicDBObject(_PARENT_PATH, new BasicDBObject("$exists", false)),
+                new BasicDBObject("path", true));
+        try {
+            for (DBObject file : cursor) {
+                nativeFileCollection.update(new BasicDBObject(_ID, file.get(_ID)),
+                        new BasicDBObject("$set", new BasicDBObject(_PARENT_PATH, getParentPath((String) file.get("path")))));
+            }
+        } finally {
+            cursor.close();
+        }
+
+        try {
+            nativeFileCollection.createIndex(new BasicDBObject("id", 1), new BasicDBObject("unique", true));
+            nativeFileCollection.createIndex(BasicDBObjectBuilder.start(_STUDY_ID, 1).append("path", 1).get(),
+                    new BasicDBObject("unique", true));
+            nativeFileCollection.createIndex(BasicDBObjectBuilder.start(_STUDY_ID, 1).append(_PARENT_PATH, 1).append("id", 1).get());
+            nativeFileCollection.createIndex(BasicDBObjectBuilder.start("status", 1).append("attributes." + File.DELETE_DATE, 1).get());
+        } catch (MongoException e) {
+            logger.warn("Unable to create indexes in collection " + FILE_COLLECTION + ": " + e.getMessage());
+        }
+    }
+
+    private void createJobIndexes() {
+        DBCollection nativeJobCollection = db.getDb().getCollection(JOB_COLLECTION);
+        try {
+            nativeJobCollection.createIndex(new BasicDBObject("id", 1), new BasicDBObject("unique", true));
+            nativeJobCollection.createIndex(new BasicDBObject("status", 1));
+        } catch (MongoException e) {
+            logger.warn("Unable to create indexes in collection " + JOB_COLLECTION + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return Path of the folder containing the file, ending in "/". Empty for the files in the root folder,
+     *         and for the root folder itself, so listings of the root must exclude it.
+     */
+    static String getParentPath(String path) {
+        if (path == null) {
+            return "";
+        }
+        String trimmed = path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+        return trimmed.substring(0, trimmed.lastIndexOf('/') + 1);
     }
 
     @Override
@@ -140,7 +198,7 @@ public class CatalogMongoDBAdaptor extends CatalogDBAdaptor {
     /**
      Auxiliary query methods
      */
-    private int getNewId()  {return CatalogMongoDBUtils.getNewAutoIncrementId(metaCollection);}
+    private int getNewId()  {return idAllocator.getNewId();}
 //    private int getNewProjectId()  {return CatalogMongoDBUtils.getNewAutoIncrementId("projectCounter", metaCollection);}
 //    private int getNewStudyId()    {return CatalogMongoDBUtils.getNewAutoIncrementId("studyCounter", metaCollection);}
 //    private int getNewFileId()     {return CatalogMongoDBUtils.getNewAutoIncrementId("fileCounter", metaCollection);}
@@ -751,14 +809,8 @@ public class CatalogMongoDBAdaptor extends CatalogDBAdaptor {
 
         List<Acl> acls = new LinkedList<>();
         if (aggregate.getNumResults() != 0) {
-            Object aclObject = ((DBObject) ((DBObject) aggregate.getResult().get(0)).get("projects")).get("acl");
-            Acl acl;
-            try {
-                acl = jsonObjectMapper.reader(Acl.class).readValue(aclObject.toString());
-                acls.add(acl);
-            } catch (IOException e) {
-                throw new CatalogDBException("get Project ACL: error parsing ACL");
-            }
+            DBObject aclObject = (DBObject) ((DBObject) ((DBObject) aggregate.getResult().get(0)).get("projects")).get("acl");
+            acls.add(aclConverter.convertToDataModelType(aclObject));
         }
         return endQuery("get project ACL", startTime, acls);
     }
@@ -843,6 +895,9 @@ public class CatalogMongoDBAdaptor extends CatalogDBAdaptor {
         List<Job> jobs = study.getJobs();
         study.setJobs(Collections.<Job>emptyList());
 
+        //DiskUsage is increased with each file
+        study.setDiskUsage(0);
+
         //Create DBObject
         DBObject studyObject = getDbObject(study, "Study");
         studyObject.put(_ID, newId);
@@ -893,11 +948,8 @@ public class CatalogMongoDBAdaptor extends CatalogDBAdaptor {
         QueryResult<DBObject> queryResult = studyCollection.find(query, filterOptions(options, FILTER_ROUTE_STUDIES));
 
         List<Study> studies = parseStudies(queryResult);
-        for (Study study : studies) {
-            study.setDiskUsage(getDiskUsageByStudy(study.getId()));
-            //TODO: append files
-            //TODO: append jobs
-        }
+        //TODO: append files
+        //TODO: append jobs
         return endQuery("Get all studies", startTime, studies);
     }
 
@@ -915,8 +967,6 @@ public class CatalogMongoDBAdaptor extends CatalogDBAdaptor {
             throw CatalogDBException.idNotFound("Study", studyId);
         }
 
-        studies.get(0).setDiskUsage(getDiskUsageByStudy(studyId));
-
         //queryResult.setResult(studies);
         return endQuery("Get Study", startTime, studies);
 
@@ -1106,16 +1156,73 @@ public class CatalogMongoDBAdaptor extends CatalogDBAdaptor {
         }
         DBObject fileDBObject = getDbObject(file, "File");
         fileDBObject.put(_STUDY_ID, studyId);
+        fileDBObject.put(_PARENT_PATH, getParentPath(file.getPath()));
 
         try {
             fileCollection.insert(fileDBObject);
         } catch (MongoException.DuplicateKey e) {
             throw new CatalogDBException("File {studyId:"+ studyId + /*", name:\"" + file.getName() +*/ "\", path:\""+file.getPath()+"\"} already exists");
         }
+        incStudyDiskUsage(studyId, file.getDiskUsage());
 
         return endQuery("Create file", startTime, getFile(newFileId, options));
     }
 
+    /**
+     * Inserts all the files with a single write. Fails without inserting anything if any path already exists.
+     * If a concurrent insert makes the write fail, the files already inserted by this call are deleted.
+     */
+    @Override
+    public QueryResult<File> createFilesToStudy(int studyId, List<File> files, QueryOptions options) throws CatalogDBException {
+        long startTime = startQuery();
+
+        String ownerId = getStudyOwnerId(studyId);
+        if(ownerId == null || ownerId.isEmpty()) {
+            throw CatalogDBException.idNotFound("Study", studyId);
+        }
+
+        Set<String> paths = new HashSet<>();
+        for (File file : files) {
+            if (!paths.add(file.getPath())) {
+                throw new CatalogDBException("File {studyId:"+ studyId + ", path:\""+file.getPath()+"\"} is duplicated");
+            }
+        }
+        QueryResult<DBObject> collisions = fileCollection.find(
+                BasicDBObjectBuilder.start(_STUDY_ID, studyId).append("path", new BasicDBObject("$in", new ArrayList<>(paths))).get(),
+                null, null, new BasicDBObject("path", true));
+        if (!collisions.getResult().isEmpty()) {
+            throw new CatalogDBException("File {studyId:"+ studyId + ", path:\""+collisions.getResult().get(0).get("path")+"\"} already exists");
+        }
+
+        List<DBObject> fileDBObjects = new ArrayList<>(files.size());
+        List<Integer> fileIds = new ArrayList<>(files.size());
+        long diskUsage = 0;
+        for (File file : files) {
+            file.setId(getNewId());
+            fileIds.add(file.getId());
+            if(file.getOwnerId() == null) {
+                file.setOwnerId(ownerId);
+            }
+            DBObject fileDBObject = getDbObject(file, "File");
+            fileDBObject.put(_STUDY_ID, studyId);
+            fileDBObject.put(_PARENT_PATH, getParentPath(file.getPath()));
+            fileDBObjects.add(fileDBObject);
+            diskUsage += file.getDiskUsage();
+        }
+
+        try {
+            db.getDb().getCollection(FILE_COLLECTION).insert(fileDBObjects);
+        } catch (MongoException.DuplicateKey e) {
+            // The insert stops at the first duplicated file. Remove the previous ones
+            db.getDb().getCollection(FILE_COLLECTION).remove(
+                    BasicDBObjectBuilder.start(_STUDY_ID, studyId).append("id", new BasicDBObject("$in", fileIds)).get());
+            throw new CatalogDBException("Some file from study {id:"+ studyId + "} already exists", e);
+        }
+        incStudyDiskUsage(studyId, diskUsage);
+
+        return endQuery("Create files", startTime, files);
+    }
+
     /**
      * At the moment it does not clean external references to itself.
      */
@@ -1123,11 +1230,20 @@ public class CatalogMongoDBAdaptor extends CatalogDBAdaptor {
     public QueryResult<Integer> deleteFile(int fileId) throws CatalogDBException {
         long startTime = startQuery();
 
-        WriteResult id = fileCollection.remove(new BasicDBObject("id", fileId)).getResult().get(0);
+        DBObject query = new BasicDBObject("id", fileId);
+        QueryResult<DBObject> fileResult = fileCollection.find(query, null, null,
+                BasicDBObjectBuilder.start(_STUDY_ID, true).append("diskUsage", true).get());
+        if (fileResult.getResult().isEmpty()) {
+            throw CatalogDBException.idNotFound("File", fileId);
+        }
+
+        WriteResult id = fileCollection.remove(query).getResult().get(0);
         List<Integer> deletes = new LinkedList<>();
         if(id.getN() == 0) {
             throw CatalogDBException.idNotFound("File", fileId);
         } else {
+            DBObject file = fileResult.getResult().get(0);
+            incStudyDiskUsage((int) file.get(_STUDY_ID), -getLong(file, "diskUsage"));
             deletes.add(id.getN());
             return endQuery("delete file", startTime, deletes);
         }
@@ -1168,7 +1284,8 @@ public class CatalogMongoDBAdaptor extends CatalogDBAdaptor {
         Object studyId = folderResult.getResult().get(0).get(_STUDY_ID);
 
         BasicDBObject query = new BasicDBObject(_STUDY_ID, studyId);
-        query.put("path", new BasicDBObject("$regex", "^" + folder.getPath() + "[^/]+/?$"));
+        query.put(_PARENT_PATH, folder.getPath());
+        query.put("path", new BasicDBObject("$ne", folder.getPath()));   // The root folder "" is its own parent
         QueryResult<DBObject> filesResult = fileCollection.find(query, null, null, null);
         List<File> files = parseFiles(filesResult);
 
@@ -1232,7 +1349,21 @@ public class CatalogMongoDBAdaptor extends CatalogDBAdaptor {
             }
         }
 
-        if(!fileParameters.isEmpty()) {
+        if (fileParameters.containsKey("diskUsage")) {
+            // Get the previous diskUsage in the same operation, to keep the study diskUsage updated
+            QueryResult<DBObject> previous = fileCollection.findAndModify(
+                    new BasicDBObject("id", fileId),
+                    BasicDBObjectBuilder.start(_STUDY_ID, true).append("diskUsage", true).get(),
+                    null,
+                    new BasicDBObject("$set", fileParameters),
+                    new QueryOptions("returnNew", false),
+                    null);
+            if (previous.getResult().isEmpty() || previous.getResult().get(0) == null) {
+                throw CatalogDBException.idNotFound("File", fileId);
+            }
+            DBObject file = previous.getResult().get(0);
+            incStudyDiskUsage((int) file.get(_STUDY_ID), (Long) fileParameters.get("diskUsage") - getLong(file, "diskUsage"));
+        } else if(!fileParameters.isEmpty()) {
             QueryResult<WriteResult> update = fileCollection.update(new BasicDBObject("id", fileId),
                     new BasicDBObject("$set", fileParameters), false, false);
             if(update.getResult().isEmpty() || update.getResult().get(0).getN() == 0){
@@ -1274,7 +1405,8 @@ public class CatalogMongoDBAdaptor extends CatalogDBAdaptor {
         BasicDBObject query = new BasicDBObject("id", fileId);
         BasicDBObject set = new BasicDBObject("$set", BasicDBObjectBuilder
                 .start("name", fileName)
-                .append("path", filePath).get());
+                .append("path", filePath)
+                .append(_PARENT_PATH, getParentPath(filePath)).get());
         QueryResult<WriteResult> update = fileCollection.update(query, set, false, false);
         if (update.getResult().isEmpty() || update.getResult().get(0).getN() == 0) {
             throw CatalogDBException.idNotFound("File", fileId);
@@ -1307,7 +1439,32 @@ public class CatalogMongoDBAdaptor extends CatalogDBAdaptor {
 //        return getStudyOwnerId(studyId);
     }
 
-    private int getDiskUsageByStudy(int studyId){
+    /**
+     * Study diskUsage is updated incrementally each time a file is created, deleted or its diskUsage modified.
+     */
+    private void incStudyDiskUsage(int studyId, long diskUsage) {
+        if (diskUsage != 0) {
+            studyCollection.update(new BasicDBObject("id", studyId),
+                    new BasicDBObject("$inc", new BasicDBObject("diskUsage", diskUsage)), false, false);
+        }
+    }
+
+    /**
+     * Recomputes the study diskUsage from its files, and stores it in the study document.
+     */
+    @Override
+    public QueryResult<Long> updateStudyDiskUsage(int studyId) throws CatalogDBException {
+        long startTime = startQuery();
+        if (!studyExists(studyId)) {
+            throw CatalogDBException.idNotFound("Study", studyId);
+        }
+        long diskUsage = getDiskUsageByStudy(studyId);
+        studyCollection.update(new BasicDBObject("id", studyId),
+                new BasicDBObject("$set", new BasicDBObject("diskUsage", diskUsage)), false, false);
+        return endQuery("Update study diskUsage", startTime, Collections.singletonList(diskUsage));
+    }
+
+    private long getDiskUsageByStudy(int studyId){
         List<DBObject> operations = Arrays.<DBObject>asList(
                 new BasicDBObject(
                         "$match",
@@ -1331,16 +1488,21 @@ public class CatalogMongoDBAdaptor extends CatalogDBAdaptor {
         QueryResult<DBObject> aggregate = fileCollection.aggregate(null, operations, null);
         if(aggregate.getNumResults() == 1){
             Object diskUsage = aggregate.getResult().get(0).get("diskUsage");
-            if(diskUsage instanceof Integer){
-                return (Integer)diskUsage;
+            if(diskUsage instanceof Number){
+                return ((Number) diskUsage).longValue();
             } else {
-                return Integer.parseInt(diskUsage.toString());
+                return Long.parseLong(diskUsage.toString());
             }
         } else {
             return 0;
         }
     }
 
+    private static long getLong(DBObject object, String key) {
+        Object value = object.get(key);
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+
     /**
      * query: db.file.find({id:2}, {acl:{$elemMatch:{userId:"jcoll"}}, studyId:1})
      */
@@ -1400,7 +1562,11 @@ public class CatalogMongoDBAdaptor extends CatalogDBAdaptor {
             filters.add(new BasicDBObject("type", query.getString("type")));
         }
         if(query.containsKey("path")){
-            filters.add(new BasicDBObject("path", query.getString("path")));
+            if (query.get("path") instanceof List) {
+                filters.add(new BasicDBObject("path", new BasicDBObject("$in", query.getListAs("path", String.class))));
+            } else {
+                filters.add(new BasicDBObject("path", query.getString("path")));
+            }
         }
         if(query.containsKey("bioformat")){
             filters.add(new BasicDBObject("bioformat", query.getString("bioformat")));
@@ -1424,7 +1590,10 @@ public class CatalogMongoDBAdaptor extends CatalogDBAdaptor {
             filters.add(new BasicDBObject("name", new BasicDBObject("$regex", "^"+query.getString("startsWith"))));
         }
         if(query.containsKey("directory")){
-            filters.add(new BasicDBObject("path", new BasicDBObject("$regex", "^"+query.getString("directory")+"[^/]+/?$")));
+            String directory = query.getString("directory");
+            directory = directory.isEmpty() || directory.endsWith("/") ? directory : directory + "/";
+            filters.add(new BasicDBObject(_PARENT_PATH, directory));
+            filters.add(new BasicDBObject("path", new BasicDBObject("$ne", directory)));   // The root folder "" is its own parent
         }
         if(query.containsKey("studyId")){
             filters.add(new BasicDBObject(_STUDY_ID, query.getInt("studyId")));
@@ -1432,12 +1601,28 @@ public class CatalogMongoDBAdaptor extends CatalogDBAdaptor {
         if(query.containsKey("status")){
             filters.add(new BasicDBObject("status", query.getString("status")));
         }
+        if(query.containsKey("maxDeleteDate")){
+            // Files without delete date (e.g. set to DELETING with modifyFile) are always old enough
+            filters.add(new BasicDBObject("$or", Arrays.asList(
+                    new BasicDBObject("attributes." + File.DELETE_DATE, new BasicDBObject("$lte", query.getLong("maxDeleteDate"))),
+                    new BasicDBObject("attributes." + File.DELETE_DATE, new BasicDBObject("$exists", false)))));
+        }
 
-        QueryResult<DBObject> queryResult = fileCollection.find(new BasicDBObject("$and", filters), options);
+        // Pagination needs a stable order
+        if (options != null && (options.containsKey("skip") || options.containsKey("limit")) && !options.containsKey("sort")) {
+            options = new QueryOptions(options);
+            options.put("sort", new BasicDBObject("id", 1));
+        }
+        BasicDBObject mongoQuery = new BasicDBObject("$and", filters);
+        QueryResult<DBObject> queryResult = fileCollection.find(mongoQuery, options);
 
         List<File> files = parseFiles(queryResult);
 
-        return endQuery("Search File", startTime, files);
+        QueryResult<File> result = endQuery("Search File", startTime, files);
+        if (options != null && options.containsKey("limit")) {
+            result.setNumTotalResults(fileCollection.count(mongoQuery).getResult().get(0).intValue());
+        }
+        return result;
     }
 
     @Override
@@ -1660,6 +1845,18 @@ public class CatalogMongoDBAdaptor extends CatalogDBAdaptor {
             }
             options.remove("ready");
         }
+        if (options.get("status") instanceof List) {
+            List<String> status = new ArrayList<>();
+            for (Object o : (List) options.get("status")) {
+                status.add(o.toString());
+            }
+            query.put("status", new BasicDBObject("$in", status));
+            options.remove("status");
+        }
+        if (options.get("id") instanceof List) {
+            query.put("id", new BasicDBObject("$in", options.getListAs("id", Integer.class)));
+            options.remove("id");
+        }
         query.putAll(options);
 //        System.out.println("query = " + query);
         QueryResult<DBObject> queryResult = jobCollection.find(query, null);
@@ -2009,106 +2206,51 @@ public class CatalogMongoDBAdaptor extends CatalogDBAdaptor {
     ********************/
 
     private User parseUser(QueryResult<DBObject> result) throws CatalogDBException {
-        if(result.getResult().isEmpty()) {
-            return null;
-        }
-        try {
-            return jsonUserReader.readValue(result.getResult().get(0).toString());
-        } catch (IOException e) {
-            throw new CatalogDBException("Error parsing user", e);
-        }
+        return parseObject(result, userConverter);
     }
 
     private List<Study> parseStudies(QueryResult<DBObject> result) throws CatalogDBException {
-        List<Study> studies = new LinkedList<>();
-        try {
-            for (DBObject object : result.getResult()) {
-                studies.add(jsonStudyReader.<Study>readValue(object.toString()));
-            }
-        } catch (IOException e) {
-            throw new CatalogDBException("Error parsing study", e);
-        }
-        return studies;
+        return parseObjects(result, studyConverter);
     }
 
     private File parseFile(QueryResult<DBObject> result) throws CatalogDBException {
-        if(result.getResult().isEmpty()) {
-            return null;
-        }
-        try {
-            return jsonFileReader.readValue(result.getResult().get(0).toString());
-        } catch (IOException e) {
-            throw new CatalogDBException("Error parsing file", e);
-        }
+        return parseObject(result, fileConverter);
     }
 
     private List<File> parseFiles(QueryResult<DBObject> result) throws CatalogDBException {
-        List<File> files = new LinkedList<>();
-        try {
-            for (DBObject o : result.getResult()) {
-                files.add(jsonFileReader.<File>readValue(o.toString()));
-            }
-            return files;
-        } catch (IOException e) {
-            throw new CatalogDBException("Error parsing file", e);
-        }
+        return parseObjects(result, fileConverter);
     }
 
     private Job parseJob(QueryResult<DBObject> result) throws CatalogDBException {
-        if(result.getResult().isEmpty()) {
-            return null;
-        }
-        try {
-            return jsonJobReader.readValue(result.getResult().get(0).toString());
-        } catch (IOException e) {
-            throw new CatalogDBException("Error parsing job", e);
-        }
+        return parseObject(result, jobConverter);
     }
 
     private List<Job> parseJobs(QueryResult<DBObject> result) throws CatalogDBException {
-        LinkedList<Job> jobs = new LinkedList<>();
-        try {
-            for (DBObject object : result.getResult()) {
-                jobs.add(jsonJobReader.<Job>readValue(object.toString()));
-            }
-        } catch (IOException e) {
-            throw new CatalogDBException("Error parsing job", e);
-        }
-        return jobs;
+        return parseObjects(result, jobConverter);
     }
 
     private List<Sample> parseSamples(QueryResult<DBObject> result) throws CatalogDBException {
-        LinkedList<Sample> samples = new LinkedList<>();
-        try {
-            for (DBObject object : result.getResult()) {
-                samples.add(jsonSampleReader.<Sample>readValue(object.toString()));
-            }
-        } catch (IOException e) {
-            throw new CatalogDBException("Error parsing samples", e);
-        }
-        return samples;
+        return parseObjects(result, sampleConverter);
     }
 
-    private <T> List<T> parseObjects(QueryResult<DBObject> result, Class<T> tClass) throws CatalogDBException {
-        LinkedList<T> objects = new LinkedList<>();
+    private <T> List<T> parseObjects(QueryResult<DBObject> result, AbstractDBObjectConverter<T> converter)
+            throws CatalogDBException {
         try {
-            for (DBObject object : result.getResult()) {
-                objects.add(jsonReaderMap.get(tClass).<T>readValue(object.toString()));
-            }
-        } catch (IOException e) {
-            throw new CatalogDBException("Error parsing " + tClass.getName(), e);
+            return converter.convertToDataModelType(result.getResult());
+        } catch (RuntimeException e) {
+            throw new CatalogDBException("Error parsing " + converter.getClass().getSimpleName(), e);
         }
-        return objects;
     }
 
-    private <T> T parseObject(QueryResult<DBObject> result, Class<T> tClass) throws CatalogDBException {
+    private <T> T parseObject(QueryResult<DBObject> result, AbstractDBObjectConverter<T> converter)
+            throws CatalogDBException {
         if(result.getResult().isEmpty()) {
             return null;
         }
         try {
-            return jsonReaderMap.get(tClass).readValue(result.getResult().get(0).toString());
-        } catch (IOException e) {
-            throw new CatalogDBException("Error parsing " + tClass.getName(), e);
+            return converter.convertToDataModelType(result.getResult().get(0));
+        } catch (RuntimeException e) {
+            throw new CatalogDBException("Error parsing " + converter.getClass().getSimpleName(), e);
         }
     }
 
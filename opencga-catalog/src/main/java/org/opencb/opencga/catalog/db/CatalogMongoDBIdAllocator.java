@@ -0,0 +1,59 @@
+package org.opencb.opencga.catalog.db;
+
+import org.opencb.datastore.mongodb.MongoDBCollection;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out catalog ids from blocks reserved in the metadata document.
+ *
+ * Each block is reserved with a single findAndModify $inc, so several processes sharing the same
+ * database never get the same id. Ids are unique, but not consecutive across processes.
+ */
+class CatalogMongoDBIdAllocator {
+
+    private static class Block {
+        private final AtomicInteger next;
+        private final int last;
+
+        private Block(int first, int last) {
+            this.next = new AtomicInteger(first);
+            this.last = last;
+        }
+    }
+
+    private final String field;
+    private final int blockSize;
+    private final MongoDBCollection metaCollection;
+    private volatile Block block;
+
+    CatalogMongoDBIdAllocator(String field, int blockSize, MongoDBCollection metaCollection) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Id block size must be greater than 0");
+        }
+        this.field = field;
+        this.blockSize = blockSize;
+        this.metaCollection = metaCollection;
+        this.block = new Block(1, 0);   // Empty block. First call will reserve a new one
+    }
+
+    int getNewId() {
+        while (true) {
+            Block currentBlock = block;
+            int id = currentBlock.next.getAndIncrement();
+            if (id <= currentBlock.last) {
+                return id;
+            }
+            synchronized (this) {
+                if (block == currentBlock) {
+                    int last = CatalogMongoDBUtils.getNewAutoIncrementId(field, blockSize, metaCollection);
+                    block = new Block(last - blockSize + 1, last);
+                }
+            }
+        }
+    }
+
+    int getBlockSize() {
+        return blockSize;
+    }
+}
@@ -18,11 +18,19 @@ class CatalogMongoDBUtils {
     }
 
     static int getNewAutoIncrementId(String field, MongoDBCollection metaCollection){
+        return getNewAutoIncrementId(field, 1, metaCollection);
+    }
+
+    /**
+     * Reserves a block of ids.
+     * @return Last id of the block. The block is [returned - size + 1, returned]
+     */
+    static int getNewAutoIncrementId(String field, int size, MongoDBCollection metaCollection){
         QueryResult<DBObject> result = metaCollection.findAndModify(
                 new BasicDBObject("_id", CatalogMongoDBAdaptor.METADATA_OBJECT_ID),  //Query
                 new BasicDBObject(field, true),  //Fields
                 null,
-                new BasicDBObject("$inc", new BasicDBObject(field, 1)), //Update
+                new BasicDBObject("$inc", new BasicDBObject(field, size)), //Update
                 new QueryOptions("returnNew", true),
                 null
         );
@@ -0,0 +1,18 @@
+package org.opencb.opencga.catalog.db;
+
+import com.mongodb.DBObject;
+import org.opencb.opencga.catalog.beans.Acl;
+
+public class DBObjectToAclConverter extends AbstractDBObjectConverter<Acl> {
+
+    @Override
+    public Acl convertToDataModelType(DBObject object) {
+        return new Acl(
+                getString(object, "userId"),
+                getBoolean(object, "read"),
+                getBoolean(object, "write"),
+                getBoolean(object, "execute"),
+                getBoolean(object, "delete"));
+    }
+
+}
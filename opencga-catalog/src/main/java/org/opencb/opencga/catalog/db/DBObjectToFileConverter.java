@@ -0,0 +1,33 @@
+package org.opencb.opencga.catalog.db;
+
+import com.mongodb.DBObject;
+import org.opencb.opencga.catalog.beans.File;
+
+public class DBObjectToFileConverter extends AbstractDBObjectConverter<File> {
+
+    private final DBObjectToAclConverter aclConverter = new DBObjectToAclConverter();
+
+    @Override
+    public File convertToDataModelType(DBObject object) {
+        File file = new File();
+        file.setId(getInt(object, "id"));
+        file.setName(getString(object, "name"));
+        file.setType(getEnum(object, "type", File.Type.class));
+        file.setFormat(getEnum(object, "format", File.Format.class));
+        file.setBioformat(getEnum(object, "bioformat", File.Bioformat.class));
+        file.setPath(getString(object, "path"));
+        file.setOwnerId(getString(object, "ownerId"));
+        file.setCreationDate(getString(object, "creationDate"));
+        file.setDescription(getString(object, "description"));
+        file.setStatus(getEnum(object, "status", File.Status.class));
+        file.setDiskUsage(getLong(object, "diskUsage"));
+        file.setExperimentId(getInt(object, "experimentId"));
+        file.setSampleIds(getIntList(object, "sampleIds"));
+        file.setJobId(getInt(object, "jobId"));
+        file.setAcl(getList(object, "acl", aclConverter));
+        file.setStats(getMap(object, "stats"));
+        file.setAttributes(getMap(object, "attributes"));
+        return file;
+    }
+
+}
@@ -0,0 +1,34 @@
+package org.opencb.opencga.catalog.db;
+
+import com.mongodb.DBObject;
+import org.opencb.opencga.catalog.beans.Job;
+
+public class DBObjectToJobConverter extends AbstractDBObjectConverter<Job> {
+
+    @Override
+    public Job convertToDataModelType(DBObject object) {
+        Job job = new Job();
+        job.setId(getInt(object, "id"));
+        job.setName(getString(object, "name"));
+        job.setUserId(getString(object, "userId"));
+        job.setToolName(getString(object, "toolName"));
+        job.setDate(getString(object, "date"));
+        job.setDescription(getString(object, "description"));
+        job.setStartTime(getLong(object, "startTime"));
+        job.setEndTime(getLong(object, "endTime"));
+        job.setOutputError(getString(object, "outputError"));
+        job.setCommandLine(getString(object, "commandLine"));
+        job.setVisits(getInt(object, "visits"));
+        job.setStatus(getEnum(object, "status", Job.Status.class));
+        job.setDiskUsage(getLong(object, "diskUsage"));
+        job.setOutDirId(getInt(object, "outDirId"));
+        job.setTmpOutDirUri(getUri(object, "tmpOutDirUri"));
+        job.setInput(getIntList(object, "input"));
+        job.setOutput(getIntList(object, "output"));
+        job.setTags(getStringList(object, "tags"));
+        job.setAttributes(getMap(object, "attributes"));
+        job.setResourceManagerAttributes(getMap(object, "resourceManagerAttributes"));
+        return job;
+    }
+
+}
@@ -0,0 +1,60 @@
+package org.opencb.opencga.catalog.db;
+
+import com.mongodb.DBObject;
+import org.opencb.opencga.catalog.beans.Annotation;
+import org.opencb.opencga.catalog.beans.AnnotationSet;
+import org.opencb.opencga.catalog.beans.Individual;
+import org.opencb.opencga.catalog.beans.Sample;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class DBObjectToSampleConverter extends AbstractDBObjectConverter<Sample> {
+
+    private final AbstractDBObjectConverter<AnnotationSet> annotationSetConverter = new AbstractDBObjectConverter<AnnotationSet>() {
+        @Override
+        public AnnotationSet convertToDataModelType(DBObject object) {
+            AnnotationSet annotationSet = new AnnotationSet();
+            annotationSet.setId(getString(object, "id"));
+            annotationSet.setVariableSetId(getInt(object, "variableSetId"));
+            List<?> annotations = (List<?>) object.get("annotations");
+            if (annotations != null) {
+                Set<Annotation> values = new HashSet<>();
+                for (Object annotation : annotations) {
+                    DBObject annotationObject = (DBObject) annotation;
+                    values.add(new Annotation(getString(annotationObject, "id"), annotationObject.get("value")));
+                }
+                annotationSet.setAnnotations(values);
+            }
+            annotationSet.setDate(getString(object, "date"));
+            annotationSet.setAttributes(getMap(object, "attributes"));
+            return annotationSet;
+        }
+    };
+
+    @Override
+    public Sample convertToDataModelType(DBObject object) {
+        Sample sample = new Sample();
+        sample.setId(getInt(object, "id"));
+        sample.setName(getString(object, "name"));
+        sample.setSource(getString(object, "source"));
+        DBObject individualObject = (DBObject) object.get("individual");
+        if (individualObject != null) {
+            Individual individual = new Individual();
+            individual.setName(getString(individualObject, "name"));
+            individual.setGender(getString(individualObject, "gender"));
+            individual.setType(getString(individualObject, "type"));
+            individual.setTaxonomyCode(getString(individualObject, "taxonomyCode"));
+            individual.setScientificName(getString(individualObject, "scientificName"));
+            individual.setCommonName(getString(individualObject, "commonName"));
+            individual.setAttributes(getMap(individualObject, "attributes"));
+            sample.setIndividual(individual);
+        }
+        sample.setDescription(getString(object, "description"));
+        sample.setAnnotationSets(getList(object, "annotationSets", annotationSetConverter));
+        sample.setAttributes(getMap(object, "attributes"));
+        return sample;
+    }
+
+}
@@ -0,0 +1,126 @@
+package org.opencb.opencga.catalog.db;
+
+import com.mongodb.DBObject;
+import org.opencb.opencga.catalog.beans.*;
+
+import java.util.HashSet;
+import java.util.List;
+
+public class DBObjectToStudyConverter extends AbstractDBObjectConverter<Study> {
+
+    private final DBObjectToAclConverter aclConverter = new DBObjectToAclConverter();
+    private final DBObjectToFileConverter fileConverter = new DBObjectToFileConverter();
+    private final DBObjectToJobConverter jobConverter = new DBObjectToJobConverter();
+    private final DBObjectToSampleConverter sampleConverter = new DBObjectToSampleConverter();
+
+    private final AbstractDBObjectConverter<Experiment> experimentConverter = new AbstractDBObjectConverter<Experiment>() {
+        @Override
+        public Experiment convertToDataModelType(DBObject object) {
+            Experiment experiment = new Experiment();
+            experiment.setId(getInt(object, "id"));
+            experiment.setName(getString(object, "name"));
+            experiment.setType(getString(object, "type"));
+            experiment.setPlatform(getString(object, "platform"));
+            experiment.setManufacturer(getString(object, "manufacturer"));
+            experiment.setDate(getString(object, "date"));
+            experiment.setLab(getString(object, "lab"));
+            experiment.setCenter(getString(object, "center"));
+            experiment.setResponsible(getString(object, "responsible"));
+            experiment.setDescription(getString(object, "description"));
+            experiment.setAttributes(getMap(object, "attributes"));
+            return experiment;
+        }
+    };
+
+    private final AbstractDBObjectConverter<Dataset> datasetConverter = new AbstractDBObjectConverter<Dataset>() {
+        @Override
+        public Dataset convertToDataModelType(DBObject object) {
+            Dataset dataset = new Dataset();
+            dataset.setId(getInt(object, "id"));
+            dataset.setName(getString(object, "name"));
+            dataset.setCreationDate(getString(object, "creationDate"));
+            dataset.setDescription(getString(object, "description"));
+            dataset.setFiles(getIntList(object, "files"));
+            dataset.setAttributes(getMap(object, "attributes"));
+            return dataset;
+        }
+    };
+
+    private final AbstractDBObjectConverter<Cohort> cohortConverter = new AbstractDBObjectConverter<Cohort>() {
+        @Override
+        public Cohort convertToDataModelType(DBObject object) {
+            Cohort cohort = new Cohort();
+            cohort.setId(getInt(object, "id"));
+            cohort.setName(getString(object, "name"));
+            cohort.setCreationDate(getString(object, "creationDate"));
+            cohort.setDescription(getString(object, "description"));
+            cohort.setSamples(getIntList(object, "samples"));
+            cohort.setAttributes(getMap(object, "attributes"));
+            return cohort;
+        }
+    };
+
+    private final AbstractDBObjectConverter<Variable> variableConverter = new AbstractDBObjectConverter<Variable>() {
+        @Override
+        public Variable convertToDataModelType(DBObject object) {
+            Variable variable = new Variable();
+            variable.setId(getString(object, "id"));
+            variable.setCategory(getString(object, "category"));
+            variable.setType(getEnum(object, "type", Variable.VariableType.class));
+            variable.setDefaultValue(object.get("defaultValue"));
+            variable.setRequired(getBoolean(object, "required"));
+            variable.setAllowedValues(getStringList(object, "allowedValues"));
+            variable.setRank(getInt(object, "rank"));
+            variable.setDependsOn(getString(object, "dependsOn"));
+            variable.setDescription(getString(object, "description"));
+            variable.setAttributes(getMap(object, "attributes"));
+            return variable;
+        }
+    };
+
+    private final AbstractDBObjectConverter<VariableSet> variableSetConverter = new AbstractDBObjectConverter<VariableSet>() {
+        @Override
+        public VariableSet convertToDataModelType(DBObject object) {
+            VariableSet variableSet = new VariableSet();
+            variableSet.setId(getInt(object, "id"));
+            variableSet.setName(getString(object, "name"));
+            variableSet.setUnique(getBoolean(object, "unique"));
+            variableSet.setDescription(getString(object, "description"));
+            List<Variable> variables = getList(object, "variables", variableConverter);
+            if (variables != null) {
+                variableSet.setVariables(new HashSet<>(variables));
+            }
+            variableSet.setAttributes(getMap(object, "attributes"));
+            return variableSet;
+        }
+    };
+
+    @Override
+    public Study convertToDataModelType(DBObject object) {
+        Study study = new Study();
+        study.setId(getInt(object, "id"));
+        study.setName(getString(object, "name"));
+        study.setAlias(getString(object, "alias"));
+        study.setType(getEnum(object, "type", Study.Type.class));
+        study.setCreatorId(getString(object, "creatorId"));
+        study.setCreationDate(getString(object, "creationDate"));
+        study.setDescription(getString(object, "description"));
+        study.setStatus(getString(object, "status"));
+        study.setLastActivity(getString(object, "lastActivity"));
+        study.setDiskUsage(getLong(object, "diskUsage"));
+        study.setCipher(getString(object, "cipher"));
+        study.setAcl(getList(object, "acl", aclConverter));
+        study.setExperiments(getList(object, "experiments", experimentConverter));
+        study.setFiles(getList(object, "files", fileConverter));
+        study.setJobs(getList(object, "jobs", jobConverter));
+        study.setSamples(getList(object, "samples", sampleConverter));
+        study.setDatasets(getList(object, "datasets", datasetConverter));
+        study.setCohorts(getList(object, "cohorts", cohortConverter));
+        study.setVariableSets(getList(object, "variableSets", variableSetConverter));
+        study.setUri(getUri(object, "uri"));
+        study.setStats(getMap(object, "stats"));
+        study.setAttributes(getMap(object, "attributes"));
+        return study;
+    }
+
+}
@@ -0,0 +1,86 @@
+package org.opencb.opencga.catalog.db;
+
+import com.mongodb.DBObject;
+import org.opencb.opencga.catalog.beans.*;
+
+public class DBObjectToUserConverter extends AbstractDBObjectConverter<User> {
+
+    private final DBObjectToAclConverter aclConverter = new DBObjectToAclConverter();
+    private final DBObjectToStudyConverter studyConverter = new DBObjectToStudyConverter();
+
+    private final AbstractDBObjectConverter<Project> projectConverter = new AbstractDBObjectConverter<Project>() {
+        @Override
+        public Project convertToDataModelType(DBObject object) {
+            Project project = new Project();
+            project.setId(getInt(object, "id"));
+            project.setName(getString(object, "name"));
+            project.setAlias(getString(object, "alias"));
+            project.setCreationDate(getString(object, "creationDate"));
+            project.setDescription(getString(object, "description"));
+            project.setOrganization(getString(object, "organization"));
+            project.setStatus(getString(object, "status"));
+            project.setLastActivity(getString(object, "lastActivity"));
+            project.setDiskUsage(getLong(object, "diskUsage"));
+            project.setAcl(getList(object, "acl", aclConverter));
+            project.setStudies(getList(object, "studies", studyConverter));
+            project.setAttributes(getMap(object, "attributes"));
+            return project;
+        }
+    };
+
+    private final AbstractDBObjectConverter<Tool> toolConverter = new AbstractDBObjectConverter<Tool>() {
+        @Override
+        public Tool convertToDataModelType(DBObject object) {
+            Tool tool = new Tool();
+            tool.setId(getInt(object, "id"));
+            if (object.containsField("alias")) {
+                tool.setAlias(getString(object, "alias"));
+            }
+            if (object.containsField("name")) {
+                tool.setName(getString(object, "name"));
+            }
+            if (object.containsField("description")) {
+                tool.setDescription(getString(object, "description"));
+            }
+            tool.setManifest(object.get("manifest"));
+            tool.setResult(object.get("result"));
+            if (object.containsField("path")) {
+                tool.setPath(getString(object, "path"));
+            }
+            if (object.containsField("acl")) {
+                tool.setAcl(getList(object, "acl", aclConverter));
+            }
+            return tool;
+        }
+    };
+
+    private final AbstractDBObjectConverter<Session> sessionConverter = new AbstractDBObjectConverter<Session>() {
+        @Override
+        public Session convertToDataModelType(DBObject object) {
+            return new Session(getString(object, "id"), getString(object, "ip"), getString(object, "login"),
+                    getString(object, "logout"));
+        }
+    };
+
+    @Override
+    public User convertToDataModelType(DBObject object) {
+        User user = new User();
+        user.setId(getString(object, "id"));
+        user.setName(getString(object, "name"));
+        user.setEmail(getString(object, "email"));
+        user.setPassword(getString(object, "password"));
+        user.setOrganization(getString(object, "organization"));
+        user.setRole(getEnum(object, "role", User.Role.class));
+        user.setStatus(getString(object, "status"));
+        user.setLastActivity(getString(object, "lastActivity"));
+        user.setDiskUsage(getLong(object, "diskUsage"));
+        user.setDiskQuota(getLong(object, "diskQuota"));
+        user.setProjects(getList(object, "projects", projectConverter));
+        user.setTools(getList(object, "tools", toolConverter));
+        user.setSessions(getList(object, "sessions", sessionConverter));
+        user.setConfigs(getMap(object, "configs"));
+        user.setAttributes(getMap(object, "attributes"));
+        return user;
+    }
+
+}
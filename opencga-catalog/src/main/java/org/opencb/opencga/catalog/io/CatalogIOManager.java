@@ -6,8 +6,11 @@ import org.slf4j.LoggerFactory;
 import java.io.*;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.ExecutorService;
 
 public abstract class CatalogIOManager {
 
@@ -37,6 +40,8 @@ public abstract class CatalogIOManager {
     protected static final String SHARED_DATA_FOLDER = "shared_data/";
     protected static final String OPENCGA_JOBS_FOLDER = "jobs/";
 
+    public static final String DEFAULT_CHECKSUM_ALGORITHM = "MD5";
+
     protected Properties properties;
     protected static Logger logger;
 
@@ -112,6 +117,28 @@ public abstract class CatalogIOManager {
 
     public abstract void copyFile(URI source, URI target) throws IOException, CatalogIOManagerException;
 
+    /**
+     * Copies the file, calculating the checksum and size of the copied data at the same time.
+     *
+     * @param checksumAlgorithm MessageDigest algorithm. See {@link #DEFAULT_CHECKSUM_ALGORITHM}
+     * @return                  Consumed stream, with the checksum and the size of the file
+     */
+    public ChecksumInputStream copyFile(URI source, URI target, String checksumAlgorithm)
+            throws IOException, CatalogIOManagerException {
+        try (InputStream inputStream = getFileObject(source, -1, -1)) {
+            return createFile(target, inputStream, checksumAlgorithm);
+        }
+    }
+
+    /**
+     * Moves the file without copying its content, replacing the target if exists.
+     *
+     * @return  False if the file can't be moved without copying it, e.g. the source and the target are in
+     *          different file systems. In that case, nothing is done.
+     */
+    public boolean moveFile(URI source, URI target) throws IOException, CatalogIOManagerException {
+        return false;
+    }
 
     public URI getUsersUri() throws CatalogIOManagerException {
         return rootDir.resolve(OPENCGA_USERS_FOLDER);
@@ -424,6 +451,19 @@ public abstract class CatalogIOManager {
     public abstract void createFile(URI fileUri, InputStream inputStream)
             throws CatalogIOManagerException;
 
+    /**
+     * Creates the file, calculating the checksum and size of the written data at the same time.
+     *
+     * @param checksumAlgorithm MessageDigest algorithm. See {@link #DEFAULT_CHECKSUM_ALGORITHM}
+     * @return                  Consumed stream, with the checksum and the size of the file
+     */
+    public ChecksumInputStream createFile(URI fileUri, InputStream inputStream, String checksumAlgorithm)
+            throws CatalogIOManagerException {
+        ChecksumInputStream checksumInputStream = new ChecksumInputStream(inputStream, checksumAlgorithm);
+        createFile(fileUri, checksumInputStream);
+        return checksumInputStream;
+    }
+
     public void deleteFile(String userId, String projectId, String studyId, String filePath)
             throws CatalogIOManagerException {
         URI fileUri = getFileUri(userId, projectId, studyId, filePath);
@@ -451,9 +491,75 @@ public abstract class CatalogIOManager {
     public abstract DataInputStream getFileObject(URI fileUri ,int start, int limit)
             throws CatalogIOManagerException, IOException;
 
+    /**
+     * @param offset    First byte to read
+     * @param length    Number of bytes to read. Negative to read until the end of the file
+     */
+    public abstract InputStream getFileRange(URI fileUri, long offset, long length)
+            throws CatalogIOManagerException, IOException;
+
+    /**
+     * Writes a range of bytes of the file into the channel.
+     *
+     * @param offset    First byte to read
+     * @param length    Number of bytes to read. Negative to read until the end of the file
+     * @return          Number of bytes written
+     */
+    public long transferTo(URI fileUri, long offset, long length, WritableByteChannel target)
+            throws CatalogIOManagerException, IOException {
+        try (InputStream inputStream = getFileRange(fileUri, offset, length)) {
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            long transferred = 0;
+            int read;
+            while ((read = inputStream.read(buffer.array())) != -1) {
+                buffer.limit(read);
+                while (buffer.hasRemaining()) {
+                    transferred += target.write(buffer);
+                }
+                buffer.clear();
+            }
+            return transferred;
+        }
+    }
+
+    public abstract long getFileSize(URI fileUri) throws CatalogIOManagerException;
+
     public abstract DataInputStream getGrepFileObject(String userId, String projectId, String studyId, String objectId,
                                                       String pattern, boolean ignoreCase, boolean multi)
             throws CatalogIOManagerException, IOException;
+
+    /**
+     * @param find          Match any part of the line instead of the whole line
+     * @param maxMatches    Stop after this number of matches. Negative for no limit
+     */
+    public abstract DataInputStream getGrepFileObject(URI fileUri, String pattern, boolean ignoreCase, boolean find,
+                                                      int maxMatches)
+            throws CatalogIOManagerException, IOException;
+
+    /**
+     * Writes the matching lines into the OutputStream as they are found.
+     *
+     * @param numThreads    Number of threads searching the file, if supported
+     * @param executor      Shared executor running the searches
+     * @return              Number of matches
+     */
+    public long grep(URI fileUri, String pattern, boolean ignoreCase, boolean find, int maxMatches, int numThreads,
+                     ExecutorService executor, OutputStream outputStream)
+            throws CatalogIOManagerException, IOException {
+        long matches = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                getGrepFileObject(fileUri, pattern, ignoreCase, find, maxMatches)))) {
+            Writer writer = new OutputStreamWriter(outputStream);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                writer.write(line);
+                writer.write('\n');
+                matches++;
+            }
+            writer.flush();
+        }
+        return matches;
+    }
 //
 //    public abstract DataInputStream getFileFromJob(Path jobPath, String filename, String zip)
 //            throws CatalogIOManagerException,FileNotFoundException;
@@ -466,6 +572,14 @@ public abstract class CatalogIOManager {
 
     public abstract String calculateChecksum(URI file) throws CatalogIOManagerException;
 
+    public String calculateChecksum(URI file, String checksumAlgorithm) throws CatalogIOManagerException {
+        try (InputStream inputStream = getFileObject(file, -1, -1)) {
+            return new ChecksumInputStream(inputStream, checksumAlgorithm).readFully().getChecksum();
+        } catch (IOException e) {
+            throw new CatalogIOManagerException("Checksum error in file " + file, e);
+        }
+    }
+
     public abstract List<URI> listFiles(URI directory) throws CatalogIOManagerException, IOException;
 
 }
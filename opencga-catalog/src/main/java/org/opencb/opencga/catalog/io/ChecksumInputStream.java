@@ -0,0 +1,131 @@
+package org.opencb.opencga.catalog.io;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * InputStream that calculates the checksum and counts the size of all the bytes read through it.
+ * Used to get the checksum of a file while it is being copied, without reading it again.
+ */
+public class ChecksumInputStream extends FilterInputStream {
+
+    private final String algorithm;
+    private final MessageDigest digest;
+    private long size = 0;
+
+    /**
+     * @param in        Stream to read from
+     * @param algorithm Any MessageDigest algorithm. "MD5", "SHA-1", "SHA-256"...
+     */
+    public ChecksumInputStream(InputStream in, String algorithm) throws CatalogIOManagerException {
+        super(in);
+        this.algorithm = algorithm;
+        try {
+            this.digest = MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new CatalogIOManagerException("Unknown checksum algorithm " + algorithm, e);
+        }
+    }
+
+    /**
+     * Continues calculating the checksum over an existing digest. Useful to calculate the checksum of a file
+     * received in several parts.
+     */
+    public ChecksumInputStream(InputStream in, MessageDigest digest) {
+        super(in);
+        this.algorithm = digest.getAlgorithm();
+        this.digest = digest;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = in.read();
+        if (b != -1) {
+            digest.update((byte) b);
+            size++;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int read = in.read(b, off, len);
+        if (read > 0) {
+            digest.update(b, off, read);
+            size += read;
+        }
+        return read;
+    }
+
+    /**
+     * Skipped bytes would not be part of the checksum
+     */
+    @Override
+    public long skip(long n) throws IOException {
+        byte[] buffer = new byte[(int) Math.min(n, 8192)];
+        long skipped = 0;
+        int read;
+        while (skipped < n && (read = read(buffer, 0, (int) Math.min(n - skipped, buffer.length))) > 0) {
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    /**
+     * Reads the remaining bytes of the stream.
+     */
+    public ChecksumInputStream readFully() throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        while (read(buffer, 0, buffer.length) != -1);
+        return this;
+    }
+
+    /**
+     * @return Hexadecimal checksum of the bytes read so far. Same format as md5sum or sha1sum.
+     */
+    public String getChecksum() {
+        return getChecksum(digest);
+    }
+
+    /**
+     * @return Hexadecimal checksum of the current state of the digest. The digest is not reset.
+     */
+    public static String getChecksum(MessageDigest digest) {
+        byte[] bytes;
+        try {
+            bytes = ((MessageDigest) digest.clone()).digest();
+        } catch (CloneNotSupportedException e) {
+            bytes = digest.digest();
+        }
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public long getSize() {
+        return size;
+    }
+}
@@ -106,11 +106,26 @@ public class HdfsCatalogIOManager extends CatalogIOManager {
         return null;
     }
 
+    @Override
+    public InputStream getFileRange(URI fileUri, long offset, long length) throws CatalogIOManagerException, IOException {
+        throw new CatalogIOManagerException("getFileRange not supported for HDFS files: " + fileUri);
+    }
+
+    @Override
+    public long getFileSize(URI fileUri) throws CatalogIOManagerException {
+        throw new CatalogIOManagerException("getFileSize not supported for HDFS files: " + fileUri);
+    }
+
     @Override
     public DataInputStream getGrepFileObject(String userId, String projectId, String studyId, String objectId, String pattern, boolean ignoreCase, boolean multi) throws CatalogIOManagerException, IOException {
         return null;
     }
 
+    @Override
+    public DataInputStream getGrepFileObject(URI fileUri, String pattern, boolean ignoreCase, boolean find, int maxMatches) throws CatalogIOManagerException, IOException {
+        throw new CatalogIOManagerException("grep not supported for HDFS files: " + fileUri);
+    }
+
     @Override
     public String calculateChecksum(URI file) {
         return null;
@@ -10,12 +10,14 @@ import org.slf4j.LoggerFactory;
 import java.io.*;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.ExecutorService;
 
 public class PosixCatalogIOManager extends CatalogIOManager {
 
@@ -128,6 +130,22 @@ public class PosixCatalogIOManager extends CatalogIOManager {
             throw new CatalogIOManagerException("Expected posix file system URIs.");
         }
     }
+
+    @Override
+    public boolean moveFile(URI source, URI target) throws IOException, CatalogIOManagerException {
+        checkUri(source);
+        if (!"file".equals(source.getScheme()) || !"file".equals(target.getScheme())) {
+            throw new CatalogIOManagerException("Expected posix file system URIs.");
+        }
+        Path targetPath = Paths.get(target);
+        Files.createDirectories(targetPath.getParent());
+        try {
+            Files.move(Paths.get(source), targetPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } catch (AtomicMoveNotSupportedException e) {
+            return false;
+        }
+    }
     /*****************************
      * Get Path methods
      * ***************************
@@ -301,7 +319,7 @@ public class PosixCatalogIOManager extends CatalogIOManager {
         try {
             Files.copy(inputStream, Paths.get(fileUri), StandardCopyOption.REPLACE_EXISTING);
         } catch (IOException e) {
-            throw new CatalogIOManagerException("create file failed at copying file " + fileUri);
+            throw new CatalogIOManagerException("create file failed at copying file " + fileUri, e);
         }
     }
 
@@ -453,7 +471,7 @@ public class PosixCatalogIOManager extends CatalogIOManager {
                 is = new DataInputStream(Files.newInputStream(objectPath));
                 return is;
             } else {
-                is = new DataInputStream(IOUtils.headOffset(objectPath, start, limit));
+                is = new DataInputStream(IOUtils.headOffset(objectPath, Math.max(start, 0), limit));
             }
             return is;
         } else {
@@ -461,6 +479,34 @@ public class PosixCatalogIOManager extends CatalogIOManager {
         }
     }
 
+    @Override
+    public InputStream getFileRange(URI fileUri, long offset, long length) throws CatalogIOManagerException, IOException {
+        return IOUtils.rangeInputStream(getRegularFile(fileUri), offset, length);
+    }
+
+    @Override
+    public long transferTo(URI fileUri, long offset, long length, WritableByteChannel target)
+            throws CatalogIOManagerException, IOException {
+        return IOUtils.transferTo(getRegularFile(fileUri), offset, length, target);
+    }
+
+    @Override
+    public long getFileSize(URI fileUri) throws CatalogIOManagerException {
+        try {
+            return Files.size(getRegularFile(fileUri));
+        } catch (IOException e) {
+            throw new CatalogIOManagerException("Can't get size of file " + fileUri, e);
+        }
+    }
+
+    private Path getRegularFile(URI fileUri) throws CatalogIOManagerException {
+        Path objectPath = Paths.get(fileUri);
+        if (!Files.isRegularFile(objectPath)) {
+            throw new CatalogIOManagerException("Not a regular file: " + objectPath.toAbsolutePath().toString());
+        }
+        return objectPath;
+    }
+
 
     @Override
     public DataInputStream getGrepFileObject(String userId, String projectId, String studyId, String objectId,
@@ -475,28 +521,21 @@ public class PosixCatalogIOManager extends CatalogIOManager {
     }
 
     @Override
-    public String calculateChecksum(URI file) throws CatalogIOManagerException {
-        String checksum;
-        try {
-            String[] command = {"md5sum", file.getPath()};
-            logger.info("command = {} {}", command[0], command[1]);
-            Process p = Runtime.getRuntime().exec(command);
-            BufferedReader br = new BufferedReader(new InputStreamReader(p.getInputStream()));
-            checksum = br.readLine();
-
-            if (p.waitFor() != 0) {
-                //TODO: Handle error in checksum
-                System.out.println("checksum = " + checksum);
-                br = new BufferedReader(new InputStreamReader(p.getErrorStream()));
-                throw new CatalogIOManagerException("md5sum failed with exit value : " + p.exitValue() + ". ERROR: " + br.readLine() );
-            }
-        } catch (IOException | InterruptedException e) {
-            e.printStackTrace();
-            //TODO: Handle error in checksum
-            throw new CatalogIOManagerException("Checksum error in file " + file, e);
-        }
+    public DataInputStream getGrepFileObject(URI fileUri, String pattern, boolean ignoreCase, boolean find, int maxMatches)
+            throws CatalogIOManagerException, IOException {
+        return new DataInputStream(IOUtils.grepFile(getRegularFile(fileUri), pattern, ignoreCase, find, maxMatches));
+    }
 
-        return checksum.split(" ")[0];
+    @Override
+    public long grep(URI fileUri, String pattern, boolean ignoreCase, boolean find, int maxMatches, int numThreads,
+                     ExecutorService executor, OutputStream outputStream) throws CatalogIOManagerException, IOException {
+        return IOUtils.grepFile(getRegularFile(fileUri), pattern, ignoreCase, find, maxMatches, numThreads, executor,
+                outputStream);
+    }
+
+    @Override
+    public String calculateChecksum(URI file) throws CatalogIOManagerException {
+        return calculateChecksum(file, DEFAULT_CHECKSUM_ALGORITHM);
     }
 
     public List<URI> listFiles(URI directory) throws CatalogIOManagerException, IOException {
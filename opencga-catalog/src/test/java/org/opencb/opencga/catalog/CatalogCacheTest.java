@@ -0,0 +1,66 @@
+package org.opencb.opencga.catalog;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CatalogCacheTest {
+
+    @Test
+    public void testGetPut() throws Exception {
+        CatalogCache<String, String> cache = new CatalogCache<>(60000, 10);
+        assertNull(cache.get("session"));
+        cache.put("session", "user");
+        assertEquals("user", cache.get("session"));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testExpire() throws Exception {
+        CatalogCache<String, String> cache = new CatalogCache<>(10, 10);
+        cache.put("session", "user");
+        Thread.sleep(50);
+        assertNull(cache.get("session"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testMaxSize() throws Exception {
+        CatalogCache<Integer, Integer> cache = new CatalogCache<>(60000, 3);
+        for (int i = 0; i < 3; i++) {
+            cache.put(i, i);
+        }
+        cache.get(0);   // 1 is now the least recently used
+        cache.put(3, 3);
+        assertEquals(3, cache.size());
+        assertNull(cache.get(1));
+        assertEquals(0, cache.get(0).intValue());
+        assertEquals(3, cache.get(3).intValue());
+    }
+
+    @Test
+    public void testInvalidate() throws Exception {
+        CatalogCache<String, String> cache = new CatalogCache<>(60000, 10);
+        cache.put("user1@1", "a");
+        cache.put("user1@2", "b");
+        cache.put("user2@1", "c");
+        cache.invalidate(new CatalogCache.KeyFilter<String>() {
+            @Override
+            public boolean matches(String key) {
+                return key.startsWith("user1@");
+            }
+        });
+        assertEquals(1, cache.size());
+        assertEquals("c", cache.get("user2@1"));
+        cache.invalidate("user2@1");
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        CatalogCache<String, String> cache = new CatalogCache<>(0, 10);
+        cache.put("session", "user");
+        assertNull(cache.get("session"));
+    }
+}
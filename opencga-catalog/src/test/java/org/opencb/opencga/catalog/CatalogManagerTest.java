@@ -410,6 +410,29 @@ public class CatalogManagerTest extends GenericTest {
         System.out.println(catalogManager.searchFile(studyId, options, sessionIdUser));
     }
 
+    @Test
+    public void searchFilePaginationTest() throws CatalogException {
+        int studyId = catalogManager.getStudyId("user@1000G:phase1");
+        QueryOptions query = new QueryOptions("directory", "data/");
+
+        Set<Integer> allIds = new HashSet<>();
+        for (File file : catalogManager.searchFile(studyId, query, sessionIdUser).getResult()) {
+            assertTrue(file.getPath().startsWith("data/"));
+            allIds.add(file.getId());
+        }
+
+        Set<Integer> pagedIds = new HashSet<>();
+        for (int skip = 0; skip < allIds.size(); skip++) {
+            QueryOptions options = new QueryOptions("skip", skip);
+            options.put("limit", 1);
+            QueryResult<File> result = catalogManager.searchFile(studyId, query, options, sessionIdUser);
+            assertEquals(1, result.getNumResults());
+            assertEquals(allIds.size(), result.getNumTotalResults());
+            pagedIds.add(result.getResult().get(0).getId());
+        }
+        assertEquals(allIds, pagedIds);
+    }
+
     @Test
     public void testDeleteFile () throws CatalogException, IOException, CatalogIOManagerException {
         int projectId = catalogManager.getAllProjects("user", null, sessionIdUser).getResult().get(0).getId();
@@ -445,6 +468,22 @@ public class CatalogManagerTest extends GenericTest {
         }
     }
 
+    @Test
+    public void searchDeletingFilesWithoutDeleteDateTest() throws CatalogException {
+        int studyId = catalogManager.getStudyId("user@1000G:phase1");
+        int fileId = catalogManager.createFile(studyId, File.Format.PLAIN, File.Bioformat.NONE,
+                "data/deleting_" + StringUtils.randomString(5) + ".txt", "description", true, sessionIdUser).getResult().get(0).getId();
+        catalogManager.modifyFile(fileId, new ObjectMap("status", File.Status.DELETING), sessionIdUser);
+
+        QueryOptions query = new QueryOptions("status", File.Status.DELETING);
+        query.put("maxDeleteDate", 0);
+        Set<Integer> ids = new HashSet<>();
+        for (File file : catalogManager.searchFile(studyId, query, sessionIdUser).getResult()) {
+            ids.add(file.getId());
+        }
+        assertTrue(ids.contains(fileId));
+    }
+
     /* TYPE_FILE UTILS */
     private java.io.File createDebugFile() throws IOException {
         String fileTestName = "/tmp/fileTest " + StringUtils.randomString(5);
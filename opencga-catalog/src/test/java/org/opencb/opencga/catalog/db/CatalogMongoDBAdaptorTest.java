@@ -11,6 +11,7 @@ import org.junit.rules.Timeout;
 import org.junit.runners.MethodSorters;
 import org.opencb.commons.test.GenericTest;
 import org.opencb.datastore.core.ObjectMap;
+import org.opencb.datastore.core.QueryOptions;
 import org.opencb.datastore.core.QueryResult;
 import org.opencb.datastore.core.config.DataStoreServerAddress;
 import org.opencb.datastore.mongodb.MongoDataStore;
@@ -29,6 +30,7 @@ import static org.junit.Assert.*;
 public class CatalogMongoDBAdaptorTest extends GenericTest {
 
     private static CatalogDBAdaptor catalogDBAdaptor;
+    private static MongoDataStore db;
 
     @Rule
     public Timeout globalTimeout = new Timeout(2000); // 200 ms max per method tested
@@ -63,7 +65,7 @@ public class CatalogMongoDBAdaptorTest extends GenericTest {
          */
 //        clearDB(dataStoreServerAddress, mongoCredentials);
         MongoDataStoreManager mongoManager = new MongoDataStoreManager(dataStoreServerAddress.getHost(), dataStoreServerAddress.getPort());
-        MongoDataStore db = mongoManager.get(mongoCredentials.getSource());
+        db = mongoManager.get(mongoCredentials.getSource());
         db.getDb().dropDatabase();
 
         catalogDBAdaptor = new CatalogMongoDBAdaptor(dataStoreServerAddress, mongoCredentials);
@@ -103,6 +105,17 @@ public class CatalogMongoDBAdaptorTest extends GenericTest {
 
     }
 
+    @Test
+    public void idAllocatorTest() {
+        CatalogMongoDBIdAllocator allocator1 = new CatalogMongoDBIdAllocator("testCounter", 10, db.getCollection("metadata"));
+        CatalogMongoDBIdAllocator allocator2 = new CatalogMongoDBIdAllocator("testCounter", 7, db.getCollection("metadata"));
+        Set<Integer> ids = new HashSet<>();
+        for (int i = 0; i < 50; i++) {
+            assertTrue(ids.add(allocator1.getNewId()));
+            assertTrue(ids.add(allocator2.getNewId()));
+        }
+    }
+
     /** **************************
      * User methods
      * ***************************
@@ -485,6 +498,45 @@ public class CatalogMongoDBAdaptorTest extends GenericTest {
         }
     }
 
+    @Test
+    public void createFilesToStudyTest() throws CatalogDBException {
+        int studyId = catalogDBAdaptor.getStudyId(catalogDBAdaptor.getProjectId("jcoll", "1000G"), "ph1");
+        long diskUsage = catalogDBAdaptor.getStudy(studyId, null).getResult().get(0).getDiskUsage();
+
+        List<File> files = new LinkedList<>();
+        files.add(new File("bulk_1.txt", File.Type.FILE, File.Format.PLAIN, File.Bioformat.NONE, "/data/bulk_1.txt", null, TimeUtils.getTime(), "", File.Status.UPLOADING, 10));
+        files.add(new File("bulk_2.txt", File.Type.FILE, File.Format.PLAIN, File.Bioformat.NONE, "/data/bulk_2.txt", null, TimeUtils.getTime(), "", File.Status.UPLOADING, 20));
+        QueryResult<File> result = catalogDBAdaptor.createFilesToStudy(studyId, files, null);
+
+        assertEquals(2, result.getNumResults());
+        assertTrue(result.getResult().get(0).getId() >= 0);
+        assertTrue(result.getResult().get(0).getId() != result.getResult().get(1).getId());
+        assertEquals(result.getResult().get(1).getId(), catalogDBAdaptor.getFileId(studyId, "/data/bulk_2.txt"));
+        assertEquals(diskUsage + 30, catalogDBAdaptor.getStudy(studyId, null).getResult().get(0).getDiskUsage());
+
+        files = new LinkedList<>();
+        files.add(new File("bulk_3.txt", File.Type.FILE, File.Format.PLAIN, File.Bioformat.NONE, "/data/bulk_3.txt", null, TimeUtils.getTime(), "", File.Status.UPLOADING, 10));
+        files.add(new File("bulk_1.txt", File.Type.FILE, File.Format.PLAIN, File.Bioformat.NONE, "/data/bulk_1.txt", null, TimeUtils.getTime(), "", File.Status.UPLOADING, 10));
+        try {
+            catalogDBAdaptor.createFilesToStudy(studyId, files, null);
+            fail("Expected \"File already exist\" exception");
+        } catch (CatalogDBException e) {
+            // Expected
+        }
+        assertEquals(-1, catalogDBAdaptor.getFileId(studyId, "/data/bulk_3.txt"));
+        assertEquals(diskUsage + 30, catalogDBAdaptor.getStudy(studyId, null).getResult().get(0).getDiskUsage());
+    }
+
+    @Test
+    public void getParentPathTest() {
+        assertEquals("", CatalogMongoDBAdaptor.getParentPath("data/"));
+        assertEquals("", CatalogMongoDBAdaptor.getParentPath("file.txt"));
+        assertEquals("data/", CatalogMongoDBAdaptor.getParentPath("data/file.txt"));
+        assertEquals("data/", CatalogMongoDBAdaptor.getParentPath("data/folder/"));
+        assertEquals("/data/", CatalogMongoDBAdaptor.getParentPath("/data/file.sam"));
+        assertEquals("", CatalogMongoDBAdaptor.getParentPath(""));
+    }
+
     @Test
     public void getFileIdTest() throws CatalogDBException, IOException {
         assertTrue(catalogDBAdaptor.getFileId(catalogDBAdaptor.getStudyId(catalogDBAdaptor.getProjectId("jcoll", "1000G"), "ph1"), "/data/") != -1);
@@ -516,6 +568,31 @@ public class CatalogMongoDBAdaptorTest extends GenericTest {
         assertTrue(allFiles.getResult().isEmpty());
     }
 
+    @Test
+    public void getAllFilesInRootFolderTest() throws CatalogDBException {
+        int studyId = catalogDBAdaptor.getStudyId(catalogDBAdaptor.getProjectId("jcoll", "1000G"), "ph1");
+        File root = new File("", File.Type.FOLDER, File.Format.PLAIN, File.Bioformat.NONE, "", null, TimeUtils.getTime(), "", File.Status.READY, 0);
+        int rootId = catalogDBAdaptor.createFileToStudy(studyId, root, null).getResult().get(0).getId();
+        File rootFile = new File("root.txt", File.Type.FILE, File.Format.PLAIN, File.Bioformat.NONE, "root.txt", null, TimeUtils.getTime(), "", File.Status.READY, 10);
+        int rootFileId = catalogDBAdaptor.createFileToStudy(studyId, rootFile, null).getResult().get(0).getId();
+
+        List<Integer> ids = new LinkedList<>();
+        for (File file : catalogDBAdaptor.getAllFilesInFolder(rootId, null).getResult()) {
+            ids.add(file.getId());
+        }
+        assertTrue(ids.contains(rootFileId));
+        assertFalse(ids.contains(rootId));
+
+        QueryOptions query = new QueryOptions("studyId", studyId);
+        query.put("directory", "");
+        ids.clear();
+        for (File file : catalogDBAdaptor.searchFile(query, null).getResult()) {
+            ids.add(file.getId());
+        }
+        assertTrue(ids.contains(rootFileId));
+        assertFalse(ids.contains(rootId));
+    }
+
 //    @Test
 //    public void setFileStatus() throws CatalogDBException, IOException {
 //        int fileId = catalogDBAdaptor.getFileId("jcoll", "1000G", "ph1", "/data/file.vcf");
@@ -576,6 +653,24 @@ public class CatalogMongoDBAdaptorTest extends GenericTest {
         }
     }
 
+    @Test
+    public void studyDiskUsageTest() throws CatalogDBException, IOException {
+        int studyId = catalogDBAdaptor.getStudyId(catalogDBAdaptor.getProjectId("jcoll", "1000G"), "ph1");
+        long diskUsage = catalogDBAdaptor.getStudy(studyId, null).getResult().get(0).getDiskUsage();
+
+        File f = new File("diskUsage.txt", File.Type.FILE, File.Format.PLAIN, File.Bioformat.NONE, "/data/diskUsage.txt", null, TimeUtils.getTime(), "", File.Status.UPLOADING, 500);
+        int fileId = catalogDBAdaptor.createFileToStudy(studyId, f, null).getResult().get(0).getId();
+        assertEquals(diskUsage + 500, catalogDBAdaptor.getStudy(studyId, null).getResult().get(0).getDiskUsage());
+
+        catalogDBAdaptor.modifyFile(fileId, new ObjectMap("diskUsage", 800));
+        assertEquals(diskUsage + 800, catalogDBAdaptor.getStudy(studyId, null).getResult().get(0).getDiskUsage());
+
+        assertEquals(diskUsage + 800, catalogDBAdaptor.updateStudyDiskUsage(studyId).getResult().get(0).longValue());
+
+        catalogDBAdaptor.deleteFile(fileId);
+        assertEquals(diskUsage, catalogDBAdaptor.getStudy(studyId, null).getResult().get(0).getDiskUsage());
+    }
+
     @Test
     public void deleteFileTest() throws CatalogDBException, IOException {
         QueryResult<Integer> delete = catalogDBAdaptor.deleteFile(catalogDBAdaptor.getFileId(catalogDBAdaptor.getStudyId(catalogDBAdaptor.getProjectId("jcoll", "1000G"), "ph1"), "/data/file.sam"));
@@ -763,6 +858,31 @@ public class CatalogMongoDBAdaptorTest extends GenericTest {
 
     }
 
+    @Test
+    public void searchJobByStatusTest() throws CatalogDBException {
+        int studyId = catalogDBAdaptor.getStudyId(catalogDBAdaptor.getProjectId("jcoll", "1000G"), "ph1");
+        Job job = new Job();
+        job.setName("queuedJob");
+        job.setStatus(Job.Status.QUEUED);
+        int queuedJobId = catalogDBAdaptor.createJob(studyId, job, null).getResult().get(0).getId();
+        job = new Job();
+        job.setName("doneJob");
+        job.setStatus(Job.Status.DONE);
+        int doneJobId = catalogDBAdaptor.createJob(studyId, job, null).getResult().get(0).getId();
+
+        List<Job> jobs = catalogDBAdaptor.searchJob(new QueryOptions("status", Arrays.asList(Job.Status.QUEUED, Job.Status.DONE))).getResult();
+        Set<Integer> jobIds = new HashSet<>();
+        for (Job j : jobs) {
+            assertTrue(j.getStatus() == Job.Status.QUEUED || j.getStatus() == Job.Status.DONE);
+            jobIds.add(j.getId());
+        }
+        assertTrue(jobIds.containsAll(Arrays.asList(queuedJobId, doneJobId)));
+
+        jobs = catalogDBAdaptor.searchJob(new QueryOptions("id", Arrays.asList(queuedJobId))).getResult();
+        assertEquals(1, jobs.size());
+        assertEquals(queuedJobId, jobs.get(0).getId());
+    }
+
     @Test
     public void incJobVisits() throws CatalogDBException {
         int studyId = catalogDBAdaptor.getStudyId(catalogDBAdaptor.getProjectId("jcoll", "1000G"), "ph1");
@@ -0,0 +1,65 @@
+package org.opencb.opencga.catalog.db;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+import org.junit.Test;
+import org.opencb.opencga.catalog.beans.Acl;
+import org.opencb.opencga.catalog.beans.File;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class DBObjectToFileConverterTest {
+
+    private final DBObjectToFileConverter converter = new DBObjectToFileConverter();
+
+    @Test
+    public void testConvertToDataModelType() {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("key", "value");
+        File file = new File(5, "file.vcf", File.Type.FILE, File.Format.PLAIN, File.Bioformat.VARIANT, "data/file.vcf",
+                "user", "20141210", "description", File.Status.READY, 10000000000L, 3, Arrays.asList(1, 2), 4,
+                Collections.singletonList(new Acl("user2", true, false, false, false)), new HashMap<String, Object>(),
+                attributes);
+
+        DBObject object = converter.convertToStorageType(file);
+        object.put("_id", 5);
+        object.put("_studyId", 2);
+        File converted = converter.convertToDataModelType(object);
+
+        assertEquals(file.getId(), converted.getId());
+        assertEquals(file.getName(), converted.getName());
+        assertEquals(file.getType(), converted.getType());
+        assertEquals(file.getFormat(), converted.getFormat());
+        assertEquals(file.getBioformat(), converted.getBioformat());
+        assertEquals(file.getPath(), converted.getPath());
+        assertEquals(file.getOwnerId(), converted.getOwnerId());
+        assertEquals(file.getStatus(), converted.getStatus());
+        assertEquals(file.getDiskUsage(), converted.getDiskUsage());
+        assertEquals(file.getExperimentId(), converted.getExperimentId());
+        assertEquals(file.getSampleIds(), converted.getSampleIds());
+        assertEquals(file.getJobId(), converted.getJobId());
+        assertEquals(1, converted.getAcl().size());
+        assertEquals("user2", converted.getAcl().get(0).getUserId());
+        assertTrue(converted.getAcl().get(0).isRead());
+        assertFalse(converted.getAcl().get(0).isWrite());
+        assertEquals("value", converted.getAttributes().get("key"));
+    }
+
+    @Test
+    public void testConvertProjection() {
+        DBObject object = new BasicDBObject("id", 7).append("path", "data/");
+        File converted = converter.convertToDataModelType(object);
+
+        assertEquals(7, converted.getId());
+        assertEquals("data/", converted.getPath());
+        assertNull(converted.getName());
+        assertNull(converted.getStatus());
+        assertNull(converted.getAcl());
+        assertEquals(0, converted.getDiskUsage());
+    }
+}
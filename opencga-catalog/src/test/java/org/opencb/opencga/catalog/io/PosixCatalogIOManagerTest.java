@@ -73,4 +73,31 @@ public class PosixCatalogIOManagerTest {
 //        assertFalse(Files.exists(studyPath));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testCopyFileChecksum() throws Exception {
+        Path source = Paths.get("/tmp/opencga/checksum_source.txt");
+        Path target = Paths.get("/tmp/opencga/checksum_target.txt");
+        Files.write(source, "hello world\n".getBytes());
+
+        ChecksumInputStream copied = posixCatalogIOManager.copyFile(source.toUri(), target.toUri(), "MD5");
+        assertEquals("6f5902ac237024bdd0c176cb93063dc4", copied.getChecksum());
+        assertEquals(12, copied.getSize());
+        assertArrayEquals(Files.readAllBytes(source), Files.readAllBytes(target));
+
+        assertEquals(copied.getChecksum(), posixCatalogIOManager.calculateChecksum(target.toUri()));
+        assertEquals("22596363b3de40b06f981fb85d82312e8c0ed511",
+                posixCatalogIOManager.calculateChecksum(target.toUri(), "SHA-1"));
+    }
+
+    @Test
+    public void testMoveFile() throws Exception {
+        Path source = Paths.get("/tmp/opencga/move_source.txt");
+        Path target = Paths.get("/tmp/opencga/move/move_target.txt");
+        Files.write(source, "hello world\n".getBytes());
+
+        assertTrue(posixCatalogIOManager.moveFile(source.toUri(), target.toUri()));
+        assertFalse(Files.exists(source));
+        assertEquals("hello world\n", new String(Files.readAllBytes(target)));
+    }
+
+}
@@ -6,18 +6,15 @@ import org.opencb.opencga.lib.exec.Command;
 import org.opencb.opencga.lib.exec.SingleProcess;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.InputSource;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.StringReader;
 import java.net.URI;
 import java.nio.file.Paths;
 import java.util.*;
@@ -36,6 +33,7 @@ public class SgeManager {
 
     protected static Logger logger = LoggerFactory.getLogger(SgeManager.class);
     private static Properties analysisProperties = Config.getAnalysisProperties();
+    private static final XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
 
     static {
         stateDic = new HashMap<String, String>();
@@ -138,88 +136,159 @@ public class SgeManager {
         return toolList.contains(toolName);
     }
 
+    /**
+     * Status of a single job. Use {@link #status(Collection)} to get the status of several jobs with one qstat call.
+     */
     public static String status(String jobId) throws Exception {
-        String status = UNKNOWN;
+        return status(Collections.singletonList(jobId)).get(jobId);
+    }
 
-        String xml = null;
-        try {
-            Process p = Runtime.getRuntime().exec("qstat -xml");
-            StringBuilder stdOut = new StringBuilder();
-            BufferedReader br = new BufferedReader(new InputStreamReader(p.getInputStream()));
+    /**
+     * Status of several jobs, taking one single qstat snapshot.
+     *
+     * @param jobIds    Job ids. The SGE job name contains the job id.
+     * @return          Map from jobId to status
+     */
+    public static Map<String, String> status(Collection<String> jobIds) throws Exception {
+        Map<String, String> queueStates = getQueueStates();
 
-            String aux = "";
-            while ((aux = br.readLine()) != null) {
-                stdOut.append(aux);
+        // Index the queued jobs by the suffix of the SGE job name, "{toolName}_{jobId}"
+        Map<String, String> queueStatesBySuffix = new HashMap<>(queueStates.size());
+        for (Map.Entry<String, String> entry : queueStates.entrySet()) {
+            String jobName = entry.getKey();
+            queueStatesBySuffix.put(jobName.substring(jobName.lastIndexOf('_') + 1), entry.getValue());
+        }
+
+        Map<String, String> statusMap = new HashMap<>(jobIds.size());
+        for (String jobId : jobIds) {
+            String state = queueStatesBySuffix.get(jobId);
+            if (state == null) {
+                state = queueStates.get(jobId);
+            }
+            if (state == null) {
+                for (Map.Entry<String, String> entry : queueStates.entrySet()) {
+                    if (entry.getKey().contains(jobId)) {
+                        state = entry.getValue();
+                    }
+                }
             }
-            xml = stdOut.toString();
-            br.close();
+
+            String status;
+            if (state != null) {
+                status = stateDic.containsKey(state) ? stateDic.get(state) : UNKNOWN;
+            } else {
+                status = getAccountingStatus(jobId);
+            }
+            statusMap.put(jobId, status);
+        }
+        return statusMap;
+    }
+
+    /**
+     * Takes a snapshot of the SGE queue with "qstat -xml"
+     *
+     * @return  Map from SGE job name to SGE state
+     */
+    private static Map<String, String> getQueueStates() throws Exception {
+        Process p;
+        try {
+            p = Runtime.getRuntime().exec("qstat -xml");
+        } catch (IOException e) {
+            logger.error(e.toString());
+            throw new Exception("ERROR: can't get status of the SGE queue.");
+        }
+        try (InputStream is = p.getInputStream()) {
+            return parseQueueStates(is);
         } catch (Exception e) {
             logger.error(e.toString());
-            throw new Exception("ERROR: can't get status for job " + jobId + ".");
+            throw new Exception("ERROR: can't get status of the SGE queue.");
+        } finally {
+            p.getErrorStream().close();
+            p.waitFor();
         }
+    }
 
-        if (xml != null) {
-            try {
-                DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-                DocumentBuilder db = dbf.newDocumentBuilder();
-                Document doc = db.parse(new InputSource(new StringReader(xml)));
-                doc.getDocumentElement().normalize();
-                NodeList nodeLst = doc.getElementsByTagName("job_list");
-
-                for (int s = 0; s < nodeLst.getLength(); s++) {
-                    Node fstNode = nodeLst.item(s);
-
-                    if (fstNode.getNodeType() == Node.ELEMENT_NODE) {
-                        Element fstElmnt = (Element) fstNode;
-                        NodeList fstNmElmntLst = fstElmnt.getElementsByTagName("JB_name");
-                        Element fstNmElmnt = (Element) fstNmElmntLst.item(0);
-                        NodeList fstNm = fstNmElmnt.getChildNodes();
-                        String jobName = ((Node) fstNm.item(0)).getNodeValue();
-                        if (jobName.contains(jobId)) {
-                            NodeList lstNmElmntLst = fstElmnt.getElementsByTagName("state");
-                            Element lstNmElmnt = (Element) lstNmElmntLst.item(0);
-                            NodeList lstNm = lstNmElmnt.getChildNodes();
-                            status = ((Node) lstNm.item(0)).getNodeValue();
+    /**
+     * Parses the output of "qstat -xml" with a streaming parser, keeping only the name and the state of each job.
+     *
+     * @return  Map from SGE job name to SGE state
+     */
+    static Map<String, String> parseQueueStates(InputStream qstatXml) throws XMLStreamException {
+        Map<String, String> queueStates = new HashMap<>();
+        XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(qstatXml);
+        try {
+            String jobName = null;
+            String state = null;
+            int jobListDepth = -1;
+            int depth = 0;
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        depth++;
+                        String localName = reader.getLocalName();
+                        if (localName.equals("job_list")) {
+                            jobListDepth = depth;
+                            jobName = null;
+                            state = null;
+                        } else if (jobListDepth > 0 && depth == jobListDepth + 1) {
+                            if (localName.equals("JB_name")) {
+                                jobName = reader.getElementText().trim();
+                                depth--;
+                            } else if (localName.equals("state")) {
+                                state = reader.getElementText().trim();
+                                depth--;
+                            }
                         }
-                    }
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        if (depth == jobListDepth) {
+                            if (jobName != null && state != null) {
+                                queueStates.put(jobName, state);
+                            }
+                            jobListDepth = -1;
+                        }
+                        depth--;
+                        break;
                 }
-            } catch (Exception e) {
-                logger.error(e.toString());
-                throw new Exception("ERROR: can't get status for job " + jobId + ".");
             }
+        } finally {
+            reader.close();
         }
+        return queueStates;
+    }
 
-        if (!status.equals(UNKNOWN)) {
-            status = stateDic.get(status);
-        } else {
-            String command = "qacct -j *" + jobId + "*";
+    /**
+     * Status of a job that is not in the queue anymore, from "qacct"
+     */
+    private static String getAccountingStatus(String jobId) throws IOException, InterruptedException {
+        String status = UNKNOWN;
+        String command = "qacct -j *" + jobId + "*";
 //            logger.info(command);
-            Process p = Runtime.getRuntime().exec(command);
-            BufferedReader in = new BufferedReader(new InputStreamReader(p.getInputStream()));
-            String line;
-            String exitStatus = null;
-            String failed = null;
-            while ((line = in.readLine()) != null) {
+        Process p = Runtime.getRuntime().exec(command);
+        BufferedReader in = new BufferedReader(new InputStreamReader(p.getInputStream()));
+        String line;
+        String exitStatus = null;
+        String failed = null;
+        while ((line = in.readLine()) != null) {
 //                logger.info(line);
-                if (line.contains("exit_status")) {
-                    exitStatus = line.replace("exit_status", "").trim();
-                }
-                if (line.contains("failed")) {
-                    failed = line.replace("failed", "").trim();
-                }
+            if (line.contains("exit_status")) {
+                exitStatus = line.replace("exit_status", "").trim();
             }
-            p.waitFor();
-            in.close();
+            if (line.contains("failed")) {
+                failed = line.replace("failed", "").trim();
+            }
+        }
+        p.waitFor();
+        in.close();
 
-            if (exitStatus != null && failed != null) {
-                if (!"0".equals(failed)) {
-                    status = "queue error";
-                }
-                if ("0".equals(exitStatus)) {
-                    status = FINISHED;
-                } else {
-                    status = EXECUTION_ERROR;
-                }
+        if (exitStatus != null && failed != null) {
+            if (!"0".equals(failed)) {
+                status = "queue error";
+            }
+            if ("0".equals(exitStatus)) {
+                status = FINISHED;
+            } else {
+                status = EXECUTION_ERROR;
             }
         }
         return status;
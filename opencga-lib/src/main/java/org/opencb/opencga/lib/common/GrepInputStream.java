@@ -0,0 +1,102 @@
+package org.opencb.opencga.lib.common;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.regex.Pattern;
+
+/**
+ * Lazy grep. Reads the lines from the reader only when the matching lines are requested,
+ * so the memory usage is bounded to one line regardless of the file size or the number of matches.
+ */
+public class GrepInputStream extends InputStream {
+
+    private final BufferedReader reader;
+    private final Pattern pattern;
+    private final boolean find;
+    private final int maxMatches;
+    private final Charset charset;
+
+    private byte[] current = new byte[0];
+    private int currentPosition = 0;
+    private int matches = 0;
+    private boolean finished = false;
+
+    /**
+     * @param find          Match any part of the line (Matcher.find) instead of the whole line (Matcher.matches)
+     * @param maxMatches    Stop after this number of matches. Negative for no limit
+     */
+    public GrepInputStream(BufferedReader reader, Pattern pattern, boolean find, int maxMatches, Charset charset) {
+        this.reader = reader;
+        this.pattern = pattern;
+        this.find = find;
+        this.maxMatches = maxMatches;
+        this.charset = charset;
+    }
+
+    static boolean matches(Pattern pattern, String line, boolean find) {
+        return find ? pattern.matcher(line).find() : pattern.matcher(line).matches();
+    }
+
+    private boolean nextMatch() throws IOException {
+        if (finished) {
+            return false;
+        }
+        if (maxMatches >= 0 && matches >= maxMatches) {
+            finished = true;
+            return false;
+        }
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (matches(pattern, line, find)) {
+                matches++;
+                current = (line + "\n").getBytes(charset);
+                currentPosition = 0;
+                return true;
+            }
+        }
+        finished = true;
+        return false;
+    }
+
+    @Override
+    public int read() throws IOException {
+        while (currentPosition >= current.length) {
+            if (!nextMatch()) {
+                return -1;
+            }
+        }
+        return current[currentPosition++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        while (currentPosition >= current.length) {
+            if (!nextMatch()) {
+                return -1;
+            }
+        }
+        int read = Math.min(len, current.length - currentPosition);
+        System.arraycopy(current, currentPosition, b, off, read);
+        currentPosition += read;
+        return read;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return current.length - currentPosition;
+    }
+
+    public int getMatches() {
+        return matches;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -1,17 +1,28 @@
 package org.opencb.opencga.lib.common;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.*;
 import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
 public class IOUtils {
 
+    /**
+     * Size of each byte range when a file is searched in parallel.
+     */
+    public static final long GREP_CHUNK_SIZE = 16 * 1024 * 1024;
+
     public static void deleteDirectory(Path path) throws IOException {
 
         Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
@@ -55,49 +66,346 @@ public class IOUtils {
         return lines;
     }
 
+    /**
+     * Streams a range of lines from the file. Lines are not loaded in memory.
+     *
+     * @param offsetLine    Number of lines to skip
+     * @param numLines      Number of lines to read. Negative to read until the end of the file
+     */
     public static InputStream headOffset(Path path, int offsetLine, int numLines) throws IOException {
-        BufferedReader br = Files.newBufferedReader(path, Charset.defaultCharset());
-        StringBuilder sb = new StringBuilder();
+        InputStream is = new BufferedInputStream(Files.newInputStream(path));
+        try {
+            int skipped = 0;
+            int b;
+            while (skipped < offsetLine && (b = is.read()) != -1) {
+                if (b == '\n') {
+                    skipped++;
+                }
+            }
+        } catch (IOException e) {
+            is.close();
+            throw e;
+        }
+        return numLines < 0 ? is : new LineLimitInputStream(is, numLines);
+    }
 
-        int cont = 0;
-        String line;
-        while ((line = br.readLine()) != null) {
-            if (cont >= offsetLine && cont < numLines) {
-                sb.append(line + "\n");
-            } else {
-                break;
+    /**
+     * Streams a range of bytes from the file, using positional reads over a FileChannel.
+     *
+     * @param offset    First byte to read
+     * @param length    Number of bytes to read. Negative to read until the end of the file
+     */
+    public static InputStream rangeInputStream(Path path, long offset, long length) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        long end = length < 0 ? Long.MAX_VALUE : offset + length;
+        return new FileChannelRangeInputStream(channel, offset, end);
+    }
+
+    /**
+     * Copies a range of bytes from the file to the channel. Uses FileChannel.transferTo, so
+     * the kernel can send the data without copying it into the heap.
+     *
+     * @param offset    First byte to read
+     * @param length    Number of bytes to read. Negative to read until the end of the file
+     * @return          Number of bytes transferred
+     */
+    public static long transferTo(Path path, long offset, long length, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long end = length < 0 ? channel.size() : Math.min(channel.size(), offset + length);
+            long position = offset;
+            while (position < end) {
+                long transferred = channel.transferTo(position, end - position, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
             }
-            cont++;
+            return position - offset;
+        }
+    }
+
+    private static class LineLimitInputStream extends FilterInputStream {
+        private int remainingLines;
+
+        private LineLimitInputStream(InputStream in, int numLines) {
+            super(in);
+            this.remainingLines = numLines;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remainingLines <= 0) {
+                return -1;
+            }
+            int b = in.read();
+            if (b == '\n') {
+                remainingLines--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remainingLines <= 0) {
+                return -1;
+            }
+            int read = 0;
+            int c;
+            while (read < len && (c = read()) != -1) {
+                b[off + read++] = (byte) c;
+            }
+            return read == 0 ? -1 : read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = 0;
+            while (skipped < n && read() != -1) {
+                skipped++;
+            }
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+
+    private static class FileChannelRangeInputStream extends InputStream {
+        private final FileChannel channel;
+        private final long end;
+        private long position;
+
+        private FileChannelRangeInputStream(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
         }
-        br.close();
 
-        InputStream inputStream = new ByteArrayInputStream(sb.toString().getBytes());
-        return inputStream;
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            long remaining = end - position;
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, remaining)), position);
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = Math.max(0, Math.min(n, Math.min(end, channel.size()) - position));
+            position += skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.max(0, Math.min(Integer.MAX_VALUE, Math.min(end, channel.size()) - position));
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
     }
 
     public static InputStream grepFile(Path path, String pattern, boolean ignoreCase, boolean multi) throws IOException {
-        BufferedReader br = Files.newBufferedReader(path, Charset.defaultCharset());
-        StringBuilder sb = new StringBuilder();
-        Pattern pat;
-        if (ignoreCase) {
-            pat = Pattern.compile(pattern, Pattern.CASE_INSENSITIVE);
-        } else {
-            pat = Pattern.compile(pattern);
+        return grepFile(path, pattern, ignoreCase, false, multi ? -1 : 1);
+    }
+
+    /**
+     * Lazy grep over the lines of a plain or gzipped (also bgzipped) file.
+     * Lines are read as the returned stream is consumed, so the whole file is never loaded in memory.
+     *
+     * @param find          Match any part of the line instead of the whole line
+     * @param maxMatches    Stop after this number of matches. Negative for no limit
+     */
+    public static InputStream grepFile(Path path, String pattern, boolean ignoreCase, boolean find, int maxMatches)
+            throws IOException {
+        BufferedReader br = new BufferedReader(new InputStreamReader(newInputStream(path), Charset.defaultCharset()));
+        return new GrepInputStream(br, compilePattern(pattern, ignoreCase), find, maxMatches, Charset.defaultCharset());
+    }
+
+    /**
+     * Greps the file writing the matching lines into the OutputStream, in the same order as in the file.
+     * Plain files bigger than GREP_CHUNK_SIZE are split into byte ranges searched in parallel.
+     * Gzipped files are searched sequentially.
+     *
+     * @param find          Match any part of the line instead of the whole line
+     * @param maxMatches    Stop after this number of matches. Negative for no limit
+     * @param numThreads    Number of ranges searched at the same time
+     * @return              Number of written matches
+     */
+    public static long grepFile(Path path, String pattern, boolean ignoreCase, boolean find, int maxMatches,
+                                int numThreads, OutputStream os) throws IOException {
+        if (numThreads <= 1) {
+            return grepFile(path, pattern, ignoreCase, find, maxMatches, 1, null, os);
         }
-        String line;
-        while ((line = br.readLine()) != null) {
-            if (pat.matcher(line).matches()) {
-                sb.append(line + "\n");
-                if (!multi) {
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        try {
+            return grepFile(path, pattern, ignoreCase, find, maxMatches, numThreads, executor, os);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Same as {@link #grepFile(Path, String, boolean, boolean, int, int, OutputStream)}, searching the ranges
+     * in a shared executor. The executor is not shut down.
+     *
+     * @param numThreads    Maximum number of ranges of this file searched at the same time
+     */
+    public static long grepFile(final Path path, String pattern, boolean ignoreCase, final boolean find, final int maxMatches,
+                                int numThreads, ExecutorService executor, OutputStream os) throws IOException {
+        final Pattern pat = compilePattern(pattern, ignoreCase);
+        final Charset charset = Charset.defaultCharset();
+        final long size = Files.size(path);
+
+        if (numThreads <= 1 || executor == null || size <= GREP_CHUNK_SIZE || isGzip(path)) {
+            try (GrepInputStream is = (GrepInputStream) grepFile(path, pattern, ignoreCase, find, maxMatches)) {
+                byte[] buffer = new byte[64 * 1024];
+                int read;
+                while ((read = is.read(buffer)) != -1) {
+                    os.write(buffer, 0, read);
+                }
+                os.flush();
+                return is.getMatches();
+            }
+        }
+
+        LinkedList<Future<List<byte[]>>> pending = new LinkedList<>();
+        long next = 0;
+        long matches = 0;
+        try {
+            while ((next < size || !pending.isEmpty()) && (maxMatches < 0 || matches < maxMatches)) {
+                // Keep a bounded number of ranges in memory
+                while (next < size && pending.size() < numThreads * 2) {
+                    final long start = next;
+                    final long end = Math.min(size, next + GREP_CHUNK_SIZE);
+                    pending.add(executor.submit(new Callable<List<byte[]>>() {
+                        @Override
+                        public List<byte[]> call() throws Exception {
+                            return grepRange(path, start, end, pat, find, maxMatches, charset);
+                        }
+                    }));
+                    next = end;
+                }
+                for (byte[] match : getRangeMatches(pending.removeFirst())) {
+                    if (maxMatches >= 0 && matches >= maxMatches) {
+                        break;
+                    }
+                    os.write(match);
+                    matches++;
+                }
+                os.flush();
+            }
+        } finally {
+            for (Future<List<byte[]>> future : pending) {
+                future.cancel(true);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Greps the lines starting inside the range [start, end).
+     */
+    private static List<byte[]> grepRange(Path path, long start, long end, Pattern pattern, boolean find, int maxMatches,
+                                          Charset charset) throws IOException {
+        List<byte[]> matches = new ArrayList<>();
+        long position = start > 0 ? start - 1 : 0;
+        try (InputStream is = new BufferedInputStream(rangeInputStream(path, position, -1), 64 * 1024)) {
+            int b = 0;
+            if (start > 0) {
+                // Skip the line started in the previous range
+                while ((b = is.read()) != -1) {
+                    position++;
+                    if (b == '\n') {
+                        break;
+                    }
+                }
+            }
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            while (b != -1 && position < end && (maxMatches < 0 || matches.size() < maxMatches)) {
+                line.reset();
+                while ((b = is.read()) != -1) {
+                    position++;
+                    if (b == '\n') {
+                        break;
+                    }
+                    line.write(b);
+                }
+                if (b == -1 && line.size() == 0) {
                     break;
                 }
+                String lineString = new String(line.toByteArray(), charset);
+                if (lineString.endsWith("\r")) {
+                    lineString = lineString.substring(0, lineString.length() - 1);
+                }
+                if (GrepInputStream.matches(pattern, lineString, find)) {
+                    matches.add((lineString + "\n").getBytes(charset));
+                }
             }
         }
-        br.close();
-        InputStream inputStream = new ByteArrayInputStream(sb.toString().getBytes());
-        return inputStream;
+        return matches;
     }
 
+    private static List<byte[]> getRangeMatches(Future<List<byte[]>> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while searching in file");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static Pattern compilePattern(String pattern, boolean ignoreCase) {
+        if (ignoreCase) {
+            return Pattern.compile(pattern, Pattern.CASE_INSENSITIVE);
+        } else {
+            return Pattern.compile(pattern);
+        }
+    }
+
+    /**
+     * Opens the file, decompressing it if it is gzipped or bgzipped.
+     */
+    public static InputStream newInputStream(Path path) throws IOException {
+        InputStream is = new BufferedInputStream(Files.newInputStream(path), 64 * 1024);
+        is.mark(2);
+        int b1 = is.read();
+        int b2 = is.read();
+        is.reset();
+        if (b1 == 0x1f && b2 == 0x8b) {
+            return new GZIPInputStream(is, 64 * 1024);
+        }
+        return is;
+    }
+
+    public static boolean isGzip(Path path) throws IOException {
+        try (InputStream is = Files.newInputStream(path)) {
+            return is.read() == 0x1f && is.read() == 0x8b;
+        }
+    }
 
     public static void prependString(Path filePath, String text) throws IOException {
         Path tempPath = Paths.get(filePath + ".prepend.tmp");
@@ -1,12 +1,16 @@
 package org.opencb.opencga.lib.exec;
 
-import org.opencb.opencga.lib.common.ListUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.StringTokenizer;
 
 public class Command extends RunnableProcess {
 
@@ -15,13 +19,21 @@ public class Command extends RunnableProcess {
     // protected String outDir;
     // protected Arguments arguments;
 
+    /** Default number of bytes kept in memory from the end of the standard output and error */
+    public static final int DEFAULT_TAIL_SIZE = 64 * 1024;
+
     private String commandLine;
     private List<String> environment;
-    private Process proc;
+    private volatile Process proc;
 
     protected static Logger logger = LoggerFactory.getLogger(Command.class);
-    private StringBuffer outputBuffer = new StringBuffer();
-    private StringBuffer errorBuffer = new StringBuffer();
+
+    private File outputFile;
+    private File errorFile;
+    private long timeout = 0;
+    private int tailSize = DEFAULT_TAIL_SIZE;
+    private TailBuffer outputBuffer;
+    private TailBuffer errorBuffer;
 
     public Command() {
 
@@ -38,39 +50,78 @@ public class Command extends RunnableProcess {
 
     @Override
     public void run() {
+        Thread outputPump = null;
+        Thread errorPump = null;
+        Thread watchdog = null;
         try {
-            setStatus(Status.RUNNING);
+            synchronized (this) {
+                if (status == Status.KILLED) {
+                    return;
+                }
+                setStatus(Status.RUNNING);
+            }
 
             startTime();
+            ProcessBuilder processBuilder = new ProcessBuilder(splitCommandLine(getCommandLine()));
             if (environment != null && environment.size() > 0) {
-                proc = Runtime.getRuntime().exec(getCommandLine(), ListUtils.toArray(environment));
-            } else {
-                proc = Runtime.getRuntime().exec(getCommandLine());
+                // Same behaviour as Runtime.exec(String, String[]): the environment is replaced
+                Map<String, String> env = processBuilder.environment();
+                env.clear();
+                for (String variable : environment) {
+                    int idx = variable.indexOf('=');
+                    if (idx > 0) {
+                        env.put(variable.substring(0, idx), variable.substring(idx + 1));
+                    }
+                }
+            }
+            outputBuffer = new TailBuffer(tailSize);
+            errorBuffer = new TailBuffer(tailSize);
+            if (outputFile != null) {
+                processBuilder.redirectOutput(outputFile);
+            }
+            if (errorFile != null) {
+                processBuilder.redirectError(errorFile);
+            }
+            synchronized (this) {
+                if (status == Status.KILLED) {
+                    return;
+                }
+                proc = processBuilder.start();
             }
 
-            InputStream is = proc.getInputStream();
-            // Thread out = readOutputStream(is);
-            readOutputStream(is);
-            InputStream es = proc.getErrorStream();
-            // Thread err = readErrorStream(es);
-            readErrorStream(es);
+            // Drain the streams continuously, so the process never blocks writing to a full pipe
+            if (outputFile == null) {
+                outputPump = pump(proc.getInputStream(), outputBuffer, "output_reader");
+            } else {
+                proc.getInputStream().close();
+            }
+            if (errorFile == null) {
+                errorPump = pump(proc.getErrorStream(), errorBuffer, "error_reader");
+            } else {
+                proc.getErrorStream().close();
+            }
+            if (timeout > 0) {
+                watchdog = watchdog(timeout);
+            }
 
-            proc.waitFor();
+            exitValue = proc.waitFor();
+            if (watchdog != null) {
+                watchdog.interrupt();
+            }
+            if (outputPump != null) {
+                outputPump.join();
+            }
+            if (errorPump != null) {
+                errorPump.join();
+            }
             endTime();
 
-            if (proc.exitValue() != 0) {
-                status = Status.ERROR;
-                // output = IOUtils.toString(proc.getInputStream());
-                // error = IOUtils.toString(proc.getErrorStream());
-                output = outputBuffer.toString();
-                error = errorBuffer.toString();
-            }
-            if (status != Status.KILLED && status != Status.TIMEOUT && status != Status.ERROR) {
-                status = Status.DONE;
-                // output = IOUtils.toString(proc.getInputStream());
-                // error = IOUtils.toString(proc.getErrorStream());
-                output = outputBuffer.toString();
-                error = errorBuffer.toString();
+            output = outputBuffer.toString();
+            error = errorBuffer.toString();
+            synchronized (this) {
+                if (status != Status.KILLED && status != Status.TIMEOUT) {
+                    status = exitValue == 0 ? Status.DONE : Status.ERROR;
+                }
             }
 
         } catch (IOException ioe) {
@@ -79,92 +130,133 @@ public class Command extends RunnableProcess {
         } catch (InterruptedException e) {
             exception = e.toString();
             status = Status.ERROR;
+            destroyProcess();
         } catch (Exception e) {
             exception = e.toString();
             status = Status.ERROR;
+        } finally {
+            if (watchdog != null) {
+                watchdog.interrupt();
+            }
         }
 
     }
 
     @Override
     public void destroy() {
-        proc.destroy();
+        synchronized (this) {
+            if (status != Status.TIMEOUT) {
+                status = Status.KILLED;
+            }
+        }
+        destroyProcess();
     }
 
-    private void readOutputStream(InputStream ins) throws IOException {
-        final InputStream in = ins;
+    private void destroyProcess() {
+        Process p = proc;
+        if (p != null) {
+            p.destroy();
+        }
+    }
 
-        Thread T = new Thread("output_reader") {
+    /**
+     * Same tokenization as Runtime.exec(String)
+     */
+    private static List<String> splitCommandLine(String commandLine) {
+        List<String> args = new ArrayList<>();
+        StringTokenizer tokenizer = new StringTokenizer(commandLine);
+        while (tokenizer.hasMoreTokens()) {
+            args.add(tokenizer.nextToken());
+        }
+        return args;
+    }
+
+    private Thread pump(final InputStream in, final TailBuffer tail, String name) {
+        Thread thread = new Thread(name) {
             public void run() {
+                byte[] buffer = new byte[8 * 1024];
+                int bytesRead;
                 try {
-                    int bytesRead = 0;
-                    int bufferLength = 2048;
-                    byte[] buffer = new byte[bufferLength];
-
-                    while (bytesRead != -1) {
-                        // int x=in.available();
-                        bufferLength = in.available();
-                        bufferLength = Math.max(bufferLength, 1);
-                        // if (x<=0)
-                        // continue ;
-
-                        buffer = new byte[bufferLength];
-                        bytesRead = in.read(buffer, 0, bufferLength);
-                        if (logger != null) {
-                            logger.info(new String(buffer));
-                        }
-                        outputBuffer.append(new String(buffer));
-                        Thread.sleep(500);
-                        System.err.println("Output- Sleep (last bytesRead = " + bytesRead + ")");
+                    while ((bytesRead = in.read(buffer)) != -1) {
+                        tail.write(buffer, 0, bytesRead);
                     }
-                    System.err.println("Output - Fuera while");
-                } catch (Exception ex) {
-                    ex.printStackTrace();
+                } catch (IOException ex) {
                     exception = ex.toString();
+                } finally {
+                    try {
+                        in.close();
+                    } catch (IOException ignore) {
+                    }
                 }
             }
         };
-        T.start();
-        // return T;
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
     }
 
-    private void readErrorStream(InputStream ins) throws IOException {
-        final InputStream in = ins;
-
-        Thread T = new Thread("errror_reader") {
+    private Thread watchdog(final long timeout) {
+        Thread thread = new Thread("command_timeout") {
             public void run() {
-
                 try {
-                    int bytesRead = 0;
-                    int bufferLength = 2048;
-                    byte[] buffer = new byte[bufferLength];
-
-                    while (bytesRead != -1) {
-                        // int x=in.available();
-                        // if (x<=0)
-                        // continue ;
-
-                        bufferLength = in.available();
-                        bufferLength = Math.max(bufferLength, 1);
-
-                        buffer = new byte[bufferLength];
-                        bytesRead = in.read(buffer, 0, bufferLength);
-                        if (logger != null) {
-                            logger.info(new String(buffer));
-                        }
-                        errorBuffer.append(new String(buffer));
-                        Thread.sleep(500);
-                        System.err.println("Error- Sleep  (last bytesRead = " + bytesRead + ")");
-                    }
-                    System.err.println("Error - Fuera while");
-                } catch (Exception ex) {
-                    ex.printStackTrace();
-                    exception = ex.toString();
+                    Thread.sleep(timeout);
+                } catch (InterruptedException e) {
+                    return;     // Finished before the timeout
                 }
+                logger.warn("Timeout after {}ms. Killing command: {}", timeout, commandLine);
+                synchronized (Command.this) {
+                    status = Status.TIMEOUT;
+                }
+                destroyProcess();
             }
         };
-        T.start();
-        // return T;
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Keeps the last bytes written. Older bytes are discarded.
+     */
+    private static class TailBuffer {
+        private final byte[] buffer;
+        private int position = 0;
+        private boolean full = false;
+
+        private TailBuffer(int size) {
+            buffer = new byte[Math.max(size, 0)];
+        }
+
+        synchronized void write(byte[] b, int off, int len) {
+            if (buffer.length == 0) {
+                return;
+            }
+            if (len >= buffer.length) {
+                System.arraycopy(b, off + len - buffer.length, buffer, 0, buffer.length);
+                position = 0;
+                full = true;
+                return;
+            }
+            int first = Math.min(len, buffer.length - position);
+            System.arraycopy(b, off, buffer, position, first);
+            System.arraycopy(b, off + first, buffer, 0, len - first);
+            if (position + len >= buffer.length) {
+                full = true;
+            }
+            position = (position + len) % buffer.length;
+        }
+
+        @Override
+        public synchronized String toString() {
+            Charset charset = Charset.defaultCharset();
+            if (!full) {
+                return new String(buffer, 0, position, charset);
+            }
+            byte[] bytes = new byte[buffer.length];
+            System.arraycopy(buffer, position, bytes, 0, buffer.length - position);
+            System.arraycopy(buffer, 0, bytes, buffer.length - position, position);
+            return new String(bytes, charset);
+        }
     }
 
     /**
@@ -195,6 +287,54 @@ public class Command extends RunnableProcess {
         return environment;
     }
 
+    /**
+     * @param outputFile Redirect the standard output to this file. The output is not kept in memory.
+     */
+    public Command setOutputFile(File outputFile) {
+        this.outputFile = outputFile;
+        return this;
+    }
+
+    public File getOutputFile() {
+        return outputFile;
+    }
+
+    /**
+     * @param errorFile Redirect the standard error to this file. The error is not kept in memory.
+     */
+    public Command setErrorFile(File errorFile) {
+        this.errorFile = errorFile;
+        return this;
+    }
+
+    public File getErrorFile() {
+        return errorFile;
+    }
+
+    /**
+     * @param timeout Milliseconds before killing the process. 0 for no timeout.
+     */
+    public Command setTimeout(long timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * @param tailSize Number of bytes kept from the end of the output and the error. See {@link #getOutput()}
+     */
+    public Command setTailSize(int tailSize) {
+        this.tailSize = tailSize;
+        return this;
+    }
+
+    public int getTailSize() {
+        return tailSize;
+    }
+
     /**
      * @param logger the logger to set
      */
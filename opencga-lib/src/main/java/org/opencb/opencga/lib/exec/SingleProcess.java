@@ -5,6 +5,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 
 public class SingleProcess {
@@ -54,17 +55,15 @@ public class SingleProcess {
     }
 
     public void waitFor() {
-        long currentTime = 0;
         try {
-            while (!execSvc.isTerminated()) {
-                Thread.sleep(500);
-                if (getTimeout() > 0 && currentTime > getTimeout()) {
+            if (getTimeout() > 0) {
+                if (!execSvc.awaitTermination(getTimeout(), TimeUnit.MILLISECONDS)) {
                     kill();
                     getRunnableProcess().setStatus(RunnableProcess.Status.TIMEOUT);
                     getRunnableProcess().setError("Timeout error");
-                    break;
                 }
-                currentTime = System.currentTimeMillis() - getRunnableProcess().getStartTime();
+            } else {
+                while (!execSvc.awaitTermination(1, TimeUnit.DAYS));
             }
         } catch (InterruptedException e) {
             logger.error(e.toString());
@@ -0,0 +1,44 @@
+package org.opencb.opencga.lib;
+
+import org.junit.Test;
+import org.opencb.commons.test.GenericTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class SgeManagerTest extends GenericTest {
+
+    @Test
+    public void testParseQueueStates() throws Exception {
+        String xml = "<?xml version='1.0'?>\n" +
+                "<job_info>\n" +
+                "  <queue_info>\n" +
+                "    <job_list state=\"running\">\n" +
+                "      <JB_job_number>11</JB_job_number>\n" +
+                "      <JB_name>hpg-aligner_abc123</JB_name>\n" +
+                "      <state>r</state>\n" +
+                "      <queue_name>all.q@node</queue_name>\n" +
+                "    </job_list>\n" +
+                "  </queue_info>\n" +
+                "  <job_info>\n" +
+                "    <job_list state=\"pending\">\n" +
+                "      <JB_job_number>12</JB_job_number>\n" +
+                "      <JB_name>indexer_xyz</JB_name>\n" +
+                "      <state>qw</state>\n" +
+                "    </job_list>\n" +
+                "    <job_list state=\"pending\">\n" +
+                "      <JB_name>no_state</JB_name>\n" +
+                "    </job_list>\n" +
+                "  </job_info>\n" +
+                "</job_info>\n";
+
+        Map<String, String> queueStates = SgeManager.parseQueueStates(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, queueStates.size());
+        assertEquals("r", queueStates.get("hpg-aligner_abc123"));
+        assertEquals("qw", queueStates.get("indexer_xyz"));
+    }
+}
@@ -3,9 +3,20 @@ package org.opencb.opencga.lib.common;
 import org.junit.Test;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.*;
 
 public class IOUtilsTest {
 
@@ -37,4 +48,62 @@ public class IOUtilsTest {
         in.close();
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testHeadOffsetRange() throws Exception {
+        List<String> lines = Files.readAllLines(Paths.get(inputFile), Charset.defaultCharset());
+
+        BufferedReader in = new BufferedReader(new InputStreamReader(IOUtils.headOffset(Paths.get(inputFile), 2, 3)));
+        assertEquals(lines.get(2), in.readLine());
+        assertEquals(lines.get(3), in.readLine());
+        assertEquals(lines.get(4), in.readLine());
+        assertNull(in.readLine());
+        in.close();
+    }
+
+    @Test
+    public void testRangeInputStream() throws Exception {
+        byte[] bytes = Files.readAllBytes(Paths.get(inputFile));
+
+        InputStream is = IOUtils.rangeInputStream(Paths.get(inputFile), 10, 20);
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        byte[] buffer = new byte[7];
+        int read;
+        while ((read = is.read(buffer)) != -1) {
+            os.write(buffer, 0, read);
+        }
+        is.close();
+        assertArrayEquals(Arrays.copyOfRange(bytes, 10, 30), os.toByteArray());
+
+        os = new ByteArrayOutputStream();
+        assertEquals(bytes.length - 5, IOUtils.transferTo(Paths.get(inputFile), 5, -1, Channels.newChannel(os)));
+        assertArrayEquals(Arrays.copyOfRange(bytes, 5, bytes.length), os.toByteArray());
+    }
+
+    @Test
+    public void testGrepFileFind() throws Exception {
+        BufferedReader in = new BufferedReader(new InputStreamReader(IOUtils.grepFile(Paths.get(inputFile), "[0-9]", false, true, 2)));
+        assertEquals("1", in.readLine());
+        assertEquals("2", in.readLine());
+        assertNull(in.readLine());
+        in.close();
+    }
+
+    @Test
+    public void testGrepFileGzip() throws Exception {
+        Path gzFile = Files.createTempFile("file", ".txt.gz");
+        try (OutputStream os = new GZIPOutputStream(Files.newOutputStream(gzFile))) {
+            Files.copy(Paths.get(inputFile), os);
+        }
+
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        long plainMatches = IOUtils.grepFile(Paths.get(inputFile), "[0-9]", false, true, -1, 1, plain);
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        long gzipMatches = IOUtils.grepFile(gzFile, "[0-9]", false, true, -1, 4, gzip);
+
+        assertTrue(plainMatches > 0);
+        assertEquals(plainMatches, gzipMatches);
+        assertEquals(plain.toString(), gzip.toString());
+        Files.delete(gzFile);
+    }
+}
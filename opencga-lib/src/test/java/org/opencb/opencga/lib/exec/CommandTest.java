@@ -0,0 +1,67 @@
+package org.opencb.opencga.lib.exec;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opencb.commons.test.GenericTest;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+public class CommandTest extends GenericTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testOutput() throws Exception {
+        Command command = new Command("echo hello world");
+        command.run();
+
+        assertEquals(RunnableProcess.Status.DONE, command.getStatus());
+        assertEquals(0, command.getExitValue());
+        assertEquals("hello world\n", command.getOutput());
+    }
+
+    @Test
+    public void testExitValue() throws Exception {
+        Command command = new Command("ls /nonexistent_folder");
+        command.run();
+
+        assertEquals(RunnableProcess.Status.ERROR, command.getStatus());
+        assertNotEquals(0, command.getExitValue());
+        assertFalse(command.getError().isEmpty());
+    }
+
+    @Test
+    public void testOutputTail() throws Exception {
+        Command command = new Command("seq 1 100000").setTailSize(7);
+        command.run();
+
+        assertEquals(RunnableProcess.Status.DONE, command.getStatus());
+        assertEquals("100000\n", command.getOutput());
+    }
+
+    @Test
+    public void testOutputFile() throws Exception {
+        File outputFile = temporaryFolder.newFile("out.txt");
+        Command command = new Command("seq 1 100000").setOutputFile(outputFile);
+        command.run();
+
+        assertEquals(RunnableProcess.Status.DONE, command.getStatus());
+        assertEquals("", command.getOutput());
+        assertEquals(100000, Files.readAllLines(outputFile.toPath(), java.nio.charset.StandardCharsets.UTF_8).size());
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        Command command = new Command("sleep 10").setTimeout(200);
+        long start = System.currentTimeMillis();
+        command.run();
+
+        assertEquals(RunnableProcess.Status.TIMEOUT, command.getStatus());
+        assertTrue(System.currentTimeMillis() - start < 5000);
+    }
+}
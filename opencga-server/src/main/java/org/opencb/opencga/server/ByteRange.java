@@ -0,0 +1,73 @@
+package org.opencb.opencga.server;
+
+/**
+ * Single byte range of the HTTP Range header, used by {@link FileWSServer} to serve parts of a file.
+ */
+public class ByteRange {
+
+    private final long offset;
+    private final long length;
+
+    public ByteRange(long offset, long length) {
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Parses a single range "Range: bytes=first-last", "bytes=first-" or "bytes=-suffixLength".
+     * Missing or unsupported ranges (like multiple ranges) select the whole file.
+     *
+     * @return The selected range, or null if the range is not satisfiable
+     */
+    public static ByteRange parse(String range, long size) {
+        if (range == null || !range.startsWith("bytes=") || range.contains(",")) {
+            return new ByteRange(0, size);
+        }
+        String[] split = range.substring("bytes=".length()).trim().split("-", -1);
+        if (split.length != 2) {
+            return new ByteRange(0, size);
+        }
+        long first;
+        long last;
+        try {
+            if (split[0].isEmpty()) {
+                long suffixLength = Long.parseLong(split[1]);
+                if (suffixLength == 0) {
+                    return null;
+                }
+                first = Math.max(0, size - suffixLength);
+                last = size - 1;
+            } else {
+                first = Long.parseLong(split[0]);
+                last = split[1].isEmpty() ? size - 1 : Math.min(Long.parseLong(split[1]), size - 1);
+            }
+        } catch (NumberFormatException e) {
+            return new ByteRange(0, size);
+        }
+        if (first >= size || first > last) {
+            return null;
+        }
+        return new ByteRange(first, last - first + 1);
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    public long getLast() {
+        return offset + length - 1;
+    }
+
+    public boolean isWholeFile(long size) {
+        return offset == 0 && length == size;
+    }
+
+    @Override
+    public String toString() {
+        return "bytes " + offset + "-" + getLast();
+    }
+}
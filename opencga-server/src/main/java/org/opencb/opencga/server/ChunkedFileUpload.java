@@ -0,0 +1,199 @@
+package org.opencb.opencga.server;
+
+import org.opencb.opencga.catalog.io.CatalogIOManagerException;
+import org.opencb.opencga.catalog.io.ChecksumInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * File uploaded by chunks. Each chunk is written directly at its final offset of the file, so there is
+ * no need to assemble the chunks at the end. A chunk with a wrong length or hash is rejected without being
+ * recorded, and its bytes are overwritten when the client sends it again.
+ *
+ * The checksum of the whole file is calculated while the chunks are written, as long as they arrive in order.
+ * The received chunks are recorded as empty files "{chunkId}_{chunkSize}_partial" in the chunks folder,
+ * used to resume the upload. Uploads not receiving chunks for {@link #IDLE_TIMEOUT} are forgotten, and will be
+ * resumed from the chunks folder.
+ */
+class ChunkedFileUpload {
+
+    public static final String CHUNK_CHECKSUM_ALGORITHM = "SHA-1";
+    public static final String FILE_CHECKSUM_ALGORITHM = "MD5";
+    /** Milliseconds without receiving chunks before forgetting an upload */
+    public static final long IDLE_TIMEOUT = 60 * 60 * 1000;
+
+    private static final ConcurrentHashMap<Path, ChunkedFileUpload> uploads = new ConcurrentHashMap<>();
+
+    private final Path file;
+    private final Path chunksFolder;
+    private MessageDigest fileDigest;
+    private int nextChunkId;
+    private long chunkSize = -1;
+    private volatile long lastAccess = System.currentTimeMillis();
+
+    private ChunkedFileUpload(Path file, Path chunksFolder) throws IOException {
+        this.file = file;
+        this.chunksFolder = chunksFolder;
+        try {
+            this.fileDigest = MessageDigest.getInstance(FILE_CHECKSUM_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        this.nextChunkId = 0;
+
+        // Resuming an upload started before this server was started. The file checksum will be calculated at the end
+        if (Files.exists(chunksFolder)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(chunksFolder, "*_partial")) {
+                for (Path partPath : stream) {
+                    String[] nameSplit = partPath.getFileName().toString().split("_");
+                    chunkSize = Math.max(chunkSize, Long.parseLong(nameSplit[1]));
+                    fileDigest = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * @param file          Final file. Chunks will be written here
+     * @param chunksFolder  Folder to record the received chunks
+     */
+    public static ChunkedFileUpload get(Path file, Path chunksFolder) throws IOException {
+        evictIdle();
+        ChunkedFileUpload upload = uploads.get(file);
+        if (upload == null) {
+            upload = new ChunkedFileUpload(file, chunksFolder);
+            ChunkedFileUpload previous = uploads.putIfAbsent(file, upload);
+            if (previous != null) {
+                upload = previous;
+            }
+        }
+        upload.lastAccess = System.currentTimeMillis();
+        return upload;
+    }
+
+    /**
+     * Forgets the abandoned uploads. The received chunks are kept in disk.
+     */
+    static void evictIdle() {
+        long limit = System.currentTimeMillis() - IDLE_TIMEOUT;
+        for (ChunkedFileUpload upload : uploads.values()) {
+            if (upload.lastAccess < limit) {
+                upload.remove();
+            }
+        }
+    }
+
+    /**
+     * Writes the chunk at its offset: chunkId * chunkSize. The chunk size is taken from the first chunks, as only
+     * the last chunk can be smaller.
+     *
+     * @param chunkHash     Optional. SHA-1 of the chunk. If it does not match, the chunk is discarded
+     * @param chunkLength   Expected chunk length.
+     * @param fileSize      Optional. Total size of the file, to allocate it on the first chunk. -1 if unknown
+     * @param lastChunk     If true, the file is truncated at the end of this chunk
+     */
+    public synchronized void writeChunk(int chunkId, InputStream inputStream, long chunkLength, String chunkHash,
+                                        long fileSize, boolean lastChunk)
+            throws IOException, CatalogIOManagerException {
+        long offset;
+        if (chunkId == 0) {
+            offset = 0;
+        } else if (chunkSize > 0) {
+            offset = chunkId * chunkSize;
+        } else if (!lastChunk) {
+            offset = chunkId * chunkLength;
+        } else {
+            throw new IOException("Unknown offset for the last chunk " + chunkId + ". Upload the previous chunks first.");
+        }
+
+        // Only update the file checksum if this is the next expected chunk
+        MessageDigest digest = null;
+        if (fileDigest != null && chunkId == nextChunkId) {
+            try {
+                digest = (MessageDigest) fileDigest.clone();
+            } catch (CloneNotSupportedException e) {
+                digest = null;
+            }
+        }
+        InputStream is = digest == null ? inputStream : new ChecksumInputStream(inputStream, digest);
+        ChecksumInputStream chunkInputStream = new ChecksumInputStream(is, CHUNK_CHECKSUM_ALGORITHM);
+
+        long written = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            if (fileSize > 0 && channel.size() < fileSize) {
+                channel.write(ByteBuffer.wrap(new byte[1]), fileSize - 1);
+            }
+            // Never write more than chunkLength bytes, to not overwrite the next chunk
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while (written < chunkLength
+                    && (read = chunkInputStream.read(buffer, 0, (int) Math.min(buffer.length, chunkLength - written))) != -1) {
+                ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, read);
+                while (byteBuffer.hasRemaining()) {
+                    written += channel.write(byteBuffer, offset + written);
+                }
+            }
+            if (written == chunkLength && chunkInputStream.read() != -1) {
+                throw new IOException("Chunk " + chunkId + " size mismatch. Expected " + chunkLength
+                        + ", received more bytes");
+            }
+
+            // A wrong chunk is rejected without recording it. The retry of the client will overwrite its bytes
+            if (written != chunkLength) {
+                throw new IOException("Chunk " + chunkId + " size mismatch. Expected " + chunkLength
+                        + ", received " + written);
+            }
+            if (chunkHash != null && !chunkHash.isEmpty() && !chunkHash.equalsIgnoreCase(chunkInputStream.getChecksum())) {
+                throw new IOException("Chunk " + chunkId + " hash mismatch. Expected " + chunkHash
+                        + ", received " + chunkInputStream.getChecksum());
+            }
+            if (lastChunk) {
+                channel.truncate(offset + written);
+            }
+        }
+
+        if (!lastChunk) {
+            chunkSize = chunkLength;
+        }
+        if (digest != null) {
+            fileDigest = digest;
+            nextChunkId++;
+        } else {
+            // Out of order. The checksum will have to be calculated at the end
+            fileDigest = null;
+        }
+        Files.createDirectories(chunksFolder);
+        Path chunkMark = chunksFolder.resolve(chunkId + "_" + chunkLength + "_partial");
+        if (!Files.exists(chunkMark)) {
+            Files.createFile(chunkMark);
+        }
+    }
+
+    /**
+     * @return Checksum of the whole file, or null if the chunks did not arrive in order
+     */
+    public synchronized String getFileChecksum() {
+        if (fileDigest == null) {
+            return null;
+        }
+        return ChecksumInputStream.getChecksum(fileDigest);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public void remove() {
+        uploads.remove(file, this);
+    }
+}
@@ -17,12 +17,14 @@ import org.opencb.opencga.catalog.io.CatalogIOManagerException;
 import org.opencb.opencga.lib.SgeManager;
 import org.opencb.opencga.lib.common.Config;
 import org.opencb.opencga.lib.common.IOUtils;
+import org.opencb.opencga.storage.core.DBAdaptorPool;
+import org.opencb.opencga.storage.core.RegionQueryCache;
 import org.opencb.opencga.storage.core.StorageManagerFactory;
-import org.opencb.opencga.storage.core.alignment.AlignmentStorageManager;
 import org.opencb.opencga.storage.core.alignment.adaptors.AlignmentDBAdaptor;
 import org.opencb.opencga.storage.core.variant.adaptors.VariantDBAdaptor;
 
 import java.io.*;
+import java.net.URLConnection;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
@@ -35,15 +37,19 @@ import javax.ws.rs.Path;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 import java.net.URI;
+import java.nio.channels.Channels;
 import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.TimeoutException;
 
 @Path("/files")
 @Api(value = "files", description = "files", position = 4)
 public class FileWSServer extends OpenCGAWSServer {
 
+    private static final List<String> BINARY_EXTENSIONS = Arrays.asList(".bam", ".bai", ".bcf", ".tbi", ".zip");
 
     public FileWSServer(@PathParam("version") String version, @Context UriInfo uriInfo, @Context HttpServletRequest httpServletRequest)
             throws IOException, ClassNotFoundException, IllegalAccessException, InstantiationException {
@@ -72,7 +78,7 @@ public class FileWSServer extends OpenCGAWSServer {
     @Path("/upload")
     @Produces("application/json")
     @ApiOperation(httpMethod = "POST", value = "Resource to upload a file by chunks", response = QueryResponse.class, nickname = "chunkUpload")
-    public Response chunkUpload(@FormDataParam("chunk_content") byte[] chunkBytes,
+    public Response chunkUpload(@FormDataParam("chunk_content") InputStream chunkInputStream,
                                 @FormDataParam("chunk_content") FormDataContentDisposition contentDisposition,
                                 @DefaultValue("") @FormDataParam("chunk_id") String chunk_id,
                                 @DefaultValue("") @FormDataParam("last_chunk") String last_chunk,
@@ -80,6 +86,7 @@ public class FileWSServer extends OpenCGAWSServer {
                                 @DefaultValue("") @FormDataParam("chunk_size") String chunk_size,
                                 @DefaultValue("") @FormDataParam("chunk_hash") String chunkHash,
                                 @DefaultValue("false") @FormDataParam("resume_upload") String resume_upload,
+                                @DefaultValue("-1") @FormDataParam("file_size") long fileSize,
 
 
                                 @ApiParam(value = "filename", required = true) @DefaultValue("") @FormDataParam("filename") String filename,
@@ -130,40 +137,42 @@ public class FileWSServer extends OpenCGAWSServer {
             logger.info("---saving chunk: " + chunkId);
             logger.info("lastChunk: " + lastChunk);
 
-            // WRITE CHUNK TYPE_FILE
-            if (!Files.exists(folderPath)) {
-                logger.info("createDirectory(): " + folderPath);
-                Files.createDirectory(folderPath);
-            }
-            logger.info("check dir " + Files.exists(folderPath));
-            // String hash = StringUtils.sha1(new String(chunkBytes));
-            // logger.info("bytesHash: " + hash);
-            // logger.info("chunkHash: " + chunkHash);
-            // hash = chunkHash;
-            if (chunkBytes.length == chunkSize) {
-                Files.write(folderPath.resolve(chunkId + "_" + chunkBytes.length + "_partial"), chunkBytes);
+            // WRITE CHUNK AT ITS FINAL OFFSET
+            ChunkedFileUpload upload = ChunkedFileUpload.get(completedFilePath, folderPath);
+            try {
+                upload.writeChunk(chunkId, chunkInputStream, chunkSize, chunkHash, fileSize, lastChunk);
+            } catch (IOException | CatalogIOManagerException e) {
+                logger.error("Error writing chunk " + chunkId, e);
+                return createErrorResponse(e.getMessage());
             }
 
             if (lastChunk) {
                 logger.info("lastChunk is true...");
-                Files.createFile(completedFilePath);
-                List<java.nio.file.Path> chunks = getSortedChunkList(folderPath);
-                logger.info("----ordered chunks length: " + chunks.size());
-                for (java.nio.file.Path partPath : chunks) {
-                    logger.info(partPath.getFileName().toString());
-                    Files.write(completedFilePath, Files.readAllBytes(partPath), StandardOpenOption.APPEND);
-                }
-                IOUtils.deleteDirectory(folderPath);
                 try {
-
-                    Files.copy(Files.newInputStream(completedFilePath), filePath, StandardCopyOption.REPLACE_EXISTING);
-
-                    QueryResult queryResult = catalogManager.createFile(studyId, File.Format.valueOf(fileFormat.toUpperCase()),
-                            File.Bioformat.valueOf(bioFormat.toUpperCase()), relativeFilePath, description, parents, -1, sessionId);
-
-                    IOUtils.deleteDirectory(completedFilePath);
-
-                    return createOkResponse(queryResult);
+                    String checksum = upload.getFileChecksum();
+                    if (checksum == null) {
+                        // Chunks did not arrive in order
+                        checksum = catalogManager.getCatalogIOManagerFactory().get(completedFilePath.toUri())
+                                .calculateChecksum(completedFilePath.toUri(), ChunkedFileUpload.FILE_CHECKSUM_ALGORITHM);
+                    }
+                    long size = Files.size(completedFilePath);
+                    Files.move(completedFilePath, filePath, StandardCopyOption.REPLACE_EXISTING);
+                    upload.remove();
+                    IOUtils.deleteDirectory(folderPath);
+
+                    // The size measured here is registered with the new entry. It can not be modified later
+                    QueryResult<File> queryResult = catalogManager.createFile(studyId, File.Type.FILE,
+                            File.Format.valueOf(fileFormat.toUpperCase()), File.Bioformat.valueOf(bioFormat.toUpperCase()),
+                            relativeFilePath, null, null, description, null, size, -1, null, -1, null, null,
+                            parents, null, sessionId);
+
+                    ObjectMap parameters = new ObjectMap("status", File.Status.READY);
+                    ObjectMap attributes = new ObjectMap("checksum", checksum);
+                    attributes.put("checksumAlgorithm", ChunkedFileUpload.FILE_CHECKSUM_ALGORITHM);
+                    parameters.put("attributes", attributes);
+                    catalogManager.modifyFile(queryResult.getResult().get(0).getId(), parameters, sessionId);
+
+                    return createOkResponse(catalogManager.getFile(queryResult.getResult().get(0).getId(), sessionId));
                 } catch (Exception e) {
                     logger.error(e.toString());
                     return createErrorResponse(e.getMessage());
@@ -276,47 +285,129 @@ public class FileWSServer extends OpenCGAWSServer {
     @GET
     @Path("/{fileId}/content")
     @Produces("application/json")
-    @ApiOperation(value = "File content")
+    @ApiOperation(value = "File content. Supports the HTTP Range header for byte ranges")
     public Response download(
-            @PathParam(value = "fileId") @FormDataParam("fileId") int fileId,
+            @PathParam(value = "fileId") @FormDataParam("fileId") final int fileId,
             @ApiParam(value = "start", required = false) @QueryParam("start") @DefaultValue("-1") int start,
-            @ApiParam(value = "limit", required = false) @QueryParam("limit") @DefaultValue("-1") int limit
+            @ApiParam(value = "limit", required = false) @QueryParam("limit") @DefaultValue("-1") int limit,
+            @HeaderParam("Range") String range
     ) {
-        String content = "";
-        DataInputStream stream;
-        try {
-            stream = catalogManager.downloadFile(fileId, start, limit, sessionId);
+        if (start >= 0 || limit >= 0) {
+            //Lines range
+            DataInputStream stream;
+            try {
+                stream = catalogManager.downloadFile(fileId, start, limit, sessionId);
+            } catch (CatalogException | IOException e) {
+                e.printStackTrace();
+                return createErrorResponse(e.getMessage());
+            }
+            return createOkResponse(stream, MediaType.TEXT_PLAIN_TYPE);
+        }
 
-//             content = org.apache.commons.io.IOUtils.toString(stream);
+        //Bytes range
+        final File file;
+        long size;
+        try {
+            file = catalogManager.getFile(fileId, sessionId).first();
+            size = catalogManager.getFileSize(fileId, sessionId);
         } catch (CatalogException | IOException e) {
             e.printStackTrace();
             return createErrorResponse(e.getMessage());
         }
-//        createOkResponse(content, MediaType.TEXT_PLAIN)
-        return createOkResponse(stream, MediaType.TEXT_PLAIN_TYPE);
+        final ByteRange byteRange = ByteRange.parse(range, size);
+        if (byteRange == null) {
+            return buildResponse(Response.status(416).header("Content-Range", "bytes */" + size));
+        }
+
+        StreamingOutput streamingOutput = new StreamingOutput() {
+            @Override
+            public void write(OutputStream output) throws IOException, WebApplicationException {
+                try {
+                    catalogManager.downloadFile(fileId, byteRange.getOffset(), byteRange.getLength(),
+                            Channels.newChannel(output), sessionId);
+                } catch (CatalogException e) {
+                    throw new IOException(e.getMessage(), e);
+                }
+            }
+        };
+        MediaType mediaType = getMediaType(file);
+        Response.ResponseBuilder responseBuilder;
+        if (byteRange.isWholeFile(size)) {
+            responseBuilder = Response.ok(streamingOutput, mediaType);
+        } else {
+            responseBuilder = Response.status(206).entity(streamingOutput).type(mediaType)
+                    .header("Content-Range", byteRange + "/" + size);
+        }
+        return buildResponse(responseBuilder.header("Accept-Ranges", "bytes").header("Content-Length", byteRange.getLength()));
+    }
+
+    /**
+     * Content type of the file, from its format and name. The format defaults to PLAIN, so compressed and
+     * binary files are also recognized by their extension. Unknown formats are served as binary data.
+     */
+    private static MediaType getMediaType(File file) {
+        String name = file.getName() == null ? "" : file.getName().toLowerCase();
+        if (file.getFormat() == File.Format.GZIP || name.endsWith(".gz")) {
+            return MediaType.valueOf("application/x-gzip");
+        }
+        if (file.getFormat() == File.Format.PLAIN) {
+            for (String extension : BINARY_EXTENSIONS) {
+                if (name.endsWith(extension)) {
+                    return MediaType.APPLICATION_OCTET_STREAM_TYPE;
+                }
+            }
+            return MediaType.TEXT_PLAIN_TYPE;
+        }
+        if (file.getFormat() == File.Format.IMAGE) {
+            String contentType = URLConnection.guessContentTypeFromName(name);
+            if (contentType != null) {
+                return MediaType.valueOf(contentType);
+            }
+        }
+        return MediaType.APPLICATION_OCTET_STREAM_TYPE;
     }
 
     @GET
     @Path("/{fileId}/content-grep")
     @Produces("application/json")
-    @ApiOperation(value = "File content")
+    @ApiOperation(value = "File content. Plain, gzip and bgzip files are supported")
     public Response downloadGrep(
-            @PathParam(value = "fileId") @FormDataParam("fileId") int fileId,
-            @ApiParam(value = "pattern", required = false) @QueryParam("pattern") @DefaultValue(".*") String pattern,
-            @ApiParam(value = "ignoreCase", required = false) @QueryParam("ignoreCase") @DefaultValue("false") Boolean ignoreCase,
-            @ApiParam(value = "multi", required = false) @QueryParam("multi") @DefaultValue("true") Boolean multi
+            @PathParam(value = "fileId") @FormDataParam("fileId") final int fileId,
+            @ApiParam(value = "pattern", required = false) @QueryParam("pattern") @DefaultValue(".*") final String pattern,
+            @ApiParam(value = "ignoreCase", required = false) @QueryParam("ignoreCase") @DefaultValue("false") final Boolean ignoreCase,
+            @ApiParam(value = "multi", required = false) @QueryParam("multi") @DefaultValue("true") Boolean multi,
+            @ApiParam(value = "Match any part of the line, instead of the whole line", required = false) @QueryParam("find") @DefaultValue("false") final Boolean find,
+            @ApiParam(value = "Max number of matches. Overrides multi", required = false) @QueryParam("maxMatches") @DefaultValue("-1") int maxMatches,
+            @ApiParam(value = "Number of threads searching big files. Limited by the server configuration", required = false) @QueryParam("threads") @DefaultValue("1") final int threads
     ) {
-        String content = "";
+        final int limit = maxMatches >= 0 ? maxMatches : (multi ? -1 : 1);
+        if (threads > 1) {
+            // Errors found while streaming can't change the response status
+            try {
+                catalogManager.checkGrepFile(fileId, pattern, sessionId);
+            } catch (CatalogException | IOException e) {
+                return createErrorResponse(e.getMessage());
+            }
+            StreamingOutput streamingOutput = new StreamingOutput() {
+                @Override
+                public void write(OutputStream output) throws IOException, WebApplicationException {
+                    try {
+                        catalogManager.grepFile(fileId, pattern, ignoreCase, find, limit, threads, output, sessionId);
+                    } catch (CatalogException e) {
+                        throw new IOException(e.getMessage(), e);
+                    }
+                }
+            };
+            return createOkResponse(streamingOutput, MediaType.TEXT_PLAIN_TYPE);
+        }
+
         DataInputStream stream;
         try {
-            stream = catalogManager.grepFile(fileId, pattern, ignoreCase, multi, sessionId);
-
-//             content = org.apache.commons.io.IOUtils.toString(stream);
+            stream = catalogManager.grepFile(fileId, pattern, ignoreCase, find, limit, sessionId);
         } catch (CatalogException | IOException e) {
             e.printStackTrace();
             return createErrorResponse(e.getMessage());
         }
-//        createOkResponse(content, MediaType.TEXT_PLAIN)
         return createOkResponse(stream, MediaType.TEXT_PLAIN_TYPE);
     }
 
@@ -419,7 +510,9 @@ public class FileWSServer extends OpenCGAWSServer {
                            @ApiParam(value = "like", required = false) @DefaultValue("") @QueryParam("like") String like,
                            @ApiParam(value = "startsWith", required = false) @DefaultValue("") @QueryParam("startsWith") String startsWith,
                            @ApiParam(value = "directory", required = false) @DefaultValue("") @QueryParam("directory") String directory,
-                           @ApiParam(value = "indexJobId", required = false) @DefaultValue("") @QueryParam("indexJobId") String indexJobId
+                           @ApiParam(value = "indexJobId", required = false) @DefaultValue("") @QueryParam("indexJobId") String indexJobId,
+                           @ApiParam(value = "Number of results to skip", required = false) @DefaultValue("-1") @QueryParam("skip") int skip,
+                           @ApiParam(value = "Max number of results", required = false) @DefaultValue("-1") @QueryParam("limit") int limit
 
     ) {
         try {
@@ -461,7 +554,14 @@ public class FileWSServer extends OpenCGAWSServer {
             }
 
 
-            QueryResult<File> result = catalogManager.searchFile(studyIdNum, query, this.getQueryOptions(), sessionId);
+            QueryOptions options = this.getQueryOptions();
+            if (skip >= 0) {
+                options.put("skip", skip);
+            }
+            if (limit >= 0) {
+                options.put("limit", limit);
+            }
+            QueryResult<File> result = catalogManager.searchFile(studyIdNum, query, options, sessionId);
             return createOkResponse(result);
         } catch (CatalogException e) {
             e.printStackTrace();
@@ -577,12 +677,17 @@ public class FileWSServer extends OpenCGAWSServer {
             int fileIdNum;
             File file;
             URI fileUri;
+            String cacheGroup;
+            String cacheGeneration;
 
             try {
                 fileIdNum = catalogManager.getFileId(fileId);
                 QueryResult<File> queryResult = catalogManager.getFile(fileIdNum, sessionId);
                 file = queryResult.getResult().get(0);
                 fileUri = catalogManager.getFileUri(file);
+                int studyId = catalogManager.getStudyIdByFileId(fileIdNum);
+                cacheGroup = Integer.toString(studyId);
+                cacheGeneration = getIndexGeneration(studyId);
             } catch (CatalogException | IOException e) {
                 e.printStackTrace();
                 return createErrorResponse(e.getMessage());
@@ -602,6 +707,7 @@ public class FileWSServer extends OpenCGAWSServer {
             ObjectMap indexAttributes = new ObjectMap(file.getAttributes());
             String storageEngine = indexAttributes.get("storageEngine").toString();
             String dbName = indexAttributes.get("dbName").toString();
+            RegionQueryCache regionQueryCache = StorageManagerFactory.getRegionQueryCache();
             QueryResult result;
             switch (file.getBioformat()) {
                 case ALIGNMENT: {
@@ -629,22 +735,37 @@ public class FileWSServer extends OpenCGAWSServer {
                         }
                     }
 
+                    if (histogram && regions.size() != 1) {
+                        return createErrorResponse("Histogram fetch only accepts one region.");
+                    }
+                    String cacheKey = RegionQueryCache.getKey((histogram ? "alignmentFrequencies/" : "alignments/")
+                            + storageEngine + "/" + dbName, regions, queryOptions);
+                    QueryResult alignmentsByRegion = regionQueryCache.get(cacheGroup, cacheGeneration, cacheKey);
+                    if (alignmentsByRegion != null) {
+                        result = alignmentsByRegion;
+                        break;
+                    }
+                    DBAdaptorPool<AlignmentDBAdaptor> dbAdaptorPool = StorageManagerFactory.getAlignmentDBAdaptorPool();
                     AlignmentDBAdaptor dbAdaptor;
                     try {
-                        AlignmentStorageManager alignmentStorageManager = StorageManagerFactory.getAlignmentStorageManager(storageEngine);
-                        dbAdaptor = alignmentStorageManager.getDBAdaptor(dbName, new ObjectMap());
-                    } catch (ClassNotFoundException | IllegalAccessException | InstantiationException e) {
+                        dbAdaptor = dbAdaptorPool.borrow(storageEngine, dbName);
+                    } catch (ClassNotFoundException | IllegalAccessException | InstantiationException | InterruptedException
+                            | TimeoutException e) {
                         return createErrorResponse(e.getMessage());
                     }
-                    QueryResult alignmentsByRegion;
-                    if (histogram) {
-                        if (regions.size() != 1) {
-                            return createErrorResponse("Histogram fetch only accepts one region.");
+                    if (dbAdaptor == null) {
+                        return createErrorResponse("Unable to connect to the alignment database '" + dbName + "'");
+                    }
+                    try {
+                        if (histogram) {
+                            alignmentsByRegion = dbAdaptor.getAllIntervalFrequencies(regions.get(0), queryOptions);
+                        } else {
+                            alignmentsByRegion = dbAdaptor.getAllAlignmentsByRegion(regions, queryOptions);
                         }
-                        alignmentsByRegion = dbAdaptor.getAllIntervalFrequencies(regions.get(0), queryOptions);
-                    } else {
-                        alignmentsByRegion = dbAdaptor.getAllAlignmentsByRegion(regions, queryOptions);
+                    } finally {
+                        dbAdaptorPool.release(storageEngine, dbName, dbAdaptor);
                     }
+                    regionQueryCache.put(cacheGroup, cacheGeneration, cacheKey, alignmentsByRegion);
                     result = alignmentsByRegion;
                     break;
                 }
@@ -658,19 +779,35 @@ public class FileWSServer extends OpenCGAWSServer {
 //                    queryOptions.put("include", Arrays.asList(include.split(",")));
 
                     //java.nio.file.Path configPath = Paths.get(Config.getGcsaHome(), "config", "application.properties");
+                    String cacheKey = RegionQueryCache.getKey((histogram ? "variantFrequencies/" : "variants/")
+                            + storageEngine + "/" + dbName, regions, queryOptions);
+                    QueryResult variantsByRegion = regionQueryCache.get(cacheGroup, cacheGeneration, cacheKey);
+                    if (variantsByRegion != null) {
+                        result = variantsByRegion;
+                        break;
+                    }
+                    DBAdaptorPool<VariantDBAdaptor> dbAdaptorPool = StorageManagerFactory.getVariantDBAdaptorPool();
                     VariantDBAdaptor dbAdaptor;
                     try {
-                        dbAdaptor = StorageManagerFactory.getVariantStorageManager(storageEngine).getDBAdaptor(dbName, new ObjectMap());
-                    } catch (ClassNotFoundException | IllegalAccessException | InstantiationException e) {
+                        dbAdaptor = dbAdaptorPool.borrow(storageEngine, dbName);
+                    } catch (ClassNotFoundException | IllegalAccessException | InstantiationException | InterruptedException
+                            | TimeoutException e) {
                         return createErrorResponse(e.getMessage());
                     }
-                    QueryResult variantsByRegion;
-                    if (histogram) {
-                        variantsByRegion = dbAdaptor.getVariantFrequencyByRegion(regions.get(0), queryOptions);
-                    } else {
-                        //With merge = true, will return only one result.
-                        variantsByRegion = dbAdaptor.getAllVariantsByRegionList(regions, queryOptions).get(0);
+                    if (dbAdaptor == null) {
+                        return createErrorResponse("Unable to connect to the variant database '" + dbName + "'");
+                    }
+                    try {
+                        if (histogram) {
+                            variantsByRegion = dbAdaptor.getVariantFrequencyByRegion(regions.get(0), queryOptions);
+                        } else {
+                            //With merge = true, will return only one result.
+                            variantsByRegion = dbAdaptor.getAllVariantsByRegionList(regions, queryOptions).get(0);
+                        }
+                    } finally {
+                        dbAdaptorPool.release(storageEngine, dbName, dbAdaptor);
                     }
+                    regionQueryCache.put(cacheGroup, cacheGeneration, cacheKey, variantsByRegion);
                     result = variantsByRegion;
                     break;
 
@@ -679,15 +816,31 @@ public class FileWSServer extends OpenCGAWSServer {
                     return createErrorResponse("Unknown bioformat '" + file.getBioformat() + '\'');
             }
 
-            result.setId(Integer.toString(fileIdNum));
-            System.out.println("result = " + result);
-            results.add(result);
+            // The result may be shared with the cache. Set the id on a copy
+            results.add(new QueryResult<>(Integer.toString(fileIdNum), result.getDbTime(), result.getNumResults(),
+                    result.getNumTotalResults(), result.getWarningMsg(), result.getErrorMsg(), result.getResult()));
         }
-        System.out.println("results = " + results);
+        // Storage results. Computing the ETag would take a second serialization of the whole result
+        conditionalGet = false;
         return createOkResponse(results);
     }
 
 
+    /**
+     * Changes every time a file of the study is indexed or an index is deleted. Invalidates the cached region
+     * queries of the study, as the indexation finishes in the daemon.
+     */
+    private String getIndexGeneration(int studyId) throws CatalogException {
+        QueryOptions query = new QueryOptions("type", File.Type.INDEX);
+        query.put("status", File.Status.READY);
+        List<Integer> indexIds = new ArrayList<>();
+        for (File index : catalogManager.searchFile(studyId, query, sessionId).getResult()) {
+            indexIds.add(index.getId());
+        }
+        Collections.sort(indexIds);
+        return indexIds.toString();
+    }
+
     private ObjectMap getResumeFileJSON(java.nio.file.Path folderPath) throws IOException {
         ObjectMap objectMap = new ObjectMap();
 
@@ -704,23 +857,4 @@ public class FileWSServer extends OpenCGAWSServer {
         return objectMap;
     }
 
-    private List<java.nio.file.Path> getSortedChunkList(java.nio.file.Path folderPath) throws IOException {
-        List<java.nio.file.Path> files = new ArrayList<>();
-        DirectoryStream<java.nio.file.Path> stream = Files.newDirectoryStream(folderPath, "*_partial");
-        for (java.nio.file.Path p : stream) {
-            logger.info("adding to ArrayList: " + p.getFileName());
-            files.add(p);
-        }
-        logger.info("----ordered files length: " + files.size());
-        Collections.sort(files, new Comparator<java.nio.file.Path>() {
-            public int compare(java.nio.file.Path o1, java.nio.file.Path o2) {
-                int id_o1 = Integer.parseInt(o1.getFileName().toString().split("_")[0]);
-                int id_o2 = Integer.parseInt(o2.getFileName().toString().split("_")[0]);
-                logger.info(id_o1 + "");
-                logger.info(id_o2 + "");
-                return id_o1 - id_o2;
-            }
-        });
-        return files;
-    }
 }
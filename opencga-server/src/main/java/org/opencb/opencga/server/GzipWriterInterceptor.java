@@ -0,0 +1,86 @@
+package org.opencb.opencga.server;
+
+import javax.annotation.Priority;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compresses the text and JSON responses with gzip if the client accepts it. The response is compressed while
+ * it is written, so streamed responses stay streamed.
+ *
+ * Responses with an explicit Content-Length or Content-Range, like the ranged file downloads, are not compressed.
+ */
+@Provider
+@Priority(Priorities.ENTITY_CODER)
+public class GzipWriterInterceptor implements WriterInterceptor {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    @Context
+    private HttpHeaders httpHeaders;
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException, WebApplicationException {
+        MultivaluedMap<String, Object> headers = context.getHeaders();
+        if (!acceptsGzip(httpHeaders.getRequestHeader(HttpHeaders.ACCEPT_ENCODING))
+                || !isCompressible(context.getMediaType())
+                || headers.containsKey(HttpHeaders.CONTENT_ENCODING)
+                || headers.containsKey(HttpHeaders.CONTENT_LENGTH)
+                || headers.containsKey("Content-Range")) {
+            context.proceed();
+            return;
+        }
+        headers.putSingle(HttpHeaders.CONTENT_ENCODING, "gzip");
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        GZIPOutputStream gzipOutputStream = new GZIPOutputStream(context.getOutputStream(), BUFFER_SIZE);
+        context.setOutputStream(gzipOutputStream);
+        context.proceed();
+        // Writes the gzip trailer. The container closes the stream
+        gzipOutputStream.finish();
+    }
+
+    /**
+     * @param acceptEncoding Values of the Accept-Encoding header, like "gzip, deflate" or "gzip;q=0"
+     */
+    static boolean acceptsGzip(List<String> acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String value : acceptEncoding) {
+            for (String encoding : value.split(",")) {
+                String[] split = encoding.trim().split(";");
+                String name = split[0].trim();
+                if (name.equalsIgnoreCase("gzip") || name.equalsIgnoreCase("x-gzip") || name.equals("*")) {
+                    for (int i = 1; i < split.length; i++) {
+                        String param = split[i].replace(" ", "");
+                        if (param.matches("q=0(\\.0*)?")) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static boolean isCompressible(MediaType mediaType) {
+        if (mediaType == null) {
+            return false;
+        }
+        return mediaType.getType().equalsIgnoreCase("text")
+                || mediaType.getSubtype().toLowerCase().endsWith("json")
+                || mediaType.getSubtype().toLowerCase().endsWith("xml");
+    }
+}
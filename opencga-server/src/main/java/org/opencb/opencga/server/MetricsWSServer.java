@@ -0,0 +1,58 @@
+package org.opencb.opencga.server;
+
+import com.wordnik.swagger.annotations.Api;
+import com.wordnik.swagger.annotations.ApiOperation;
+import org.opencb.opencga.storage.core.RegionQueryCache;
+import org.opencb.opencga.storage.core.StorageManagerFactory;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriInfo;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+@Path("/metrics")
+@Api(value = "metrics", description = "Request metrics of the web services")
+public class MetricsWSServer extends OpenCGAWSServer {
+
+    public MetricsWSServer(@PathParam("version") String version, @Context UriInfo uriInfo, @Context HttpServletRequest httpServletRequest) throws IOException {
+        super(version, uriInfo, httpServletRequest);
+    }
+
+    @GET
+    @Produces("text/plain")
+    @ApiOperation(value = "Latency, in flight requests, processing and serialization times and response sizes "
+            + "for each endpoint, and region cache usage. Only available from the local host")
+    public Response getMetrics() {
+        if (!isLocalAddress(sessionIp)) {
+            return buildResponse(Response.status(Response.Status.FORBIDDEN));
+        }
+        String metrics = RequestMetrics.getInstance().toText() + getRegionQueryCacheMetrics();
+        return buildResponse(Response.ok(metrics, MediaType.TEXT_PLAIN_TYPE));
+    }
+
+    private static String getRegionQueryCacheMetrics() {
+        RegionQueryCache cache = StorageManagerFactory.getRegionQueryCache();
+        return "opencga_region_cache_hits_total " + cache.getHits() + '\n'
+                + "opencga_region_cache_misses_total " + cache.getMisses() + '\n'
+                + "opencga_region_cache_evictions_total " + cache.getEvictions() + '\n'
+                + "opencga_region_cache_entries " + cache.getNumEntries() + '\n'
+                + "opencga_region_cache_bytes " + cache.getBytes() + '\n'
+                + "opencga_region_cache_max_bytes " + cache.getMaxBytes() + '\n';
+    }
+
+    private static boolean isLocalAddress(String address) {
+        try {
+            return address != null && InetAddress.getByName(address).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package org.opencb.opencga.server;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
@@ -17,6 +19,7 @@ import org.opencb.datastore.core.QueryResult;
 import org.opencb.opencga.catalog.CatalogManager;
 import org.opencb.opencga.catalog.db.CatalogDBException;
 import org.opencb.opencga.catalog.io.CatalogIOManagerException;
+import org.opencb.opencga.catalog.io.ChecksumInputStream;
 import org.opencb.opencga.lib.common.Config;
 import org.opencb.opencga.storage.core.alignment.json.AlignmentDifferenceJsonMixin;
 import org.opencb.opencga.storage.core.variant.io.json.VariantSourceEntryJsonMixin;
@@ -30,10 +33,15 @@ import javax.ws.rs.DefaultValue;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.*;
 import javax.ws.rs.core.Response.ResponseBuilder;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -49,6 +57,9 @@ public class OpenCGAWSServer {
     protected String version;
     protected UriInfo uriInfo;
     protected String sessionIp;
+    protected HttpServletRequest httpServletRequest;
+    /** Add an ETag to the GET responses, and answer "304 Not Modified" if it matches the If-None-Match header */
+    protected boolean conditionalGet = true;
 
     // Common input arguments
     protected MultivaluedMap<String, String> params;
@@ -143,6 +154,7 @@ public class OpenCGAWSServer {
         logger.debug(uriInfo.getRequestUri().toString());
         this.queryOptions = null;
         this.sessionIp = httpServletRequest.getRemoteAddr();
+        this.httpServletRequest = httpServletRequest;
     }
 
     protected QueryOptions getQueryOptions() {
@@ -167,7 +179,7 @@ public class OpenCGAWSServer {
 
     protected Response createOkResponse(Object obj) {
         queryResponse = new QueryResponse();
-        endTime = System.currentTimeMillis() - startTime;
+        endTime = System.currentTimeMillis();
         queryResponse.setTime(new Long(endTime - startTime).intValue());
         queryResponse.setApiVersion(version);
         queryResponse.setQueryOptions(getQueryOptions());
@@ -181,10 +193,20 @@ public class OpenCGAWSServer {
             coll.add(obj);
         }
         queryResponse.setResponse(coll);
+        httpServletRequest.setAttribute(RequestMetrics.NUM_RESULTS, getNumResults(coll));
 
         switch (outputFormat.toLowerCase()) {
             case "json":
-                return createJsonResponse(queryResponse);
+                EntityTag entityTag = conditionalGet && "GET".equals(httpServletRequest.getMethod())
+                        ? getEntityTag(coll)
+                        : null;
+                if (entityTag == null) {
+                    return createJsonResponse(queryResponse);
+                }
+                if (matches(httpServletRequest.getHeader(HttpHeaders.IF_NONE_MATCH), entityTag)) {
+                    return buildResponse(Response.notModified(entityTag).cacheControl(getCacheControl()));
+                }
+                return buildResponse(createJsonResponseBuilder(queryResponse).tag(entityTag).cacheControl(getCacheControl()));
             case "xml":
 //                return createXmlResponse(queryResponse);
             default:
@@ -194,17 +216,119 @@ public class OpenCGAWSServer {
 
     }
 
-    protected Response createJsonResponse(Object object) {
+    private static long getNumResults(Collection coll) {
+        long numResults = 0;
+        for (Object o : coll) {
+            numResults += o instanceof QueryResult ? ((QueryResult) o).getNumResults() : 1;
+        }
+        return numResults;
+    }
+
+    /**
+     * Serializes the object directly into the response output stream while it is being sent, instead of building
+     * the whole JSON String in memory first. Jackson flushes its buffer to the stream as it fills, so the memory used
+     * per request does not depend on the size of the JSON.
+     */
+    protected Response createJsonResponse(final Object object) {
+        return buildResponse(createJsonResponseBuilder(object));
+    }
+
+    private ResponseBuilder createJsonResponseBuilder(final Object object) {
+        StreamingOutput streamingOutput = new StreamingOutput() {
+            @Override
+            public void write(OutputStream output) throws IOException, WebApplicationException {
+                JsonGenerator generator = jsonObjectMapper.getFactory().createGenerator(output, JsonEncoding.UTF8);
+                // The container closes the stream
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                try {
+                    jsonObjectWriter.writeValue(generator, object);
+                } catch (JsonProcessingException e) {
+                    // The response is already committed. The client will receive an incomplete JSON
+                    logger.error("Error serializing QueryResponse object", e);
+                    throw e;
+                } finally {
+                    generator.close();
+                }
+            }
+        };
+        return Response.ok(streamingOutput, MediaType.APPLICATION_JSON_TYPE);
+    }
+
+    /**
+     * Weak ETag from the query options and the content of the results. The times of the response are not included,
+     * so the tag only changes if the entities change. The results are serialized into the digest, without keeping
+     * them in memory.
+     *
+     * @return  The ETag, or null if any result has an error
+     */
+    private EntityTag getEntityTag(Collection coll) {
+        MessageDigest digest;
         try {
-            return buildResponse(Response.ok(jsonObjectWriter.writeValueAsString(object), MediaType.APPLICATION_JSON_TYPE));
-        } catch (JsonProcessingException e) {
-            System.out.println("object = " + object);
-            System.out.println("((QueryResponse)object).getResponse() = " + ((QueryResponse) object).getResponse());
-
-            System.out.println("e = " + e);
-            System.out.println("e.getMessage() = " + e.getMessage());
-            return createErrorResponse("Error parsing QueryResponse object:\n" + Arrays.toString(e.getStackTrace()));
+            digest = MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            return null;
         }
+        OutputStream digestOutputStream = new DigestOutputStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        }, digest);
+        try (JsonGenerator generator = jsonObjectMapper.getFactory().createGenerator(digestOutputStream, JsonEncoding.UTF8)) {
+            jsonObjectWriter.writeValue(generator, getQueryOptions());
+            for (Object o : coll) {
+                if (o instanceof QueryResult) {
+                    QueryResult queryResult = (QueryResult) o;
+                    if (queryResult.getErrorMsg() != null && !queryResult.getErrorMsg().isEmpty()) {
+                        return null;
+                    }
+                    jsonObjectWriter.writeValue(generator, queryResult.getId());
+                    jsonObjectWriter.writeValue(generator, queryResult.getNumTotalResults());
+                    jsonObjectWriter.writeValue(generator, queryResult.getResult());
+                } else {
+                    jsonObjectWriter.writeValue(generator, o);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Unable to calculate the ETag", e);
+            return null;
+        }
+        return new EntityTag(ChecksumInputStream.getChecksum(digest), true);
+    }
+
+    /**
+     * Weak comparison of the If-None-Match header with the ETag.
+     */
+    static boolean matches(String ifNoneMatch, EntityTag entityTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("\"" + entityTag.getValue() + "\"")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The responses may depend on the session. The clients must revalidate them before using a cached copy.
+     */
+    private static CacheControl getCacheControl() {
+        CacheControl cacheControl = new CacheControl();
+        cacheControl.setPrivate(true);
+        cacheControl.setNoCache(true);
+        return cacheControl;
     }
 
     //Response methods
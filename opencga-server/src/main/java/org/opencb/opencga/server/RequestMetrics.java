@@ -0,0 +1,206 @@
+package org.opencb.opencga.server;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Metrics of the web services, for each endpoint: latency histograms, requests in flight, time spent in the
+ * resource method (catalog and storage calls) vs. serializing the response, and response sizes.
+ *
+ * Collected by {@link RequestMetricsFilter} and exposed as plain text by {@link MetricsWSServer}.
+ */
+public class RequestMetrics {
+
+    /** Request attribute with the number of results of the response, set by {@link OpenCGAWSServer} */
+    public static final String NUM_RESULTS = "opencga.metrics.numResults";
+
+    private static final RequestMetrics instance = new RequestMetrics();
+
+    private final ConcurrentSkipListMap<String, EndpointMetrics> endpoints = new ConcurrentSkipListMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final long startTime = System.currentTimeMillis();
+
+    public static RequestMetrics getInstance() {
+        return instance;
+    }
+
+    public EndpointMetrics getEndpoint(String name) {
+        EndpointMetrics endpoint = endpoints.get(name);
+        if (endpoint == null) {
+            endpoint = new EndpointMetrics();
+            EndpointMetrics previous = endpoints.putIfAbsent(name, endpoint);
+            if (previous != null) {
+                endpoint = previous;
+            }
+        }
+        return endpoint;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Plain text, one metric per line: {@code name{labels} value}. Times in milliseconds.
+     */
+    public String toText() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("opencga_uptime_seconds ").append((System.currentTimeMillis() - startTime) / 1000).append('\n');
+        sb.append("opencga_requests_in_flight ").append(inFlight.get()).append('\n');
+        for (Map.Entry<String, EndpointMetrics> entry : endpoints.entrySet()) {
+            String labels = "endpoint=\"" + entry.getKey() + "\"";
+            EndpointMetrics endpoint = entry.getValue();
+            sb.append("opencga_requests_total{").append(labels).append("} ").append(endpoint.count.get()).append('\n');
+            sb.append("opencga_requests_errors_total{").append(labels).append("} ").append(endpoint.errors.get()).append('\n');
+            sb.append("opencga_requests_in_flight{").append(labels).append("} ").append(endpoint.inFlight.get()).append('\n');
+            appendHistogram(sb, "opencga_request_latency_ms", labels, endpoint.latency);
+            appendHistogram(sb, "opencga_request_processing_ms", labels, endpoint.processing);
+            appendHistogram(sb, "opencga_request_serialization_ms", labels, endpoint.serialization);
+            sb.append("opencga_response_bytes_total{").append(labels).append("} ").append(endpoint.bytes.get()).append('\n');
+            sb.append("opencga_response_results_total{").append(labels).append("} ").append(endpoint.results.get()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static void appendHistogram(StringBuilder sb, String name, String labels, Histogram histogram) {
+        for (double quantile : new double[]{0.5, 0.95, 0.99}) {
+            sb.append(name).append('{').append(labels).append(",quantile=\"").append(quantile).append("\"} ")
+                    .append(histogram.getPercentile(quantile)).append('\n');
+        }
+        sb.append(name).append("_max{").append(labels).append("} ").append(histogram.getMax()).append('\n');
+        sb.append(name).append("_sum{").append(labels).append("} ").append(histogram.getSum()).append('\n');
+        sb.append(name).append("_count{").append(labels).append("} ").append(histogram.getCount()).append('\n');
+    }
+
+    public class EndpointMetrics {
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final Histogram latency = new Histogram();
+        private final Histogram processing = new Histogram();
+        private final Histogram serialization = new Histogram();
+        private final AtomicLong bytes = new AtomicLong();
+        private final AtomicLong results = new AtomicLong();
+
+        public void requestStarted() {
+            inFlight.incrementAndGet();
+            RequestMetrics.this.inFlight.incrementAndGet();
+        }
+
+        /**
+         * @param processingTime    Time in the resource method, until the response is created
+         * @param serializationTime Time writing the response entity
+         * @param numResults        Number of results of the response. -1 if unknown
+         */
+        public void requestFinished(long processingTime, long serializationTime, long responseBytes, long numResults,
+                                    boolean error) {
+            inFlight.decrementAndGet();
+            RequestMetrics.this.inFlight.decrementAndGet();
+            count.incrementAndGet();
+            if (error) {
+                errors.incrementAndGet();
+            }
+            latency.record(processingTime + serializationTime);
+            processing.record(processingTime);
+            serialization.record(serializationTime);
+            bytes.addAndGet(responseBytes);
+            if (numResults > 0) {
+                results.addAndGet(numResults);
+            }
+        }
+
+        public long getCount() {
+            return count.get();
+        }
+
+        public long getErrors() {
+            return errors.get();
+        }
+
+        public int getInFlight() {
+            return inFlight.get();
+        }
+
+        public Histogram getLatency() {
+            return latency;
+        }
+
+        public Histogram getProcessing() {
+            return processing;
+        }
+
+        public Histogram getSerialization() {
+            return serialization;
+        }
+
+        public long getBytes() {
+            return bytes.get();
+        }
+
+        public long getResults() {
+            return results.get();
+        }
+    }
+
+    /**
+     * Histogram of times in milliseconds, with fixed buckets. Percentiles are approximated by the upper bound of
+     * their bucket, so recording is lock free and the memory does not grow with the number of requests.
+     */
+    public static class Histogram {
+        static final long[] BOUNDS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000, 20000, 50000,
+                100000, 200000, 500000, Long.MAX_VALUE};
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BOUNDS.length);
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong sum = new AtomicLong();
+        private final AtomicLong max = new AtomicLong();
+
+        public void record(long value) {
+            value = Math.max(value, 0);
+            int i = 0;
+            while (value > BOUNDS[i]) {
+                i++;
+            }
+            buckets.incrementAndGet(i);
+            count.incrementAndGet();
+            sum.addAndGet(value);
+            long currentMax;
+            while (value > (currentMax = max.get()) && !max.compareAndSet(currentMax, value));
+        }
+
+        /**
+         * @param quantile  Between 0 and 1
+         * @return  Upper bound of the bucket with the quantile, never bigger than the max value. 0 if empty
+         */
+        public long getPercentile(double quantile) {
+            long total = count.get();
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(quantile * total);
+            long accumulated = 0;
+            for (int i = 0; i < BOUNDS.length; i++) {
+                accumulated += buckets.get(i);
+                if (accumulated >= rank) {
+                    return Math.min(BOUNDS[i], max.get());
+                }
+            }
+            return max.get();
+        }
+
+        public long getCount() {
+            return count.get();
+        }
+
+        public long getSum() {
+            return sum.get();
+        }
+
+        public long getMax() {
+            return max.get();
+        }
+    }
+}
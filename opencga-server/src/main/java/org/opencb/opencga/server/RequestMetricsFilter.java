@@ -0,0 +1,116 @@
+package org.opencb.opencga.server;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.container.*;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+
+/**
+ * Measures every request matched to a resource method and records it in {@link RequestMetrics}.
+ *
+ * The processing time goes from the request filter to the response filter, and includes the catalog and storage
+ * calls. The serialization time is the time writing the response entity. For streamed responses most of the
+ * database reads may happen while serializing. The response bytes are counted before the gzip compression.
+ */
+@Provider
+public class RequestMetricsFilter implements ContainerRequestFilter, ContainerResponseFilter, WriterInterceptor {
+
+    private static final String START_TIME = "opencga.metrics.startTime";
+    private static final String PROCESSING_TIME = "opencga.metrics.processingTime";
+    private static final String ENDPOINT = "opencga.metrics.endpoint";
+    private static final String ERROR = "opencga.metrics.error";
+
+    @Context
+    private ResourceInfo resourceInfo;
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) throws IOException {
+        Method method = resourceInfo.getResourceMethod();
+        if (method == null) {
+            return;
+        }
+        RequestMetrics.EndpointMetrics endpoint = RequestMetrics.getInstance()
+                .getEndpoint(resourceInfo.getResourceClass().getSimpleName() + "." + method.getName());
+        endpoint.requestStarted();
+        requestContext.setProperty(ENDPOINT, endpoint);
+        requestContext.setProperty(START_TIME, System.nanoTime());
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext)
+            throws IOException {
+        Object startTime = requestContext.getProperty(START_TIME);
+        if (startTime == null) {
+            return;
+        }
+        long processingTime = (System.nanoTime() - (Long) startTime) / 1000000;
+        boolean error = responseContext.getStatus() >= 400;
+        if (responseContext.hasEntity() && !"HEAD".equals(requestContext.getMethod())) {
+            // Finished by aroundWriteTo
+            requestContext.setProperty(PROCESSING_TIME, processingTime);
+            requestContext.setProperty(ERROR, error);
+        } else {
+            requestContext.removeProperty(START_TIME);
+            RequestMetrics.EndpointMetrics endpoint = (RequestMetrics.EndpointMetrics) requestContext.getProperty(ENDPOINT);
+            endpoint.requestFinished(processingTime, 0, 0, getNumResults(requestContext.getProperty(RequestMetrics.NUM_RESULTS)), error);
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException, WebApplicationException {
+        Object processingTime = context.getProperty(PROCESSING_TIME);
+        if (processingTime == null) {
+            context.proceed();
+            return;
+        }
+        context.removeProperty(PROCESSING_TIME);
+        CountingOutputStream outputStream = new CountingOutputStream(context.getOutputStream());
+        context.setOutputStream(outputStream);
+        long start = System.nanoTime();
+        boolean error = (Boolean) context.getProperty(ERROR);
+        try {
+            context.proceed();
+        } catch (IOException | RuntimeException e) {
+            error = true;
+            throw e;
+        } finally {
+            RequestMetrics.EndpointMetrics endpoint = (RequestMetrics.EndpointMetrics) context.getProperty(ENDPOINT);
+            endpoint.requestFinished((Long) processingTime, (System.nanoTime() - start) / 1000000,
+                    outputStream.count, getNumResults(context.getProperty(RequestMetrics.NUM_RESULTS)), error);
+        }
+    }
+
+    /**
+     * The request properties are the attributes of the HttpServletRequest, where {@link OpenCGAWSServer}
+     * sets the number of results.
+     */
+    private static long getNumResults(Object numResults) {
+        return numResults instanceof Number ? ((Number) numResults).longValue() : -1;
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+        private long count = 0;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
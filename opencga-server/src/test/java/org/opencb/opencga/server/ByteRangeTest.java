@@ -0,0 +1,62 @@
+package org.opencb.opencga.server;
+
+import org.junit.Test;
+import org.opencb.commons.test.GenericTest;
+
+import static org.junit.Assert.*;
+
+public class ByteRangeTest extends GenericTest {
+
+    private static final long SIZE = 1000;
+
+    private static void assertRange(long offset, long length, ByteRange range) {
+        assertNotNull(range);
+        assertEquals(offset, range.getOffset());
+        assertEquals(length, range.getLength());
+    }
+
+    @Test
+    public void testParseFullRange() {
+        assertRange(0, SIZE, ByteRange.parse(null, SIZE));
+        assertRange(0, SIZE, ByteRange.parse("bytes=0-", SIZE));
+        assertRange(0, SIZE, ByteRange.parse("bytes=0-999", SIZE));
+        // Multiple and malformed ranges select the whole file
+        assertRange(0, SIZE, ByteRange.parse("bytes=0-10,20-30", SIZE));
+        assertRange(0, SIZE, ByteRange.parse("bytes=a-b", SIZE));
+        assertRange(0, SIZE, ByteRange.parse("lines=0-10", SIZE));
+        assertTrue(ByteRange.parse(null, SIZE).isWholeFile(SIZE));
+    }
+
+    @Test
+    public void testParseRange() {
+        ByteRange range = ByteRange.parse("bytes=100-199", SIZE);
+        assertRange(100, 100, range);
+        assertEquals(199, range.getLast());
+        assertFalse(range.isWholeFile(SIZE));
+        assertEquals("bytes 100-199", range.toString());
+        // Last position bigger than the file
+        assertRange(900, 100, ByteRange.parse("bytes=900-5000", SIZE));
+    }
+
+    @Test
+    public void testParseOpenEndedRange() {
+        assertRange(100, 900, ByteRange.parse("bytes=100-", SIZE));
+        assertRange(999, 1, ByteRange.parse("bytes=999-", SIZE));
+    }
+
+    @Test
+    public void testParseSuffixRange() {
+        assertRange(900, 100, ByteRange.parse("bytes=-100", SIZE));
+        // Suffix bigger than the file
+        assertRange(0, SIZE, ByteRange.parse("bytes=-5000", SIZE));
+    }
+
+    @Test
+    public void testParseUnsatisfiableRange() {
+        assertNull(ByteRange.parse("bytes=1000-", SIZE));
+        assertNull(ByteRange.parse("bytes=2000-3000", SIZE));
+        assertNull(ByteRange.parse("bytes=200-100", SIZE));
+        assertNull(ByteRange.parse("bytes=-0", SIZE));
+        assertNull(ByteRange.parse("bytes=0-", 0));
+    }
+}
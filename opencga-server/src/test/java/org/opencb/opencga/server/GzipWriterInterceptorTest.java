@@ -0,0 +1,37 @@
+package org.opencb.opencga.server;
+
+import org.junit.Test;
+import org.opencb.commons.test.GenericTest;
+
+import javax.ws.rs.core.MediaType;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GzipWriterInterceptorTest extends GenericTest {
+
+    @Test
+    public void testAcceptsGzip() {
+        assertTrue(GzipWriterInterceptor.acceptsGzip(Collections.singletonList("gzip, deflate")));
+        assertTrue(GzipWriterInterceptor.acceptsGzip(Collections.singletonList("deflate, gzip;q=0.5")));
+        assertTrue(GzipWriterInterceptor.acceptsGzip(Arrays.asList("deflate", "GZIP")));
+        assertTrue(GzipWriterInterceptor.acceptsGzip(Collections.singletonList("*")));
+
+        assertFalse(GzipWriterInterceptor.acceptsGzip(null));
+        assertFalse(GzipWriterInterceptor.acceptsGzip(Collections.singletonList("identity")));
+        assertFalse(GzipWriterInterceptor.acceptsGzip(Collections.singletonList("gzip;q=0")));
+        assertFalse(GzipWriterInterceptor.acceptsGzip(Collections.singletonList("deflate, gzip; q=0.0")));
+    }
+
+    @Test
+    public void testIsCompressible() {
+        assertTrue(GzipWriterInterceptor.isCompressible(MediaType.APPLICATION_JSON_TYPE));
+        assertTrue(GzipWriterInterceptor.isCompressible(MediaType.TEXT_PLAIN_TYPE));
+        assertTrue(GzipWriterInterceptor.isCompressible(MediaType.APPLICATION_XML_TYPE));
+
+        assertFalse(GzipWriterInterceptor.isCompressible(null));
+        assertFalse(GzipWriterInterceptor.isCompressible(MediaType.APPLICATION_OCTET_STREAM_TYPE));
+    }
+}
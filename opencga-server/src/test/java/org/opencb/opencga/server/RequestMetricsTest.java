@@ -0,0 +1,58 @@
+package org.opencb.opencga.server;
+
+import org.junit.Test;
+import org.opencb.commons.test.GenericTest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RequestMetricsTest extends GenericTest {
+
+    @Test
+    public void testHistogramPercentiles() {
+        RequestMetrics.Histogram histogram = new RequestMetrics.Histogram();
+        assertEquals(0, histogram.getPercentile(0.5));
+
+        for (int i = 0; i < 90; i++) {
+            histogram.record(3);
+        }
+        for (int i = 0; i < 9; i++) {
+            histogram.record(150);
+        }
+        histogram.record(1234);
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(90 * 3 + 9 * 150 + 1234, histogram.getSum());
+        assertEquals(1234, histogram.getMax());
+        assertEquals(5, histogram.getPercentile(0.5));
+        assertEquals(200, histogram.getPercentile(0.95));
+        assertEquals(200, histogram.getPercentile(0.99));
+        // Never bigger than the max value
+        assertEquals(1234, histogram.getPercentile(1));
+    }
+
+    @Test
+    public void testEndpointMetrics() {
+        RequestMetrics metrics = new RequestMetrics();
+        RequestMetrics.EndpointMetrics endpoint = metrics.getEndpoint("FileWSServer.fetch");
+        endpoint.requestStarted();
+        endpoint.requestStarted();
+        assertEquals(2, metrics.getInFlight());
+        assertEquals(2, endpoint.getInFlight());
+
+        endpoint.requestFinished(40, 10, 2048, 5, false);
+        endpoint.requestFinished(8, 0, 100, -1, true);
+        assertEquals(0, metrics.getInFlight());
+        assertEquals(2, endpoint.getCount());
+        assertEquals(1, endpoint.getErrors());
+        assertEquals(2148, endpoint.getBytes());
+        assertEquals(5, endpoint.getResults());
+        assertEquals(50, endpoint.getLatency().getMax());
+        assertEquals(10, endpoint.getSerialization().getMax());
+
+        String text = metrics.toText();
+        assertTrue(text, text.contains("opencga_requests_total{endpoint=\"FileWSServer.fetch\"} 2\n"));
+        assertTrue(text, text.contains("opencga_request_latency_ms{endpoint=\"FileWSServer.fetch\",quantile=\"0.99\"} 50\n"));
+        assertTrue(text, text.contains("opencga_response_bytes_total{endpoint=\"FileWSServer.fetch\"} 2148\n"));
+    }
+}
@@ -25,13 +25,17 @@ import org.opencb.opencga.lib.tools.accession.CreateAccessionTask;
 import org.opencb.opencga.storage.core.StorageManagerFactory;
 import org.opencb.opencga.storage.core.alignment.AlignmentStorageManager;
 import org.opencb.opencga.storage.core.alignment.adaptors.AlignmentDBAdaptor;
+import org.opencb.opencga.storage.core.alignment.io.AlignmentExporter;
 import org.opencb.opencga.storage.core.sequence.SqliteSequenceDBAdaptor;
 import org.opencb.opencga.storage.core.variant.VariantStorageManager;
 import org.opencb.opencga.storage.core.variant.adaptors.VariantDBAdaptor;
+import org.opencb.opencga.storage.core.variant.annotation.VariantAnnotationPipeline;
+import org.opencb.opencga.storage.core.variant.io.VariantExporter;
 import org.opencb.opencga.storage.mongodb.utils.MongoCredentials;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
@@ -71,6 +75,140 @@ public class OpenCGAStorageMain {
         Config.setGcsaHome(opencgaHome);
     }
 
+    /**
+     * Runs an "index-variants" or "index-alignments" command in this JVM. Unlike {@link #main}, never calls
+     * System.exit, so it can be used to run index jobs inside a running process.
+     *
+     * @param args  Same arguments as the command line, starting with the command name
+     */
+    public static void index(String[] args)
+            throws IOException, FileFormatException, IllegalAccessException, InstantiationException,
+            ClassNotFoundException, URISyntaxException {
+        OptionsParser parser = new OptionsParser();
+        String parsedCommand = parser.parse(args);
+        switch (parsedCommand) {
+            case "index-variants":
+                indexVariants(parser.getCommandIndexVariants());
+                break;
+            case "index-alignments":
+                indexAlignments(parser.getCommandIndexAlignments());
+                break;
+            default:
+                throw new IllegalArgumentException("Command '" + parsedCommand + "' is not an index command");
+        }
+    }
+
+    private static void indexAlignments(OptionsParser.CommandIndexAlignments c)
+            throws IOException, FileFormatException, IllegalAccessException, InstantiationException,
+            ClassNotFoundException, URISyntaxException {
+        if (c.input.endsWith(".bam") || c.input.endsWith(".sam")) {
+            AlignmentStorageManager alignmentStorageManager = StorageManagerFactory.getAlignmentStorageManager(c.backend);
+            ObjectMap params = new ObjectMap();
+            params.putAll(c.params);
+
+            if (c.fileId != null) {
+                params.put(AlignmentStorageManager.FILE_ID, c.fileId);
+            }
+            params.put(AlignmentStorageManager.PLAIN, false);
+            params.put(AlignmentStorageManager.MEAN_COVERAGE_SIZE_LIST, Arrays.asList("200"));
+            params.put(AlignmentStorageManager.INCLUDE_COVERAGE, true);
+            params.put(AlignmentStorageManager.DB_NAME, c.dbName);
+            params.put(AlignmentStorageManager.COPY_FILE, false);
+            params.put(AlignmentStorageManager.ENCRYPT, "null");
+
+            URI input = new URI(null, c.input, null);
+            URI outdir = c.outdir.isEmpty() ? input.resolve(".") : new URI(null, c.outdir + "/", null).resolve(".");
+//                Path tmp = c.tmp.isEmpty() ? outdir : Paths.get(URI.create(c.tmp).getPath());
+//                Path credentials = Paths.get(c.credentials);
+
+            URI nextFileUri;
+            logger.info("-- Extract alignments -- {}", input);
+            nextFileUri = alignmentStorageManager.extract(input, outdir, params);
+
+            logger.info("-- PreTransform alignments -- {}", nextFileUri);
+            nextFileUri = alignmentStorageManager.preTransform(nextFileUri, params);
+            logger.info("-- Transform alignments -- {}", nextFileUri);
+            nextFileUri = alignmentStorageManager.transform(nextFileUri, null, outdir, params);
+            logger.info("-- PostTransform alignments -- {}", nextFileUri);
+            nextFileUri = alignmentStorageManager.postTransform(nextFileUri, params);
+
+            logger.info("-- PreLoad alignments -- {}", nextFileUri);
+            nextFileUri = alignmentStorageManager.preLoad(nextFileUri, outdir, params);
+            logger.info("-- Load alignments -- {}", nextFileUri);
+            nextFileUri = alignmentStorageManager.load(nextFileUri, params);
+            logger.info("-- PostLoad alignments -- {}", nextFileUri);
+            nextFileUri = alignmentStorageManager.postLoad(nextFileUri, outdir, params);
+
+//                String fileName;
+//                if(c.fileId != null) {
+//                    fileName = c.fileId + ".bam";
+//                } else {
+//                    fileName = input.resolve(".").relativize(input).toString();
+//                }
+//                URI loadInput = outdir.resolve(fileName + ".coverage.json.gz");
+//                alignmentStorageManager.load(loadInput, params);
+
+        } else {
+            throw new IOException("Unknown file type");
+        }
+    }
+
+    private static void indexVariants(OptionsParser.CommandIndexVariants c)
+            throws IOException, FileFormatException, IllegalAccessException, InstantiationException,
+            ClassNotFoundException, URISyntaxException {
+        if(c.input.endsWith(".vcf") || c.input.endsWith(".vcf.gz")) {
+            VariantStorageManager variantStorageManager = StorageManagerFactory.getVariantStorageManager(c.backend);
+            if(c.credentials != null && !c.credentials.isEmpty()) {
+                variantStorageManager.addConfigUri(new URI(null, c.credentials, null));
+            }
+
+            URI variantsUri = new URI(null, c.input, null);
+            URI pedigreeUri = c.pedigree != null && !c.pedigree.isEmpty() ? new URI(null, c.pedigree, null) : null;
+            URI outdirUri = c.outdir != null && !c.outdir.isEmpty() ? new URI(null, c.outdir, null).resolve(".") : variantsUri.resolve(".");
+
+            String fileName = variantsUri.resolve(".").relativize(variantsUri).toString();
+            VariantSource source = new VariantSource(fileName, c.fileId, c.studyId, c.study, c.studyType, c.aggregated);
+
+            ObjectMap params = new ObjectMap();
+            params.put(VariantStorageManager.INCLUDE_EFFECT,  c.includeEffect);
+            params.put(VariantStorageManager.INCLUDE_STATS, c.includeStats);
+            params.put(VariantStorageManager.INCLUDE_SAMPLES, c.includeSamples);
+            params.put(VariantStorageManager.SOURCE, source);
+            params.put(VariantStorageManager.DB_NAME, c.dbName);
+
+            URI nextFileUri;
+            logger.info("-- Extract variants -- {}", variantsUri);
+            nextFileUri = variantStorageManager.extract(variantsUri, outdirUri, params);
+
+
+            logger.info("-- PreTransform variants -- {}", nextFileUri);
+            nextFileUri = variantStorageManager.preTransform(nextFileUri, params);
+            logger.info("-- Transform variants -- {}", nextFileUri);
+            nextFileUri = variantStorageManager.transform(nextFileUri, pedigreeUri, outdirUri, params);
+            logger.info("-- PostTransform variants -- {}", nextFileUri);
+            nextFileUri = variantStorageManager.postTransform(nextFileUri, params);
+
+            source.setFileName(fileName + ".variants.json.gz");
+
+            logger.info("-- PreLoad variants -- {}", nextFileUri);
+            nextFileUri = variantStorageManager.preLoad(nextFileUri, outdirUri, params);
+            logger.info("-- Load variants -- {}", nextFileUri);
+            nextFileUri = variantStorageManager.load(nextFileUri, params);
+            logger.info("-- PostLoad variants -- {}", nextFileUri);
+            nextFileUri = variantStorageManager.postLoad(nextFileUri, outdirUri, params);
+
+//                String fileName;
+//                fileName = outdir != null
+//                        ? outdir.resolve(Paths.get(source.getFileName()).getFileName() + ".variants.json.gz").toString()
+//                        : source.getFileName() + ".variants.json.gz";
+
+//                URI newInput = outdirUri.resolve(fileName + ".variants.json.gz");
+//                source.setFileName(fileName + ".variants.json.gz");
+        } else {
+            throw new IOException("Unknown file type");
+        }
+    }
+
     public static void main(String[] args)
             throws IOException, InterruptedException, IllegalOpenCGACredentialsException, FileFormatException,
             IllegalAccessException, InstantiationException, ClassNotFoundException, URISyntaxException {
@@ -136,57 +274,7 @@ public class OpenCGAStorageMain {
 
 
         if (command instanceof OptionsParser.CommandIndexAlignments) {    //TODO: Create method AlignmentStorageManager.index() ??
-            OptionsParser.CommandIndexAlignments c = (OptionsParser.CommandIndexAlignments) command;
-            if (c.input.endsWith(".bam") || c.input.endsWith(".sam")) {
-                AlignmentStorageManager alignmentStorageManager = StorageManagerFactory.getAlignmentStorageManager(c.backend);
-                ObjectMap params = new ObjectMap();
-                params.putAll(c.params);
-
-                if (c.fileId != null) {
-                    params.put(AlignmentStorageManager.FILE_ID, c.fileId);
-                }
-                params.put(AlignmentStorageManager.PLAIN, false);
-                params.put(AlignmentStorageManager.MEAN_COVERAGE_SIZE_LIST, Arrays.asList("200"));
-                params.put(AlignmentStorageManager.INCLUDE_COVERAGE, true);
-                params.put(AlignmentStorageManager.DB_NAME, c.dbName);
-                params.put(AlignmentStorageManager.COPY_FILE, false);
-                params.put(AlignmentStorageManager.ENCRYPT, "null");
-
-                URI input = new URI(null, c.input, null);
-                URI outdir = c.outdir.isEmpty() ? input.resolve(".") : new URI(null, c.outdir + "/", null).resolve(".");
-//                Path tmp = c.tmp.isEmpty() ? outdir : Paths.get(URI.create(c.tmp).getPath());
-//                Path credentials = Paths.get(c.credentials);
-
-                URI nextFileUri;
-                logger.info("-- Extract alignments -- {}", input);
-                nextFileUri = alignmentStorageManager.extract(input, outdir, params);
-
-                logger.info("-- PreTransform alignments -- {}", nextFileUri);
-                nextFileUri = alignmentStorageManager.preTransform(nextFileUri, params);
-                logger.info("-- Transform alignments -- {}", nextFileUri);
-                nextFileUri = alignmentStorageManager.transform(nextFileUri, null, outdir, params);
-                logger.info("-- PostTransform alignments -- {}", nextFileUri);
-                nextFileUri = alignmentStorageManager.postTransform(nextFileUri, params);
-
-                logger.info("-- PreLoad alignments -- {}", nextFileUri);
-                nextFileUri = alignmentStorageManager.preLoad(nextFileUri, outdir, params);
-                logger.info("-- Load alignments -- {}", nextFileUri);
-                nextFileUri = alignmentStorageManager.load(nextFileUri, params);
-                logger.info("-- PostLoad alignments -- {}", nextFileUri);
-                nextFileUri = alignmentStorageManager.postLoad(nextFileUri, outdir, params);
-
-//                String fileName;
-//                if(c.fileId != null) {
-//                    fileName = c.fileId + ".bam";
-//                } else {
-//                    fileName = input.resolve(".").relativize(input).toString();
-//                }
-//                URI loadInput = outdir.resolve(fileName + ".coverage.json.gz");
-//                alignmentStorageManager.load(loadInput, params);
-
-            } else {
-                throw new IOException("Unknown file type");
-            }
+            indexAlignments((OptionsParser.CommandIndexAlignments) command);
         } else if (command instanceof OptionsParser.CommandIndexSequence) {
             OptionsParser.CommandIndexSequence c = (OptionsParser.CommandIndexSequence) command;
             if (c.input.endsWith(".fasta") || c.input.endsWith(".fasta.gz")) {
@@ -212,57 +300,7 @@ public class OpenCGAStorageMain {
                 throw new IOException("Unknown file type");
             }
         } else if (command instanceof OptionsParser.CommandIndexVariants) {
-            OptionsParser.CommandIndexVariants c = (OptionsParser.CommandIndexVariants) command;
-            if(c.input.endsWith(".vcf") || c.input.endsWith(".vcf.gz")) {
-                VariantStorageManager variantStorageManager = StorageManagerFactory.getVariantStorageManager(c.backend);
-                if(c.credentials != null && !c.credentials.isEmpty()) {
-                    variantStorageManager.addConfigUri(new URI(null, c.credentials, null));
-                }
-
-                URI variantsUri = new URI(null, c.input, null);
-                URI pedigreeUri = c.pedigree != null && !c.pedigree.isEmpty() ? new URI(null, c.pedigree, null) : null;
-                URI outdirUri = c.outdir != null && !c.outdir.isEmpty() ? new URI(null, c.outdir, null).resolve(".") : variantsUri.resolve(".");
-
-                String fileName = variantsUri.resolve(".").relativize(variantsUri).toString();
-                VariantSource source = new VariantSource(fileName, c.fileId, c.studyId, c.study, c.studyType, c.aggregated);
-
-                ObjectMap params = new ObjectMap();
-                params.put(VariantStorageManager.INCLUDE_EFFECT,  c.includeEffect);
-                params.put(VariantStorageManager.INCLUDE_STATS, c.includeStats);
-                params.put(VariantStorageManager.INCLUDE_SAMPLES, c.includeSamples);
-                params.put(VariantStorageManager.SOURCE, source);
-                params.put(VariantStorageManager.DB_NAME, c.dbName);
-
-                URI nextFileUri;
-                logger.info("-- Extract variants -- {}", variantsUri);
-                nextFileUri = variantStorageManager.extract(variantsUri, outdirUri, params);
-
-
-                logger.info("-- PreTransform variants -- {}", nextFileUri);
-                nextFileUri = variantStorageManager.preTransform(nextFileUri, params);
-                logger.info("-- Transform variants -- {}", nextFileUri);
-                nextFileUri = variantStorageManager.transform(nextFileUri, pedigreeUri, outdirUri, params);
-                logger.info("-- PostTransform variants -- {}", nextFileUri);
-                nextFileUri = variantStorageManager.postTransform(nextFileUri, params);
-
-                source.setFileName(fileName + ".variants.json.gz");
-
-                logger.info("-- PreLoad variants -- {}", nextFileUri);
-                nextFileUri = variantStorageManager.preLoad(nextFileUri, outdirUri, params);
-                logger.info("-- Load variants -- {}", nextFileUri);
-                nextFileUri = variantStorageManager.load(nextFileUri, params);
-                logger.info("-- PostLoad variants -- {}", nextFileUri);
-                nextFileUri = variantStorageManager.postLoad(nextFileUri, outdirUri, params);
-
-//                String fileName;
-//                fileName = outdir != null
-//                        ? outdir.resolve(Paths.get(source.getFileName()).getFileName() + ".variants.json.gz").toString()
-//                        : source.getFileName() + ".variants.json.gz";
-
-//                URI newInput = outdirUri.resolve(fileName + ".variants.json.gz");
-//                source.setFileName(fileName + ".variants.json.gz");
-            }
-
+            indexVariants((OptionsParser.CommandIndexVariants) command);
         } else if (command instanceof OptionsParser.CommandCreateAccessions) {
             OptionsParser.CommandCreateAccessions c = (OptionsParser.CommandCreateAccessions) command;
 
@@ -479,7 +517,33 @@ public class OpenCGAStorageMain {
              */
             int subListSize = 20;
             logger.info("options = " + options.toJson());
-            if (regions != null && !regions.isEmpty()) {
+            if (c.export) {
+                if (gffReader != null) {
+                    regions = new LinkedList<>();
+                    List<Gff> gffList;
+                    while ((gffList = gffReader.read(subListSize)) != null) {
+                        for (Gff gff : gffList) {
+                            regions.add(new Region(gff.getSequenceName(), gff.getStart(), gff.getEnd()));
+                        }
+                    }
+                }
+                if (regions != null && !regions.isEmpty()) {
+                    StringBuilder regionsCsv = new StringBuilder();
+                    for (Region region : regions) {
+                        regionsCsv.append(regionsCsv.length() == 0 ? "" : ",").append(region.toString());
+                    }
+                    options.put("region", regionsCsv.toString());
+                }
+                List<String> samples = c.samples == null || c.samples.isEmpty() ? null : Arrays.asList(c.samples.split(","));
+
+                // The iterator reads the variants from a cursor, in batches
+                try (VariantExporter exporter = new VariantExporter(VariantExporter.getOutputStream(c.output, c.outputFormat),
+                        VariantExporter.getFormat(c.outputFormat), samples)) {
+                    exporter.export(dbAdaptor.iterator(options));
+                } finally {
+                    dbAdaptor.close();
+                }
+            } else if (regions != null && !regions.isEmpty()) {
                 for(int i = 0; i < (regions.size()+subListSize-1)/subListSize; i++) {
                     List<Region> subRegions = regions.subList(
                             i * subListSize,
@@ -596,7 +660,34 @@ public class OpenCGAStorageMain {
              */
             int subListSize = 20;
             logger.info("options = {}", options.toJson());
-            if(c.histogram > 0) {
+            if (c.export) {
+                if (gffReader != null) {
+                    regions = new LinkedList<>();
+                    List<Gff> gffList;
+                    while ((gffList = gffReader.read(subListSize)) != null) {
+                        for (Gff gff : gffList) {
+                            regions.add(new Region(gff.getSequenceName(), gff.getStart(), gff.getEnd()));
+                        }
+                    }
+                }
+                if (regions == null || regions.isEmpty()) {
+                    throw new IllegalArgumentException("Unable to export all the genome. Regions are required");
+                }
+                options.put(AlignmentExporter.WINDOW_SIZE, c.windowSize);
+                String outputFormat = c.outputFormat.toLowerCase();
+                if (outputFormat.startsWith("vcf")) {   // vcf is the default of the variants. Keeps the ".gz"
+                    outputFormat = "json" + outputFormat.substring("vcf".length());
+                }
+
+                try (AlignmentExporter exporter = new AlignmentExporter(VariantExporter.getOutputStream(c.output, outputFormat),
+                        AlignmentExporter.getFormat(outputFormat))) {
+                    exporter.export(dbAdaptor, regions, options);
+                } finally {
+                    if (dbAdaptor instanceof Closeable) {
+                        ((Closeable) dbAdaptor).close();
+                    }
+                }
+            } else if(c.histogram > 0) {
                 for (Region region : regions) {
                     System.out.println(dbAdaptor.getAllIntervalFrequencies(region, options));
                 }
@@ -631,14 +722,19 @@ public class OpenCGAStorageMain {
             }
         } else if(command instanceof OptionsParser.CommandAnnotateVariants) {
             OptionsParser.CommandAnnotateVariants c = (OptionsParser.CommandAnnotateVariants) command;
-            System.out.println("c.opencgaPassword = " + c.opencgaPassword);
             MongoCredentials cellbaseCredentials = new MongoCredentials(c.cellbaseHost, Integer.parseInt(c.cellbasePort),
                     c.cellbaseDatabase, c.cellbaseUser, c.cellbasePassword);
             MongoCredentials opencgaCredentials = new MongoCredentials(c.opencgaHost, Integer.parseInt(c.opencgaPort),
                     c.opencgaDatabase, c.opencgaUser, c.opencgaPassword);
 
             VariantAnnotationManager variantAnnotationManager = new VariantAnnotationManager(cellbaseCredentials, opencgaCredentials);
-            variantAnnotationManager.annotate(c.cellbaseSpecies, c.cellbaseAssemly, null);
+            QueryOptions options = new QueryOptions();
+            options.put(VariantAnnotationPipeline.BATCH_SIZE, c.batchSize);
+            options.put(VariantAnnotationPipeline.NUM_THREADS, c.threads);
+            options.put(VariantAnnotationPipeline.MAX_RETRIES, c.maxRetries);
+            options.put(VariantAnnotationManager.ANNOTATION_CACHE, c.annotationCache);
+            options.put(VariantAnnotationManager.ANNOTATION_CACHE_MEMORY_ENTRIES, c.annotationCacheMemory);
+            variantAnnotationManager.annotate(c.cellbaseSpecies, c.cellbaseAssemly, options);
 
         }
     }
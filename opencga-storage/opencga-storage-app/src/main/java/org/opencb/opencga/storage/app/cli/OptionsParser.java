@@ -366,9 +366,12 @@ public class OptionsParser {
         @Parameter(names = {"-o", "--output"}, description = "Output file. Default: stdout", required = false, arity = 1)
         String output;
 
-        @Parameter(names = {"--output-format"}, description = "Output format: vcf(default), vcf.gz, json, json.gz", required = false, arity = 1)
+        @Parameter(names = {"--output-format"}, description = "Output format: vcf(default), vcf.gz, json, json.gz, tsv, tsv.gz. Alignments: json(default), json.gz, tsv, tsv.gz", required = false, arity = 1)
         String outputFormat = "vcf";
 
+        @Parameter(names = {"--export"}, description = "Stream all the results to the output instead of printing the query results. Compressed if the output file ends with .gz", required = false)
+        boolean export;
+
     }
 
     @Parameters(commandNames = {"fetch-variants", "search-variants"}, commandDescription = "Search over indexed variants")
@@ -402,6 +405,9 @@ public class OptionsParser {
         @Parameter(names = {"--annot-filter"}, description = " [CSV]", required = false)
         List<String> annot = new LinkedList<>();
 
+        @Parameter(names = {"--samples"}, description = "Samples to export. Default: all [CSV]", required = false)
+        String samples;
+
 
     }
 
@@ -429,6 +435,9 @@ public class OptionsParser {
         @Parameter(names = {"--process-differences"}, description = " ", required = false)
         boolean processDifferences;
 
+        @Parameter(names = {"--window-size"}, description = "Positions read per query when exporting", required = false, arity = 1)
+        int windowSize = 100000;
+
         @Parameter(names = {"-S","--stats-filter"}, description = " [CSV]", required = false)
         List<String> stats = new LinkedList<>();
 
@@ -475,6 +484,21 @@ public class OptionsParser {
         @Parameter(names = {"--opencga-password"}, description = "File unique ID.", required = true, arity = 1)
         String opencgaPassword;
 
+        @Parameter(names = {"--batch-size"}, description = "Variants annotated with each CellBase query", required = false, arity = 1)
+        int batchSize = 200;
+
+        @Parameter(names = {"--threads"}, description = "CellBase queries running at the same time", required = false, arity = 1)
+        int threads = 4;
+
+        @Parameter(names = {"--max-retries"}, description = "Retries of a failed batch before skipping it", required = false, arity = 1)
+        int maxRetries = 3;
+
+        @Parameter(names = {"--annotation-cache"}, description = "SQLite file with the annotations of previous runs. Created if it does not exist", required = false, arity = 1)
+        String annotationCache;
+
+        @Parameter(names = {"--annotation-cache-memory"}, description = "Cached annotations kept in memory", required = false, arity = 1)
+        int annotationCacheMemory = 100000;
+
     }
 
 
@@ -1,41 +1,40 @@
 package org.opencb.opencga.storage.app.cli;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.ObjectWriter;
-import com.mongodb.BasicDBObject;
-import com.mongodb.DBCursor;
-import com.mongodb.DBObject;
-import org.opencb.biodata.models.variation.GenomicVariant;
 import org.opencb.cellbase.core.common.core.CellbaseConfiguration;
 import org.opencb.cellbase.core.lib.DBAdaptorFactory;
 import org.opencb.cellbase.core.lib.api.variation.VariantAnnotationDBAdaptor;
-import org.opencb.cellbase.core.lib.dbquery.QueryResult;
 import org.opencb.cellbase.lib.mongodb.db.MongoDBAdaptorFactory;
 import org.opencb.datastore.core.QueryOptions;
-import org.opencb.datastore.mongodb.MongoDBCollection;
-import org.opencb.datastore.mongodb.MongoDBConfiguration;
-import org.opencb.datastore.mongodb.MongoDataStore;
-import org.opencb.datastore.mongodb.MongoDataStoreManager;
+import org.opencb.opencga.storage.core.variant.adaptors.VariantDBIterator;
+import org.opencb.opencga.storage.core.variant.annotation.*;
 import org.opencb.opencga.storage.mongodb.utils.MongoCredentials;
+import org.opencb.opencga.storage.mongodb.variant.DBObjectToVariantConverter;
+import org.opencb.opencga.storage.mongodb.variant.VariantMongoDBAdaptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
 
 /**
  * Created by imedina on 19/12/14.
  */
 public class VariantAnnotationManager {
 
+    /** SQLite file of the {@link VariantAnnotationCache}, shared between studies. No cache if missing */
+    public static final String ANNOTATION_CACHE = "annotationCache";
+    /** Annotations of the cache kept in memory. Default: 100000 */
+    public static final String ANNOTATION_CACHE_MEMORY_ENTRIES = "annotationCacheMemoryEntries";
+
     private MongoCredentials cellbaseCredentials;
     private MongoCredentials opencgaStorageEngineCredentials;
 
-    private ObjectMapper mapper;
-    private ObjectWriter writer;
+    protected static Logger logger = LoggerFactory.getLogger(VariantAnnotationManager.class);
 
     public VariantAnnotationManager(MongoCredentials cellbaseCredentials, MongoCredentials opencgaStorageEngineCredentials) {
         this.cellbaseCredentials = cellbaseCredentials;
         this.opencgaStorageEngineCredentials = opencgaStorageEngineCredentials;
-
-        mapper = new ObjectMapper();
-        writer = mapper.writer();
     }
 
 //      ./opencga-storage.sh annotate-variants --opencga-database eva_agambiae_agamp4  --opencga-password B10p@ss
@@ -44,7 +43,14 @@ public class VariantAnnotationManager {
 //      --cellbase-port 27017    --cellbase-password B10p@ss    --cellbase-database cellbase_agambiae_agamp4_v3
 
 
-    public void annotate(String cellbaseSpecies, String cellbaseAssembly, QueryOptions options) {
+    /**
+     * Annotates all the variants of the database with their consequence types from CellBase.
+     *
+     * @param options   Batch size, threads and retries. See {@link VariantAnnotationPipeline}.
+     *                  And the annotation cache, see {@link #ANNOTATION_CACHE}
+     * @return          Number of annotated variants
+     */
+    public long annotate(String cellbaseSpecies, String cellbaseAssembly, QueryOptions options) throws IOException, InterruptedException {
 
         /**
          * Connecting to CellBase database
@@ -55,47 +61,48 @@ public class VariantAnnotationManager {
                 cellbaseCredentials.getUsername(), String.copyValueOf(cellbaseCredentials.getPassword()), 10, 10);
         cellbaseConfiguration.addSpeciesAlias(cellbaseSpecies, cellbaseSpecies);
 
-        System.out.println(cellbaseSpecies + "-" + cellbaseAssembly);
+        logger.info("Annotating with CellBase {} {}", cellbaseSpecies, cellbaseAssembly);
         DBAdaptorFactory dbAdaptorFactory = new MongoDBAdaptorFactory(cellbaseConfiguration);
         VariantAnnotationDBAdaptor variantAnnotationDBAdaptor = dbAdaptorFactory.getGenomicVariantAnnotationDBAdaptor(cellbaseSpecies, cellbaseAssembly);
+        VariantAnnotator annotator = new CellBaseVariantAnnotator(variantAnnotationDBAdaptor);
+
+        /**
+         * Annotations of previous runs. The CellBase database name includes its version
+         */
+        VariantAnnotationCache cache = null;
+        if (options != null && options.getString(ANNOTATION_CACHE) != null && !options.getString(ANNOTATION_CACHE).isEmpty()) {
+            String version = "cellbase/" + cellbaseCredentials.getMongoDbName() + "/" + cellbaseSpecies + "/" + cellbaseAssembly;
+            cache = new VariantAnnotationCache(Paths.get(options.getString(ANNOTATION_CACHE)), version,
+                    options.getInt(ANNOTATION_CACHE_MEMORY_ENTRIES, 100000));
+            annotator = new CachedVariantAnnotator(annotator, cache);
+        }
 
         /**
          * Connecting to OpenCGA Variant database
          */
-        MongoDataStoreManager openCGADataStoreManager = new MongoDataStoreManager(opencgaStorageEngineCredentials.getMongoHost(),
-                opencgaStorageEngineCredentials.getMongoPort());
-        MongoDBConfiguration mongoDBConfiguration = MongoDBConfiguration.builder()
-                .add("username", opencgaStorageEngineCredentials.getUsername())
-                .add("password", String.copyValueOf(opencgaStorageEngineCredentials.getPassword()))
-                .build();
-        MongoDataStore mongoDataStore = openCGADataStoreManager.get(opencgaStorageEngineCredentials.getMongoDbName(), mongoDBConfiguration);
-        MongoDBCollection variantDBCollection = mongoDataStore.getCollection("variants_0_9");
+        VariantMongoDBAdaptor variantDBAdaptor = new VariantMongoDBAdaptor(opencgaStorageEngineCredentials);
 
         /**
          * We are going to start reading variants from OpenCGA
          * and calculate the annotations using CellBase.
          */
-        DBObject query = new BasicDBObject();
-        QueryOptions queryOptions = new QueryOptions("limit", 1000);
-        DBCursor cursor = variantDBCollection.nativeQuery().find(query, queryOptions);
-        while (cursor.hasNext()) {
-            DBObject dbObject = cursor.next();
-//            System.out.println("cursor.toString() = " + cursor.next().toString());
-            GenomicVariant genomicVariant = new GenomicVariant(dbObject.get("chr").toString(), Integer.parseInt(dbObject.get("start").toString()),
-                    dbObject.get("ref").toString(), dbObject.get("alt").toString());
-            System.out.println("genomicVariant = " + genomicVariant);
-            QueryResult queryResult = variantAnnotationDBAdaptor.getAllConsequenceTypesByVariant(genomicVariant, new org.opencb.cellbase.core.lib.dbquery.QueryOptions());
-//            List<ConsequenceType> consequenceTypeList = (List<ConsequenceType>) queryResult.getNumResults();
-            if(queryResult.getNumResults() > 0) {
-                System.out.println("queryResult = " + queryResult.getNumResults());
-                try {
-                    System.out.println("queryResult = " + writer.writeValueAsString(queryResult.getResult()));
-                } catch (JsonProcessingException e) {
-                    e.printStackTrace();
-                }
+        try {
+            // Only the coordinates are needed
+            VariantDBIterator iterator = variantDBAdaptor.iterator(
+                    new QueryOptions("exclude", Arrays.asList(DBObjectToVariantConverter.FILES_FIELD)));
+            VariantAnnotationPipeline pipeline = new VariantAnnotationPipeline(
+                    annotator, variantDBAdaptor.getAnnotationWriter(), options);
+            long numAnnotated = pipeline.run(iterator);
+            if (pipeline.getNumFailed() > 0) {
+                logger.warn("{} variants were not annotated", pipeline.getNumFailed());
+            }
+            return numAnnotated;
+        } finally {
+            variantDBAdaptor.close();
+            if (cache != null) {
+                cache.close();
             }
         }
-
     }
 
 }
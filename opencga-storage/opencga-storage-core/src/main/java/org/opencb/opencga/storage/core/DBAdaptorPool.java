@@ -0,0 +1,277 @@
+package org.opencb.opencga.storage.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Pool of DBAdaptors, grouped by storage engine and database name. An adaptor is used by one thread at a time:
+ * it is taken with {@link #borrow} and given back with {@link #release}, so adaptors with state and their
+ * database connections are reused between requests instead of being created for each one.
+ *
+ * There are at most maxSize adaptors for each storage engine and database. If all of them are in use, borrow
+ * waits until one is released, up to borrowTimeout milliseconds. Adaptors not used for idleTimeout milliseconds
+ * are closed.
+ */
+public abstract class DBAdaptorPool<T> {
+
+    /** Max number of adaptors for each storage engine and database. Default: 8 */
+    public static final String MAX_SIZE = "OPENCGA.STORAGE.DBADAPTOR.POOL.MAX_SIZE";
+    /** Seconds before closing an unused adaptor. Default: 300 */
+    public static final String IDLE_TIMEOUT = "OPENCGA.STORAGE.DBADAPTOR.POOL.IDLE_TIMEOUT";
+    /** Seconds waiting for an adaptor if all of them are in use. Default: 30 */
+    public static final String BORROW_TIMEOUT = "OPENCGA.STORAGE.DBADAPTOR.POOL.BORROW_TIMEOUT";
+
+    protected static Logger logger = LoggerFactory.getLogger(DBAdaptorPool.class);
+
+    private final int maxSize;
+    private final long idleTimeout;
+    private final long borrowTimeout;
+    private final ConcurrentHashMap<String, Pool> pools = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService evictionService;
+    private volatile boolean closed = false;
+
+    public DBAdaptorPool(Properties properties) {
+        this(Integer.parseInt(properties.getProperty(MAX_SIZE, "8")),
+                Long.parseLong(properties.getProperty(IDLE_TIMEOUT, "300")) * 1000,
+                Long.parseLong(properties.getProperty(BORROW_TIMEOUT, "30")) * 1000);
+    }
+
+    public DBAdaptorPool(int maxSize, long idleTimeout) {
+        this(maxSize, idleTimeout, 30000);
+    }
+
+    /**
+     * @param maxSize       Max number of adaptors for each storage engine and database
+     * @param idleTimeout   Milliseconds before closing an unused adaptor. 0 to never close them
+     * @param borrowTimeout Milliseconds waiting for an adaptor if all of them are in use
+     */
+    public DBAdaptorPool(int maxSize, long idleTimeout, long borrowTimeout) {
+        this.maxSize = Math.max(maxSize, 1);
+        this.idleTimeout = idleTimeout;
+        this.borrowTimeout = Math.max(borrowTimeout, 0);
+        if (idleTimeout > 0) {
+            evictionService = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "dbadaptor_pool_eviction");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            long period = Math.max(idleTimeout / 2, 1000);
+            evictionService.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        evictIdle();
+                    } catch (RuntimeException e) {
+                        logger.error("Error closing idle DBAdaptors", e);
+                    }
+                }
+            }, period, period, TimeUnit.MILLISECONDS);
+        } else {
+            evictionService = null;
+        }
+    }
+
+    /**
+     * Creates a new adaptor.
+     *
+     * @return  The new adaptor, or null if it could not be created
+     */
+    protected abstract T create(String storageEngineName, String dbName)
+            throws ClassNotFoundException, IllegalAccessException, InstantiationException;
+
+    /**
+     * Closes an adaptor removed from the pool.
+     */
+    protected abstract void close(T dbAdaptor);
+
+    /**
+     * Takes an adaptor from the pool, or creates a new one. Must be given back with {@link #release}.
+     * Waits if there are already maxSize adaptors in use for this storage engine and database.
+     *
+     * @return  An adaptor for exclusive use, or null if it could not be created
+     * @throws TimeoutException if no adaptor was released in borrowTimeout milliseconds
+     */
+    public T borrow(String storageEngineName, String dbName)
+            throws InterruptedException, TimeoutException, ClassNotFoundException, IllegalAccessException, InstantiationException {
+        Pool pool = getPool(storageEngineName, dbName);
+        if (!pool.permits.tryAcquire(borrowTimeout, TimeUnit.MILLISECONDS)) {
+            throw new TimeoutException("All the " + maxSize + " DBAdaptors for " + getKey(storageEngineName, dbName)
+                    + " are in use. Timeout after " + borrowTimeout + "ms");
+        }
+        T dbAdaptor = null;
+        try {
+            synchronized (pool) {
+                IdleAdaptor<T> idleAdaptor = pool.idle.pollFirst();   // Most recently used first
+                if (idleAdaptor != null) {
+                    dbAdaptor = idleAdaptor.dbAdaptor;
+                }
+            }
+            if (dbAdaptor == null) {
+                logger.debug("Creating DBAdaptor for {}", getKey(storageEngineName, dbName));
+                dbAdaptor = create(storageEngineName, dbName);
+            }
+        } finally {
+            if (dbAdaptor == null) {
+                pool.permits.release();
+            }
+        }
+        return dbAdaptor;
+    }
+
+    /**
+     * Gives back an adaptor taken with {@link #borrow}. It must not be used after this.
+     */
+    public void release(String storageEngineName, String dbName, T dbAdaptor) {
+        if (dbAdaptor == null) {
+            return;
+        }
+        if (closed) {
+            invalidate(storageEngineName, dbName, dbAdaptor);
+            return;
+        }
+        Pool pool = getPool(storageEngineName, dbName);
+        synchronized (pool) {
+            pool.idle.addFirst(new IdleAdaptor<>(dbAdaptor, System.currentTimeMillis()));
+        }
+        pool.permits.release();
+    }
+
+    /**
+     * Closes an adaptor taken with {@link #borrow} instead of giving it back. Use it if the adaptor is
+     * no longer valid, for example after a connection error.
+     */
+    public void invalidate(String storageEngineName, String dbName, T dbAdaptor) {
+        if (dbAdaptor == null) {
+            return;
+        }
+        Pool pool = getPool(storageEngineName, dbName);
+        try {
+            close(dbAdaptor);
+        } catch (RuntimeException e) {
+            logger.error("Error closing DBAdaptor", e);
+        } finally {
+            pool.permits.release();
+        }
+    }
+
+    /**
+     * Closes the adaptors not used for idleTimeout milliseconds. Called periodically if idleTimeout is not 0.
+     *
+     * @return  Number of closed adaptors
+     */
+    public int evictIdle() {
+        if (idleTimeout <= 0) {
+            return 0;
+        }
+        long limit = System.currentTimeMillis() - idleTimeout;
+        List<T> evicted = new ArrayList<>();
+        for (Pool pool : pools.values()) {
+            synchronized (pool) {
+                // The least recently used adaptors are at the end
+                while (!pool.idle.isEmpty() && pool.idle.peekLast().lastUsed <= limit) {
+                    evicted.add(pool.idle.pollLast().dbAdaptor);
+                }
+            }
+        }
+        for (T dbAdaptor : evicted) {
+            try {
+                close(dbAdaptor);
+            } catch (RuntimeException e) {
+                logger.error("Error closing DBAdaptor", e);
+            }
+        }
+        if (!evicted.isEmpty()) {
+            logger.debug("Closed {} idle DBAdaptors", evicted.size());
+        }
+        return evicted.size();
+    }
+
+    /**
+     * @return  Number of unused adaptors kept open
+     */
+    public int getNumIdle() {
+        int numIdle = 0;
+        for (Pool pool : pools.values()) {
+            synchronized (pool) {
+                numIdle += pool.idle.size();
+            }
+        }
+        return numIdle;
+    }
+
+    /**
+     * Stops the eviction and closes all the unused adaptors. Adaptors in use are closed when released.
+     */
+    public void close() {
+        closed = true;
+        if (evictionService != null) {
+            evictionService.shutdownNow();
+        }
+        List<T> idle = new ArrayList<>();
+        for (Pool pool : pools.values()) {
+            synchronized (pool) {
+                for (IdleAdaptor<T> idleAdaptor : pool.idle) {
+                    idle.add(idleAdaptor.dbAdaptor);
+                }
+                pool.idle.clear();
+            }
+        }
+        for (T dbAdaptor : idle) {
+            try {
+                close(dbAdaptor);
+            } catch (RuntimeException e) {
+                logger.error("Error closing DBAdaptor", e);
+            }
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public long getBorrowTimeout() {
+        return borrowTimeout;
+    }
+
+    private Pool getPool(String storageEngineName, String dbName) {
+        String key = getKey(storageEngineName, dbName);
+        Pool pool = pools.get(key);
+        if (pool == null) {
+            pool = new Pool();
+            Pool previous = pools.putIfAbsent(key, pool);
+            if (previous != null) {
+                pool = previous;
+            }
+        }
+        return pool;
+    }
+
+    private static String getKey(String storageEngineName, String dbName) {
+        return (storageEngineName == null ? "" : storageEngineName.toUpperCase()) + "/" + (dbName == null ? "" : dbName);
+    }
+
+    private class Pool {
+        private final Semaphore permits = new Semaphore(maxSize, true);
+        private final Deque<IdleAdaptor<T>> idle = new ArrayDeque<>();
+    }
+
+    private static class IdleAdaptor<T> {
+        private final T dbAdaptor;
+        private final long lastUsed;
+
+        private IdleAdaptor(T dbAdaptor, long lastUsed) {
+            this.dbAdaptor = dbAdaptor;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
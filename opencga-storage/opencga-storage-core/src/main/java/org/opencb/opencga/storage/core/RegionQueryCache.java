@@ -0,0 +1,285 @@
+package org.opencb.opencga.storage.core;
+
+import org.opencb.biodata.models.alignment.Alignment;
+import org.opencb.biodata.models.alignment.AlignmentRegion;
+import org.opencb.biodata.models.feature.Region;
+import org.opencb.biodata.models.variant.Variant;
+import org.opencb.biodata.models.variant.VariantSourceEntry;
+import org.opencb.datastore.core.QueryOptions;
+import org.opencb.datastore.core.QueryResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LRU cache of region query results, bounded by the size of the cached results in bytes.
+ *
+ * The entries are grouped (e.g. by study). Each group has a generation, a string that changes when the data of the
+ * group changes, like the list of indexed files of the study. Reading a group with a different generation
+ * drops all its entries, so a (re)indexed file never returns stale results.
+ *
+ * The size of a result is estimated from its contents, see {@link #sizeOf}. Serializing the result only to
+ * measure it would double the cost of each cache miss.
+ */
+public class RegionQueryCache {
+
+    /** Max size of the cached results, in megabytes. Default: 256. 0 to disable the cache */
+    public static final String MAX_SIZE = "OPENCGA.STORAGE.REGION_CACHE.MAX_SIZE";
+
+    protected static Logger logger = LoggerFactory.getLogger(RegionQueryCache.class);
+
+    /** Estimated sizes, in bytes, of the parts of a result with a fixed size */
+    static final long QUERY_RESULT_SIZE = 256;
+    static final long RESULT_SIZE = 1024;
+    static final long VARIANT_SIZE = 256;
+    static final long SOURCE_ENTRY_SIZE = 512;    // Includes the stats
+    static final long ALIGNMENT_SIZE = 256;
+    /** Quotes, separators and braces of each map entry */
+    static final long FIELD_SIZE = 8;
+
+    private final long maxBytes;
+    private long bytes = 0;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, String> generations = new HashMap<>();
+    private final Map<String, Set<String>> groupKeys = new HashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public RegionQueryCache(Properties properties) {
+        this(Long.parseLong(properties.getProperty(MAX_SIZE, "256")) * 1024 * 1024);
+    }
+
+    /**
+     * @param maxBytes  Max size of the cached results. 0 to disable the cache
+     */
+    public RegionQueryCache(long maxBytes) {
+        this.maxBytes = Math.max(maxBytes, 0);
+    }
+
+    /**
+     * Key independent of the order of the regions and the options.
+     *
+     * @param query     Query name, like "variantsByRegion"
+     */
+    public static String getKey(String query, List<Region> regions, QueryOptions options) {
+        StringBuilder sb = new StringBuilder(query);
+        List<String> regionStrings = new ArrayList<>(regions.size());
+        for (Region region : regions) {
+            regionStrings.add(region.getChromosome() + ":" + region.getStart() + "-" + region.getEnd());
+        }
+        Collections.sort(regionStrings);
+        sb.append(regionStrings);
+        if (options != null) {
+            sb.append(new TreeMap<>(options));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns the cached result, or runs the query and caches its result.
+     *
+     * @param group         Group of the entry, like the study id
+     * @param generation    Current generation of the group
+     * @param key           See {@link #getKey}
+     * @param query         Runs the query if the result is not cached
+     */
+    public QueryResult get(String group, String generation, String key, Callable<QueryResult> query) throws Exception {
+        QueryResult result = get(group, generation, key);
+        if (result == null) {
+            result = query.call();
+            put(group, generation, key, result);
+        }
+        return result;
+    }
+
+    /**
+     * @return  The cached result, or null
+     */
+    public synchronized QueryResult get(String group, String generation, String key) {
+        checkGeneration(group, generation);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.result;
+    }
+
+    public void put(String group, String generation, String key, QueryResult result) {
+        if (result == null || maxBytes == 0) {
+            return;
+        }
+        // Out of the lock
+        long size = sizeOf(result);
+        if (size > maxBytes) {
+            return;
+        }
+        synchronized (this) {
+            checkGeneration(group, generation);
+            Entry previous = entries.put(key, new Entry(group, result, size));
+            if (previous != null) {
+                bytes -= previous.size;
+            }
+            bytes += size;
+            Set<String> keys = groupKeys.get(group);
+            if (keys == null) {
+                keys = new HashSet<>();
+                groupKeys.put(group, keys);
+            }
+            keys.add(key);
+
+            // Evict the least recently used entries
+            Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+            while (bytes > maxBytes && iterator.hasNext()) {
+                Map.Entry<String, Entry> eldest = iterator.next();
+                iterator.remove();
+                bytes -= eldest.getValue().size;
+                Set<String> eldestGroupKeys = groupKeys.get(eldest.getValue().group);
+                if (eldestGroupKeys != null) {
+                    eldestGroupKeys.remove(eldest.getKey());
+                }
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Drops all the entries of the group.
+     */
+    public synchronized void invalidate(String group) {
+        Set<String> keys = groupKeys.remove(group);
+        if (keys != null) {
+            for (String key : keys) {
+                Entry entry = entries.remove(key);
+                if (entry != null) {
+                    bytes -= entry.size;
+                }
+            }
+            logger.debug("Invalidated {} cached results of {}", keys.size(), group);
+        }
+        generations.remove(group);
+    }
+
+    private void checkGeneration(String group, String generation) {
+        String currentGeneration = generations.get(group);
+        if (currentGeneration == null || !currentGeneration.equals(generation)) {
+            if (currentGeneration != null) {
+                invalidate(group);
+            }
+            generations.put(group, generation);
+        }
+    }
+
+    /**
+     * Estimated size of the result, in bytes, close to the length of its JSON serialization. Computed from the
+     * fields that make the results grow: the samples data and attributes of the variants, and the length, differences
+     * and attributes of the alignments. Other results count as {@link #RESULT_SIZE}.
+     */
+    protected long sizeOf(QueryResult result) {
+        long size = QUERY_RESULT_SIZE;
+        if (result.getResult() != null) {
+            for (Object object : result.getResult()) {
+                size += sizeOfResult(object);
+            }
+        }
+        return size;
+    }
+
+    static long sizeOfResult(Object object) {
+        if (object instanceof Variant) {
+            return sizeOf((Variant) object);
+        } else if (object instanceof Alignment) {
+            return sizeOf((Alignment) object);
+        } else if (object instanceof AlignmentRegion) {
+            long size = RESULT_SIZE;
+            if (((AlignmentRegion) object).getAlignments() != null) {
+                for (Alignment alignment : ((AlignmentRegion) object).getAlignments()) {
+                    size += sizeOf(alignment);
+                }
+            }
+            return size;
+        } else {
+            return RESULT_SIZE;
+        }
+    }
+
+    private static long sizeOf(Variant variant) {
+        long size = VARIANT_SIZE + length(variant.getReference()) + length(variant.getAlternate());
+        if (variant.getSourceEntries() != null) {
+            for (VariantSourceEntry sourceEntry : variant.getSourceEntries().values()) {
+                size += SOURCE_ENTRY_SIZE + sizeOf(sourceEntry.getAttributes());
+                if (sourceEntry.getSamplesData() != null) {
+                    for (Map.Entry<String, Map<String, String>> sampleData : sourceEntry.getSamplesData().entrySet()) {
+                        size += FIELD_SIZE + length(sampleData.getKey()) + sizeOf(sampleData.getValue());
+                    }
+                }
+            }
+        }
+        return size;
+    }
+
+    private static long sizeOf(Alignment alignment) {
+        // Read sequence and qualities
+        long size = ALIGNMENT_SIZE + 2L * alignment.getLength() + sizeOf(alignment.getAttributes());
+        if (alignment.getDifferences() != null) {
+            size += alignment.getDifferences().size() * FIELD_SIZE * 4;
+        }
+        return size;
+    }
+
+    private static long sizeOf(Map<String, ?> map) {
+        long size = 0;
+        if (map != null) {
+            for (Map.Entry<String, ?> entry : map.entrySet()) {
+                size += FIELD_SIZE + length(entry.getKey()) + length(String.valueOf(entry.getValue()));
+            }
+        }
+        return size;
+    }
+
+    private static int length(String string) {
+        return string == null ? 0 : string.length();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public synchronized int getNumEntries() {
+        return entries.size();
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    private static class Entry {
+        private final String group;
+        private final QueryResult result;
+        private final long size;
+
+        private Entry(String group, QueryResult result, long size) {
+            this.group = group;
+            this.result = result;
+            this.size = size;
+        }
+    }
+}
@@ -1,24 +1,34 @@
 package org.opencb.opencga.storage.core;
 
 
+import org.opencb.datastore.core.ObjectMap;
 import org.opencb.opencga.lib.common.Config;
 import org.opencb.opencga.storage.core.alignment.AlignmentStorageManager;
+import org.opencb.opencga.storage.core.alignment.adaptors.AlignmentDBAdaptor;
 import org.opencb.opencga.storage.core.variant.VariantStorageManager;
+import org.opencb.opencga.storage.core.variant.adaptors.VariantDBAdaptor;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.net.URI;
 import java.nio.file.Paths;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Creates StorageManagers by reflexion.
  * The StorageManager's className is read from <opencga-home>/conf/storage.properties
+ *
+ * Thread safe. There is only one StorageManager for each storage engine and bioformat.
  */
 public class StorageManagerFactory {
 
-    private static Map<String, AlignmentStorageManager> alignmentStorageManagerMap = new HashMap<>();
-    private static Map<String, VariantStorageManager> variantStorageManagerMap = new HashMap<>();
+    private static final Map<String, AlignmentStorageManager> alignmentStorageManagerMap = new ConcurrentHashMap<>();
+    private static final Map<String, VariantStorageManager> variantStorageManagerMap = new ConcurrentHashMap<>();
+    private static DBAdaptorPool<AlignmentDBAdaptor> alignmentDBAdaptorPool;
+    private static DBAdaptorPool<VariantDBAdaptor> variantDBAdaptorPool;
+    private static RegionQueryCache regionQueryCache;
 
     public static AlignmentStorageManager getAlignmentStorageManager()
             throws IllegalAccessException, InstantiationException, ClassNotFoundException {
@@ -52,20 +62,89 @@ public class StorageManagerFactory {
         }
 
         // Check if this already has been created
-        if(!storageManagerMap.containsKey(storageEngineName)) {
-            String key = "OPENCGA.STORAGE." + storageEngineName;
-            Properties storageProperties = Config.getStorageProperties();
-            String storageManagerClassName = storageProperties.getProperty(key + "." + bioformat + ".MANAGER");
-            String propertiesPath = storageProperties.getProperty(key + ".CONF");
-
-            // Specific VariantStorageManager is created by reflection using the Class name from the properties file.
-            // The conf file is passed to the storage engine
-            T storageManager = (T) Class.forName(storageManagerClassName).newInstance();
-            storageManager.addConfigUri(URI.create(Config.getGcsaHome() + "/").resolve("conf/").resolve(propertiesPath));
-
-            storageManagerMap.put(storageEngineName, storageManager);
+        T storageManager = storageManagerMap.get(storageEngineName);
+        if (storageManager == null) {
+            synchronized (storageManagerMap) {
+                storageManager = storageManagerMap.get(storageEngineName);
+                if (storageManager == null) {
+                    String key = "OPENCGA.STORAGE." + storageEngineName;
+                    Properties storageProperties = Config.getStorageProperties();
+                    String storageManagerClassName = storageProperties.getProperty(key + "." + bioformat + ".MANAGER");
+                    String propertiesPath = storageProperties.getProperty(key + ".CONF");
+
+                    // Specific VariantStorageManager is created by reflection using the Class name from the properties file.
+                    // The conf file is passed to the storage engine
+                    storageManager = (T) Class.forName(storageManagerClassName).newInstance();
+                    storageManager.addConfigUri(URI.create(Config.getGcsaHome() + "/").resolve("conf/").resolve(propertiesPath));
+
+                    storageManagerMap.put(storageEngineName, storageManager);
+                }
+            }
+        }
+        return storageManager;
+    }
+
+    /**
+     * Shared pool of AlignmentDBAdaptors. Configured with {@link DBAdaptorPool#MAX_SIZE} and
+     * {@link DBAdaptorPool#IDLE_TIMEOUT} from storage.properties.
+     */
+    public static synchronized DBAdaptorPool<AlignmentDBAdaptor> getAlignmentDBAdaptorPool() {
+        if (alignmentDBAdaptorPool == null) {
+            alignmentDBAdaptorPool = new DBAdaptorPool<AlignmentDBAdaptor>(Config.getStorageProperties()) {
+                @Override
+                protected AlignmentDBAdaptor create(String storageEngineName, String dbName)
+                        throws ClassNotFoundException, IllegalAccessException, InstantiationException {
+                    AlignmentStorageManager storageManager = getAlignmentStorageManager(storageEngineName);
+                    return storageManager == null ? null : storageManager.getDBAdaptor(dbName, new ObjectMap());
+                }
+
+                @Override
+                protected void close(AlignmentDBAdaptor dbAdaptor) {
+                    // Only some AlignmentDBAdaptors hold connections, like the HBase one
+                    if (dbAdaptor instanceof Closeable) {
+                        try {
+                            ((Closeable) dbAdaptor).close();
+                        } catch (IOException e) {
+                            logger.error("Error closing AlignmentDBAdaptor", e);
+                        }
+                    }
+                }
+            };
+        }
+        return alignmentDBAdaptorPool;
+    }
+
+    /**
+     * Shared pool of VariantDBAdaptors. Configured with {@link DBAdaptorPool#MAX_SIZE} and
+     * {@link DBAdaptorPool#IDLE_TIMEOUT} from storage.properties.
+     */
+    public static synchronized DBAdaptorPool<VariantDBAdaptor> getVariantDBAdaptorPool() {
+        if (variantDBAdaptorPool == null) {
+            variantDBAdaptorPool = new DBAdaptorPool<VariantDBAdaptor>(Config.getStorageProperties()) {
+                @Override
+                protected VariantDBAdaptor create(String storageEngineName, String dbName)
+                        throws ClassNotFoundException, IllegalAccessException, InstantiationException {
+                    VariantStorageManager storageManager = getVariantStorageManager(storageEngineName);
+                    return storageManager == null ? null : storageManager.getDBAdaptor(dbName, new ObjectMap());
+                }
+
+                @Override
+                protected void close(VariantDBAdaptor dbAdaptor) {
+                    dbAdaptor.close();
+                }
+            };
+        }
+        return variantDBAdaptorPool;
+    }
+
+    /**
+     * Shared cache of region query results. Configured with {@link RegionQueryCache#MAX_SIZE} from storage.properties.
+     */
+    public static synchronized RegionQueryCache getRegionQueryCache() {
+        if (regionQueryCache == null) {
+            regionQueryCache = new RegionQueryCache(Config.getStorageProperties());
         }
-        return storageManagerMap.get(storageEngineName);
+        return regionQueryCache;
     }
 
     public static String getDefaultStorageManagerName() {
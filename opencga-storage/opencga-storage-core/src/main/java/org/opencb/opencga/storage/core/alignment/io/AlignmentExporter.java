@@ -0,0 +1,135 @@
+package org.opencb.opencga.storage.core.alignment.io;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.opencb.biodata.models.alignment.Alignment;
+import org.opencb.biodata.models.alignment.AlignmentRegion;
+import org.opencb.biodata.models.feature.Region;
+import org.opencb.datastore.core.QueryOptions;
+import org.opencb.datastore.core.QueryResult;
+import org.opencb.opencga.storage.core.alignment.adaptors.AlignmentDBAdaptor;
+import org.opencb.opencga.storage.core.alignment.json.AlignmentDifferenceJsonMixin;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Writes the alignments of some regions as JSON (one alignment per line) or TSV.
+ *
+ * The {@link AlignmentDBAdaptor} has no iterator, so each region is read in windows of {@link #WINDOW_SIZE}
+ * positions, and only one window is kept in memory. The alignments that overlap two windows are only written
+ * with the first one.
+ */
+public class AlignmentExporter implements Closeable {
+
+    public enum Format {JSON, TSV}
+
+    /** Positions read per query. Default: 100000 */
+    public static final String WINDOW_SIZE = "windowSize";
+    private static final int PROGRESS_INTERVAL = 1000000;
+
+    protected static Logger logger = LoggerFactory.getLogger(AlignmentExporter.class);
+
+    private final Writer writer;
+    private final Format format;
+    private final ObjectMapper jsonObjectMapper;
+
+    private long numAlignments;
+
+    /**
+     * @param outputStream  Output. Closed with this exporter
+     */
+    public AlignmentExporter(OutputStream outputStream, Format format) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+        this.format = format;
+        this.jsonObjectMapper = new ObjectMapper();
+        jsonObjectMapper.addMixInAnnotations(Alignment.AlignmentDifference.class, AlignmentDifferenceJsonMixin.class);
+    }
+
+    /**
+     * @param format    json or tsv. Optionally followed by ".gz"
+     */
+    public static Format getFormat(String format) {
+        String name = format == null ? "json" : format.toLowerCase();
+        if (name.endsWith(".gz")) {
+            name = name.substring(0, name.length() - ".gz".length());
+        }
+        try {
+            return Format.valueOf(name.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown output format " + format + ". Expected json or tsv");
+        }
+    }
+
+    /**
+     * @param options   Query options of {@link AlignmentDBAdaptor#getAllAlignmentsByRegion}, and {@link #WINDOW_SIZE}
+     * @return          Number of alignments written
+     */
+    public long export(AlignmentDBAdaptor dbAdaptor, List<Region> regions, QueryOptions options) throws IOException {
+        int windowSize = options.getInt(WINDOW_SIZE, 100000);
+        long start = System.currentTimeMillis();
+        long written = numAlignments;
+        if (format == Format.TSV && numAlignments == 0) {
+            writer.write("#CHROM\tSTART\tEND\tNAME\tFLAGS\tMAPQ\tLENGTH\n");
+        }
+
+        for (Region region : regions) {
+            for (int windowStart = region.getStart(); windowStart <= region.getEnd(); windowStart += windowSize) {
+                Region window = new Region(region.getChromosome(), windowStart,
+                        Math.min(windowStart + windowSize - 1, region.getEnd()));
+                QueryResult queryResult = dbAdaptor.getAllAlignmentsByRegion(Collections.singletonList(window), options);
+                if (queryResult.getErrorMsg() != null && !queryResult.getErrorMsg().isEmpty()) {
+                    throw new IOException("Unable to read the alignments of " + window + ": " + queryResult.getErrorMsg());
+                }
+                for (Object result : queryResult.getResult()) {
+                    if (result instanceof AlignmentRegion) {
+                        for (Alignment alignment : ((AlignmentRegion) result).getAlignments()) {
+                            write(alignment, window, windowStart == region.getStart());
+                        }
+                    } else if (result instanceof Alignment) {
+                        write((Alignment) result, window, windowStart == region.getStart());
+                    }
+                }
+            }
+        }
+        writer.flush();
+
+        written = numAlignments - written;
+        logger.info("Exported {} alignments in {}s, {} alignments/s", written, (System.currentTimeMillis() - start) / 1000.0,
+                written * 1000 / Math.max(1, System.currentTimeMillis() - start));
+        return written;
+    }
+
+    private void write(Alignment alignment, Region window, boolean firstWindow) throws IOException {
+        if (!firstWindow && alignment.getStart() < window.getStart()) {
+            return; // Already written with the previous window
+        }
+        switch (format) {
+            case JSON:
+                writer.write(jsonObjectMapper.writeValueAsString(alignment));
+                break;
+            case TSV:
+                writer.write(alignment.getChromosome() + "\t" + alignment.getStart() + "\t" + alignment.getEnd() + "\t"
+                        + alignment.getName() + "\t" + alignment.getFlags() + "\t" + alignment.getMappingQuality() + "\t"
+                        + alignment.getLength());
+                break;
+        }
+        writer.write('\n');
+        numAlignments++;
+        if (numAlignments % PROGRESS_INTERVAL == 0) {
+            logger.info("Exported {} alignments. Last position {}:{}", numAlignments, alignment.getChromosome(), alignment.getStart());
+        }
+    }
+
+    public long getNumAlignments() {
+        return numAlignments;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,52 @@
+package org.opencb.opencga.storage.core.variant.annotation;
+
+import org.opencb.biodata.models.variant.Variant;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the annotations from a {@link VariantAnnotationCache}, and only calls the annotator for the variants
+ * not found. The new annotations are added to the cache.
+ */
+public class CachedVariantAnnotator implements VariantAnnotator {
+
+    private final VariantAnnotator annotator;
+    private final VariantAnnotationCache cache;
+
+    public CachedVariantAnnotator(VariantAnnotator annotator, VariantAnnotationCache cache) {
+        this.annotator = annotator;
+        this.cache = cache;
+    }
+
+    @Override
+    public List<?> annotate(List<Variant> variants) throws IOException {
+        Map<String, Object> cached = cache.get(variants);
+        List<Variant> notCached = new ArrayList<>();
+        for (Variant variant : variants) {
+            if (!cached.containsKey(VariantAnnotationCache.getKey(variant))) {
+                notCached.add(variant);
+            }
+        }
+
+        if (!notCached.isEmpty()) {
+            List<?> annotations = annotator.annotate(notCached);
+            if (annotations == null || annotations.size() != notCached.size()) {
+                throw new IOException("Expected " + notCached.size() + " annotations, got "
+                        + (annotations == null ? null : annotations.size()));
+            }
+            cache.put(notCached, annotations);
+            for (int i = 0; i < notCached.size(); i++) {
+                cached.put(VariantAnnotationCache.getKey(notCached.get(i)), annotations.get(i));
+            }
+        }
+
+        List<Object> annotations = new ArrayList<>(variants.size());
+        for (Variant variant : variants) {
+            annotations.add(cached.get(VariantAnnotationCache.getKey(variant)));
+        }
+        return annotations;
+    }
+}
@@ -0,0 +1,46 @@
+package org.opencb.opencga.storage.core.variant.annotation;
+
+import org.opencb.biodata.models.variant.Variant;
+import org.opencb.biodata.models.variation.GenomicVariant;
+import org.opencb.cellbase.core.lib.api.variation.VariantAnnotationDBAdaptor;
+import org.opencb.cellbase.core.lib.dbquery.QueryOptions;
+import org.opencb.cellbase.core.lib.dbquery.QueryResult;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Annotates the variants with their consequence types from a CellBase database. Each batch is sent with one call
+ * to {@link VariantAnnotationDBAdaptor#getAllConsequenceTypesByVariantList}, which returns one result per variant,
+ * in the same order. How many database queries CellBase runs for the list depends on its adaptor. The batches of
+ * the {@link VariantAnnotationPipeline} are annotated concurrently.
+ */
+public class CellBaseVariantAnnotator implements VariantAnnotator {
+
+    private final VariantAnnotationDBAdaptor variantAnnotationDBAdaptor;
+
+    public CellBaseVariantAnnotator(VariantAnnotationDBAdaptor variantAnnotationDBAdaptor) {
+        this.variantAnnotationDBAdaptor = variantAnnotationDBAdaptor;
+    }
+
+    @Override
+    public List<?> annotate(List<Variant> variants) throws IOException {
+        List<GenomicVariant> genomicVariants = new ArrayList<>(variants.size());
+        for (Variant variant : variants) {
+            genomicVariants.add(new GenomicVariant(variant.getChromosome(), variant.getStart(),
+                    variant.getReference(), variant.getAlternate()));
+        }
+
+        List<QueryResult> queryResults = variantAnnotationDBAdaptor.getAllConsequenceTypesByVariantList(genomicVariants, new QueryOptions());
+        if (queryResults == null || queryResults.size() != variants.size()) {
+            throw new IOException("Unexpected response from CellBase: " + (queryResults == null ? 0 : queryResults.size())
+                    + " results for " + variants.size() + " variants");
+        }
+        List<Object> annotations = new ArrayList<>(variants.size());
+        for (QueryResult queryResult : queryResults) {
+            annotations.add(queryResult.getNumResults() > 0 ? queryResult.getResult() : null);
+        }
+        return annotations;
+    }
+}
@@ -0,0 +1,256 @@
+package org.opencb.opencga.storage.core.variant.annotation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.opencb.biodata.models.variant.Variant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Local cache of variant annotations, shared by all the studies annotated in the same host.
+ *
+ * The annotations are identified by "chromosome:start:reference:alternate" and the annotator version, so
+ * a new version of the annotator never reads annotations of the previous one. They are stored in a SQLite
+ * database as deflated JSON, and the most recently used ones are also kept in memory. Variants without
+ * annotation are cached too, as an empty value.
+ *
+ * The cached annotations are returned as read from JSON: maps, lists, strings and numbers.
+ */
+public class VariantAnnotationCache implements Closeable {
+
+    public static final String ANNOTATION_TABLE = "ANNOTATION";
+
+    /** SQLite limit of variables per statement is 999 */
+    private static final int MAX_QUERY_SIZE = 500;
+    private static final byte[] EMPTY = new byte[0];
+
+    protected static Logger logger = LoggerFactory.getLogger(VariantAnnotationCache.class);
+
+    private final String version;
+    private final Connection connection;
+    private final LinkedHashMap<String, byte[]> memory;
+    private final ObjectMapper jsonObjectMapper = new ObjectMapper();
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param dbPath            SQLite database. Created if it does not exist
+     * @param version           Annotator version. Only the annotations of this version are read and written
+     * @param memoryEntries     Annotations kept in memory
+     */
+    public VariantAnnotationCache(Path dbPath, String version, final int memoryEntries) throws IOException {
+        this.version = version;
+        this.memory = new LinkedHashMap<String, byte[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                return size() > memoryEntries;
+            }
+        };
+        try {
+            Class.forName("org.sqlite.JDBC");
+            connection = DriverManager.getConnection("jdbc:sqlite:" + dbPath.toAbsolutePath().toString());
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("CREATE TABLE IF NOT EXISTS " + ANNOTATION_TABLE
+                        + " (version TEXT NOT NULL, id TEXT NOT NULL, annotation BLOB NOT NULL, PRIMARY KEY (version, id))");
+            }
+            connection.setAutoCommit(false);
+        } catch (ClassNotFoundException | SQLException e) {
+            throw new IOException("Unable to open the annotation cache " + dbPath, e);
+        }
+        logger.debug("Opened annotation cache {} for version {}", dbPath, version);
+    }
+
+    public static String getKey(Variant variant) {
+        return variant.getChromosome() + ":" + variant.getStart() + ":" + variant.getReference() + ":" + variant.getAlternate();
+    }
+
+    /**
+     * @return  Cached annotations by {@link #getKey}. The variants without annotation are mapped to null.
+     *          The variants not found in the cache are not in the map
+     */
+    public Map<String, Object> get(List<Variant> variants) throws IOException {
+        Map<String, byte[]> found = new HashMap<>();
+        List<String> notInMemory = new ArrayList<>();
+        synchronized (memory) {
+            for (Variant variant : variants) {
+                String key = getKey(variant);
+                byte[] value = memory.get(key);
+                if (value != null) {
+                    found.put(key, value);
+                } else {
+                    notInMemory.add(key);
+                }
+            }
+        }
+        memoryHits.addAndGet(found.size());
+
+        if (!notInMemory.isEmpty()) {
+            Map<String, byte[]> fromDisk = read(notInMemory);
+            diskHits.addAndGet(fromDisk.size());
+            misses.addAndGet(notInMemory.size() - fromDisk.size());
+            synchronized (memory) {
+                memory.putAll(fromDisk);
+            }
+            found.putAll(fromDisk);
+        }
+
+        Map<String, Object> annotations = new HashMap<>(found.size());
+        for (Map.Entry<String, byte[]> entry : found.entrySet()) {
+            annotations.put(entry.getKey(), decode(entry.getValue()));
+        }
+        return annotations;
+    }
+
+    /**
+     * @param annotations   Annotation of each variant, in the same order. Null for the variants without annotation
+     */
+    public void put(List<Variant> variants, List<?> annotations) throws IOException {
+        Map<String, byte[]> values = new LinkedHashMap<>(variants.size());
+        for (int i = 0; i < variants.size(); i++) {
+            values.put(getKey(variants.get(i)), encode(annotations.get(i)));
+        }
+        synchronized (memory) {
+            memory.putAll(values);
+        }
+        synchronized (connection) {
+            try (PreparedStatement insert = connection.prepareStatement("INSERT OR REPLACE INTO " + ANNOTATION_TABLE
+                    + " (version, id, annotation) VALUES (?, ?, ?)")) {
+                for (Map.Entry<String, byte[]> entry : values.entrySet()) {
+                    insert.setString(1, version);
+                    insert.setString(2, entry.getKey());
+                    insert.setBytes(3, entry.getValue());
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+                connection.commit();
+            } catch (SQLException e) {
+                rollback();
+                throw new IOException("Unable to write " + values.size() + " annotations in the cache", e);
+            }
+        }
+    }
+
+    private Map<String, byte[]> read(List<String> keys) throws IOException {
+        Map<String, byte[]> values = new HashMap<>();
+        synchronized (connection) {
+            for (int from = 0; from < keys.size(); from += MAX_QUERY_SIZE) {
+                List<String> subKeys = keys.subList(from, Math.min(from + MAX_QUERY_SIZE, keys.size()));
+                StringBuilder sql = new StringBuilder("SELECT id, annotation FROM ").append(ANNOTATION_TABLE)
+                        .append(" WHERE version = ? AND id IN (?");
+                for (int i = 1; i < subKeys.size(); i++) {
+                    sql.append(", ?");
+                }
+                sql.append(')');
+                try (PreparedStatement select = connection.prepareStatement(sql.toString())) {
+                    select.setString(1, version);
+                    for (int i = 0; i < subKeys.size(); i++) {
+                        select.setString(i + 2, subKeys.get(i));
+                    }
+                    try (ResultSet resultSet = select.executeQuery()) {
+                        while (resultSet.next()) {
+                            values.put(resultSet.getString(1), resultSet.getBytes(2));
+                        }
+                    }
+                } catch (SQLException e) {
+                    throw new IOException("Unable to read annotations from the cache", e);
+                }
+            }
+        }
+        return values;
+    }
+
+    private void rollback() {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            logger.warn("Unable to rollback the annotation cache", e);
+        }
+    }
+
+    /**
+     * Deflated JSON. Empty for null annotations
+     */
+    private byte[] encode(Object annotation) throws IOException {
+        if (annotation == null) {
+            return EMPTY;
+        }
+        byte[] json = jsonObjectMapper.writeValueAsBytes(annotation);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(json);
+            deflater.finish();
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(json.length / 2 + 16);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                outputStream.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return outputStream.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private Object decode(byte[] value) throws IOException {
+        if (value == null || value.length == 0) {
+            return null;
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(value);
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(value.length * 4);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Corrupted annotation in the cache");
+                }
+                outputStream.write(buffer, 0, length);
+            }
+            return jsonObjectMapper.readValue(outputStream.toByteArray(), Object.class);
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupted annotation in the cache", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        logger.info("Annotation cache: {} memory hits, {} disk hits, {} misses", memoryHits.get(), diskHits.get(), misses.get());
+        synchronized (connection) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                throw new IOException(e);
+            }
+        }
+    }
+
+    public long getMemoryHits() {
+        return memoryHits.get();
+    }
+
+    public long getDiskHits() {
+        return diskHits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public String getVersion() {
+        return version;
+    }
+}
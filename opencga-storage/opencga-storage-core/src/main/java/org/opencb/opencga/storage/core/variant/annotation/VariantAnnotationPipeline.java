@@ -0,0 +1,178 @@
+package org.opencb.opencga.storage.core.variant.annotation;
+
+import org.opencb.biodata.models.variant.Variant;
+import org.opencb.datastore.core.QueryOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Annotates all the variants of an iterator.
+ *
+ * The variants are read in batches from the caller thread. Each batch is annotated and written by a pool of
+ * threads, so several annotation requests are running at the same time. Failed annotations and writes are
+ * retried with an exponential backoff. A batch that fails after all the retries is skipped and counted as failed.
+ *
+ * At most two batches per thread are held in memory.
+ */
+public class VariantAnnotationPipeline {
+
+    /** Variants annotated with each request. Default: 200 */
+    public static final String BATCH_SIZE = "batchSize";
+    /** Annotation requests running at the same time. Default: 4 */
+    public static final String NUM_THREADS = "numThreads";
+    /** Retries of a failed batch. Default: 3 */
+    public static final String MAX_RETRIES = "maxRetries";
+    /** Milliseconds before the first retry. Doubled after each retry. Default: 1000 */
+    public static final String RETRY_DELAY = "retryDelay";
+
+    private static final int MAX_BACKOFF = 60000;
+    private static final long LOG_INTERVAL = 100000;
+
+    protected static Logger logger = LoggerFactory.getLogger(VariantAnnotationPipeline.class);
+
+    private final VariantAnnotator annotator;
+    private final VariantAnnotationWriter writer;
+    private final int batchSize;
+    private final int numThreads;
+    private final int maxRetries;
+    private final int retryDelay;
+
+    private final AtomicLong numAnnotated = new AtomicLong();
+    private final AtomicLong numFailed = new AtomicLong();
+    private final AtomicLong numRetries = new AtomicLong();
+
+    public VariantAnnotationPipeline(VariantAnnotator annotator, VariantAnnotationWriter writer, QueryOptions options) {
+        if (options == null) {
+            options = new QueryOptions();
+        }
+        this.annotator = annotator;
+        this.writer = writer;
+        this.batchSize = Math.max(options.getInt(BATCH_SIZE, 200), 1);
+        this.numThreads = Math.max(options.getInt(NUM_THREADS, 4), 1);
+        this.maxRetries = Math.max(options.getInt(MAX_RETRIES, 3), 0);
+        this.retryDelay = Math.max(options.getInt(RETRY_DELAY, 1000), 0);
+    }
+
+    /**
+     * Reads, annotates and writes all the variants of the iterator. Returns when all the batches are written.
+     *
+     * @return  Number of annotated variants
+     */
+    public long run(Iterator<Variant> iterator) throws InterruptedException {
+        long start = System.currentTimeMillis();
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        final Semaphore pendingBatches = new Semaphore(numThreads * 2);
+        long numRead = 0;
+        try {
+            while (iterator.hasNext()) {
+                final List<Variant> batch = new ArrayList<>(batchSize);
+                while (iterator.hasNext() && batch.size() < batchSize) {
+                    batch.add(iterator.next());
+                }
+                pendingBatches.acquire();
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            annotate(batch);
+                        } finally {
+                            pendingBatches.release();
+                        }
+                    }
+                });
+                if (numRead / LOG_INTERVAL != (numRead + batch.size()) / LOG_INTERVAL) {
+                    logProgress(numRead + batch.size(), start);
+                }
+                numRead += batch.size();
+            }
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } finally {
+            if (!executor.isTerminated()) {
+                executor.shutdownNow();
+            }
+        }
+        logger.info("Annotated {} variants in {}s. {} variants failed, {} retries", numAnnotated.get(),
+                (System.currentTimeMillis() - start) / 1000, numFailed.get(), numRetries.get());
+        return numAnnotated.get();
+    }
+
+    private void annotate(final List<Variant> batch) {
+        Variant first = batch.get(0);
+        String description = batch.size() + " variants from " + first.getChromosome() + ":" + first.getStart();
+        try {
+            final List<?> annotations = retry(new Callable<List<?>>() {
+                @Override
+                public List<?> call() throws Exception {
+                    List<?> annotations = annotator.annotate(batch);
+                    if (annotations == null || annotations.size() != batch.size()) {
+                        throw new IllegalStateException("Expected " + batch.size() + " annotations, got "
+                                + (annotations == null ? null : annotations.size()));
+                    }
+                    return annotations;
+                }
+            }, "annotate " + description);
+            retry(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    writer.write(batch, annotations);
+                    return null;
+                }
+            }, "write " + description);
+            numAnnotated.addAndGet(batch.size());
+        } catch (InterruptedException e) {
+            numFailed.addAndGet(batch.size());
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            numFailed.addAndGet(batch.size());
+            logger.error("Unable to {}. Skipping batch", e.getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * @throws Exception    The last failure, with the description as message
+     */
+    private <T> T retry(Callable<T> callable, String description) throws Exception {
+        long delay = retryDelay;
+        for (int retry = 0; ; retry++) {
+            try {
+                return callable.call();
+            } catch (Exception e) {
+                if (retry >= maxRetries) {
+                    throw new Exception(description, e);
+                }
+                logger.warn("Unable to {}: {}. Retrying in {}ms", description, e.toString(), delay);
+                numRetries.incrementAndGet();
+                Thread.sleep(delay);
+                delay = Math.min(delay * 2, MAX_BACKOFF);
+            }
+        }
+    }
+
+    private void logProgress(long numRead, long start) {
+        long seconds = Math.max((System.currentTimeMillis() - start) / 1000, 1);
+        logger.info("Read {} variants, annotated {} ({} variants/s)", numRead, numAnnotated.get(),
+                numAnnotated.get() / seconds);
+    }
+
+    public long getNumAnnotated() {
+        return numAnnotated.get();
+    }
+
+    /**
+     * @return  Number of variants of the batches skipped after all the retries
+     */
+    public long getNumFailed() {
+        return numFailed.get();
+    }
+
+    public long getNumRetries() {
+        return numRetries.get();
+    }
+}
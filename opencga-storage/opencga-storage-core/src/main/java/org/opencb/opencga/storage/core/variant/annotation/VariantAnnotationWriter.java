@@ -0,0 +1,20 @@
+package org.opencb.opencga.storage.core.variant.annotation;
+
+import org.opencb.biodata.models.variant.Variant;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Stores the annotations of batches of variants. Used from several threads at the same time by the
+ * {@link VariantAnnotationPipeline}.
+ */
+public interface VariantAnnotationWriter {
+
+    /**
+     * @param variants      Batch of annotated variants
+     * @param annotations   Annotation of each variant, in the same order. Null for the variants without annotation
+     */
+    void write(List<Variant> variants, List<?> annotations) throws IOException;
+
+}
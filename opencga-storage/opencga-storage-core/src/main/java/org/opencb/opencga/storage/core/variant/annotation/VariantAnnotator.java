@@ -0,0 +1,20 @@
+package org.opencb.opencga.storage.core.variant.annotation;
+
+import org.opencb.biodata.models.variant.Variant;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Annotates batches of variants. Used from several threads at the same time by the {@link VariantAnnotationPipeline}.
+ */
+public interface VariantAnnotator {
+
+    /**
+     * @param variants  Batch of variants to annotate
+     * @return          The annotation of each variant, in the same order. Null for the variants without annotation
+     * @throws IOException  If the annotation source can't be reached. The batch will be retried
+     */
+    List<?> annotate(List<Variant> variants) throws IOException;
+
+}
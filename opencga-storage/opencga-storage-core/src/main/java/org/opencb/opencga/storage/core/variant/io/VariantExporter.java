@@ -0,0 +1,265 @@
+package org.opencb.opencga.storage.core.variant.io;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.opencb.biodata.models.feature.Genotype;
+import org.opencb.biodata.models.variant.Variant;
+import org.opencb.biodata.models.variant.VariantSourceEntry;
+import org.opencb.biodata.models.variant.stats.VariantStats;
+import org.opencb.opencga.storage.core.variant.io.json.GenotypeJsonMixin;
+import org.opencb.opencga.storage.core.variant.io.json.VariantSourceEntryJsonMixin;
+import org.opencb.opencga.storage.core.variant.io.json.VariantStatsJsonMixin;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the variants of a {@link org.opencb.opencga.storage.core.variant.adaptors.VariantDBIterator} as VCF,
+ * JSON (one variant per line) or TSV. Each variant is written as soon as it is read, so the memory used does not
+ * depend on the number of variants exported.
+ *
+ * The VCF output has only the sites and the genotypes (FORMAT GT). Empty alleles are written as "-".
+ */
+public class VariantExporter implements Closeable {
+
+    public enum Format {VCF, JSON, TSV}
+
+    public static final String MISSING_GENOTYPE = "./.";
+    private static final int PROGRESS_INTERVAL = 100000;
+
+    protected static Logger logger = LoggerFactory.getLogger(VariantExporter.class);
+
+    private final Writer writer;
+    private final Format format;
+    private List<String> samples;
+    private final ObjectMapper jsonObjectMapper;
+
+    private long numVariants;
+    private boolean headerWritten;
+
+    /**
+     * @param outputStream  Output. Closed with this exporter
+     * @param format        Output format
+     * @param samples       Samples to export. All the samples of the first variant if null or empty
+     */
+    public VariantExporter(OutputStream outputStream, Format format, List<String> samples) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+        this.format = format;
+        this.samples = samples == null || samples.isEmpty() ? null : new ArrayList<>(samples);
+        this.jsonObjectMapper = new ObjectMapper();
+        jsonObjectMapper.addMixInAnnotations(VariantSourceEntry.class, VariantSourceEntryJsonMixin.class);
+        jsonObjectMapper.addMixInAnnotations(Genotype.class, GenotypeJsonMixin.class);
+        jsonObjectMapper.addMixInAnnotations(VariantStats.class, VariantStatsJsonMixin.class);
+    }
+
+    /**
+     * @param format    vcf, json or tsv. Optionally followed by ".gz"
+     */
+    public static Format getFormat(String format) {
+        String name = format == null ? "vcf" : format.toLowerCase();
+        if (name.endsWith(".gz")) {
+            name = name.substring(0, name.length() - ".gz".length());
+        }
+        try {
+            return Format.valueOf(name.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown output format " + format + ". Expected vcf, json or tsv");
+        }
+    }
+
+    /**
+     * Opens the output file, compressed if the file name or the format end with ".gz".
+     *
+     * @param output    Output file. Standard output if null, empty or "-"
+     */
+    public static OutputStream getOutputStream(String output, String format) throws IOException {
+        OutputStream outputStream;
+        boolean gzip = format != null && format.toLowerCase().endsWith(".gz");
+        if (output == null || output.isEmpty() || output.equals("-")) {
+            outputStream = new FilterOutputStream(System.out) {
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    flush();    // Never close the standard output
+                }
+            };
+        } else {
+            gzip |= output.endsWith(".gz");
+            outputStream = new FileOutputStream(output);
+        }
+        return gzip ? new GZIPOutputStream(outputStream, 64 * 1024) : outputStream;
+    }
+
+    /**
+     * Writes all the variants of the iterator.
+     *
+     * @return  Number of variants written
+     */
+    public long export(Iterator<Variant> iterator) throws IOException {
+        long start = System.currentTimeMillis();
+        long written = 0;
+        while (iterator.hasNext()) {
+            write(iterator.next());
+            written++;
+            if (numVariants % PROGRESS_INTERVAL == 0) {
+                logger.info("Exported {} variants, {} variants/s", numVariants, getThroughput(written, start));
+            }
+        }
+        if (!headerWritten) {
+            writeHeader();
+        }
+        writer.flush();
+        logger.info("Exported {} variants in {}s, {} variants/s", written,
+                (System.currentTimeMillis() - start) / 1000.0, getThroughput(written, start));
+        return written;
+    }
+
+    public void write(Variant variant) throws IOException {
+        if (!headerWritten) {
+            if (samples == null) {
+                samples = new ArrayList<>(getSamples(variant));
+            }
+            writeHeader();
+        }
+        switch (format) {
+            case VCF:
+                writeVcf(variant);
+                break;
+            case JSON:
+                writeJson(variant);
+                break;
+            case TSV:
+                writeTsv(variant);
+                break;
+        }
+        numVariants++;
+    }
+
+    private void writeHeader() throws IOException {
+        List<String> headerSamples = samples == null ? Collections.<String>emptyList() : samples;
+        switch (format) {
+            case VCF:
+                writer.write("##fileformat=VCFv4.1\n");
+                writer.write("##FORMAT=<ID=GT,Number=1,Type=String,Description=\"Genotype\">\n");
+                writer.write("#CHROM\tPOS\tID\tREF\tALT\tQUAL\tFILTER\tINFO");
+                if (!headerSamples.isEmpty()) {
+                    writer.write("\tFORMAT");
+                }
+                break;
+            case TSV:
+                writer.write("#CHROM\tSTART\tEND\tID\tREF\tALT\tTYPE");
+                break;
+            case JSON:
+                headerWritten = true;
+                return;
+        }
+        for (String sample : headerSamples) {
+            writer.write('\t');
+            writer.write(sample);
+        }
+        writer.write('\n');
+        headerWritten = true;
+    }
+
+    private void writeVcf(Variant variant) throws IOException {
+        writer.write(variant.getChromosome());
+        writer.write('\t');
+        writer.write(Integer.toString(variant.getStart()));
+        writer.write('\t');
+        writer.write(isEmpty(variant.getId()) ? "." : variant.getId());
+        writer.write('\t');
+        writer.write(isEmpty(variant.getReference()) ? "-" : variant.getReference());
+        writer.write('\t');
+        writer.write(isEmpty(variant.getAlternate()) ? "-" : variant.getAlternate());
+        writer.write("\t.\t.\t.");
+        if (!samples.isEmpty()) {
+            writer.write("\tGT");
+            writeGenotypes(variant);
+        }
+        writer.write('\n');
+    }
+
+    private void writeTsv(Variant variant) throws IOException {
+        writer.write(variant.getChromosome());
+        writer.write('\t');
+        writer.write(Integer.toString(variant.getStart()));
+        writer.write('\t');
+        writer.write(Integer.toString(variant.getEnd()));
+        writer.write('\t');
+        writer.write(isEmpty(variant.getId()) ? "." : variant.getId());
+        writer.write('\t');
+        writer.write(isEmpty(variant.getReference()) ? "-" : variant.getReference());
+        writer.write('\t');
+        writer.write(isEmpty(variant.getAlternate()) ? "-" : variant.getAlternate());
+        writer.write('\t');
+        writer.write(String.valueOf(variant.getType()));
+        writeGenotypes(variant);
+        writer.write('\n');
+    }
+
+    private void writeJson(Variant variant) throws IOException {
+        if (!samples.isEmpty()) {
+            for (VariantSourceEntry sourceEntry : variant.getSourceEntries().values()) {
+                if (sourceEntry.getSamplesData() != null) {
+                    sourceEntry.getSamplesData().keySet().retainAll(samples);
+                }
+            }
+        }
+        writer.write(jsonObjectMapper.writeValueAsString(variant));
+        writer.write('\n');
+    }
+
+    private void writeGenotypes(Variant variant) throws IOException {
+        for (String sample : samples) {
+            writer.write('\t');
+            writer.write(getGenotype(variant, sample));
+        }
+    }
+
+    /**
+     * @return  Genotype of the sample in the first file where it is found. {@link #MISSING_GENOTYPE} if none
+     */
+    private static String getGenotype(Variant variant, String sample) {
+        for (VariantSourceEntry sourceEntry : variant.getSourceEntries().values()) {
+            Map<String, String> sampleData = sourceEntry.getSamplesData() == null ? null : sourceEntry.getSamplesData().get(sample);
+            if (sampleData != null && !isEmpty(sampleData.get("GT"))) {
+                return sampleData.get("GT");
+            }
+        }
+        return MISSING_GENOTYPE;
+    }
+
+    private static Set<String> getSamples(Variant variant) {
+        Set<String> samples = new LinkedHashSet<>();
+        for (VariantSourceEntry sourceEntry : variant.getSourceEntries().values()) {
+            if (sourceEntry.getSamplesData() != null) {
+                samples.addAll(sourceEntry.getSamplesData().keySet());
+            }
+        }
+        return samples;
+    }
+
+    private static boolean isEmpty(String value) {
+        return value == null || value.isEmpty();
+    }
+
+    private static long getThroughput(long written, long start) {
+        return written * 1000 / Math.max(1, System.currentTimeMillis() - start);
+    }
+
+    public long getNumVariants() {
+        return numVariants;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,163 @@
+package org.opencb.opencga.storage.core;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opencb.commons.test.GenericTest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class DBAdaptorPoolTest extends GenericTest {
+
+    private AtomicInteger created;
+    private List<String> closed;
+    private DBAdaptorPool<String> pool;
+
+    @Before
+    public void before() {
+        created = new AtomicInteger();
+        closed = Collections.synchronizedList(new ArrayList<String>());
+        pool = newPool(2, 0);
+    }
+
+    @After
+    public void after() {
+        pool.close();
+    }
+
+    private DBAdaptorPool<String> newPool(int maxSize, long idleTimeout) {
+        return newPool(maxSize, idleTimeout, 30000);
+    }
+
+    private DBAdaptorPool<String> newPool(int maxSize, long idleTimeout, long borrowTimeout) {
+        return new DBAdaptorPool<String>(maxSize, idleTimeout, borrowTimeout) {
+            @Override
+            protected String create(String storageEngineName, String dbName) {
+                if (dbName.equals("unknown")) {
+                    return null;
+                }
+                return storageEngineName + "_" + dbName + "_" + created.incrementAndGet();
+            }
+
+            @Override
+            protected void close(String dbAdaptor) {
+                closed.add(dbAdaptor);
+            }
+        };
+    }
+
+    @Test
+    public void testReuse() throws Exception {
+        String dbAdaptor = pool.borrow("mongodb", "db1");
+        pool.release("mongodb", "db1", dbAdaptor);
+        assertEquals(dbAdaptor, pool.borrow("MONGODB", "db1"));
+        assertEquals(1, created.get());
+
+        // Other database, other adaptor
+        String other = pool.borrow("mongodb", "db2");
+        assertNotEquals(dbAdaptor, other);
+        assertEquals(2, created.get());
+    }
+
+    @Test
+    public void testExclusiveUse() throws Exception {
+        String a1 = pool.borrow("mongodb", "db1");
+        String a2 = pool.borrow("mongodb", "db1");
+        assertNotEquals(a1, a2);
+        assertEquals(2, created.get());
+    }
+
+    @Test
+    public void testMaxSize() throws Exception {
+        final String a1 = pool.borrow("mongodb", "db1");
+        pool.borrow("mongodb", "db1");
+
+        final CountDownLatch borrowed = new CountDownLatch(1);
+        final String[] a3 = new String[1];
+        Thread thread = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    a3[0] = pool.borrow("mongodb", "db1");
+                    borrowed.countDown();
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+        };
+        thread.start();
+        assertFalse(borrowed.await(200, TimeUnit.MILLISECONDS));
+
+        pool.release("mongodb", "db1", a1);
+        assertTrue(borrowed.await(2, TimeUnit.SECONDS));
+        assertEquals(a1, a3[0]);
+        assertEquals(2, created.get());
+    }
+
+    @Test
+    public void testBorrowTimeout() throws Exception {
+        DBAdaptorPool<String> pool = newPool(1, 0, 100);
+        String a1 = pool.borrow("mongodb", "db1");
+        try {
+            pool.borrow("mongodb", "db1");
+            fail("Expected TimeoutException");
+        } catch (TimeoutException e) {
+            // Expected
+        }
+        pool.release("mongodb", "db1", a1);
+        assertEquals(a1, pool.borrow("mongodb", "db1"));
+        pool.close();
+    }
+
+    @Test
+    public void testCreateFails() throws Exception {
+        DBAdaptorPool<String> pool = newPool(1, 0);
+        assertNull(pool.borrow("mongodb", "unknown"));
+        // The failed creation does not take the only place
+        assertNull(pool.borrow("mongodb", "unknown"));
+        pool.close();
+    }
+
+    @Test
+    public void testInvalidate() throws Exception {
+        String dbAdaptor = pool.borrow("mongodb", "db1");
+        pool.invalidate("mongodb", "db1", dbAdaptor);
+        assertEquals(Collections.singletonList(dbAdaptor), closed);
+        assertNotEquals(dbAdaptor, pool.borrow("mongodb", "db1"));
+    }
+
+    @Test
+    public void testEvictIdle() throws Exception {
+        DBAdaptorPool<String> pool = newPool(2, 50);
+        String a1 = pool.borrow("mongodb", "db1");
+        pool.release("mongodb", "db1", a1);
+        assertEquals(1, pool.getNumIdle());
+
+        Thread.sleep(100);
+        pool.evictIdle();
+        assertEquals(0, pool.getNumIdle());
+        assertTrue(closed.contains(a1));
+        pool.close();
+    }
+
+    @Test
+    public void testClose() throws Exception {
+        String a1 = pool.borrow("mongodb", "db1");
+        String a2 = pool.borrow("mongodb", "db1");
+        pool.release("mongodb", "db1", a1);
+        pool.close();
+        assertEquals(Collections.singletonList(a1), closed);
+
+        // Adaptors in use are closed when released
+        pool.release("mongodb", "db1", a2);
+        assertEquals(2, closed.size());
+    }
+}
@@ -0,0 +1,220 @@
+package org.opencb.opencga.storage.core;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.opencb.biodata.models.feature.Region;
+import org.opencb.biodata.models.variant.Variant;
+import org.opencb.biodata.models.variant.VariantSourceEntry;
+import org.opencb.commons.test.GenericTest;
+import org.opencb.datastore.core.QueryOptions;
+import org.opencb.datastore.core.QueryResult;
+import org.opencb.opencga.storage.core.alignment.adaptors.AlignmentDBAdaptor;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+
+import static org.junit.Assert.*;
+
+public class RegionQueryCacheTest extends GenericTest {
+
+    private InMemoryAlignmentDBAdaptor dbAdaptor;
+
+    @Before
+    public void before() {
+        dbAdaptor = new InMemoryAlignmentDBAdaptor();
+    }
+
+    /**
+     * Each result takes 100 bytes for each region
+     */
+    private RegionQueryCache newCache(long maxBytes) {
+        return new RegionQueryCache(maxBytes) {
+            @Override
+            protected long sizeOf(QueryResult result) {
+                return result.getResult().size() * 100;
+            }
+        };
+    }
+
+    private QueryResult fetch(RegionQueryCache cache, String generation, final List<Region> regions, final QueryOptions options)
+            throws Exception {
+        String key = RegionQueryCache.getKey("alignments", regions, options);
+        return cache.get("study", generation, key, new Callable<QueryResult>() {
+            @Override
+            public QueryResult call() {
+                return dbAdaptor.getAllAlignmentsByRegion(regions, options);
+            }
+        });
+    }
+
+    @Test
+    public void testHitsAndMisses() throws Exception {
+        RegionQueryCache cache = newCache(1000);
+        QueryOptions options = new QueryOptions(AlignmentDBAdaptor.QO_FILE_ID, "5");
+        options.put(AlignmentDBAdaptor.QO_VIEW_AS_PAIRS, false);
+
+        QueryResult result = fetch(cache, "[5]", Arrays.asList(new Region("1:1-1000"), new Region("2:1-1000")), options);
+        assertEquals(1, dbAdaptor.queries);
+        assertEquals(0, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(200, cache.getBytes());
+
+        // Same query, with the regions and options in a different order
+        QueryOptions sameOptions = new QueryOptions(AlignmentDBAdaptor.QO_VIEW_AS_PAIRS, false);
+        sameOptions.put(AlignmentDBAdaptor.QO_FILE_ID, "5");
+        assertSame(result, fetch(cache, "[5]", Arrays.asList(new Region("2:1-1000"), new Region("1:1-1000")), sameOptions));
+        assertEquals(1, dbAdaptor.queries);
+        assertEquals(1, cache.getHits());
+
+        sameOptions.put(AlignmentDBAdaptor.QO_VIEW_AS_PAIRS, true);
+        fetch(cache, "[5]", Arrays.asList(new Region("2:1-1000"), new Region("1:1-1000")), sameOptions);
+        assertEquals(2, dbAdaptor.queries);
+        assertEquals(2, cache.getMisses());
+        assertEquals(2, cache.getNumEntries());
+    }
+
+    @Test
+    public void testEvictLeastRecentlyUsed() throws Exception {
+        RegionQueryCache cache = newCache(250);
+        QueryOptions options = new QueryOptions();
+        fetch(cache, "[5]", Collections.singletonList(new Region("1:1-1000")), options);
+        fetch(cache, "[5]", Collections.singletonList(new Region("2:1-1000")), options);
+        fetch(cache, "[5]", Collections.singletonList(new Region("1:1-1000")), options);
+        assertEquals(2, dbAdaptor.queries);
+
+        // Evicts 2:1-1000, the least recently used
+        fetch(cache, "[5]", Collections.singletonList(new Region("3:1-1000")), options);
+        assertEquals(1, cache.getEvictions());
+        assertEquals(200, cache.getBytes());
+        fetch(cache, "[5]", Collections.singletonList(new Region("1:1-1000")), options);
+        assertEquals(3, dbAdaptor.queries);
+        fetch(cache, "[5]", Collections.singletonList(new Region("2:1-1000")), options);
+        assertEquals(4, dbAdaptor.queries);
+
+        // Bigger than the whole cache. Not cached
+        fetch(cache, "[5]", Arrays.asList(new Region("1:1-1000"), new Region("2:1-1000"), new Region("3:1-1000")), options);
+        assertEquals(2, cache.getNumEntries());
+        assertTrue(cache.getBytes() <= 250);
+    }
+
+    @Test
+    public void testNewGenerationInvalidates() throws Exception {
+        RegionQueryCache cache = newCache(1000);
+        List<Region> regions = Collections.singletonList(new Region("1:1-1000"));
+        QueryOptions options = new QueryOptions();
+        fetch(cache, "[5]", regions, options);
+        fetch(cache, "[5]", regions, options);
+        assertEquals(1, dbAdaptor.queries);
+
+        // The study has a new index
+        fetch(cache, "[5, 8]", regions, options);
+        assertEquals(2, dbAdaptor.queries);
+        assertEquals(1, cache.getNumEntries());
+        assertEquals(100, cache.getBytes());
+
+        cache.invalidate("study");
+        assertEquals(0, cache.getNumEntries());
+        assertEquals(0, cache.getBytes());
+        fetch(cache, "[5, 8]", regions, options);
+        assertEquals(3, dbAdaptor.queries);
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        RegionQueryCache cache = newCache(0);
+        List<Region> regions = Collections.singletonList(new Region("1:1-1000"));
+        fetch(cache, "[5]", regions, new QueryOptions());
+        fetch(cache, "[5]", regions, new QueryOptions());
+        assertEquals(2, dbAdaptor.queries);
+        assertEquals(0, cache.getNumEntries());
+    }
+
+    @Test
+    public void testSizeOf() {
+        RegionQueryCache cache = new RegionQueryCache(1024 * 1024);
+        QueryResult result = dbAdaptor.getAllAlignmentsByRegion(
+                Arrays.asList(new Region("1:1-1000"), new Region("2:1-1000"), new Region("3:1-1000")), new QueryOptions());
+        assertEquals(RegionQueryCache.QUERY_RESULT_SIZE + 3 * RegionQueryCache.RESULT_SIZE, cache.sizeOf(result));
+        assertEquals(RegionQueryCache.QUERY_RESULT_SIZE, cache.sizeOf(new QueryResult("empty")));
+    }
+
+    @Test
+    public void testSizeOfWideVariants() throws Exception {
+        final QueryResult<Variant> result = new QueryResult<>("1:1-1000");
+        List<Variant> variants = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Variant variant = new Variant("1", i + 1, i + 1, "A", "C");
+            VariantSourceEntry file = new VariantSourceEntry("f1", "s1");
+            for (int sample = 0; sample < 2000; sample++) {
+                Map<String, String> sampleData = new HashMap<>();
+                sampleData.put("GT", "0/1");
+                sampleData.put("DP", "30");
+                file.addSampleData("sample" + sample, sampleData);
+            }
+            variant.addSourceEntry(file);
+            variants.add(variant);
+        }
+        result.setResult(variants);
+        result.setNumResults(variants.size());
+
+        RegionQueryCache cache = new RegionQueryCache(512 * 1024);
+        // At least the sample names, keys and values of each sample
+        assertTrue(cache.sizeOf(result) > 10 * 2000 * 20);
+        // Counted by results, it would fit
+        assertTrue(RegionQueryCache.QUERY_RESULT_SIZE + 10 * RegionQueryCache.RESULT_SIZE < 512 * 1024);
+
+        cache.get("study", "[5]", "variants", new Callable<QueryResult>() {
+            @Override
+            public QueryResult call() {
+                return result;
+            }
+        });
+        assertEquals(0, cache.getNumEntries());
+        assertEquals(0, cache.getBytes());
+    }
+
+    /**
+     * Returns one result for each region
+     */
+    private static class InMemoryAlignmentDBAdaptor implements AlignmentDBAdaptor {
+        private int queries = 0;
+
+        @Override
+        public QueryResult getAllAlignmentsByRegion(List<Region> regions, QueryOptions options) {
+            queries++;
+            QueryResult<String> queryResult = new QueryResult<>(regions.toString());
+            List<String> result = new ArrayList<>();
+            for (Region region : regions) {
+                result.add(region.getChromosome() + ":" + region.getStart() + "-" + region.getEnd());
+            }
+            queryResult.setResult(result);
+            queryResult.setNumResults(result.size());
+            return queryResult;
+        }
+
+        @Override
+        public QueryResult getAllAlignmentsByGene(String gene, QueryOptions options) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public QueryResult getCoverageByRegion(Region region, QueryOptions options) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public QueryResult getAlignmentsHistogramByRegion(Region region, boolean histogramLogarithm, int histogramMax) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public QueryResult getAllIntervalFrequencies(Region region, QueryOptions options) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public QueryResult getAlignmentRegionInfo(Region region, QueryOptions options) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package org.opencb.opencga.storage.core.variant.annotation;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opencb.biodata.models.variant.Variant;
+import org.opencb.commons.test.GenericTest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class VariantAnnotationCacheTest extends GenericTest {
+
+    private Path dbPath;
+    private CountingAnnotator annotator;
+
+    @Before
+    public void before() throws IOException {
+        dbPath = Files.createTempFile("annotation_cache", ".sqlite.db");
+        annotator = new CountingAnnotator();
+    }
+
+    @After
+    public void after() throws IOException {
+        Files.deleteIfExists(dbPath);
+    }
+
+    private static List<Variant> getVariants(int from, int to) {
+        List<Variant> variants = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            variants.add(new Variant("1", i * 10, i * 10, "A", i % 2 == 0 ? "C" : "G"));
+        }
+        return variants;
+    }
+
+    @Test
+    public void testSecondStudyReadsCache() throws IOException {
+        try (VariantAnnotationCache cache = new VariantAnnotationCache(dbPath, "v1", 1000)) {
+            CachedVariantAnnotator cachedAnnotator = new CachedVariantAnnotator(annotator, cache);
+            List<?> annotations = cachedAnnotator.annotate(getVariants(0, 100));
+            assertEquals(100, annotator.annotated.get());
+            assertEquals(100, cache.getMisses());
+            assertNull(annotations.get(0));
+            assertEquals(Arrays.asList("1:10:A:G", 1), annotations.get(1));
+            assertNull(annotations.get(5));
+        }
+
+        // Second study, from a new process, sharing 90 variants
+        try (VariantAnnotationCache cache = new VariantAnnotationCache(dbPath, "v1", 1000)) {
+            CachedVariantAnnotator cachedAnnotator = new CachedVariantAnnotator(annotator, cache);
+            List<?> annotations = cachedAnnotator.annotate(getVariants(10, 110));
+            assertEquals(110, annotator.annotated.get());
+            assertEquals(90, cache.getDiskHits());
+            assertEquals(10, cache.getMisses());
+            assertEquals(100, annotations.size());
+            for (int i = 0; i < 100; i++) {
+                int position = i + 10;
+                if (position % 5 == 0) {
+                    assertNull(annotations.get(i));
+                } else {
+                    assertEquals(Arrays.asList("1:" + position * 10 + ":A:" + (position % 2 == 0 ? "C" : "G"), position),
+                            annotations.get(i));
+                }
+            }
+
+            // Now in memory
+            cachedAnnotator.annotate(getVariants(10, 110));
+            assertEquals(110, annotator.annotated.get());
+            assertEquals(100, cache.getMemoryHits());
+        }
+    }
+
+    @Test
+    public void testNewVersion() throws IOException {
+        try (VariantAnnotationCache cache = new VariantAnnotationCache(dbPath, "v1", 1000)) {
+            new CachedVariantAnnotator(annotator, cache).annotate(getVariants(0, 50));
+        }
+        try (VariantAnnotationCache cache = new VariantAnnotationCache(dbPath, "v2", 1000)) {
+            new CachedVariantAnnotator(annotator, cache).annotate(getVariants(0, 50));
+            assertEquals(50, cache.getMisses());
+        }
+        assertEquals(100, annotator.annotated.get());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedInMemory() throws IOException {
+        try (VariantAnnotationCache cache = new VariantAnnotationCache(dbPath, "v1", 10)) {
+            CachedVariantAnnotator cachedAnnotator = new CachedVariantAnnotator(annotator, cache);
+            cachedAnnotator.annotate(getVariants(0, 10));
+            cachedAnnotator.annotate(getVariants(0, 5));
+            cachedAnnotator.annotate(getVariants(10, 15));
+            assertEquals(5, cache.getMemoryHits());
+
+            // 5-10 were evicted from memory, but not from disk
+            cachedAnnotator.annotate(getVariants(0, 10));
+            assertEquals(10, cache.getMemoryHits());
+            assertEquals(5, cache.getDiskHits());
+            assertEquals(15, annotator.annotated.get());
+        }
+    }
+
+    /**
+     * Annotates each variant with [chr:pos:ref:alt, index]. Positions multiple of 50 have no annotation
+     */
+    private static class CountingAnnotator implements VariantAnnotator {
+        private final AtomicInteger annotated = new AtomicInteger();
+
+        @Override
+        public List<?> annotate(List<Variant> variants) {
+            annotated.addAndGet(variants.size());
+            List<Object> annotations = new ArrayList<>(variants.size());
+            for (Variant variant : variants) {
+                int index = variant.getStart() / 10;
+                annotations.add(variant.getStart() % 50 == 0 ? null : Arrays.asList(VariantAnnotationCache.getKey(variant), index));
+            }
+            return annotations;
+        }
+    }
+}
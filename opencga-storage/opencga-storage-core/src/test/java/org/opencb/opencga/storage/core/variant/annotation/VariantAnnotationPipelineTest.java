@@ -0,0 +1,139 @@
+package org.opencb.opencga.storage.core.variant.annotation;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.opencb.biodata.models.variant.Variant;
+import org.opencb.commons.test.GenericTest;
+import org.opencb.datastore.core.QueryOptions;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class VariantAnnotationPipelineTest extends GenericTest {
+
+    private List<Variant> variants;
+    private Map<String, Object> written;
+    private VariantAnnotationWriter writer;
+    private QueryOptions options;
+
+    @Before
+    public void before() {
+        variants = new ArrayList<>();
+        for (String chromosome : Arrays.asList("1", "2", "X")) {
+            for (int i = 1; i <= 350; i++) {
+                variants.add(new Variant(chromosome, i * 10, i * 10, "A", "T"));
+            }
+        }
+        written = new ConcurrentHashMap<>();
+        writer = new VariantAnnotationWriter() {
+            @Override
+            public void write(List<Variant> variants, List<?> annotations) {
+                for (int i = 0; i < variants.size(); i++) {
+                    if (annotations.get(i) != null) {
+                        written.put(getKey(variants.get(i)), annotations.get(i));
+                    }
+                }
+            }
+        };
+        options = new QueryOptions(VariantAnnotationPipeline.BATCH_SIZE, 50);
+        options.put(VariantAnnotationPipeline.NUM_THREADS, 4);
+        options.put(VariantAnnotationPipeline.RETRY_DELAY, 1);
+    }
+
+    private static String getKey(Variant variant) {
+        return variant.getChromosome() + ":" + variant.getStart() + ":" + variant.getReference() + ":" + variant.getAlternate();
+    }
+
+    @Test
+    public void testAnnotateAll() throws Exception {
+        StubVariantAnnotator annotator = new StubVariantAnnotator(false);
+        VariantAnnotationPipeline pipeline = new VariantAnnotationPipeline(annotator, writer, options);
+
+        assertEquals(1050, pipeline.run(variants.iterator()));
+        assertEquals(0, pipeline.getNumFailed());
+        assertEquals(21, annotator.calls.get());
+        assertEquals(700, written.size());
+        for (Variant variant : variants) {
+            if (variant.getChromosome().equals("X")) {
+                assertFalse(written.containsKey(getKey(variant)));
+            } else {
+                assertEquals("annotation of " + getKey(variant), written.get(getKey(variant)));
+            }
+        }
+    }
+
+    @Test
+    public void testRetry() throws Exception {
+        // The first call of each batch fails
+        StubVariantAnnotator annotator = new StubVariantAnnotator(true);
+        VariantAnnotationPipeline pipeline = new VariantAnnotationPipeline(annotator, writer, options);
+
+        assertEquals(1050, pipeline.run(variants.iterator()));
+        assertEquals(0, pipeline.getNumFailed());
+        assertEquals(21, pipeline.getNumRetries());
+        assertEquals(42, annotator.calls.get());
+        assertEquals(700, written.size());
+    }
+
+    @Test
+    public void testSkipFailedBatches() throws Exception {
+        options.put(VariantAnnotationPipeline.MAX_RETRIES, 2);
+        StubVariantAnnotator annotator = new StubVariantAnnotator(false) {
+            @Override
+            public List<?> annotate(List<Variant> variants) throws IOException {
+                if (variants.get(0).getChromosome().equals("2")) {
+                    throw new IOException("Connection refused");
+                }
+                return super.annotate(variants);
+            }
+        };
+        VariantAnnotationPipeline pipeline = new VariantAnnotationPipeline(annotator, writer, options);
+
+        assertEquals(700, pipeline.run(variants.iterator()));
+        assertEquals(350, pipeline.getNumFailed());
+        assertEquals(7 * 2, pipeline.getNumRetries());
+        assertEquals(350, written.size());
+        assertFalse(written.containsKey("2:10:A:T"));
+    }
+
+    @Test
+    public void testEmpty() throws Exception {
+        StubVariantAnnotator annotator = new StubVariantAnnotator(false);
+        VariantAnnotationPipeline pipeline = new VariantAnnotationPipeline(annotator, writer, null);
+        assertEquals(0, pipeline.run(Collections.<Variant>emptyIterator()));
+        assertEquals(0, annotator.calls.get());
+    }
+
+    /**
+     * Local annotator. Returns "annotation of chr:pos:ref:alt" for each variant, but for the "X" ones
+     */
+    private static class StubVariantAnnotator implements VariantAnnotator {
+        protected final AtomicInteger calls = new AtomicInteger();
+        private final boolean failFirstCall;
+        private final Set<String> calledBatches = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+        /**
+         * @param failFirstCall Throw an IOException the first time each batch is annotated
+         */
+        private StubVariantAnnotator(boolean failFirstCall) {
+            this.failFirstCall = failFirstCall;
+        }
+
+        @Override
+        public List<?> annotate(List<Variant> variants) throws IOException {
+            calls.incrementAndGet();
+            if (failFirstCall && calledBatches.add(getKey(variants.get(0)))) {
+                throw new IOException("Timeout");
+            }
+            List<String> annotations = new ArrayList<>(variants.size());
+            for (Variant variant : variants) {
+                annotations.add(variant.getChromosome().equals("X") ? null : "annotation of " + getKey(variant));
+            }
+            return annotations;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package org.opencb.opencga.storage.core.variant.io;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.opencb.biodata.models.variant.Variant;
+import org.opencb.biodata.models.variant.VariantSourceEntry;
+import org.opencb.commons.test.GenericTest;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.*;
+
+public class VariantExporterTest extends GenericTest {
+
+    private List<Variant> variants;
+
+    @Before
+    public void before() {
+        variants = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            Variant variant = new Variant("1", i * 100, i * 100, "A", i == 10 ? "" : "C");
+            VariantSourceEntry file = new VariantSourceEntry("f1", "s1");
+            file.setFormat("GT:DP");
+            for (String sample : Arrays.asList("NA001", "NA002", "NA003")) {
+                Map<String, String> data = new HashMap<>();
+                data.put("GT", sample.equals("NA002") && i % 2 == 0 ? "0/1" : "0/0");
+                data.put("DP", "10");
+                file.addSampleData(sample, data);
+            }
+            variant.addSourceEntry(file);
+            variants.add(variant);
+        }
+    }
+
+    private String export(VariantExporter.Format format, List<String> samples) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (VariantExporter exporter = new VariantExporter(outputStream, format, samples)) {
+            assertEquals(10, exporter.export(variants.iterator()));
+        }
+        return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testExportVcf() throws IOException {
+        String[] lines = export(VariantExporter.Format.VCF, null).split("\n");
+        assertEquals(13, lines.length);
+        assertEquals("#CHROM\tPOS\tID\tREF\tALT\tQUAL\tFILTER\tINFO\tFORMAT\tNA001\tNA002\tNA003", lines[2]);
+        assertEquals("1\t200\t.\tA\tC\t.\t.\t.\tGT\t0/0\t0/1\t0/0", lines[4]);
+        assertEquals("1\t1000\t.\tA\t-\t.\t.\t.\tGT\t0/0\t0/1\t0/0", lines[12]);
+    }
+
+    @Test
+    public void testExportSamples() throws IOException {
+        String[] lines = export(VariantExporter.Format.TSV, Arrays.asList("NA002", "NA004")).split("\n");
+        assertEquals(11, lines.length);
+        assertEquals("#CHROM\tSTART\tEND\tID\tREF\tALT\tTYPE\tNA002\tNA004", lines[0]);
+        assertTrue(lines[2].startsWith("1\t200\t200\t.\tA\tC\t"));
+        assertTrue(lines[2].endsWith("\t0/1\t" + VariantExporter.MISSING_GENOTYPE));
+    }
+
+    @Test
+    public void testExportJson() throws IOException {
+        String[] lines = export(VariantExporter.Format.JSON, Collections.singletonList("NA001")).split("\n");
+        assertEquals(10, lines.length);
+        assertTrue(lines[0].contains("NA001"));
+        assertFalse(lines[0].contains("NA002"));
+    }
+
+    @Test
+    public void testExportEmpty() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (VariantExporter exporter = new VariantExporter(outputStream, VariantExporter.Format.VCF, null)) {
+            assertEquals(0, exporter.export(Collections.<Variant>emptyIterator()));
+        }
+        assertTrue(new String(outputStream.toByteArray(), StandardCharsets.UTF_8).startsWith("##fileformat=VCF"));
+    }
+
+    @Test
+    public void testExportCompressed() throws IOException {
+        Path output = Files.createTempFile("export", ".vcf.gz");
+        try {
+            try (VariantExporter exporter = new VariantExporter(VariantExporter.getOutputStream(output.toString(), "vcf"),
+                    VariantExporter.getFormat("vcf"), null)) {
+                exporter.export(variants.iterator());
+            }
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(Files.newInputStream(output)), StandardCharsets.UTF_8))) {
+                int numLines = 0;
+                while (reader.readLine() != null) {
+                    numLines++;
+                }
+                assertEquals(13, numLines);
+            }
+        } finally {
+            Files.deleteIfExists(output);
+        }
+    }
+
+    @Test
+    public void testGetFormat() {
+        assertEquals(VariantExporter.Format.VCF, VariantExporter.getFormat("vcf.gz"));
+        assertEquals(VariantExporter.Format.TSV, VariantExporter.getFormat("TSV"));
+        try {
+            VariantExporter.getFormat("bam");
+            fail();
+        } catch (IllegalArgumentException e) {
+            // Expected
+        }
+    }
+}
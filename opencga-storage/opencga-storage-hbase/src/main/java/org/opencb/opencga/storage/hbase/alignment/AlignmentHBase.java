@@ -0,0 +1,86 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+
+package org.opencb.opencga.storage.hbase.alignment;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.HTable;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.xerial.snappy.Snappy;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ *
+ * @author jacobo
+ */
+public class AlignmentHBase {
+
+    public static final int ALIGNMENT_BUCKET_SIZE = 2048;
+    public static final String ALIGNMENT_COLUMN_FAMILY_NAME = "a";
+    public static final String ALIGNMENT_COVERAGE_COLUMN_FAMILY_NAME = "c";
+    
+    public static String getChromosomeFromRowkey(String rowKey) {
+        return rowKey.split("_")[0];
+    }
+
+    public static String getBucketRowkey(String chromosome, long start, int bucketSize) {
+        return getBucketRowkey(chromosome, start / bucketSize);
+    }
+
+    public static String getBucketRowkey(String chromosome, long bucketIndex) {
+        return chromosome + "_" + String.format("%07d", bucketIndex);
+    }
+
+    public static String getSummaryRowkey(String chromosome, int index) {
+        return "S_" + chromosome + "_" + String.format("%05d", index);
+    }
+
+    public static long getPositionFromRowkey(String rowKey, int bucketSize) {
+        return Long.valueOf(rowKey.split("_")[1]) * bucketSize;
+    }
+
+    /**
+     * Mean coverage rows share the column family with the coverage buckets, but have 3 fields in the rowkey.
+     */
+    public static boolean isBucketRowkey(String rowKey) {
+        return rowKey.split("_").length == 2;
+    }
+    
+    public static String getMeanCoverageRowKey(String chromosome, String coverageName, int coverageIndex){
+        return chromosome + "_" + coverageName + "_" + String.format("%08d", coverageIndex);
+    }
+
+    static String getHeaderRowKey() {
+        return "summary";
+    }
+
+    /**
+     * Reads the header written by AlignmentRegionHBaseDataWriter for one sample.
+     *
+     * @return  Header, or null if the sample was never loaded in this table
+     */
+    public static AlignmentHBaseHeader getHeader(HTable table, String columnFamilyName, String sampleName) throws IOException {
+        Get get = new Get(Bytes.toBytes(getHeaderRowKey()));
+        get.addColumn(Bytes.toBytes(columnFamilyName), Bytes.toBytes(sampleName));
+        Result result = table.get(get);
+        if (result == null || result.isEmpty()) {
+            return null;
+        }
+        String json = Bytes.toString(result.getValue(Bytes.toBytes(columnFamilyName), Bytes.toBytes(sampleName)));
+        Map<String, AlignmentHBaseHeader> map = new ObjectMapper().readValue(json, new TypeReference<Map<String, AlignmentHBaseHeader>>() { });
+        return map.get("header");
+    }
+
+    public static byte[] uncompress(byte[] value, boolean snappyCompress) throws IOException {
+        return snappyCompress ? Snappy.uncompress(value) : value;
+    }
+
+}
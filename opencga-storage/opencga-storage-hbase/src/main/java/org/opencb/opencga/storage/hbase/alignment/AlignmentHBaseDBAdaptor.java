@@ -0,0 +1,346 @@
+package org.opencb.opencga.storage.hbase.alignment;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.HTable;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.opencb.biodata.models.alignment.Alignment;
+import org.opencb.biodata.models.alignment.AlignmentRegion;
+import org.opencb.biodata.models.alignment.stats.MeanCoverage;
+import org.opencb.biodata.models.alignment.stats.RegionCoverage;
+import org.opencb.biodata.models.feature.Region;
+import org.opencb.datastore.core.ObjectMap;
+import org.opencb.datastore.core.QueryOptions;
+import org.opencb.datastore.core.QueryResult;
+import org.opencb.opencga.storage.core.alignment.adaptors.AlignmentDBAdaptor;
+import org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto;
+import org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProtoHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Serves alignments and coverage from the bucketed protobuf format written by
+ * {@link AlignmentRegionHBaseDataWriter} and {@link AlignmentRegionCoverageHBaseDataWriter}.
+ *
+ * All the files are stored in the same table, one column per file. The column name is the QO_FILE_ID.
+ */
+public class AlignmentHBaseDBAdaptor implements AlignmentDBAdaptor, Closeable {
+
+    public static final String FEATURES_COUNT = "features_count";
+    protected static Logger logger = LoggerFactory.getLogger(AlignmentHBaseDBAdaptor.class);
+
+    private final HBaseManager hBaseManager;
+    private final String tableName;
+    private String alignmentColumnFamilyName = AlignmentHBase.ALIGNMENT_COLUMN_FAMILY_NAME;
+    private String coverageColumnFamilyName = AlignmentHBase.ALIGNMENT_COVERAGE_COLUMN_FAMILY_NAME;
+    private int coverageBucketSize = AlignmentHBase.ALIGNMENT_BUCKET_SIZE;
+
+    public AlignmentHBaseDBAdaptor(Configuration config, String tableName) {
+        this.hBaseManager = new HBaseManager(config);
+        this.tableName = tableName;
+        hBaseManager.connect();
+    }
+
+    /**
+     *
+     * @param regions Query Region
+     * @param options Query Options: Expected file_id. Optionally include_coverage
+     * @return
+     */
+    @Override
+    public QueryResult getAllAlignmentsByRegion(List<Region> regions, QueryOptions options) {
+        String fileId = options.getString(QO_FILE_ID, "");
+        boolean includeCoverage = options.getBoolean(QO_INCLUDE_COVERAGE, true);
+
+        QueryResult<AlignmentRegion> queryResult = new QueryResult<>(fileId);
+        long startTime = System.currentTimeMillis();
+
+        HTable table = hBaseManager.getTable(tableName);
+        if (fileId.isEmpty()) {
+            queryResult.setErrorMsg("Expected parameter \"" + QO_FILE_ID + "\"");
+            logger.warn("Expected parameter \"" + QO_FILE_ID + "\"");
+        } else if (table == null) {
+            queryResult.setErrorMsg("Table " + tableName + " not found");
+            logger.warn("Table " + tableName + " not found");
+        } else {
+            try {
+                AlignmentHBaseHeader header = AlignmentHBase.getHeader(table, alignmentColumnFamilyName, fileId);
+                if (header == null) {
+                    queryResult.setErrorMsg("File " + fileId + " not loaded in table " + tableName);
+                    logger.warn("File " + fileId + " not loaded in table " + tableName);
+                } else {
+                    List<AlignmentRegion> results = new LinkedList<>();
+                    for (Region region : regions) {
+                        List<Alignment> alignments = getAlignmentsByRegion(table, header, fileId, region);
+                        RegionCoverage regionCoverage = null;
+                        if (includeCoverage) {
+                            regionCoverage = getRegionCoverage(table, fileId, region);
+                        }
+                        results.add(new AlignmentRegion(region.getChromosome(), region.getStart(), region.getEnd(),
+                                alignments, regionCoverage, null));
+                    }
+                    queryResult.setResult(results);
+                    queryResult.setNumResults(results.size());
+                }
+            } catch (IOException e) {
+                queryResult.setErrorMsg(e.getMessage());
+                logger.error(e.getMessage(), e);
+            }
+        }
+
+        queryResult.setTime((int) (System.currentTimeMillis() - startTime));
+        return queryResult;
+    }
+
+    @Override
+    public QueryResult getAllAlignmentsByGene(String gene, QueryOptions options) {
+        throw new UnsupportedOperationException("Not supported yet.");
+    }
+
+    @Override
+    public QueryResult getCoverageByRegion(Region region, QueryOptions options) {
+        String fileId = options.getString(QO_FILE_ID, "");
+        QueryResult<RegionCoverage> queryResult = new QueryResult<>(
+                String.format("%s:%d-%d", region.getChromosome(), region.getStart(), region.getEnd()));
+        long startTime = System.currentTimeMillis();
+
+        HTable table = hBaseManager.getTable(tableName);
+        if (fileId.isEmpty()) {
+            queryResult.setErrorMsg("Expected parameter \"" + QO_FILE_ID + "\"");
+            logger.warn("Expected parameter \"" + QO_FILE_ID + "\"");
+        } else if (table == null) {
+            queryResult.setErrorMsg("Table " + tableName + " not found");
+            logger.warn("Table " + tableName + " not found");
+        } else {
+            try {
+                queryResult.setResult(Arrays.asList(getRegionCoverage(table, fileId, region)));
+                queryResult.setNumResults(1);
+            } catch (IOException e) {
+                queryResult.setErrorMsg(e.getMessage());
+                logger.error(e.getMessage(), e);
+            }
+        }
+
+        queryResult.setTime((int) (System.currentTimeMillis() - startTime));
+        return queryResult;
+    }
+
+    @Deprecated
+    @Override
+    public QueryResult getAlignmentsHistogramByRegion(Region region, boolean histogramLogarithm, int histogramMax) {
+        throw new UnsupportedOperationException("Not supported yet.");
+    }
+
+    /**
+     * Reads the mean coverage precalculated at load time.
+     *
+     * @param region    Query Region
+     * @param options   Query Options: Expected file_id and interval_size. The interval_size must be one of the
+     *                  mean coverage sizes calculated while loading.
+     * @return
+     */
+    @Override
+    public QueryResult getAllIntervalFrequencies(Region region, QueryOptions options) {
+        String fileId = options.getString(QO_FILE_ID, "");
+        int size = options.getInt(QO_INTERVAL_SIZE, 2000);
+        String name = MeanCoverage.sizeToNameConvert(size).toLowerCase();
+
+        QueryResult<ObjectMap> queryResult = new QueryResult<>(fileId);
+        long startTime = System.currentTimeMillis();
+
+        HTable table = hBaseManager.getTable(tableName);
+        if (fileId.isEmpty() || table == null) {
+            queryResult.setErrorMsg("Expected parameter \"" + QO_FILE_ID + "\" and an existing table");
+            logger.warn("Expected parameter \"" + QO_FILE_ID + "\" and an existing table");
+        } else {
+            Scan scan = new Scan();
+            scan.setStartRow(Bytes.toBytes(AlignmentHBase.getMeanCoverageRowKey(region.getChromosome(), name, region.getStart() / size)));
+            scan.setStopRow(Bytes.toBytes(AlignmentHBase.getMeanCoverageRowKey(region.getChromosome(), name, region.getEnd() / size + 1)));
+            scan.addColumn(Bytes.toBytes(coverageColumnFamilyName), Bytes.toBytes(fileId));
+            scan.setMaxVersions(1);
+
+            List<ObjectMap> results = new LinkedList<>();
+            try (ResultScanner scanner = table.getScanner(scan)) {
+                for (Result result : scanner) {
+                    String rowKey = Bytes.toString(result.getRow());
+                    int index = Integer.parseInt(rowKey.substring(rowKey.lastIndexOf('_') + 1));
+                    AlignmentProto.MeanCoverage meanCoverage = AlignmentProto.MeanCoverage.parseFrom(
+                            result.getValue(Bytes.toBytes(coverageColumnFamilyName), Bytes.toBytes(fileId)));
+                    ObjectMap interval = new ObjectMap();
+                    interval.put("chromosome", region.getChromosome());
+                    interval.put("start", index * size + 1);
+                    interval.put("end", index * size + size);
+                    interval.put(FEATURES_COUNT, meanCoverage.getCoverage());
+                    results.add(interval);
+                }
+                queryResult.setResult(results);
+                queryResult.setNumResults(results.size());
+            } catch (IOException e) {
+                queryResult.setErrorMsg(e.getMessage());
+                logger.error(e.getMessage(), e);
+            }
+        }
+
+        queryResult.setTime((int) (System.currentTimeMillis() - startTime));
+        return queryResult;
+    }
+
+    @Override
+    public QueryResult getAlignmentRegionInfo(Region region, QueryOptions options) {
+        throw new UnsupportedOperationException("Not supported yet.");
+    }
+
+    @Override
+    public void close() {
+        hBaseManager.disconnect();
+    }
+
+    /* ******************************************
+     *              Auxiliary queries           *
+     * ******************************************/
+
+    /**
+     * Scans the alignment buckets overlapping the region. Buckets contain the alignments starting in them,
+     * so the scan starts "overlapped" buckets before the first one to get the long alignments.
+     */
+    private List<Alignment> getAlignmentsByRegion(HTable table, AlignmentHBaseHeader header, String fileId, Region region)
+            throws IOException {
+        int bucketSize = header.getBucketSize();
+        boolean snappyCompress = header.isSnappyCompress();
+        byte[] columnFamily = Bytes.toBytes(alignmentColumnFamilyName);
+        byte[] column = Bytes.toBytes(fileId);
+
+        long firstBucket = region.getStart() / bucketSize;
+        long lastBucket = region.getEnd() / bucketSize;
+
+        Get get = new Get(Bytes.toBytes(AlignmentHBase.getBucketRowkey(region.getChromosome(), firstBucket)));
+        get.addColumn(columnFamily, column);
+        Result firstResult = table.get(get);
+        if (firstResult != null && !firstResult.isEmpty()) {
+            AlignmentProto.AlignmentBucket bucket = AlignmentProto.AlignmentBucket.parseFrom(
+                    AlignmentHBase.uncompress(firstResult.getValue(columnFamily, column), snappyCompress));
+            firstBucket = Math.max(0, firstBucket - bucket.getOverlapped());
+        }
+
+        Scan scan = new Scan();
+        scan.setStartRow(Bytes.toBytes(AlignmentHBase.getBucketRowkey(region.getChromosome(), firstBucket)));
+        scan.setStopRow(Bytes.toBytes(AlignmentHBase.getBucketRowkey(region.getChromosome(), lastBucket + 1)));
+        scan.addColumn(columnFamily, column);
+        scan.setMaxVersions(1);
+
+        List<Alignment> alignments = new LinkedList<>();
+        Map<Integer, AlignmentSummary> summaryMap = new HashMap<>();
+        try (ResultScanner scanner = table.getScanner(scan)) {
+            for (Result result : scanner) {
+                for (Cell cell : result.listCells()) {
+                    String rowKey = Bytes.toString(CellUtil.cloneRow(cell));
+                    AlignmentProto.AlignmentBucket bucket = AlignmentProto.AlignmentBucket.parseFrom(
+                            AlignmentHBase.uncompress(CellUtil.cloneValue(cell), snappyCompress));
+
+                    AlignmentSummary summary = summaryMap.get(bucket.getSummaryIndex());
+                    if (summary == null) {
+                        summary = getSummary(table, region.getChromosome(), bucket.getSummaryIndex(), fileId, snappyCompress);
+                        summaryMap.put(bucket.getSummaryIndex(), summary);
+                    }
+
+                    long bucketStart = AlignmentHBase.getPositionFromRowkey(rowKey, bucketSize);
+                    for (Alignment alignment : AlignmentProtoHelper.toAlignmentList(bucket, summary, region.getChromosome(), bucketStart)) {
+                        if (alignment.getEnd() >= region.getStart() && alignment.getStart() <= region.getEnd()) {
+                            alignments.add(alignment);
+                        }
+                    }
+                }
+            }
+        }
+        return alignments;
+    }
+
+    private AlignmentSummary getSummary(HTable table, String chromosome, int index, String fileId, boolean snappyCompress)
+            throws IOException {
+        byte[] columnFamily = Bytes.toBytes(alignmentColumnFamilyName);
+        byte[] column = Bytes.toBytes(fileId);
+        String rowKey = AlignmentHBase.getSummaryRowkey(chromosome, index);
+
+        Get get = new Get(Bytes.toBytes(rowKey));
+        get.addColumn(columnFamily, column);
+        Result result = table.get(get);
+        if (result == null || result.isEmpty()) {
+            throw new IOException("Missing Summary : " + rowKey);
+        }
+        AlignmentProto.Summary summary = AlignmentProto.Summary.parseFrom(
+                AlignmentHBase.uncompress(result.getValue(columnFamily, column), snappyCompress));
+        return new AlignmentSummary(summary, index);
+    }
+
+    private RegionCoverage getRegionCoverage(HTable table, String fileId, Region region) throws IOException {
+        int size = region.getEnd() - region.getStart() + 1;
+        RegionCoverage regionCoverage = new RegionCoverage();
+        regionCoverage.setChromosome(region.getChromosome());
+        regionCoverage.setStart(region.getStart());
+        regionCoverage.setEnd(region.getEnd());
+        regionCoverage.setAll(new short[size]);
+        regionCoverage.setA(new short[size]);
+        regionCoverage.setC(new short[size]);
+        regionCoverage.setG(new short[size]);
+        regionCoverage.setT(new short[size]);
+
+        byte[] columnFamily = Bytes.toBytes(coverageColumnFamilyName);
+        byte[] column = Bytes.toBytes(fileId);
+
+        Scan scan = new Scan();
+        scan.setStartRow(Bytes.toBytes(AlignmentHBase.getBucketRowkey(region.getChromosome(), region.getStart(), coverageBucketSize)));
+        scan.setStopRow(Bytes.toBytes(AlignmentHBase.getBucketRowkey(region.getChromosome(), region.getEnd() / coverageBucketSize + 1)));
+        scan.addColumn(columnFamily, column);
+        scan.setMaxVersions(1);
+
+        try (ResultScanner scanner = table.getScanner(scan)) {
+            for (Result result : scanner) {
+                String rowKey = Bytes.toString(result.getRow());
+                if (!AlignmentHBase.isBucketRowkey(rowKey)) {
+                    continue;
+                }
+                AlignmentProto.Coverage coverage = AlignmentProto.Coverage.parseFrom(result.getValue(columnFamily, column));
+                long bucketStart = AlignmentHBase.getPositionFromRowkey(rowKey, coverageBucketSize);
+                AlignmentProtoHelper.toRegionCoverage(coverage, bucketStart, regionCoverage);
+            }
+        }
+        return regionCoverage;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public int getCoverageBucketSize() {
+        return coverageBucketSize;
+    }
+
+    public void setCoverageBucketSize(int coverageBucketSize) {
+        this.coverageBucketSize = coverageBucketSize;
+    }
+
+    public String getAlignmentColumnFamilyName() {
+        return alignmentColumnFamilyName;
+    }
+
+    public void setAlignmentColumnFamilyName(String alignmentColumnFamilyName) {
+        this.alignmentColumnFamilyName = alignmentColumnFamilyName;
+    }
+
+    public String getCoverageColumnFamilyName() {
+        return coverageColumnFamilyName;
+    }
+
+    public void setCoverageColumnFamilyName(String coverageColumnFamilyName) {
+        this.coverageColumnFamilyName = coverageColumnFamilyName;
+    }
+}
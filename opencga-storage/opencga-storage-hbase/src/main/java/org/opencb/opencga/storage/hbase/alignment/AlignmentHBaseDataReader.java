@@ -1,20 +1,17 @@
-package org.opencb.opencga.storage.alignment.hbase;
+package org.opencb.opencga.storage.hbase.alignment;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.google.protobuf.InvalidProtocolBufferException;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 import java.util.Properties;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.hbase.Cell;
 import org.apache.hadoop.hbase.CellUtil;
-import org.apache.hadoop.hbase.KeyValue;
 import org.apache.hadoop.hbase.client.Get;
 import org.apache.hadoop.hbase.client.HTable;
 import org.apache.hadoop.hbase.client.Result;
@@ -25,10 +22,8 @@ import org.opencb.biodata.formats.alignment.io.AlignmentDataReader;
 import org.opencb.biodata.models.alignment.Alignment;
 import org.opencb.biodata.models.alignment.AlignmentHeader;
 import org.opencb.biodata.models.feature.Region;
-import org.opencb.commons.containers.map.ObjectMap;
-import org.opencb.opencga.storage.alignment.AlignmentSummary;
-import org.opencb.opencga.storage.alignment.proto.AlignmentProto;
-import org.opencb.opencga.storage.alignment.proto.AlignmentProtoHelper;
+import org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto;
+import org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProtoHelper;
 import org.xerial.snappy.Snappy;
 
 
@@ -85,30 +80,19 @@ public class AlignmentHBaseDataReader implements AlignmentDataReader<Alignment>
 
         table = hBaseManager.createTable(tableName, columnFamilyName);
 
-        Result result;
         try {
-            String startRow = AlignmentHBase.getHeaderRowKey();
-            Get get = new Get(Bytes.toBytes(startRow));
-            get.addColumn(Bytes.toBytes(columnFamilyName), Bytes.toBytes(sampleName));
-            
-            result = table.get(get);
+            this.hbHeader = AlignmentHBase.getHeader(table, columnFamilyName, sampleName);
         } catch (IOException e) {
             e.printStackTrace();
             return false;
         }
-
-        Cell cell = result.listCells().get(0);
-        try {
-            String json = new String(CellUtil.cloneValue(cell));
-            ObjectMap o = new ObjectMap();
-            Map<String, AlignmentHBaseHeader> map = o.getJsonObjectMapper().readValue(json, new TypeReference<Map<String, AlignmentHBaseHeader>>() { });
-            this.hbHeader = map.get("header");
-            this.header = this.hbHeader.getHeader();
-            this.bucketSize = hbHeader.getBucketSize();
-            this.snappyCompress = hbHeader.isSnappyCompress();
-        } catch (IOException ex) {
-            Logger.getLogger(AlignmentHBaseDataReader.class.getName()).log(Level.SEVERE, null, ex);
+        if (hbHeader == null) {
+            Logger.getLogger(AlignmentHBaseDataReader.class.getName()).log(Level.SEVERE, "Missing header for " + sampleName);
+            return false;
         }
+        this.header = this.hbHeader.getHeader();
+        this.bucketSize = hbHeader.getBucketSize();
+        this.snappyCompress = hbHeader.isSnappyCompress();
         return getNewScanner();
     }
 
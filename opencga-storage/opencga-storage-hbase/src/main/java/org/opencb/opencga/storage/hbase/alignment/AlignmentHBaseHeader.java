@@ -4,7 +4,7 @@
  * and open the template in the editor.
  */
 
-package org.opencb.opencga.storage.alignment.hbase;
+package org.opencb.opencga.storage.hbase.alignment;
 
 import org.opencb.biodata.models.alignment.AlignmentHeader;
 
@@ -1,4 +1,4 @@
-package org.opencb.opencga.storage.alignment.hbase;
+package org.opencb.opencga.storage.hbase.alignment;
 
 import java.io.IOException;
 import java.io.InterruptedIOException;
@@ -16,7 +16,7 @@ import org.opencb.biodata.models.alignment.AlignmentRegion;
 import org.opencb.biodata.models.alignment.stats.MeanCoverage;
 import org.opencb.biodata.models.alignment.stats.RegionCoverage;
 import org.opencb.commons.io.DataWriter;
-import org.opencb.opencga.storage.alignment.proto.AlignmentProto;
+import org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto;
 
 /**
  * Created with IntelliJ IDEA.
@@ -106,100 +106,81 @@ public class AlignmentRegionCoverageHBaseDataWriter implements DataWriter<Alignm
 
     @Override
     public boolean write(AlignmentRegion alignmentRegion) {
-        //System.out.println("Write " + alignmentRegion.getStart() + "Elements " + alignmentRegion.getCoverage().getAll().length);
         RegionCoverage regionCoverage = alignmentRegion.getCoverage();
-        
-        
-        if(coverageBuilder == null){
-            this.initBuilder(regionCoverage, 0);
-        }
-        //Check if it's the same range that
-        if(regionCoverage.getStart() > coverageEnd || !regionCoverage.getChromosome().equals(chromosome)){
-            this.putCoverage();
-            this.initBuilder(regionCoverage, 0);
-        }
-        
-        //write RegionCoverage per nucleotide
-        for(int i = 0; i < regionCoverage.getAll().length; i++){
-            if(regionCoverage.getStart()+i > coverageEnd){
+
+        if (regionCoverage != null) {
+            //Change of chromosome. Flush the current bucket
+            if (coverageBuilder != null && !regionCoverage.getChromosome().equals(chromosome)) {
                 this.putCoverage();
-                this.initBuilder(regionCoverage, i);
-            }
-            
-            if (regionCoverage.getA()[i] != 0) {
-                coverageBuilder.addA(a);
-                coverageBuilder.addA(regionCoverage.getA()[i]);
-                a = 0;
-            } else {
-                a++;
+                coverageBuilder = null;
             }
-            if (regionCoverage.getC()[i] != 0) {
-                coverageBuilder.addC(c);
-                coverageBuilder.addC(regionCoverage.getC()[i]);
-                c=0;
-            } else {
-                c++;
-            }
-            if (regionCoverage.getG()[i] != 0) {
-                coverageBuilder.addG(g);
-                coverageBuilder.addG(regionCoverage.getG()[i]);
-                g=0;
-            } else {
-                g++;
-            }if (regionCoverage.getT()[i] != 0) {
-                coverageBuilder.addT(t);
-                coverageBuilder.addT(regionCoverage.getT()[i]);
-                t=0;
-            } else {
-                t++;
+
+            //write RegionCoverage per nucleotide. Each bucket stores the positions [coverageStart, coverageEnd)
+            for (int i = 0; i < regionCoverage.getAll().length; i++) {
+                long position = regionCoverage.getStart() + i;
+                if (coverageBuilder == null) {
+                    this.initBuilder(regionCoverage.getChromosome(), position);
+                } else if (position >= coverageEnd) {
+                    this.putCoverage();
+                    this.initBuilder(regionCoverage.getChromosome(), position);
+                }
+
+                if (regionCoverage.getA()[i] != 0) {
+                    coverageBuilder.addA(a);
+                    coverageBuilder.addA(regionCoverage.getA()[i]);
+                    a = 0;
+                } else {
+                    a++;
+                }
+                if (regionCoverage.getC()[i] != 0) {
+                    coverageBuilder.addC(c);
+                    coverageBuilder.addC(regionCoverage.getC()[i]);
+                    c = 0;
+                } else {
+                    c++;
+                }
+                if (regionCoverage.getG()[i] != 0) {
+                    coverageBuilder.addG(g);
+                    coverageBuilder.addG(regionCoverage.getG()[i]);
+                    g = 0;
+                } else {
+                    g++;
+                }
+                if (regionCoverage.getT()[i] != 0) {
+                    coverageBuilder.addT(t);
+                    coverageBuilder.addT(regionCoverage.getT()[i]);
+                    t = 0;
+                } else {
+                    t++;
+                }
+
+                coverageBuilder.addAll(regionCoverage.getAll()[i]);
             }
-            
-            
-            
-//            coverageBuilder.addA  (regionCoverage.getA()[i]);
-//            coverageBuilder.addC  (regionCoverage.getC()[i]);
-//            coverageBuilder.addG  (regionCoverage.getG()[i]);
-//            coverageBuilder.addT  (regionCoverage.getT()[i]);
-            
-            coverageBuilder.addAll(regionCoverage.getAll()[i]);
-            
         }
 
         //write mean coverage
-        for(MeanCoverage meanCoverage : alignmentRegion.getMeanCoverage()){
-            String coverageName = meanCoverage.getName();
-            float[] coverage = meanCoverage.getCoverage();
-
-            for(int i = 0; i < coverage.length; i++){
-                
-                Put put = new Put(Bytes.toBytes(AlignmentHBase.getMeanCoverageRowKey(chromosome, coverageName, (meanCoverage.getInitPosition()/meanCoverage.getSize()) + i)));
-                String columnName = sample;
-                byte[] value = AlignmentProto.MeanCoverage.newBuilder().setCoverage(coverage[i]).build().toByteArray();
-                put.add(Bytes.toBytes(columnFamilyName), Bytes.toBytes(columnName), value);
+        if (alignmentRegion.getMeanCoverage() != null) {
+            for (MeanCoverage meanCoverage : alignmentRegion.getMeanCoverage()) {
+                if (meanCoverage.getRegion().getStart() < 0) {
+                    continue;   //Empty interval emitted before the first alignment
+                }
+                String rowKey = AlignmentHBase.getMeanCoverageRowKey(meanCoverage.getRegion().getChromosome(),
+                        meanCoverage.getName().toLowerCase(), meanCoverage.getRegion().getStart() / meanCoverage.getSize());
+                Put put = new Put(Bytes.toBytes(rowKey));
+                byte[] value = AlignmentProto.MeanCoverage.newBuilder().setCoverage(meanCoverage.getCoverage()).build().toByteArray();
+                put.add(Bytes.toBytes(columnFamilyName), Bytes.toBytes(sample), value);
                 puts.add(put);
-//                System.out.println("value.length = " + value.length);
-//                try {
-//                    float l;
-//                    System.out.println("Snappy(value).length = " + (l=Snappy.compress(value).length));
-//                    System.out.println("value/snappy = " + value.length/l);
-//                } catch (IOException ex) {
-//                    Logger.getLogger(AlignmentRegionCoverageHBaseDataWriter.class.getName()).log(Level.SEVERE, null, ex);
-//                }
-
             }
         }
 
-       // System.out.println("End Write");
-
         try {
             table.put(puts);
             puts.clear();
         } catch (IOException e) {
-            e.printStackTrace();  //To change body of catch statement use File | Settings | File Templates.
+            e.printStackTrace();
             return false;
         }
 
-       // System.out.println("Table.Puts");
         return true;
     }
 
@@ -213,32 +194,35 @@ public class AlignmentRegionCoverageHBaseDataWriter implements DataWriter<Alignm
         return true;
     }
 
-    private void initBuilder(RegionCoverage regionCoverage, int offset) {
+    /**
+     * Starts a new bucket containing the given position. Positions of the bucket before it are filled with zeros.
+     */
+    private void initBuilder(String chromosome, long position) {
         coverageBuilder = AlignmentProto.Coverage.newBuilder();
-        coverageStart = ((regionCoverage.getStart() + offset) / bucketSize) * bucketSize;
+        coverageStart = (position / bucketSize) * bucketSize;
         coverageEnd = coverageStart + bucketSize;
-        chromosome = regionCoverage.getChromosome();
-        a = c = g = t = 0;
+        this.chromosome = chromosome;
+        a = c = g = t = (int) (position - coverageStart);
+        for (long i = coverageStart; i < position; i++) {
+            coverageBuilder.addAll(0);
+        }
     }
 
     private void putCoverage() {
-        byte[] value;
         Put put = new Put(Bytes.toBytes(AlignmentHBase.getBucketRowkey(chromosome, coverageStart, bucketSize)));
-        put.add(Bytes.toBytes(columnFamilyName), Bytes.toBytes(sample), value = coverageBuilder.build().toByteArray());
+        put.add(Bytes.toBytes(columnFamilyName), Bytes.toBytes(sample), coverageBuilder.build().toByteArray());
         puts.add(put);
-        
-//        System.out.println("value.length = " + value.length);
-//        try {
-//            float l;
-//            System.out.println("Snappy(value).length = " + (l = Snappy.compress(value).length));
-//            System.out.println("value/snappy = " + value.length / l);
-//        } catch (IOException ex) {
-//            Logger.getLogger(AlignmentRegionCoverageHBaseDataWriter.class.getName()).log(Level.SEVERE, null, ex);
-//        }
-        
     }
     
     
+    public int getBucketSize() {
+        return bucketSize;
+    }
+
+    public void setBucketSize(int bucketSize) {
+        this.bucketSize = bucketSize;
+    }
+
     public String getSample() {
         return sample;
     }
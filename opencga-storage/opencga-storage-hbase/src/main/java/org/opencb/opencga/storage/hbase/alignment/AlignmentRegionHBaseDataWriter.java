@@ -1,4 +1,4 @@
-package org.opencb.opencga.storage.alignment.hbase;
+package org.opencb.opencga.storage.hbase.alignment;
 
 import java.io.IOException;
 import java.io.InterruptedIOException;
@@ -17,13 +17,11 @@ import org.opencb.biodata.formats.alignment.io.AlignmentDataReader;
 import org.opencb.biodata.models.alignment.Alignment;
 import org.opencb.biodata.models.alignment.AlignmentHeader;
 import org.opencb.biodata.models.alignment.AlignmentRegion;
-import org.opencb.commons.containers.map.ObjectMap;
+import org.opencb.datastore.core.ObjectMap;
 import org.opencb.commons.io.DataWriter;
-import org.opencb.opencga.lib.auth.MonbaseCredentials;
-import org.opencb.opencga.storage.alignment.AlignmentSummary;
-import org.opencb.opencga.storage.alignment.AlignmentSummary.AlignmentRegionSummaryBuilder;
-import org.opencb.opencga.storage.alignment.proto.AlignmentProto;
-import org.opencb.opencga.storage.alignment.proto.AlignmentProtoHelper;
+import org.opencb.opencga.storage.hbase.alignment.AlignmentSummary.AlignmentRegionSummaryBuilder;
+import org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto;
+import org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProtoHelper;
 import org.xerial.snappy.Snappy;
 
 /**
@@ -1,7 +1,7 @@
-package org.opencb.opencga.storage.alignment;
+package org.opencb.opencga.storage.hbase.alignment;
 
 import org.opencb.biodata.models.alignment.Alignment;
-import org.opencb.opencga.storage.alignment.proto.AlignmentProto;
+import org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto;
 
 import java.util.*;
 
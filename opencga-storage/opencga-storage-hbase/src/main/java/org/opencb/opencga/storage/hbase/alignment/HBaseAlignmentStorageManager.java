@@ -0,0 +1,150 @@
+package org.opencb.opencga.storage.hbase.alignment;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.HBaseConfiguration;
+import org.opencb.biodata.formats.alignment.io.AlignmentRegionDataReader;
+import org.opencb.biodata.formats.io.FileFormatException;
+import org.opencb.biodata.models.alignment.AlignmentRegion;
+import org.opencb.commons.io.DataWriter;
+import org.opencb.commons.run.Runner;
+import org.opencb.commons.run.Task;
+import org.opencb.datastore.core.ObjectMap;
+import org.opencb.opencga.storage.core.alignment.AlignmentStorageManager;
+import org.opencb.opencga.storage.core.alignment.adaptors.AlignmentDBAdaptor;
+import org.opencb.opencga.storage.core.alignment.json.AlignmentJsonDataReader;
+import org.opencb.opencga.storage.core.alignment.tasks.AlignmentRegionCoverageCalculatorTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Stores alignments in HBase using delta-encoded protobuf buckets (see Alignment.proto).
+ *
+ * All the files share the same table. Each file is stored in its own column, named with the FILE_ID.
+ * Alignments are stored in the column family "a", and coverage and mean coverage in the column family "c".
+ */
+public class HBaseAlignmentStorageManager extends AlignmentStorageManager {
+
+    public static final String HBASE_TABLE_NAME = "opencga_alignments";
+    public static final String OPENCGA_STORAGE_HBASE_ALIGNMENT_TABLE_NAME       = "OPENCGA.STORAGE.HBASE.ALIGNMENT.TABLE.NAME";
+    public static final String OPENCGA_STORAGE_HBASE_ZOOKEEPER_QUORUM           = "OPENCGA.STORAGE.HBASE.ZOOKEEPER.QUORUM";
+    public static final String OPENCGA_STORAGE_HBASE_ZOOKEEPER_PORT             = "OPENCGA.STORAGE.HBASE.ZOOKEEPER.PORT";
+    public static final String OPENCGA_STORAGE_HBASE_ZOOKEEPER_ZNODE_PARENT     = "OPENCGA.STORAGE.HBASE.ZOOKEEPER.ZNODE_PARENT";
+    public static final String OPENCGA_STORAGE_HBASE_ALIGNMENT_MEAN_COVERAGE_SIZE_LIST = "OPENCGA.STORAGE.HBASE.ALIGNMENT.MEAN_COVERAGE_SIZE_LIST";
+
+    protected static Logger logger = LoggerFactory.getLogger(HBaseAlignmentStorageManager.class);
+
+    public HBaseAlignmentStorageManager(Path propertiesPath) {
+        this();
+        addConfigUri(URI.create(propertiesPath.toString()));
+    }
+
+    public HBaseAlignmentStorageManager() {
+        super();
+    }
+
+    @Override
+    public AlignmentRegionCoverageHBaseDataWriter getDBWriter(String dbName, ObjectMap params) {
+        String fileId = params.getString(FILE_ID);
+        return new AlignmentRegionCoverageHBaseDataWriter(getHBaseConfiguration(), getTableName(dbName), fileId);
+    }
+
+    @Override
+    public AlignmentDBAdaptor getDBAdaptor(String dbName, ObjectMap params) {
+        return new AlignmentHBaseDBAdaptor(getHBaseConfiguration(), getTableName(dbName));
+    }
+
+    public Configuration getHBaseConfiguration() {
+        Configuration config = HBaseConfiguration.create();
+        config.set("hbase.zookeeper.quorum", properties.getProperty(OPENCGA_STORAGE_HBASE_ZOOKEEPER_QUORUM, "localhost"));
+        config.set("hbase.zookeeper.property.clientPort", properties.getProperty(OPENCGA_STORAGE_HBASE_ZOOKEEPER_PORT, "2181"));
+        config.set("zookeeper.znode.parent", properties.getProperty(OPENCGA_STORAGE_HBASE_ZOOKEEPER_ZNODE_PARENT, "/hbase"));
+        return config;
+    }
+
+    private String getTableName(String dbName) {
+        if (dbName == null || dbName.isEmpty()) {
+            dbName = properties.getProperty(OPENCGA_STORAGE_HBASE_ALIGNMENT_TABLE_NAME, HBASE_TABLE_NAME);
+            logger.info("Using default table name in HBaseAlignmentStorageManager");
+        }
+        return dbName;
+    }
+
+    /**
+     * Only the alignments json is needed. Coverage is calculated while loading.
+     */
+    @Override
+    public URI transform(URI inputUri, URI pedigree, URI outputUri, ObjectMap params) throws IOException, FileFormatException {
+        params.put(WRITE_ALIGNMENTS, true);
+        params.put(INCLUDE_COVERAGE, false);
+        return super.transform(inputUri, pedigree, outputUri, params);
+    }
+
+    @Override
+    public URI preLoad(URI input, URI output, ObjectMap params) throws IOException {
+        return input;
+    }
+
+    /**
+     * Loads a <FILE_ALIAS>.bam.alignments.json[.gz] file, as created by the transform step.
+     *
+     * @param inputUri  Alignments json file
+     * @param params    Hash for extra params. FILE_ID, DB_NAME, REGION_SIZE, MEAN_COVERAGE_SIZE_LIST
+     */
+    @Override
+    public URI load(URI inputUri, ObjectMap params) throws IOException {
+        checkUri(inputUri, "input uri");
+        Path input = Paths.get(inputUri.getPath());
+
+        String fileId = params.getString(FILE_ID, input.getFileName().toString().split("\\.")[0]);
+        String tableName = getTableName(params.getString(DB_NAME));
+        int regionSize = params.getInt(REGION_SIZE,
+                Integer.parseInt(properties.getProperty("OPENCGA.STORAGE.ALIGNMENT.TRANSFORM.REGION_SIZE", "200000")));
+        List<String> meanCoverageSizeList = params.getListAs(MEAN_COVERAGE_SIZE_LIST, String.class,
+                Arrays.asList(properties.getProperty(OPENCGA_STORAGE_HBASE_ALIGNMENT_MEAN_COVERAGE_SIZE_LIST, "1k,10k").split(",")));
+        Configuration config = getHBaseConfiguration();
+
+        //Reader
+        AlignmentJsonDataReader alignmentDataReader = getAlignmentJsonDataReader(inputUri);
+        AlignmentRegionDataReader regionReader = new AlignmentRegionDataReader(alignmentDataReader);
+        regionReader.setMaxSequenceSize(regionSize);
+
+        //Tasks
+        AlignmentRegionCoverageCalculatorTask coverageCalculatorTask = new AlignmentRegionCoverageCalculatorTask();
+        for (String size : meanCoverageSizeList) {
+            coverageCalculatorTask.addMeanCoverageCalculator(size.trim());
+        }
+        List<Task<AlignmentRegion>> tasks = new LinkedList<>();
+        tasks.add(coverageCalculatorTask);
+
+        //Writers
+        List<DataWriter<AlignmentRegion>> writers = new LinkedList<>();
+        writers.add(new AlignmentRegionHBaseDataWriter(config, tableName, fileId, alignmentDataReader));
+        writers.add(new AlignmentRegionCoverageHBaseDataWriter(config, tableName, fileId));
+
+        //Runner
+        Runner<AlignmentRegion> runner = new Runner<>(regionReader, writers, tasks, 1);
+
+        logger.info("Loading alignments...");
+        long start = System.currentTimeMillis();
+        runner.run();
+        long end = System.currentTimeMillis();
+        logger.info("end - start = " + (end - start) / 1000.0 + "s");
+        logger.info("Alignments loaded!");
+
+        return inputUri;
+    }
+
+    @Override
+    public URI postLoad(URI input, URI output, ObjectMap params) throws IOException {
+        return input;
+    }
+
+}
@@ -1,4 +1,4 @@
-package org.opencb.opencga.storage.alignment.hbase;
+package org.opencb.opencga.storage.hbase.alignment;
 
 import java.io.IOException;
 import java.util.HashMap;
@@ -1,7 +1,7 @@
 // Generated by the protocol buffer compiler.  DO NOT EDIT!
 // source: Alignment.proto
 
-package org.opencb.opencga.storage.alignment.proto;
+package org.opencb.opencga.storage.hbase.alignment.proto;
 
 public final class AlignmentProto {
   private AlignmentProto() {}
@@ -27,7 +27,7 @@ public final class AlignmentProto {
      *TODO: Default op? Summary, Bucket or Alignment level?
      * </pre>
      */
-    org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference.DifferenceOperator getOperator();
+    org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference.DifferenceOperator getOperator();
 
     // optional uint32 pos = 2;
     /**
@@ -136,7 +136,7 @@ public final class AlignmentProto {
             }
             case 8: {
               int rawValue = input.readEnum();
-              org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference.DifferenceOperator value = org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference.DifferenceOperator.valueOf(rawValue);
+              org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference.DifferenceOperator value = org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference.DifferenceOperator.valueOf(rawValue);
               if (value == null) {
                 unknownFields.mergeVarintField(1, rawValue);
               } else {
@@ -174,14 +174,14 @@ public final class AlignmentProto {
     }
     public static final com.google.protobuf.Descriptors.Descriptor
         getDescriptor() {
-      return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Difference_descriptor;
+      return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Difference_descriptor;
     }
 
     protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
         internalGetFieldAccessorTable() {
-      return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Difference_fieldAccessorTable
+      return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Difference_fieldAccessorTable
           .ensureFieldAccessorsInitialized(
-              org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference.class, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference.Builder.class);
+              org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference.class, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference.Builder.class);
     }
 
     public static com.google.protobuf.Parser<Difference> PARSER =
@@ -301,7 +301,7 @@ public final class AlignmentProto {
       }
       public static final com.google.protobuf.Descriptors.EnumDescriptor
           getDescriptor() {
-        return org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference.getDescriptor().getEnumTypes().get(0);
+        return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference.getDescriptor().getEnumTypes().get(0);
       }
 
       private static final DifferenceOperator[] VALUES = values();
@@ -329,7 +329,7 @@ public final class AlignmentProto {
     private int bitField0_;
     // required .org.opencb.opencga.storage.alignment.proto.Difference.DifferenceOperator operator = 1;
     public static final int OPERATOR_FIELD_NUMBER = 1;
-    private org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference.DifferenceOperator operator_;
+    private org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference.DifferenceOperator operator_;
     /**
      * <code>required .org.opencb.opencga.storage.alignment.proto.Difference.DifferenceOperator operator = 1;</code>
      *
@@ -347,7 +347,7 @@ public final class AlignmentProto {
      *TODO: Default op? Summary, Bucket or Alignment level?
      * </pre>
      */
-    public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference.DifferenceOperator getOperator() {
+    public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference.DifferenceOperator getOperator() {
       return operator_;
     }
 
@@ -424,7 +424,7 @@ public final class AlignmentProto {
     }
 
     private void initFields() {
-      operator_ = org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference.DifferenceOperator.INSERTION;
+      operator_ = org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference.DifferenceOperator.INSERTION;
       pos_ = 0;
       length_ = 0;
       sequence_ = com.google.protobuf.ByteString.EMPTY;
@@ -494,53 +494,53 @@ public final class AlignmentProto {
       return super.writeReplace();
     }
 
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference parseFrom(
         com.google.protobuf.ByteString data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference parseFrom(
         com.google.protobuf.ByteString data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference parseFrom(byte[] data)
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference parseFrom(byte[] data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference parseFrom(
         byte[] data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference parseFrom(java.io.InputStream input)
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference parseFrom(java.io.InputStream input)
         throws java.io.IOException {
       return PARSER.parseFrom(input);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference parseFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return PARSER.parseFrom(input, extensionRegistry);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference parseDelimitedFrom(java.io.InputStream input)
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference parseDelimitedFrom(java.io.InputStream input)
         throws java.io.IOException {
       return PARSER.parseDelimitedFrom(input);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference parseDelimitedFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference parseDelimitedFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return PARSER.parseDelimitedFrom(input, extensionRegistry);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference parseFrom(
         com.google.protobuf.CodedInputStream input)
         throws java.io.IOException {
       return PARSER.parseFrom(input);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference parseFrom(
         com.google.protobuf.CodedInputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
@@ -549,7 +549,7 @@ public final class AlignmentProto {
 
     public static Builder newBuilder() { return Builder.create(); }
     public Builder newBuilderForType() { return newBuilder(); }
-    public static Builder newBuilder(org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference prototype) {
+    public static Builder newBuilder(org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference prototype) {
       return newBuilder().mergeFrom(prototype);
     }
     public Builder toBuilder() { return newBuilder(this); }
@@ -565,20 +565,20 @@ public final class AlignmentProto {
      */
     public static final class Builder extends
         com.google.protobuf.GeneratedMessage.Builder<Builder>
-       implements org.opencb.opencga.storage.alignment.proto.AlignmentProto.DifferenceOrBuilder {
+       implements org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.DifferenceOrBuilder {
       public static final com.google.protobuf.Descriptors.Descriptor
           getDescriptor() {
-        return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Difference_descriptor;
+        return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Difference_descriptor;
       }
 
       protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
           internalGetFieldAccessorTable() {
-        return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Difference_fieldAccessorTable
+        return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Difference_fieldAccessorTable
             .ensureFieldAccessorsInitialized(
-                org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference.class, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference.Builder.class);
+                org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference.class, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference.Builder.class);
       }
 
-      // Construct using org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference.newBuilder()
+      // Construct using org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference.newBuilder()
       private Builder() {
         maybeForceBuilderInitialization();
       }
@@ -598,7 +598,7 @@ public final class AlignmentProto {
 
       public Builder clear() {
         super.clear();
-        operator_ = org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference.DifferenceOperator.INSERTION;
+        operator_ = org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference.DifferenceOperator.INSERTION;
         bitField0_ = (bitField0_ & ~0x00000001);
         pos_ = 0;
         bitField0_ = (bitField0_ & ~0x00000002);
@@ -615,23 +615,23 @@ public final class AlignmentProto {
 
       public com.google.protobuf.Descriptors.Descriptor
           getDescriptorForType() {
-        return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Difference_descriptor;
+        return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Difference_descriptor;
       }
 
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference getDefaultInstanceForType() {
-        return org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference.getDefaultInstance();
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference getDefaultInstanceForType() {
+        return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference.getDefaultInstance();
       }
 
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference build() {
-        org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference result = buildPartial();
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference build() {
+        org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference result = buildPartial();
         if (!result.isInitialized()) {
           throw newUninitializedMessageException(result);
         }
         return result;
       }
 
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference buildPartial() {
-        org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference result = new org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference(this);
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference buildPartial() {
+        org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference result = new org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference(this);
         int from_bitField0_ = bitField0_;
         int to_bitField0_ = 0;
         if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
@@ -656,16 +656,16 @@ public final class AlignmentProto {
       }
 
       public Builder mergeFrom(com.google.protobuf.Message other) {
-        if (other instanceof org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference) {
-          return mergeFrom((org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference)other);
+        if (other instanceof org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference) {
+          return mergeFrom((org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference)other);
         } else {
           super.mergeFrom(other);
           return this;
         }
       }
 
-      public Builder mergeFrom(org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference other) {
-        if (other == org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference.getDefaultInstance()) return this;
+      public Builder mergeFrom(org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference other) {
+        if (other == org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference.getDefaultInstance()) return this;
         if (other.hasOperator()) {
           setOperator(other.getOperator());
         }
@@ -694,11 +694,11 @@ public final class AlignmentProto {
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws java.io.IOException {
-        org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference parsedMessage = null;
+        org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference parsedMessage = null;
         try {
           parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
         } catch (com.google.protobuf.InvalidProtocolBufferException e) {
-          parsedMessage = (org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference) e.getUnfinishedMessage();
+          parsedMessage = (org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference) e.getUnfinishedMessage();
           throw e;
         } finally {
           if (parsedMessage != null) {
@@ -710,7 +710,7 @@ public final class AlignmentProto {
       private int bitField0_;
 
       // required .org.opencb.opencga.storage.alignment.proto.Difference.DifferenceOperator operator = 1;
-      private org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference.DifferenceOperator operator_ = org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference.DifferenceOperator.INSERTION;
+      private org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference.DifferenceOperator operator_ = org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference.DifferenceOperator.INSERTION;
       /**
        * <code>required .org.opencb.opencga.storage.alignment.proto.Difference.DifferenceOperator operator = 1;</code>
        *
@@ -728,7 +728,7 @@ public final class AlignmentProto {
        *TODO: Default op? Summary, Bucket or Alignment level?
        * </pre>
        */
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference.DifferenceOperator getOperator() {
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference.DifferenceOperator getOperator() {
         return operator_;
       }
       /**
@@ -738,7 +738,7 @@ public final class AlignmentProto {
        *TODO: Default op? Summary, Bucket or Alignment level?
        * </pre>
        */
-      public Builder setOperator(org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference.DifferenceOperator value) {
+      public Builder setOperator(org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference.DifferenceOperator value) {
         if (value == null) {
           throw new NullPointerException();
         }
@@ -756,7 +756,7 @@ public final class AlignmentProto {
        */
       public Builder clearOperator() {
         bitField0_ = (bitField0_ & ~0x00000001);
-        operator_ = org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference.DifferenceOperator.INSERTION;
+        operator_ = org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference.DifferenceOperator.INSERTION;
         onChanged();
         return this;
       }
@@ -1042,12 +1042,12 @@ public final class AlignmentProto {
     /**
      * <code>repeated .org.opencb.opencga.storage.alignment.proto.Difference diffs = 10;</code>
      */
-    java.util.List<org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference> 
+    java.util.List<org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference> 
         getDiffsList();
     /**
      * <code>repeated .org.opencb.opencga.storage.alignment.proto.Difference diffs = 10;</code>
      */
-    org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference getDiffs(int index);
+    org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference getDiffs(int index);
     /**
      * <code>repeated .org.opencb.opencga.storage.alignment.proto.Difference diffs = 10;</code>
      */
@@ -1055,12 +1055,12 @@ public final class AlignmentProto {
     /**
      * <code>repeated .org.opencb.opencga.storage.alignment.proto.Difference diffs = 10;</code>
      */
-    java.util.List<? extends org.opencb.opencga.storage.alignment.proto.AlignmentProto.DifferenceOrBuilder> 
+    java.util.List<? extends org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.DifferenceOrBuilder> 
         getDiffsOrBuilderList();
     /**
      * <code>repeated .org.opencb.opencga.storage.alignment.proto.Difference diffs = 10;</code>
      */
-    org.opencb.opencga.storage.alignment.proto.AlignmentProto.DifferenceOrBuilder getDiffsOrBuilder(
+    org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.DifferenceOrBuilder getDiffsOrBuilder(
         int index);
 
     // repeated uint32 tags = 11 [packed = true];
@@ -1175,10 +1175,10 @@ public final class AlignmentProto {
             }
             case 82: {
               if (!((mutable_bitField0_ & 0x00000200) == 0x00000200)) {
-                diffs_ = new java.util.ArrayList<org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference>();
+                diffs_ = new java.util.ArrayList<org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference>();
                 mutable_bitField0_ |= 0x00000200;
               }
-              diffs_.add(input.readMessage(org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference.PARSER, extensionRegistry));
+              diffs_.add(input.readMessage(org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference.PARSER, extensionRegistry));
               break;
             }
             case 88: {
@@ -1222,14 +1222,14 @@ public final class AlignmentProto {
     }
     public static final com.google.protobuf.Descriptors.Descriptor
         getDescriptor() {
-      return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_AlignmentRecord_descriptor;
+      return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_AlignmentRecord_descriptor;
     }
 
     protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
         internalGetFieldAccessorTable() {
-      return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_AlignmentRecord_fieldAccessorTable
+      return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_AlignmentRecord_fieldAccessorTable
           .ensureFieldAccessorsInitialized(
-              org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord.class, org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord.Builder.class);
+              org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord.class, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord.Builder.class);
     }
 
     public static com.google.protobuf.Parser<AlignmentRecord> PARSER =
@@ -1483,17 +1483,17 @@ public final class AlignmentProto {
 
     // repeated .org.opencb.opencga.storage.alignment.proto.Difference diffs = 10;
     public static final int DIFFS_FIELD_NUMBER = 10;
-    private java.util.List<org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference> diffs_;
+    private java.util.List<org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference> diffs_;
     /**
      * <code>repeated .org.opencb.opencga.storage.alignment.proto.Difference diffs = 10;</code>
      */
-    public java.util.List<org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference> getDiffsList() {
+    public java.util.List<org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference> getDiffsList() {
       return diffs_;
     }
     /**
      * <code>repeated .org.opencb.opencga.storage.alignment.proto.Difference diffs = 10;</code>
      */
-    public java.util.List<? extends org.opencb.opencga.storage.alignment.proto.AlignmentProto.DifferenceOrBuilder> 
+    public java.util.List<? extends org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.DifferenceOrBuilder> 
         getDiffsOrBuilderList() {
       return diffs_;
     }
@@ -1506,13 +1506,13 @@ public final class AlignmentProto {
     /**
      * <code>repeated .org.opencb.opencga.storage.alignment.proto.Difference diffs = 10;</code>
      */
-    public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference getDiffs(int index) {
+    public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference getDiffs(int index) {
       return diffs_.get(index);
     }
     /**
      * <code>repeated .org.opencb.opencga.storage.alignment.proto.Difference diffs = 10;</code>
      */
-    public org.opencb.opencga.storage.alignment.proto.AlignmentProto.DifferenceOrBuilder getDiffsOrBuilder(
+    public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.DifferenceOrBuilder getDiffsOrBuilder(
         int index) {
       return diffs_.get(index);
     }
@@ -1708,53 +1708,53 @@ public final class AlignmentProto {
       return super.writeReplace();
     }
 
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord parseFrom(
         com.google.protobuf.ByteString data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord parseFrom(
         com.google.protobuf.ByteString data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord parseFrom(byte[] data)
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord parseFrom(byte[] data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord parseFrom(
         byte[] data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord parseFrom(java.io.InputStream input)
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord parseFrom(java.io.InputStream input)
         throws java.io.IOException {
       return PARSER.parseFrom(input);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord parseFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return PARSER.parseFrom(input, extensionRegistry);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord parseDelimitedFrom(java.io.InputStream input)
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord parseDelimitedFrom(java.io.InputStream input)
         throws java.io.IOException {
       return PARSER.parseDelimitedFrom(input);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord parseDelimitedFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord parseDelimitedFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return PARSER.parseDelimitedFrom(input, extensionRegistry);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord parseFrom(
         com.google.protobuf.CodedInputStream input)
         throws java.io.IOException {
       return PARSER.parseFrom(input);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord parseFrom(
         com.google.protobuf.CodedInputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
@@ -1763,7 +1763,7 @@ public final class AlignmentProto {
 
     public static Builder newBuilder() { return Builder.create(); }
     public Builder newBuilderForType() { return newBuilder(); }
-    public static Builder newBuilder(org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord prototype) {
+    public static Builder newBuilder(org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord prototype) {
       return newBuilder().mergeFrom(prototype);
     }
     public Builder toBuilder() { return newBuilder(this); }
@@ -1779,20 +1779,20 @@ public final class AlignmentProto {
      */
     public static final class Builder extends
         com.google.protobuf.GeneratedMessage.Builder<Builder>
-       implements org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecordOrBuilder {
+       implements org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecordOrBuilder {
       public static final com.google.protobuf.Descriptors.Descriptor
           getDescriptor() {
-        return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_AlignmentRecord_descriptor;
+        return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_AlignmentRecord_descriptor;
       }
 
       protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
           internalGetFieldAccessorTable() {
-        return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_AlignmentRecord_fieldAccessorTable
+        return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_AlignmentRecord_fieldAccessorTable
             .ensureFieldAccessorsInitialized(
-                org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord.class, org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord.Builder.class);
+                org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord.class, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord.Builder.class);
       }
 
-      // Construct using org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord.newBuilder()
+      // Construct using org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord.newBuilder()
       private Builder() {
         maybeForceBuilderInitialization();
       }
@@ -1848,23 +1848,23 @@ public final class AlignmentProto {
 
       public com.google.protobuf.Descriptors.Descriptor
           getDescriptorForType() {
-        return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_AlignmentRecord_descriptor;
+        return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_AlignmentRecord_descriptor;
       }
 
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord getDefaultInstanceForType() {
-        return org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord.getDefaultInstance();
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord getDefaultInstanceForType() {
+        return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord.getDefaultInstance();
       }
 
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord build() {
-        org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord result = buildPartial();
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord build() {
+        org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord result = buildPartial();
         if (!result.isInitialized()) {
           throw newUninitializedMessageException(result);
         }
         return result;
       }
 
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord buildPartial() {
-        org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord result = new org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord(this);
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord buildPartial() {
+        org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord result = new org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord(this);
         int from_bitField0_ = bitField0_;
         int to_bitField0_ = 0;
         if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
@@ -1923,16 +1923,16 @@ public final class AlignmentProto {
       }
 
       public Builder mergeFrom(com.google.protobuf.Message other) {
-        if (other instanceof org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord) {
-          return mergeFrom((org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord)other);
+        if (other instanceof org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord) {
+          return mergeFrom((org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord)other);
         } else {
           super.mergeFrom(other);
           return this;
         }
       }
 
-      public Builder mergeFrom(org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord other) {
-        if (other == org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord.getDefaultInstance()) return this;
+      public Builder mergeFrom(org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord other) {
+        if (other == org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord.getDefaultInstance()) return this;
         if (other.hasName()) {
           bitField0_ |= 0x00000001;
           name_ = other.name_;
@@ -2044,11 +2044,11 @@ public final class AlignmentProto {
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws java.io.IOException {
-        org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord parsedMessage = null;
+        org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord parsedMessage = null;
         try {
           parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
         } catch (com.google.protobuf.InvalidProtocolBufferException e) {
-          parsedMessage = (org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord) e.getUnfinishedMessage();
+          parsedMessage = (org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord) e.getUnfinishedMessage();
           throw e;
         } finally {
           if (parsedMessage != null) {
@@ -2496,22 +2496,22 @@ public final class AlignmentProto {
       }
 
       // repeated .org.opencb.opencga.storage.alignment.proto.Difference diffs = 10;
-      private java.util.List<org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference> diffs_ =
+      private java.util.List<org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference> diffs_ =
         java.util.Collections.emptyList();
       private void ensureDiffsIsMutable() {
         if (!((bitField0_ & 0x00000200) == 0x00000200)) {
-          diffs_ = new java.util.ArrayList<org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference>(diffs_);
+          diffs_ = new java.util.ArrayList<org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference>(diffs_);
           bitField0_ |= 0x00000200;
          }
       }
 
       private com.google.protobuf.RepeatedFieldBuilder<
-          org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference.Builder, org.opencb.opencga.storage.alignment.proto.AlignmentProto.DifferenceOrBuilder> diffsBuilder_;
+          org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference.Builder, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.DifferenceOrBuilder> diffsBuilder_;
 
       /**
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Difference diffs = 10;</code>
        */
-      public java.util.List<org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference> getDiffsList() {
+      public java.util.List<org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference> getDiffsList() {
         if (diffsBuilder_ == null) {
           return java.util.Collections.unmodifiableList(diffs_);
         } else {
@@ -2531,7 +2531,7 @@ public final class AlignmentProto {
       /**
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Difference diffs = 10;</code>
        */
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference getDiffs(int index) {
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference getDiffs(int index) {
         if (diffsBuilder_ == null) {
           return diffs_.get(index);
         } else {
@@ -2542,7 +2542,7 @@ public final class AlignmentProto {
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Difference diffs = 10;</code>
        */
       public Builder setDiffs(
-          int index, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference value) {
+          int index, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference value) {
         if (diffsBuilder_ == null) {
           if (value == null) {
             throw new NullPointerException();
@@ -2559,7 +2559,7 @@ public final class AlignmentProto {
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Difference diffs = 10;</code>
        */
       public Builder setDiffs(
-          int index, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference.Builder builderForValue) {
+          int index, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference.Builder builderForValue) {
         if (diffsBuilder_ == null) {
           ensureDiffsIsMutable();
           diffs_.set(index, builderForValue.build());
@@ -2572,7 +2572,7 @@ public final class AlignmentProto {
       /**
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Difference diffs = 10;</code>
        */
-      public Builder addDiffs(org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference value) {
+      public Builder addDiffs(org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference value) {
         if (diffsBuilder_ == null) {
           if (value == null) {
             throw new NullPointerException();
@@ -2589,7 +2589,7 @@ public final class AlignmentProto {
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Difference diffs = 10;</code>
        */
       public Builder addDiffs(
-          int index, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference value) {
+          int index, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference value) {
         if (diffsBuilder_ == null) {
           if (value == null) {
             throw new NullPointerException();
@@ -2606,7 +2606,7 @@ public final class AlignmentProto {
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Difference diffs = 10;</code>
        */
       public Builder addDiffs(
-          org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference.Builder builderForValue) {
+          org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference.Builder builderForValue) {
         if (diffsBuilder_ == null) {
           ensureDiffsIsMutable();
           diffs_.add(builderForValue.build());
@@ -2620,7 +2620,7 @@ public final class AlignmentProto {
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Difference diffs = 10;</code>
        */
       public Builder addDiffs(
-          int index, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference.Builder builderForValue) {
+          int index, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference.Builder builderForValue) {
         if (diffsBuilder_ == null) {
           ensureDiffsIsMutable();
           diffs_.add(index, builderForValue.build());
@@ -2634,7 +2634,7 @@ public final class AlignmentProto {
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Difference diffs = 10;</code>
        */
       public Builder addAllDiffs(
-          java.lang.Iterable<? extends org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference> values) {
+          java.lang.Iterable<? extends org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference> values) {
         if (diffsBuilder_ == null) {
           ensureDiffsIsMutable();
           super.addAll(values, diffs_);
@@ -2673,14 +2673,14 @@ public final class AlignmentProto {
       /**
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Difference diffs = 10;</code>
        */
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference.Builder getDiffsBuilder(
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference.Builder getDiffsBuilder(
           int index) {
         return getDiffsFieldBuilder().getBuilder(index);
       }
       /**
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Difference diffs = 10;</code>
        */
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.DifferenceOrBuilder getDiffsOrBuilder(
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.DifferenceOrBuilder getDiffsOrBuilder(
           int index) {
         if (diffsBuilder_ == null) {
           return diffs_.get(index);  } else {
@@ -2690,7 +2690,7 @@ public final class AlignmentProto {
       /**
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Difference diffs = 10;</code>
        */
-      public java.util.List<? extends org.opencb.opencga.storage.alignment.proto.AlignmentProto.DifferenceOrBuilder> 
+      public java.util.List<? extends org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.DifferenceOrBuilder> 
            getDiffsOrBuilderList() {
         if (diffsBuilder_ != null) {
           return diffsBuilder_.getMessageOrBuilderList();
@@ -2701,31 +2701,31 @@ public final class AlignmentProto {
       /**
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Difference diffs = 10;</code>
        */
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference.Builder addDiffsBuilder() {
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference.Builder addDiffsBuilder() {
         return getDiffsFieldBuilder().addBuilder(
-            org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference.getDefaultInstance());
+            org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference.getDefaultInstance());
       }
       /**
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Difference diffs = 10;</code>
        */
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference.Builder addDiffsBuilder(
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference.Builder addDiffsBuilder(
           int index) {
         return getDiffsFieldBuilder().addBuilder(
-            index, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference.getDefaultInstance());
+            index, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference.getDefaultInstance());
       }
       /**
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Difference diffs = 10;</code>
        */
-      public java.util.List<org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference.Builder> 
+      public java.util.List<org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference.Builder> 
            getDiffsBuilderList() {
         return getDiffsFieldBuilder().getBuilderList();
       }
       private com.google.protobuf.RepeatedFieldBuilder<
-          org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference.Builder, org.opencb.opencga.storage.alignment.proto.AlignmentProto.DifferenceOrBuilder> 
+          org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference.Builder, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.DifferenceOrBuilder> 
           getDiffsFieldBuilder() {
         if (diffsBuilder_ == null) {
           diffsBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
-              org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Difference.Builder, org.opencb.opencga.storage.alignment.proto.AlignmentProto.DifferenceOrBuilder>(
+              org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Difference.Builder, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.DifferenceOrBuilder>(
                   diffs_,
                   ((bitField0_ & 0x00000200) == 0x00000200),
                   getParentForChildren(),
@@ -2839,12 +2839,12 @@ public final class AlignmentProto {
     /**
      * <code>repeated .org.opencb.opencga.storage.alignment.proto.AlignmentRecord alignmentRecords = 9;</code>
      */
-    java.util.List<org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord> 
+    java.util.List<org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord> 
         getAlignmentRecordsList();
     /**
      * <code>repeated .org.opencb.opencga.storage.alignment.proto.AlignmentRecord alignmentRecords = 9;</code>
      */
-    org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord getAlignmentRecords(int index);
+    org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord getAlignmentRecords(int index);
     /**
      * <code>repeated .org.opencb.opencga.storage.alignment.proto.AlignmentRecord alignmentRecords = 9;</code>
      */
@@ -2852,12 +2852,12 @@ public final class AlignmentProto {
     /**
      * <code>repeated .org.opencb.opencga.storage.alignment.proto.AlignmentRecord alignmentRecords = 9;</code>
      */
-    java.util.List<? extends org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecordOrBuilder> 
+    java.util.List<? extends org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecordOrBuilder> 
         getAlignmentRecordsOrBuilderList();
     /**
      * <code>repeated .org.opencb.opencga.storage.alignment.proto.AlignmentRecord alignmentRecords = 9;</code>
      */
-    org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecordOrBuilder getAlignmentRecordsOrBuilder(
+    org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecordOrBuilder getAlignmentRecordsOrBuilder(
         int index);
   }
   /**
@@ -2923,10 +2923,10 @@ public final class AlignmentProto {
             }
             case 74: {
               if (!((mutable_bitField0_ & 0x00000004) == 0x00000004)) {
-                alignmentRecords_ = new java.util.ArrayList<org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord>();
+                alignmentRecords_ = new java.util.ArrayList<org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord>();
                 mutable_bitField0_ |= 0x00000004;
               }
-              alignmentRecords_.add(input.readMessage(org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord.PARSER, extensionRegistry));
+              alignmentRecords_.add(input.readMessage(org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord.PARSER, extensionRegistry));
               break;
             }
           }
@@ -2946,14 +2946,14 @@ public final class AlignmentProto {
     }
     public static final com.google.protobuf.Descriptors.Descriptor
         getDescriptor() {
-      return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_AlignmentBucket_descriptor;
+      return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_AlignmentBucket_descriptor;
     }
 
     protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
         internalGetFieldAccessorTable() {
-      return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_AlignmentBucket_fieldAccessorTable
+      return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_AlignmentBucket_fieldAccessorTable
           .ensureFieldAccessorsInitialized(
-              org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentBucket.class, org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentBucket.Builder.class);
+              org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentBucket.class, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentBucket.Builder.class);
     }
 
     public static com.google.protobuf.Parser<AlignmentBucket> PARSER =
@@ -3006,17 +3006,17 @@ public final class AlignmentProto {
 
     // repeated .org.opencb.opencga.storage.alignment.proto.AlignmentRecord alignmentRecords = 9;
     public static final int ALIGNMENTRECORDS_FIELD_NUMBER = 9;
-    private java.util.List<org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord> alignmentRecords_;
+    private java.util.List<org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord> alignmentRecords_;
     /**
      * <code>repeated .org.opencb.opencga.storage.alignment.proto.AlignmentRecord alignmentRecords = 9;</code>
      */
-    public java.util.List<org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord> getAlignmentRecordsList() {
+    public java.util.List<org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord> getAlignmentRecordsList() {
       return alignmentRecords_;
     }
     /**
      * <code>repeated .org.opencb.opencga.storage.alignment.proto.AlignmentRecord alignmentRecords = 9;</code>
      */
-    public java.util.List<? extends org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecordOrBuilder> 
+    public java.util.List<? extends org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecordOrBuilder> 
         getAlignmentRecordsOrBuilderList() {
       return alignmentRecords_;
     }
@@ -3029,13 +3029,13 @@ public final class AlignmentProto {
     /**
      * <code>repeated .org.opencb.opencga.storage.alignment.proto.AlignmentRecord alignmentRecords = 9;</code>
      */
-    public org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord getAlignmentRecords(int index) {
+    public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord getAlignmentRecords(int index) {
       return alignmentRecords_.get(index);
     }
     /**
      * <code>repeated .org.opencb.opencga.storage.alignment.proto.AlignmentRecord alignmentRecords = 9;</code>
      */
-    public org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecordOrBuilder getAlignmentRecordsOrBuilder(
+    public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecordOrBuilder getAlignmentRecordsOrBuilder(
         int index) {
       return alignmentRecords_.get(index);
     }
@@ -3109,53 +3109,53 @@ public final class AlignmentProto {
       return super.writeReplace();
     }
 
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentBucket parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentBucket parseFrom(
         com.google.protobuf.ByteString data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentBucket parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentBucket parseFrom(
         com.google.protobuf.ByteString data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentBucket parseFrom(byte[] data)
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentBucket parseFrom(byte[] data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentBucket parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentBucket parseFrom(
         byte[] data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentBucket parseFrom(java.io.InputStream input)
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentBucket parseFrom(java.io.InputStream input)
         throws java.io.IOException {
       return PARSER.parseFrom(input);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentBucket parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentBucket parseFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return PARSER.parseFrom(input, extensionRegistry);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentBucket parseDelimitedFrom(java.io.InputStream input)
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentBucket parseDelimitedFrom(java.io.InputStream input)
         throws java.io.IOException {
       return PARSER.parseDelimitedFrom(input);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentBucket parseDelimitedFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentBucket parseDelimitedFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return PARSER.parseDelimitedFrom(input, extensionRegistry);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentBucket parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentBucket parseFrom(
         com.google.protobuf.CodedInputStream input)
         throws java.io.IOException {
       return PARSER.parseFrom(input);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentBucket parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentBucket parseFrom(
         com.google.protobuf.CodedInputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
@@ -3164,7 +3164,7 @@ public final class AlignmentProto {
 
     public static Builder newBuilder() { return Builder.create(); }
     public Builder newBuilderForType() { return newBuilder(); }
-    public static Builder newBuilder(org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentBucket prototype) {
+    public static Builder newBuilder(org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentBucket prototype) {
       return newBuilder().mergeFrom(prototype);
     }
     public Builder toBuilder() { return newBuilder(this); }
@@ -3180,20 +3180,20 @@ public final class AlignmentProto {
      */
     public static final class Builder extends
         com.google.protobuf.GeneratedMessage.Builder<Builder>
-       implements org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentBucketOrBuilder {
+       implements org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentBucketOrBuilder {
       public static final com.google.protobuf.Descriptors.Descriptor
           getDescriptor() {
-        return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_AlignmentBucket_descriptor;
+        return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_AlignmentBucket_descriptor;
       }
 
       protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
           internalGetFieldAccessorTable() {
-        return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_AlignmentBucket_fieldAccessorTable
+        return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_AlignmentBucket_fieldAccessorTable
             .ensureFieldAccessorsInitialized(
-                org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentBucket.class, org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentBucket.Builder.class);
+                org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentBucket.class, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentBucket.Builder.class);
       }
 
-      // Construct using org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentBucket.newBuilder()
+      // Construct using org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentBucket.newBuilder()
       private Builder() {
         maybeForceBuilderInitialization();
       }
@@ -3233,23 +3233,23 @@ public final class AlignmentProto {
 
       public com.google.protobuf.Descriptors.Descriptor
           getDescriptorForType() {
-        return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_AlignmentBucket_descriptor;
+        return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_AlignmentBucket_descriptor;
       }
 
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentBucket getDefaultInstanceForType() {
-        return org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentBucket.getDefaultInstance();
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentBucket getDefaultInstanceForType() {
+        return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentBucket.getDefaultInstance();
       }
 
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentBucket build() {
-        org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentBucket result = buildPartial();
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentBucket build() {
+        org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentBucket result = buildPartial();
         if (!result.isInitialized()) {
           throw newUninitializedMessageException(result);
         }
         return result;
       }
 
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentBucket buildPartial() {
-        org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentBucket result = new org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentBucket(this);
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentBucket buildPartial() {
+        org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentBucket result = new org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentBucket(this);
         int from_bitField0_ = bitField0_;
         int to_bitField0_ = 0;
         if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
@@ -3275,16 +3275,16 @@ public final class AlignmentProto {
       }
 
       public Builder mergeFrom(com.google.protobuf.Message other) {
-        if (other instanceof org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentBucket) {
-          return mergeFrom((org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentBucket)other);
+        if (other instanceof org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentBucket) {
+          return mergeFrom((org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentBucket)other);
         } else {
           super.mergeFrom(other);
           return this;
         }
       }
 
-      public Builder mergeFrom(org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentBucket other) {
-        if (other == org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentBucket.getDefaultInstance()) return this;
+      public Builder mergeFrom(org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentBucket other) {
+        if (other == org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentBucket.getDefaultInstance()) return this;
         if (other.hasSummaryIndex()) {
           setSummaryIndex(other.getSummaryIndex());
         }
@@ -3339,11 +3339,11 @@ public final class AlignmentProto {
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws java.io.IOException {
-        org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentBucket parsedMessage = null;
+        org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentBucket parsedMessage = null;
         try {
           parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
         } catch (com.google.protobuf.InvalidProtocolBufferException e) {
-          parsedMessage = (org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentBucket) e.getUnfinishedMessage();
+          parsedMessage = (org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentBucket) e.getUnfinishedMessage();
           throw e;
         } finally {
           if (parsedMessage != null) {
@@ -3421,22 +3421,22 @@ public final class AlignmentProto {
       }
 
       // repeated .org.opencb.opencga.storage.alignment.proto.AlignmentRecord alignmentRecords = 9;
-      private java.util.List<org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord> alignmentRecords_ =
+      private java.util.List<org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord> alignmentRecords_ =
         java.util.Collections.emptyList();
       private void ensureAlignmentRecordsIsMutable() {
         if (!((bitField0_ & 0x00000004) == 0x00000004)) {
-          alignmentRecords_ = new java.util.ArrayList<org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord>(alignmentRecords_);
+          alignmentRecords_ = new java.util.ArrayList<org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord>(alignmentRecords_);
           bitField0_ |= 0x00000004;
          }
       }
 
       private com.google.protobuf.RepeatedFieldBuilder<
-          org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord, org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord.Builder, org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecordOrBuilder> alignmentRecordsBuilder_;
+          org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord.Builder, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecordOrBuilder> alignmentRecordsBuilder_;
 
       /**
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.AlignmentRecord alignmentRecords = 9;</code>
        */
-      public java.util.List<org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord> getAlignmentRecordsList() {
+      public java.util.List<org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord> getAlignmentRecordsList() {
         if (alignmentRecordsBuilder_ == null) {
           return java.util.Collections.unmodifiableList(alignmentRecords_);
         } else {
@@ -3456,7 +3456,7 @@ public final class AlignmentProto {
       /**
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.AlignmentRecord alignmentRecords = 9;</code>
        */
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord getAlignmentRecords(int index) {
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord getAlignmentRecords(int index) {
         if (alignmentRecordsBuilder_ == null) {
           return alignmentRecords_.get(index);
         } else {
@@ -3467,7 +3467,7 @@ public final class AlignmentProto {
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.AlignmentRecord alignmentRecords = 9;</code>
        */
       public Builder setAlignmentRecords(
-          int index, org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord value) {
+          int index, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord value) {
         if (alignmentRecordsBuilder_ == null) {
           if (value == null) {
             throw new NullPointerException();
@@ -3484,7 +3484,7 @@ public final class AlignmentProto {
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.AlignmentRecord alignmentRecords = 9;</code>
        */
       public Builder setAlignmentRecords(
-          int index, org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord.Builder builderForValue) {
+          int index, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord.Builder builderForValue) {
         if (alignmentRecordsBuilder_ == null) {
           ensureAlignmentRecordsIsMutable();
           alignmentRecords_.set(index, builderForValue.build());
@@ -3497,7 +3497,7 @@ public final class AlignmentProto {
       /**
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.AlignmentRecord alignmentRecords = 9;</code>
        */
-      public Builder addAlignmentRecords(org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord value) {
+      public Builder addAlignmentRecords(org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord value) {
         if (alignmentRecordsBuilder_ == null) {
           if (value == null) {
             throw new NullPointerException();
@@ -3514,7 +3514,7 @@ public final class AlignmentProto {
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.AlignmentRecord alignmentRecords = 9;</code>
        */
       public Builder addAlignmentRecords(
-          int index, org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord value) {
+          int index, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord value) {
         if (alignmentRecordsBuilder_ == null) {
           if (value == null) {
             throw new NullPointerException();
@@ -3531,7 +3531,7 @@ public final class AlignmentProto {
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.AlignmentRecord alignmentRecords = 9;</code>
        */
       public Builder addAlignmentRecords(
-          org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord.Builder builderForValue) {
+          org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord.Builder builderForValue) {
         if (alignmentRecordsBuilder_ == null) {
           ensureAlignmentRecordsIsMutable();
           alignmentRecords_.add(builderForValue.build());
@@ -3545,7 +3545,7 @@ public final class AlignmentProto {
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.AlignmentRecord alignmentRecords = 9;</code>
        */
       public Builder addAlignmentRecords(
-          int index, org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord.Builder builderForValue) {
+          int index, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord.Builder builderForValue) {
         if (alignmentRecordsBuilder_ == null) {
           ensureAlignmentRecordsIsMutable();
           alignmentRecords_.add(index, builderForValue.build());
@@ -3559,7 +3559,7 @@ public final class AlignmentProto {
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.AlignmentRecord alignmentRecords = 9;</code>
        */
       public Builder addAllAlignmentRecords(
-          java.lang.Iterable<? extends org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord> values) {
+          java.lang.Iterable<? extends org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord> values) {
         if (alignmentRecordsBuilder_ == null) {
           ensureAlignmentRecordsIsMutable();
           super.addAll(values, alignmentRecords_);
@@ -3598,14 +3598,14 @@ public final class AlignmentProto {
       /**
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.AlignmentRecord alignmentRecords = 9;</code>
        */
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord.Builder getAlignmentRecordsBuilder(
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord.Builder getAlignmentRecordsBuilder(
           int index) {
         return getAlignmentRecordsFieldBuilder().getBuilder(index);
       }
       /**
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.AlignmentRecord alignmentRecords = 9;</code>
        */
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecordOrBuilder getAlignmentRecordsOrBuilder(
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecordOrBuilder getAlignmentRecordsOrBuilder(
           int index) {
         if (alignmentRecordsBuilder_ == null) {
           return alignmentRecords_.get(index);  } else {
@@ -3615,7 +3615,7 @@ public final class AlignmentProto {
       /**
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.AlignmentRecord alignmentRecords = 9;</code>
        */
-      public java.util.List<? extends org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecordOrBuilder> 
+      public java.util.List<? extends org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecordOrBuilder> 
            getAlignmentRecordsOrBuilderList() {
         if (alignmentRecordsBuilder_ != null) {
           return alignmentRecordsBuilder_.getMessageOrBuilderList();
@@ -3626,31 +3626,31 @@ public final class AlignmentProto {
       /**
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.AlignmentRecord alignmentRecords = 9;</code>
        */
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord.Builder addAlignmentRecordsBuilder() {
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord.Builder addAlignmentRecordsBuilder() {
         return getAlignmentRecordsFieldBuilder().addBuilder(
-            org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord.getDefaultInstance());
+            org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord.getDefaultInstance());
       }
       /**
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.AlignmentRecord alignmentRecords = 9;</code>
        */
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord.Builder addAlignmentRecordsBuilder(
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord.Builder addAlignmentRecordsBuilder(
           int index) {
         return getAlignmentRecordsFieldBuilder().addBuilder(
-            index, org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord.getDefaultInstance());
+            index, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord.getDefaultInstance());
       }
       /**
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.AlignmentRecord alignmentRecords = 9;</code>
        */
-      public java.util.List<org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord.Builder> 
+      public java.util.List<org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord.Builder> 
            getAlignmentRecordsBuilderList() {
         return getAlignmentRecordsFieldBuilder().getBuilderList();
       }
       private com.google.protobuf.RepeatedFieldBuilder<
-          org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord, org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord.Builder, org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecordOrBuilder> 
+          org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord.Builder, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecordOrBuilder> 
           getAlignmentRecordsFieldBuilder() {
         if (alignmentRecordsBuilder_ == null) {
           alignmentRecordsBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
-              org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord, org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecord.Builder, org.opencb.opencga.storage.alignment.proto.AlignmentProto.AlignmentRecordOrBuilder>(
+              org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecord.Builder, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.AlignmentRecordOrBuilder>(
                   alignmentRecords_,
                   ((bitField0_ & 0x00000004) == 0x00000004),
                   getParentForChildren(),
@@ -3750,12 +3750,12 @@ public final class AlignmentProto {
     /**
      * <code>repeated .org.opencb.opencga.storage.alignment.proto.Summary.Pair values = 9;</code>
      */
-    java.util.List<org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair> 
+    java.util.List<org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair> 
         getValuesList();
     /**
      * <code>repeated .org.opencb.opencga.storage.alignment.proto.Summary.Pair values = 9;</code>
      */
-    org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair getValues(int index);
+    org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair getValues(int index);
     /**
      * <code>repeated .org.opencb.opencga.storage.alignment.proto.Summary.Pair values = 9;</code>
      */
@@ -3763,12 +3763,12 @@ public final class AlignmentProto {
     /**
      * <code>repeated .org.opencb.opencga.storage.alignment.proto.Summary.Pair values = 9;</code>
      */
-    java.util.List<? extends org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.PairOrBuilder> 
+    java.util.List<? extends org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.PairOrBuilder> 
         getValuesOrBuilderList();
     /**
      * <code>repeated .org.opencb.opencga.storage.alignment.proto.Summary.Pair values = 9;</code>
      */
-    org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.PairOrBuilder getValuesOrBuilder(
+    org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.PairOrBuilder getValuesOrBuilder(
         int index);
   }
   /**
@@ -3849,10 +3849,10 @@ public final class AlignmentProto {
             }
             case 74: {
               if (!((mutable_bitField0_ & 0x00000020) == 0x00000020)) {
-                values_ = new java.util.ArrayList<org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair>();
+                values_ = new java.util.ArrayList<org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair>();
                 mutable_bitField0_ |= 0x00000020;
               }
-              values_.add(input.readMessage(org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair.PARSER, extensionRegistry));
+              values_.add(input.readMessage(org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair.PARSER, extensionRegistry));
               break;
             }
           }
@@ -3872,14 +3872,14 @@ public final class AlignmentProto {
     }
     public static final com.google.protobuf.Descriptors.Descriptor
         getDescriptor() {
-      return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Summary_descriptor;
+      return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Summary_descriptor;
     }
 
     protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
         internalGetFieldAccessorTable() {
-      return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Summary_fieldAccessorTable
+      return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Summary_fieldAccessorTable
           .ensureFieldAccessorsInitialized(
-              org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.class, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Builder.class);
+              org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.class, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Builder.class);
     }
 
     public static com.google.protobuf.Parser<Summary> PARSER =
@@ -4045,14 +4045,14 @@ public final class AlignmentProto {
       }
       public static final com.google.protobuf.Descriptors.Descriptor
           getDescriptor() {
-        return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Summary_Pair_descriptor;
+        return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Summary_Pair_descriptor;
       }
 
       protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
           internalGetFieldAccessorTable() {
-        return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Summary_Pair_fieldAccessorTable
+        return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Summary_Pair_fieldAccessorTable
             .ensureFieldAccessorsInitialized(
-                org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair.class, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair.Builder.class);
+                org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair.class, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair.Builder.class);
       }
 
       public static com.google.protobuf.Parser<Pair> PARSER =
@@ -4257,53 +4257,53 @@ public final class AlignmentProto {
         return super.writeReplace();
       }
 
-      public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair parseFrom(
+      public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair parseFrom(
           com.google.protobuf.ByteString data)
           throws com.google.protobuf.InvalidProtocolBufferException {
         return PARSER.parseFrom(data);
       }
-      public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair parseFrom(
+      public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair parseFrom(
           com.google.protobuf.ByteString data,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws com.google.protobuf.InvalidProtocolBufferException {
         return PARSER.parseFrom(data, extensionRegistry);
       }
-      public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair parseFrom(byte[] data)
+      public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair parseFrom(byte[] data)
           throws com.google.protobuf.InvalidProtocolBufferException {
         return PARSER.parseFrom(data);
       }
-      public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair parseFrom(
+      public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair parseFrom(
           byte[] data,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws com.google.protobuf.InvalidProtocolBufferException {
         return PARSER.parseFrom(data, extensionRegistry);
       }
-      public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair parseFrom(java.io.InputStream input)
+      public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair parseFrom(java.io.InputStream input)
           throws java.io.IOException {
         return PARSER.parseFrom(input);
       }
-      public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair parseFrom(
+      public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair parseFrom(
           java.io.InputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws java.io.IOException {
         return PARSER.parseFrom(input, extensionRegistry);
       }
-      public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair parseDelimitedFrom(java.io.InputStream input)
+      public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair parseDelimitedFrom(java.io.InputStream input)
           throws java.io.IOException {
         return PARSER.parseDelimitedFrom(input);
       }
-      public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair parseDelimitedFrom(
+      public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair parseDelimitedFrom(
           java.io.InputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws java.io.IOException {
         return PARSER.parseDelimitedFrom(input, extensionRegistry);
       }
-      public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair parseFrom(
+      public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair parseFrom(
           com.google.protobuf.CodedInputStream input)
           throws java.io.IOException {
         return PARSER.parseFrom(input);
       }
-      public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair parseFrom(
+      public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair parseFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws java.io.IOException {
@@ -4312,7 +4312,7 @@ public final class AlignmentProto {
 
       public static Builder newBuilder() { return Builder.create(); }
       public Builder newBuilderForType() { return newBuilder(); }
-      public static Builder newBuilder(org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair prototype) {
+      public static Builder newBuilder(org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair prototype) {
         return newBuilder().mergeFrom(prototype);
       }
       public Builder toBuilder() { return newBuilder(this); }
@@ -4328,20 +4328,20 @@ public final class AlignmentProto {
        */
       public static final class Builder extends
           com.google.protobuf.GeneratedMessage.Builder<Builder>
-         implements org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.PairOrBuilder {
+         implements org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.PairOrBuilder {
         public static final com.google.protobuf.Descriptors.Descriptor
             getDescriptor() {
-          return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Summary_Pair_descriptor;
+          return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Summary_Pair_descriptor;
         }
 
         protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
             internalGetFieldAccessorTable() {
-          return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Summary_Pair_fieldAccessorTable
+          return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Summary_Pair_fieldAccessorTable
               .ensureFieldAccessorsInitialized(
-                  org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair.class, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair.Builder.class);
+                  org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair.class, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair.Builder.class);
         }
 
-        // Construct using org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair.newBuilder()
+        // Construct using org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair.newBuilder()
         private Builder() {
           maybeForceBuilderInitialization();
         }
@@ -4380,23 +4380,23 @@ public final class AlignmentProto {
 
         public com.google.protobuf.Descriptors.Descriptor
             getDescriptorForType() {
-          return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Summary_Pair_descriptor;
+          return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Summary_Pair_descriptor;
         }
 
-        public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair getDefaultInstanceForType() {
-          return org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair.getDefaultInstance();
+        public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair getDefaultInstanceForType() {
+          return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair.getDefaultInstance();
         }
 
-        public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair build() {
-          org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair result = buildPartial();
+        public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair build() {
+          org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair result = buildPartial();
           if (!result.isInitialized()) {
             throw newUninitializedMessageException(result);
           }
           return result;
         }
 
-        public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair buildPartial() {
-          org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair result = new org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair(this);
+        public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair buildPartial() {
+          org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair result = new org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair(this);
           int from_bitField0_ = bitField0_;
           int to_bitField0_ = 0;
           if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
@@ -4425,16 +4425,16 @@ public final class AlignmentProto {
         }
 
         public Builder mergeFrom(com.google.protobuf.Message other) {
-          if (other instanceof org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair) {
-            return mergeFrom((org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair)other);
+          if (other instanceof org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair) {
+            return mergeFrom((org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair)other);
           } else {
             super.mergeFrom(other);
             return this;
           }
         }
 
-        public Builder mergeFrom(org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair other) {
-          if (other == org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair.getDefaultInstance()) return this;
+        public Builder mergeFrom(org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair other) {
+          if (other == org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair.getDefaultInstance()) return this;
           if (other.hasKey()) {
             setKey(other.getKey());
           }
@@ -4468,11 +4468,11 @@ public final class AlignmentProto {
             com.google.protobuf.CodedInputStream input,
             com.google.protobuf.ExtensionRegistryLite extensionRegistry)
             throws java.io.IOException {
-          org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair parsedMessage = null;
+          org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair parsedMessage = null;
           try {
             parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
           } catch (com.google.protobuf.InvalidProtocolBufferException e) {
-            parsedMessage = (org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair) e.getUnfinishedMessage();
+            parsedMessage = (org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair) e.getUnfinishedMessage();
             throw e;
           } finally {
             if (parsedMessage != null) {
@@ -4849,17 +4849,17 @@ public final class AlignmentProto {
 
     // repeated .org.opencb.opencga.storage.alignment.proto.Summary.Pair values = 9;
     public static final int VALUES_FIELD_NUMBER = 9;
-    private java.util.List<org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair> values_;
+    private java.util.List<org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair> values_;
     /**
      * <code>repeated .org.opencb.opencga.storage.alignment.proto.Summary.Pair values = 9;</code>
      */
-    public java.util.List<org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair> getValuesList() {
+    public java.util.List<org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair> getValuesList() {
       return values_;
     }
     /**
      * <code>repeated .org.opencb.opencga.storage.alignment.proto.Summary.Pair values = 9;</code>
      */
-    public java.util.List<? extends org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.PairOrBuilder> 
+    public java.util.List<? extends org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.PairOrBuilder> 
         getValuesOrBuilderList() {
       return values_;
     }
@@ -4872,13 +4872,13 @@ public final class AlignmentProto {
     /**
      * <code>repeated .org.opencb.opencga.storage.alignment.proto.Summary.Pair values = 9;</code>
      */
-    public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair getValues(int index) {
+    public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair getValues(int index) {
       return values_.get(index);
     }
     /**
      * <code>repeated .org.opencb.opencga.storage.alignment.proto.Summary.Pair values = 9;</code>
      */
-    public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.PairOrBuilder getValuesOrBuilder(
+    public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.PairOrBuilder getValuesOrBuilder(
         int index) {
       return values_.get(index);
     }
@@ -4992,53 +4992,53 @@ public final class AlignmentProto {
       return super.writeReplace();
     }
 
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary parseFrom(
         com.google.protobuf.ByteString data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary parseFrom(
         com.google.protobuf.ByteString data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary parseFrom(byte[] data)
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary parseFrom(byte[] data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary parseFrom(
         byte[] data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary parseFrom(java.io.InputStream input)
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary parseFrom(java.io.InputStream input)
         throws java.io.IOException {
       return PARSER.parseFrom(input);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary parseFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return PARSER.parseFrom(input, extensionRegistry);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary parseDelimitedFrom(java.io.InputStream input)
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary parseDelimitedFrom(java.io.InputStream input)
         throws java.io.IOException {
       return PARSER.parseDelimitedFrom(input);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary parseDelimitedFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary parseDelimitedFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return PARSER.parseDelimitedFrom(input, extensionRegistry);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary parseFrom(
         com.google.protobuf.CodedInputStream input)
         throws java.io.IOException {
       return PARSER.parseFrom(input);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary parseFrom(
         com.google.protobuf.CodedInputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
@@ -5047,7 +5047,7 @@ public final class AlignmentProto {
 
     public static Builder newBuilder() { return Builder.create(); }
     public Builder newBuilderForType() { return newBuilder(); }
-    public static Builder newBuilder(org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary prototype) {
+    public static Builder newBuilder(org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary prototype) {
       return newBuilder().mergeFrom(prototype);
     }
     public Builder toBuilder() { return newBuilder(this); }
@@ -5063,20 +5063,20 @@ public final class AlignmentProto {
      */
     public static final class Builder extends
         com.google.protobuf.GeneratedMessage.Builder<Builder>
-       implements org.opencb.opencga.storage.alignment.proto.AlignmentProto.SummaryOrBuilder {
+       implements org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.SummaryOrBuilder {
       public static final com.google.protobuf.Descriptors.Descriptor
           getDescriptor() {
-        return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Summary_descriptor;
+        return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Summary_descriptor;
       }
 
       protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
           internalGetFieldAccessorTable() {
-        return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Summary_fieldAccessorTable
+        return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Summary_fieldAccessorTable
             .ensureFieldAccessorsInitialized(
-                org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.class, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Builder.class);
+                org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.class, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Builder.class);
       }
 
-      // Construct using org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.newBuilder()
+      // Construct using org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.newBuilder()
       private Builder() {
         maybeForceBuilderInitialization();
       }
@@ -5122,23 +5122,23 @@ public final class AlignmentProto {
 
       public com.google.protobuf.Descriptors.Descriptor
           getDescriptorForType() {
-        return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Summary_descriptor;
+        return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Summary_descriptor;
       }
 
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary getDefaultInstanceForType() {
-        return org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.getDefaultInstance();
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary getDefaultInstanceForType() {
+        return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.getDefaultInstance();
       }
 
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary build() {
-        org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary result = buildPartial();
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary build() {
+        org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary result = buildPartial();
         if (!result.isInitialized()) {
           throw newUninitializedMessageException(result);
         }
         return result;
       }
 
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary buildPartial() {
-        org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary result = new org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary(this);
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary buildPartial() {
+        org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary result = new org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary(this);
         int from_bitField0_ = bitField0_;
         int to_bitField0_ = 0;
         if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
@@ -5176,16 +5176,16 @@ public final class AlignmentProto {
       }
 
       public Builder mergeFrom(com.google.protobuf.Message other) {
-        if (other instanceof org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary) {
-          return mergeFrom((org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary)other);
+        if (other instanceof org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary) {
+          return mergeFrom((org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary)other);
         } else {
           super.mergeFrom(other);
           return this;
         }
       }
 
-      public Builder mergeFrom(org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary other) {
-        if (other == org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.getDefaultInstance()) return this;
+      public Builder mergeFrom(org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary other) {
+        if (other == org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.getDefaultInstance()) return this;
         if (other.hasDefaultFlag()) {
           setDefaultFlag(other.getDefaultFlag());
         }
@@ -5269,11 +5269,11 @@ public final class AlignmentProto {
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws java.io.IOException {
-        org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary parsedMessage = null;
+        org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary parsedMessage = null;
         try {
           parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
         } catch (com.google.protobuf.InvalidProtocolBufferException e) {
-          parsedMessage = (org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary) e.getUnfinishedMessage();
+          parsedMessage = (org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary) e.getUnfinishedMessage();
           throw e;
         } finally {
           if (parsedMessage != null) {
@@ -5556,22 +5556,22 @@ public final class AlignmentProto {
       }
 
       // repeated .org.opencb.opencga.storage.alignment.proto.Summary.Pair values = 9;
-      private java.util.List<org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair> values_ =
+      private java.util.List<org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair> values_ =
         java.util.Collections.emptyList();
       private void ensureValuesIsMutable() {
         if (!((bitField0_ & 0x00000020) == 0x00000020)) {
-          values_ = new java.util.ArrayList<org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair>(values_);
+          values_ = new java.util.ArrayList<org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair>(values_);
           bitField0_ |= 0x00000020;
          }
       }
 
       private com.google.protobuf.RepeatedFieldBuilder<
-          org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair.Builder, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.PairOrBuilder> valuesBuilder_;
+          org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair.Builder, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.PairOrBuilder> valuesBuilder_;
 
       /**
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Summary.Pair values = 9;</code>
        */
-      public java.util.List<org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair> getValuesList() {
+      public java.util.List<org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair> getValuesList() {
         if (valuesBuilder_ == null) {
           return java.util.Collections.unmodifiableList(values_);
         } else {
@@ -5591,7 +5591,7 @@ public final class AlignmentProto {
       /**
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Summary.Pair values = 9;</code>
        */
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair getValues(int index) {
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair getValues(int index) {
         if (valuesBuilder_ == null) {
           return values_.get(index);
         } else {
@@ -5602,7 +5602,7 @@ public final class AlignmentProto {
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Summary.Pair values = 9;</code>
        */
       public Builder setValues(
-          int index, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair value) {
+          int index, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair value) {
         if (valuesBuilder_ == null) {
           if (value == null) {
             throw new NullPointerException();
@@ -5619,7 +5619,7 @@ public final class AlignmentProto {
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Summary.Pair values = 9;</code>
        */
       public Builder setValues(
-          int index, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair.Builder builderForValue) {
+          int index, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair.Builder builderForValue) {
         if (valuesBuilder_ == null) {
           ensureValuesIsMutable();
           values_.set(index, builderForValue.build());
@@ -5632,7 +5632,7 @@ public final class AlignmentProto {
       /**
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Summary.Pair values = 9;</code>
        */
-      public Builder addValues(org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair value) {
+      public Builder addValues(org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair value) {
         if (valuesBuilder_ == null) {
           if (value == null) {
             throw new NullPointerException();
@@ -5649,7 +5649,7 @@ public final class AlignmentProto {
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Summary.Pair values = 9;</code>
        */
       public Builder addValues(
-          int index, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair value) {
+          int index, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair value) {
         if (valuesBuilder_ == null) {
           if (value == null) {
             throw new NullPointerException();
@@ -5666,7 +5666,7 @@ public final class AlignmentProto {
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Summary.Pair values = 9;</code>
        */
       public Builder addValues(
-          org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair.Builder builderForValue) {
+          org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair.Builder builderForValue) {
         if (valuesBuilder_ == null) {
           ensureValuesIsMutable();
           values_.add(builderForValue.build());
@@ -5680,7 +5680,7 @@ public final class AlignmentProto {
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Summary.Pair values = 9;</code>
        */
       public Builder addValues(
-          int index, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair.Builder builderForValue) {
+          int index, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair.Builder builderForValue) {
         if (valuesBuilder_ == null) {
           ensureValuesIsMutable();
           values_.add(index, builderForValue.build());
@@ -5694,7 +5694,7 @@ public final class AlignmentProto {
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Summary.Pair values = 9;</code>
        */
       public Builder addAllValues(
-          java.lang.Iterable<? extends org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair> values) {
+          java.lang.Iterable<? extends org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair> values) {
         if (valuesBuilder_ == null) {
           ensureValuesIsMutable();
           super.addAll(values, values_);
@@ -5733,14 +5733,14 @@ public final class AlignmentProto {
       /**
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Summary.Pair values = 9;</code>
        */
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair.Builder getValuesBuilder(
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair.Builder getValuesBuilder(
           int index) {
         return getValuesFieldBuilder().getBuilder(index);
       }
       /**
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Summary.Pair values = 9;</code>
        */
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.PairOrBuilder getValuesOrBuilder(
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.PairOrBuilder getValuesOrBuilder(
           int index) {
         if (valuesBuilder_ == null) {
           return values_.get(index);  } else {
@@ -5750,7 +5750,7 @@ public final class AlignmentProto {
       /**
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Summary.Pair values = 9;</code>
        */
-      public java.util.List<? extends org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.PairOrBuilder> 
+      public java.util.List<? extends org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.PairOrBuilder> 
            getValuesOrBuilderList() {
         if (valuesBuilder_ != null) {
           return valuesBuilder_.getMessageOrBuilderList();
@@ -5761,31 +5761,31 @@ public final class AlignmentProto {
       /**
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Summary.Pair values = 9;</code>
        */
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair.Builder addValuesBuilder() {
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair.Builder addValuesBuilder() {
         return getValuesFieldBuilder().addBuilder(
-            org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair.getDefaultInstance());
+            org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair.getDefaultInstance());
       }
       /**
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Summary.Pair values = 9;</code>
        */
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair.Builder addValuesBuilder(
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair.Builder addValuesBuilder(
           int index) {
         return getValuesFieldBuilder().addBuilder(
-            index, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair.getDefaultInstance());
+            index, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair.getDefaultInstance());
       }
       /**
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Summary.Pair values = 9;</code>
        */
-      public java.util.List<org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair.Builder> 
+      public java.util.List<org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair.Builder> 
            getValuesBuilderList() {
         return getValuesFieldBuilder().getBuilderList();
       }
       private com.google.protobuf.RepeatedFieldBuilder<
-          org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair.Builder, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.PairOrBuilder> 
+          org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair.Builder, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.PairOrBuilder> 
           getValuesFieldBuilder() {
         if (valuesBuilder_ == null) {
           valuesBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
-              org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.Pair.Builder, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Summary.PairOrBuilder>(
+              org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.Pair.Builder, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Summary.PairOrBuilder>(
                   values_,
                   ((bitField0_ & 0x00000020) == 0x00000020),
                   getParentForChildren(),
@@ -5813,12 +5813,12 @@ public final class AlignmentProto {
     /**
      * <code>repeated .org.opencb.opencga.storage.alignment.proto.Header.Region regions = 1;</code>
      */
-    java.util.List<org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region> 
+    java.util.List<org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region> 
         getRegionsList();
     /**
      * <code>repeated .org.opencb.opencga.storage.alignment.proto.Header.Region regions = 1;</code>
      */
-    org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region getRegions(int index);
+    org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region getRegions(int index);
     /**
      * <code>repeated .org.opencb.opencga.storage.alignment.proto.Header.Region regions = 1;</code>
      */
@@ -5826,12 +5826,12 @@ public final class AlignmentProto {
     /**
      * <code>repeated .org.opencb.opencga.storage.alignment.proto.Header.Region regions = 1;</code>
      */
-    java.util.List<? extends org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.RegionOrBuilder> 
+    java.util.List<? extends org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.RegionOrBuilder> 
         getRegionsOrBuilderList();
     /**
      * <code>repeated .org.opencb.opencga.storage.alignment.proto.Header.Region regions = 1;</code>
      */
-    org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.RegionOrBuilder getRegionsOrBuilder(
+    org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.RegionOrBuilder getRegionsOrBuilder(
         int index);
 
     // optional bytes SamHeader = 2;
@@ -5897,10 +5897,10 @@ public final class AlignmentProto {
             }
             case 10: {
               if (!((mutable_bitField0_ & 0x00000001) == 0x00000001)) {
-                regions_ = new java.util.ArrayList<org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region>();
+                regions_ = new java.util.ArrayList<org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region>();
                 mutable_bitField0_ |= 0x00000001;
               }
-              regions_.add(input.readMessage(org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region.PARSER, extensionRegistry));
+              regions_.add(input.readMessage(org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region.PARSER, extensionRegistry));
               break;
             }
             case 18: {
@@ -5925,14 +5925,14 @@ public final class AlignmentProto {
     }
     public static final com.google.protobuf.Descriptors.Descriptor
         getDescriptor() {
-      return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Header_descriptor;
+      return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Header_descriptor;
     }
 
     protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
         internalGetFieldAccessorTable() {
-      return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Header_fieldAccessorTable
+      return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Header_fieldAccessorTable
           .ensureFieldAccessorsInitialized(
-              org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.class, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Builder.class);
+              org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.class, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Builder.class);
     }
 
     public static com.google.protobuf.Parser<Header> PARSER =
@@ -6053,14 +6053,14 @@ public final class AlignmentProto {
       }
       public static final com.google.protobuf.Descriptors.Descriptor
           getDescriptor() {
-        return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Header_Region_descriptor;
+        return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Header_Region_descriptor;
       }
 
       protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
           internalGetFieldAccessorTable() {
-        return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Header_Region_fieldAccessorTable
+        return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Header_Region_fieldAccessorTable
             .ensureFieldAccessorsInitialized(
-                org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region.class, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region.Builder.class);
+                org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region.class, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region.Builder.class);
       }
 
       public static com.google.protobuf.Parser<Region> PARSER =
@@ -6197,53 +6197,53 @@ public final class AlignmentProto {
         return super.writeReplace();
       }
 
-      public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region parseFrom(
+      public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region parseFrom(
           com.google.protobuf.ByteString data)
           throws com.google.protobuf.InvalidProtocolBufferException {
         return PARSER.parseFrom(data);
       }
-      public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region parseFrom(
+      public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region parseFrom(
           com.google.protobuf.ByteString data,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws com.google.protobuf.InvalidProtocolBufferException {
         return PARSER.parseFrom(data, extensionRegistry);
       }
-      public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region parseFrom(byte[] data)
+      public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region parseFrom(byte[] data)
           throws com.google.protobuf.InvalidProtocolBufferException {
         return PARSER.parseFrom(data);
       }
-      public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region parseFrom(
+      public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region parseFrom(
           byte[] data,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws com.google.protobuf.InvalidProtocolBufferException {
         return PARSER.parseFrom(data, extensionRegistry);
       }
-      public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region parseFrom(java.io.InputStream input)
+      public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region parseFrom(java.io.InputStream input)
           throws java.io.IOException {
         return PARSER.parseFrom(input);
       }
-      public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region parseFrom(
+      public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region parseFrom(
           java.io.InputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws java.io.IOException {
         return PARSER.parseFrom(input, extensionRegistry);
       }
-      public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region parseDelimitedFrom(java.io.InputStream input)
+      public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region parseDelimitedFrom(java.io.InputStream input)
           throws java.io.IOException {
         return PARSER.parseDelimitedFrom(input);
       }
-      public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region parseDelimitedFrom(
+      public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region parseDelimitedFrom(
           java.io.InputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws java.io.IOException {
         return PARSER.parseDelimitedFrom(input, extensionRegistry);
       }
-      public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region parseFrom(
+      public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region parseFrom(
           com.google.protobuf.CodedInputStream input)
           throws java.io.IOException {
         return PARSER.parseFrom(input);
       }
-      public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region parseFrom(
+      public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region parseFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws java.io.IOException {
@@ -6252,7 +6252,7 @@ public final class AlignmentProto {
 
       public static Builder newBuilder() { return Builder.create(); }
       public Builder newBuilderForType() { return newBuilder(); }
-      public static Builder newBuilder(org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region prototype) {
+      public static Builder newBuilder(org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region prototype) {
         return newBuilder().mergeFrom(prototype);
       }
       public Builder toBuilder() { return newBuilder(this); }
@@ -6268,20 +6268,20 @@ public final class AlignmentProto {
        */
       public static final class Builder extends
           com.google.protobuf.GeneratedMessage.Builder<Builder>
-         implements org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.RegionOrBuilder {
+         implements org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.RegionOrBuilder {
         public static final com.google.protobuf.Descriptors.Descriptor
             getDescriptor() {
-          return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Header_Region_descriptor;
+          return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Header_Region_descriptor;
         }
 
         protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
             internalGetFieldAccessorTable() {
-          return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Header_Region_fieldAccessorTable
+          return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Header_Region_fieldAccessorTable
               .ensureFieldAccessorsInitialized(
-                  org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region.class, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region.Builder.class);
+                  org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region.class, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region.Builder.class);
         }
 
-        // Construct using org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region.newBuilder()
+        // Construct using org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region.newBuilder()
         private Builder() {
           maybeForceBuilderInitialization();
         }
@@ -6314,23 +6314,23 @@ public final class AlignmentProto {
 
         public com.google.protobuf.Descriptors.Descriptor
             getDescriptorForType() {
-          return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Header_Region_descriptor;
+          return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Header_Region_descriptor;
         }
 
-        public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region getDefaultInstanceForType() {
-          return org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region.getDefaultInstance();
+        public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region getDefaultInstanceForType() {
+          return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region.getDefaultInstance();
         }
 
-        public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region build() {
-          org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region result = buildPartial();
+        public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region build() {
+          org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region result = buildPartial();
           if (!result.isInitialized()) {
             throw newUninitializedMessageException(result);
           }
           return result;
         }
 
-        public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region buildPartial() {
-          org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region result = new org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region(this);
+        public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region buildPartial() {
+          org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region result = new org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region(this);
           int from_bitField0_ = bitField0_;
           int to_bitField0_ = 0;
           if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
@@ -6347,16 +6347,16 @@ public final class AlignmentProto {
         }
 
         public Builder mergeFrom(com.google.protobuf.Message other) {
-          if (other instanceof org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region) {
-            return mergeFrom((org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region)other);
+          if (other instanceof org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region) {
+            return mergeFrom((org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region)other);
           } else {
             super.mergeFrom(other);
             return this;
           }
         }
 
-        public Builder mergeFrom(org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region other) {
-          if (other == org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region.getDefaultInstance()) return this;
+        public Builder mergeFrom(org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region other) {
+          if (other == org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region.getDefaultInstance()) return this;
           if (other.hasChromosomeName()) {
             bitField0_ |= 0x00000001;
             chromosomeName_ = other.chromosomeName_;
@@ -6385,11 +6385,11 @@ public final class AlignmentProto {
             com.google.protobuf.CodedInputStream input,
             com.google.protobuf.ExtensionRegistryLite extensionRegistry)
             throws java.io.IOException {
-          org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region parsedMessage = null;
+          org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region parsedMessage = null;
           try {
             parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
           } catch (com.google.protobuf.InvalidProtocolBufferException e) {
-            parsedMessage = (org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region) e.getUnfinishedMessage();
+            parsedMessage = (org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region) e.getUnfinishedMessage();
             throw e;
           } finally {
             if (parsedMessage != null) {
@@ -6521,17 +6521,17 @@ public final class AlignmentProto {
     private int bitField0_;
     // repeated .org.opencb.opencga.storage.alignment.proto.Header.Region regions = 1;
     public static final int REGIONS_FIELD_NUMBER = 1;
-    private java.util.List<org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region> regions_;
+    private java.util.List<org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region> regions_;
     /**
      * <code>repeated .org.opencb.opencga.storage.alignment.proto.Header.Region regions = 1;</code>
      */
-    public java.util.List<org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region> getRegionsList() {
+    public java.util.List<org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region> getRegionsList() {
       return regions_;
     }
     /**
      * <code>repeated .org.opencb.opencga.storage.alignment.proto.Header.Region regions = 1;</code>
      */
-    public java.util.List<? extends org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.RegionOrBuilder> 
+    public java.util.List<? extends org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.RegionOrBuilder> 
         getRegionsOrBuilderList() {
       return regions_;
     }
@@ -6544,13 +6544,13 @@ public final class AlignmentProto {
     /**
      * <code>repeated .org.opencb.opencga.storage.alignment.proto.Header.Region regions = 1;</code>
      */
-    public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region getRegions(int index) {
+    public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region getRegions(int index) {
       return regions_.get(index);
     }
     /**
      * <code>repeated .org.opencb.opencga.storage.alignment.proto.Header.Region regions = 1;</code>
      */
-    public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.RegionOrBuilder getRegionsOrBuilder(
+    public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.RegionOrBuilder getRegionsOrBuilder(
         int index) {
       return regions_.get(index);
     }
@@ -6628,53 +6628,53 @@ public final class AlignmentProto {
       return super.writeReplace();
     }
 
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header parseFrom(
         com.google.protobuf.ByteString data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header parseFrom(
         com.google.protobuf.ByteString data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header parseFrom(byte[] data)
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header parseFrom(byte[] data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header parseFrom(
         byte[] data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header parseFrom(java.io.InputStream input)
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header parseFrom(java.io.InputStream input)
         throws java.io.IOException {
       return PARSER.parseFrom(input);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header parseFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return PARSER.parseFrom(input, extensionRegistry);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header parseDelimitedFrom(java.io.InputStream input)
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header parseDelimitedFrom(java.io.InputStream input)
         throws java.io.IOException {
       return PARSER.parseDelimitedFrom(input);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header parseDelimitedFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header parseDelimitedFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return PARSER.parseDelimitedFrom(input, extensionRegistry);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header parseFrom(
         com.google.protobuf.CodedInputStream input)
         throws java.io.IOException {
       return PARSER.parseFrom(input);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header parseFrom(
         com.google.protobuf.CodedInputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
@@ -6683,7 +6683,7 @@ public final class AlignmentProto {
 
     public static Builder newBuilder() { return Builder.create(); }
     public Builder newBuilderForType() { return newBuilder(); }
-    public static Builder newBuilder(org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header prototype) {
+    public static Builder newBuilder(org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header prototype) {
       return newBuilder().mergeFrom(prototype);
     }
     public Builder toBuilder() { return newBuilder(this); }
@@ -6699,20 +6699,20 @@ public final class AlignmentProto {
      */
     public static final class Builder extends
         com.google.protobuf.GeneratedMessage.Builder<Builder>
-       implements org.opencb.opencga.storage.alignment.proto.AlignmentProto.HeaderOrBuilder {
+       implements org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.HeaderOrBuilder {
       public static final com.google.protobuf.Descriptors.Descriptor
           getDescriptor() {
-        return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Header_descriptor;
+        return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Header_descriptor;
       }
 
       protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
           internalGetFieldAccessorTable() {
-        return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Header_fieldAccessorTable
+        return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Header_fieldAccessorTable
             .ensureFieldAccessorsInitialized(
-                org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.class, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Builder.class);
+                org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.class, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Builder.class);
       }
 
-      // Construct using org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.newBuilder()
+      // Construct using org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.newBuilder()
       private Builder() {
         maybeForceBuilderInitialization();
       }
@@ -6750,23 +6750,23 @@ public final class AlignmentProto {
 
       public com.google.protobuf.Descriptors.Descriptor
           getDescriptorForType() {
-        return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Header_descriptor;
+        return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Header_descriptor;
       }
 
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header getDefaultInstanceForType() {
-        return org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.getDefaultInstance();
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header getDefaultInstanceForType() {
+        return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.getDefaultInstance();
       }
 
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header build() {
-        org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header result = buildPartial();
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header build() {
+        org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header result = buildPartial();
         if (!result.isInitialized()) {
           throw newUninitializedMessageException(result);
         }
         return result;
       }
 
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header buildPartial() {
-        org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header result = new org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header(this);
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header buildPartial() {
+        org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header result = new org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header(this);
         int from_bitField0_ = bitField0_;
         int to_bitField0_ = 0;
         if (regionsBuilder_ == null) {
@@ -6788,16 +6788,16 @@ public final class AlignmentProto {
       }
 
       public Builder mergeFrom(com.google.protobuf.Message other) {
-        if (other instanceof org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header) {
-          return mergeFrom((org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header)other);
+        if (other instanceof org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header) {
+          return mergeFrom((org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header)other);
         } else {
           super.mergeFrom(other);
           return this;
         }
       }
 
-      public Builder mergeFrom(org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header other) {
-        if (other == org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.getDefaultInstance()) return this;
+      public Builder mergeFrom(org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header other) {
+        if (other == org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.getDefaultInstance()) return this;
         if (regionsBuilder_ == null) {
           if (!other.regions_.isEmpty()) {
             if (regions_.isEmpty()) {
@@ -6845,11 +6845,11 @@ public final class AlignmentProto {
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws java.io.IOException {
-        org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header parsedMessage = null;
+        org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header parsedMessage = null;
         try {
           parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
         } catch (com.google.protobuf.InvalidProtocolBufferException e) {
-          parsedMessage = (org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header) e.getUnfinishedMessage();
+          parsedMessage = (org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header) e.getUnfinishedMessage();
           throw e;
         } finally {
           if (parsedMessage != null) {
@@ -6861,22 +6861,22 @@ public final class AlignmentProto {
       private int bitField0_;
 
       // repeated .org.opencb.opencga.storage.alignment.proto.Header.Region regions = 1;
-      private java.util.List<org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region> regions_ =
+      private java.util.List<org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region> regions_ =
         java.util.Collections.emptyList();
       private void ensureRegionsIsMutable() {
         if (!((bitField0_ & 0x00000001) == 0x00000001)) {
-          regions_ = new java.util.ArrayList<org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region>(regions_);
+          regions_ = new java.util.ArrayList<org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region>(regions_);
           bitField0_ |= 0x00000001;
          }
       }
 
       private com.google.protobuf.RepeatedFieldBuilder<
-          org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region.Builder, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.RegionOrBuilder> regionsBuilder_;
+          org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region.Builder, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.RegionOrBuilder> regionsBuilder_;
 
       /**
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Header.Region regions = 1;</code>
        */
-      public java.util.List<org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region> getRegionsList() {
+      public java.util.List<org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region> getRegionsList() {
         if (regionsBuilder_ == null) {
           return java.util.Collections.unmodifiableList(regions_);
         } else {
@@ -6896,7 +6896,7 @@ public final class AlignmentProto {
       /**
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Header.Region regions = 1;</code>
        */
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region getRegions(int index) {
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region getRegions(int index) {
         if (regionsBuilder_ == null) {
           return regions_.get(index);
         } else {
@@ -6907,7 +6907,7 @@ public final class AlignmentProto {
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Header.Region regions = 1;</code>
        */
       public Builder setRegions(
-          int index, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region value) {
+          int index, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region value) {
         if (regionsBuilder_ == null) {
           if (value == null) {
             throw new NullPointerException();
@@ -6924,7 +6924,7 @@ public final class AlignmentProto {
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Header.Region regions = 1;</code>
        */
       public Builder setRegions(
-          int index, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region.Builder builderForValue) {
+          int index, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region.Builder builderForValue) {
         if (regionsBuilder_ == null) {
           ensureRegionsIsMutable();
           regions_.set(index, builderForValue.build());
@@ -6937,7 +6937,7 @@ public final class AlignmentProto {
       /**
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Header.Region regions = 1;</code>
        */
-      public Builder addRegions(org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region value) {
+      public Builder addRegions(org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region value) {
         if (regionsBuilder_ == null) {
           if (value == null) {
             throw new NullPointerException();
@@ -6954,7 +6954,7 @@ public final class AlignmentProto {
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Header.Region regions = 1;</code>
        */
       public Builder addRegions(
-          int index, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region value) {
+          int index, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region value) {
         if (regionsBuilder_ == null) {
           if (value == null) {
             throw new NullPointerException();
@@ -6971,7 +6971,7 @@ public final class AlignmentProto {
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Header.Region regions = 1;</code>
        */
       public Builder addRegions(
-          org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region.Builder builderForValue) {
+          org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region.Builder builderForValue) {
         if (regionsBuilder_ == null) {
           ensureRegionsIsMutable();
           regions_.add(builderForValue.build());
@@ -6985,7 +6985,7 @@ public final class AlignmentProto {
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Header.Region regions = 1;</code>
        */
       public Builder addRegions(
-          int index, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region.Builder builderForValue) {
+          int index, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region.Builder builderForValue) {
         if (regionsBuilder_ == null) {
           ensureRegionsIsMutable();
           regions_.add(index, builderForValue.build());
@@ -6999,7 +6999,7 @@ public final class AlignmentProto {
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Header.Region regions = 1;</code>
        */
       public Builder addAllRegions(
-          java.lang.Iterable<? extends org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region> values) {
+          java.lang.Iterable<? extends org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region> values) {
         if (regionsBuilder_ == null) {
           ensureRegionsIsMutable();
           super.addAll(values, regions_);
@@ -7038,14 +7038,14 @@ public final class AlignmentProto {
       /**
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Header.Region regions = 1;</code>
        */
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region.Builder getRegionsBuilder(
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region.Builder getRegionsBuilder(
           int index) {
         return getRegionsFieldBuilder().getBuilder(index);
       }
       /**
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Header.Region regions = 1;</code>
        */
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.RegionOrBuilder getRegionsOrBuilder(
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.RegionOrBuilder getRegionsOrBuilder(
           int index) {
         if (regionsBuilder_ == null) {
           return regions_.get(index);  } else {
@@ -7055,7 +7055,7 @@ public final class AlignmentProto {
       /**
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Header.Region regions = 1;</code>
        */
-      public java.util.List<? extends org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.RegionOrBuilder> 
+      public java.util.List<? extends org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.RegionOrBuilder> 
            getRegionsOrBuilderList() {
         if (regionsBuilder_ != null) {
           return regionsBuilder_.getMessageOrBuilderList();
@@ -7066,31 +7066,31 @@ public final class AlignmentProto {
       /**
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Header.Region regions = 1;</code>
        */
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region.Builder addRegionsBuilder() {
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region.Builder addRegionsBuilder() {
         return getRegionsFieldBuilder().addBuilder(
-            org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region.getDefaultInstance());
+            org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region.getDefaultInstance());
       }
       /**
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Header.Region regions = 1;</code>
        */
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region.Builder addRegionsBuilder(
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region.Builder addRegionsBuilder(
           int index) {
         return getRegionsFieldBuilder().addBuilder(
-            index, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region.getDefaultInstance());
+            index, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region.getDefaultInstance());
       }
       /**
        * <code>repeated .org.opencb.opencga.storage.alignment.proto.Header.Region regions = 1;</code>
        */
-      public java.util.List<org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region.Builder> 
+      public java.util.List<org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region.Builder> 
            getRegionsBuilderList() {
         return getRegionsFieldBuilder().getBuilderList();
       }
       private com.google.protobuf.RepeatedFieldBuilder<
-          org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region.Builder, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.RegionOrBuilder> 
+          org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region.Builder, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.RegionOrBuilder> 
           getRegionsFieldBuilder() {
         if (regionsBuilder_ == null) {
           regionsBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
-              org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.Region.Builder, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Header.RegionOrBuilder>(
+              org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.Region.Builder, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Header.RegionOrBuilder>(
                   regions_,
                   ((bitField0_ & 0x00000001) == 0x00000001),
                   getParentForChildren(),
@@ -7230,14 +7230,14 @@ public final class AlignmentProto {
     }
     public static final com.google.protobuf.Descriptors.Descriptor
         getDescriptor() {
-      return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_MeanCoverage_descriptor;
+      return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_MeanCoverage_descriptor;
     }
 
     protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
         internalGetFieldAccessorTable() {
-      return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_MeanCoverage_fieldAccessorTable
+      return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_MeanCoverage_fieldAccessorTable
           .ensureFieldAccessorsInitialized(
-              org.opencb.opencga.storage.alignment.proto.AlignmentProto.MeanCoverage.class, org.opencb.opencga.storage.alignment.proto.AlignmentProto.MeanCoverage.Builder.class);
+              org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.MeanCoverage.class, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.MeanCoverage.Builder.class);
     }
 
     public static com.google.protobuf.Parser<MeanCoverage> PARSER =
@@ -7319,53 +7319,53 @@ public final class AlignmentProto {
       return super.writeReplace();
     }
 
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.MeanCoverage parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.MeanCoverage parseFrom(
         com.google.protobuf.ByteString data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.MeanCoverage parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.MeanCoverage parseFrom(
         com.google.protobuf.ByteString data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.MeanCoverage parseFrom(byte[] data)
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.MeanCoverage parseFrom(byte[] data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.MeanCoverage parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.MeanCoverage parseFrom(
         byte[] data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.MeanCoverage parseFrom(java.io.InputStream input)
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.MeanCoverage parseFrom(java.io.InputStream input)
         throws java.io.IOException {
       return PARSER.parseFrom(input);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.MeanCoverage parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.MeanCoverage parseFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return PARSER.parseFrom(input, extensionRegistry);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.MeanCoverage parseDelimitedFrom(java.io.InputStream input)
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.MeanCoverage parseDelimitedFrom(java.io.InputStream input)
         throws java.io.IOException {
       return PARSER.parseDelimitedFrom(input);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.MeanCoverage parseDelimitedFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.MeanCoverage parseDelimitedFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return PARSER.parseDelimitedFrom(input, extensionRegistry);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.MeanCoverage parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.MeanCoverage parseFrom(
         com.google.protobuf.CodedInputStream input)
         throws java.io.IOException {
       return PARSER.parseFrom(input);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.MeanCoverage parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.MeanCoverage parseFrom(
         com.google.protobuf.CodedInputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
@@ -7374,7 +7374,7 @@ public final class AlignmentProto {
 
     public static Builder newBuilder() { return Builder.create(); }
     public Builder newBuilderForType() { return newBuilder(); }
-    public static Builder newBuilder(org.opencb.opencga.storage.alignment.proto.AlignmentProto.MeanCoverage prototype) {
+    public static Builder newBuilder(org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.MeanCoverage prototype) {
       return newBuilder().mergeFrom(prototype);
     }
     public Builder toBuilder() { return newBuilder(this); }
@@ -7390,20 +7390,20 @@ public final class AlignmentProto {
      */
     public static final class Builder extends
         com.google.protobuf.GeneratedMessage.Builder<Builder>
-       implements org.opencb.opencga.storage.alignment.proto.AlignmentProto.MeanCoverageOrBuilder {
+       implements org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.MeanCoverageOrBuilder {
       public static final com.google.protobuf.Descriptors.Descriptor
           getDescriptor() {
-        return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_MeanCoverage_descriptor;
+        return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_MeanCoverage_descriptor;
       }
 
       protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
           internalGetFieldAccessorTable() {
-        return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_MeanCoverage_fieldAccessorTable
+        return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_MeanCoverage_fieldAccessorTable
             .ensureFieldAccessorsInitialized(
-                org.opencb.opencga.storage.alignment.proto.AlignmentProto.MeanCoverage.class, org.opencb.opencga.storage.alignment.proto.AlignmentProto.MeanCoverage.Builder.class);
+                org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.MeanCoverage.class, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.MeanCoverage.Builder.class);
       }
 
-      // Construct using org.opencb.opencga.storage.alignment.proto.AlignmentProto.MeanCoverage.newBuilder()
+      // Construct using org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.MeanCoverage.newBuilder()
       private Builder() {
         maybeForceBuilderInitialization();
       }
@@ -7434,23 +7434,23 @@ public final class AlignmentProto {
 
       public com.google.protobuf.Descriptors.Descriptor
           getDescriptorForType() {
-        return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_MeanCoverage_descriptor;
+        return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_MeanCoverage_descriptor;
       }
 
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.MeanCoverage getDefaultInstanceForType() {
-        return org.opencb.opencga.storage.alignment.proto.AlignmentProto.MeanCoverage.getDefaultInstance();
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.MeanCoverage getDefaultInstanceForType() {
+        return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.MeanCoverage.getDefaultInstance();
       }
 
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.MeanCoverage build() {
-        org.opencb.opencga.storage.alignment.proto.AlignmentProto.MeanCoverage result = buildPartial();
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.MeanCoverage build() {
+        org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.MeanCoverage result = buildPartial();
         if (!result.isInitialized()) {
           throw newUninitializedMessageException(result);
         }
         return result;
       }
 
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.MeanCoverage buildPartial() {
-        org.opencb.opencga.storage.alignment.proto.AlignmentProto.MeanCoverage result = new org.opencb.opencga.storage.alignment.proto.AlignmentProto.MeanCoverage(this);
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.MeanCoverage buildPartial() {
+        org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.MeanCoverage result = new org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.MeanCoverage(this);
         int from_bitField0_ = bitField0_;
         int to_bitField0_ = 0;
         if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
@@ -7463,16 +7463,16 @@ public final class AlignmentProto {
       }
 
       public Builder mergeFrom(com.google.protobuf.Message other) {
-        if (other instanceof org.opencb.opencga.storage.alignment.proto.AlignmentProto.MeanCoverage) {
-          return mergeFrom((org.opencb.opencga.storage.alignment.proto.AlignmentProto.MeanCoverage)other);
+        if (other instanceof org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.MeanCoverage) {
+          return mergeFrom((org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.MeanCoverage)other);
         } else {
           super.mergeFrom(other);
           return this;
         }
       }
 
-      public Builder mergeFrom(org.opencb.opencga.storage.alignment.proto.AlignmentProto.MeanCoverage other) {
-        if (other == org.opencb.opencga.storage.alignment.proto.AlignmentProto.MeanCoverage.getDefaultInstance()) return this;
+      public Builder mergeFrom(org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.MeanCoverage other) {
+        if (other == org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.MeanCoverage.getDefaultInstance()) return this;
         if (other.hasCoverage()) {
           setCoverage(other.getCoverage());
         }
@@ -7492,11 +7492,11 @@ public final class AlignmentProto {
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws java.io.IOException {
-        org.opencb.opencga.storage.alignment.proto.AlignmentProto.MeanCoverage parsedMessage = null;
+        org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.MeanCoverage parsedMessage = null;
         try {
           parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
         } catch (com.google.protobuf.InvalidProtocolBufferException e) {
-          parsedMessage = (org.opencb.opencga.storage.alignment.proto.AlignmentProto.MeanCoverage) e.getUnfinishedMessage();
+          parsedMessage = (org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.MeanCoverage) e.getUnfinishedMessage();
           throw e;
         } finally {
           if (parsedMessage != null) {
@@ -7809,14 +7809,14 @@ public final class AlignmentProto {
     }
     public static final com.google.protobuf.Descriptors.Descriptor
         getDescriptor() {
-      return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Coverage_descriptor;
+      return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Coverage_descriptor;
     }
 
     protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
         internalGetFieldAccessorTable() {
-      return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Coverage_fieldAccessorTable
+      return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Coverage_fieldAccessorTable
           .ensureFieldAccessorsInitialized(
-              org.opencb.opencga.storage.alignment.proto.AlignmentProto.Coverage.class, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Coverage.Builder.class);
+              org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Coverage.class, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Coverage.Builder.class);
     }
 
     public static com.google.protobuf.Parser<Coverage> PARSER =
@@ -8099,53 +8099,53 @@ public final class AlignmentProto {
       return super.writeReplace();
     }
 
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Coverage parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Coverage parseFrom(
         com.google.protobuf.ByteString data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Coverage parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Coverage parseFrom(
         com.google.protobuf.ByteString data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Coverage parseFrom(byte[] data)
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Coverage parseFrom(byte[] data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Coverage parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Coverage parseFrom(
         byte[] data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Coverage parseFrom(java.io.InputStream input)
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Coverage parseFrom(java.io.InputStream input)
         throws java.io.IOException {
       return PARSER.parseFrom(input);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Coverage parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Coverage parseFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return PARSER.parseFrom(input, extensionRegistry);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Coverage parseDelimitedFrom(java.io.InputStream input)
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Coverage parseDelimitedFrom(java.io.InputStream input)
         throws java.io.IOException {
       return PARSER.parseDelimitedFrom(input);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Coverage parseDelimitedFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Coverage parseDelimitedFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return PARSER.parseDelimitedFrom(input, extensionRegistry);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Coverage parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Coverage parseFrom(
         com.google.protobuf.CodedInputStream input)
         throws java.io.IOException {
       return PARSER.parseFrom(input);
     }
-    public static org.opencb.opencga.storage.alignment.proto.AlignmentProto.Coverage parseFrom(
+    public static org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Coverage parseFrom(
         com.google.protobuf.CodedInputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
@@ -8154,7 +8154,7 @@ public final class AlignmentProto {
 
     public static Builder newBuilder() { return Builder.create(); }
     public Builder newBuilderForType() { return newBuilder(); }
-    public static Builder newBuilder(org.opencb.opencga.storage.alignment.proto.AlignmentProto.Coverage prototype) {
+    public static Builder newBuilder(org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Coverage prototype) {
       return newBuilder().mergeFrom(prototype);
     }
     public Builder toBuilder() { return newBuilder(this); }
@@ -8170,20 +8170,20 @@ public final class AlignmentProto {
      */
     public static final class Builder extends
         com.google.protobuf.GeneratedMessage.Builder<Builder>
-       implements org.opencb.opencga.storage.alignment.proto.AlignmentProto.CoverageOrBuilder {
+       implements org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.CoverageOrBuilder {
       public static final com.google.protobuf.Descriptors.Descriptor
           getDescriptor() {
-        return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Coverage_descriptor;
+        return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Coverage_descriptor;
       }
 
       protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
           internalGetFieldAccessorTable() {
-        return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Coverage_fieldAccessorTable
+        return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Coverage_fieldAccessorTable
             .ensureFieldAccessorsInitialized(
-                org.opencb.opencga.storage.alignment.proto.AlignmentProto.Coverage.class, org.opencb.opencga.storage.alignment.proto.AlignmentProto.Coverage.Builder.class);
+                org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Coverage.class, org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Coverage.Builder.class);
       }
 
-      // Construct using org.opencb.opencga.storage.alignment.proto.AlignmentProto.Coverage.newBuilder()
+      // Construct using org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Coverage.newBuilder()
       private Builder() {
         maybeForceBuilderInitialization();
       }
@@ -8222,23 +8222,23 @@ public final class AlignmentProto {
 
       public com.google.protobuf.Descriptors.Descriptor
           getDescriptorForType() {
-        return org.opencb.opencga.storage.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Coverage_descriptor;
+        return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.internal_static_org_opencb_opencga_storage_alignment_proto_Coverage_descriptor;
       }
 
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Coverage getDefaultInstanceForType() {
-        return org.opencb.opencga.storage.alignment.proto.AlignmentProto.Coverage.getDefaultInstance();
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Coverage getDefaultInstanceForType() {
+        return org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Coverage.getDefaultInstance();
       }
 
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Coverage build() {
-        org.opencb.opencga.storage.alignment.proto.AlignmentProto.Coverage result = buildPartial();
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Coverage build() {
+        org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Coverage result = buildPartial();
         if (!result.isInitialized()) {
           throw newUninitializedMessageException(result);
         }
         return result;
       }
 
-      public org.opencb.opencga.storage.alignment.proto.AlignmentProto.Coverage buildPartial() {
-        org.opencb.opencga.storage.alignment.proto.AlignmentProto.Coverage result = new org.opencb.opencga.storage.alignment.proto.AlignmentProto.Coverage(this);
+      public org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Coverage buildPartial() {
+        org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Coverage result = new org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Coverage(this);
         int from_bitField0_ = bitField0_;
         if (((bitField0_ & 0x00000001) == 0x00000001)) {
           all_ = java.util.Collections.unmodifiableList(all_);
@@ -8270,16 +8270,16 @@ public final class AlignmentProto {
       }
 
       public Builder mergeFrom(com.google.protobuf.Message other) {
-        if (other instanceof org.opencb.opencga.storage.alignment.proto.AlignmentProto.Coverage) {
-          return mergeFrom((org.opencb.opencga.storage.alignment.proto.AlignmentProto.Coverage)other);
+        if (other instanceof org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Coverage) {
+          return mergeFrom((org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Coverage)other);
         } else {
           super.mergeFrom(other);
           return this;
         }
       }
 
-      public Builder mergeFrom(org.opencb.opencga.storage.alignment.proto.AlignmentProto.Coverage other) {
-        if (other == org.opencb.opencga.storage.alignment.proto.AlignmentProto.Coverage.getDefaultInstance()) return this;
+      public Builder mergeFrom(org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Coverage other) {
+        if (other == org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Coverage.getDefaultInstance()) return this;
         if (!other.all_.isEmpty()) {
           if (all_.isEmpty()) {
             all_ = other.all_;
@@ -8342,11 +8342,11 @@ public final class AlignmentProto {
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws java.io.IOException {
-        org.opencb.opencga.storage.alignment.proto.AlignmentProto.Coverage parsedMessage = null;
+        org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Coverage parsedMessage = null;
         try {
           parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
         } catch (com.google.protobuf.InvalidProtocolBufferException e) {
-          parsedMessage = (org.opencb.opencga.storage.alignment.proto.AlignmentProto.Coverage) e.getUnfinishedMessage();
+          parsedMessage = (org.opencb.opencga.storage.hbase.alignment.proto.AlignmentProto.Coverage) e.getUnfinishedMessage();
           throw e;
         } finally {
           if (parsedMessage != null) {
@@ -1,13 +1,12 @@
-package org.opencb.opencga.storage.alignment.proto;
+package org.opencb.opencga.storage.hbase.alignment.proto;
 
 import com.google.protobuf.ByteString;
 
 import java.util.*;
-import org.opencb.biodata.formats.alignment.AlignmentFactory;
 import org.opencb.biodata.models.alignment.Alignment;
 import org.opencb.biodata.models.alignment.Alignment.AlignmentDifference;
-import org.opencb.biodata.models.alignment.AlignmentHeader;
-import org.opencb.opencga.storage.alignment.AlignmentSummary;
+import org.opencb.biodata.models.alignment.stats.RegionCoverage;
+import org.opencb.opencga.storage.hbase.alignment.AlignmentSummary;
 
 /**
  * Created with IntelliJ IDEA.
@@ -223,9 +222,44 @@ public class AlignmentProtoHelper {
         return offset;
     }
 
-    
-    
-    
+
+    /**
+     * Copies the positions of a coverage bucket into a RegionCoverage. Positions out of the
+     * RegionCoverage are ignored.
+     * The nucleotide counters are stored as pairs [number of skipped zeros, value]
+     * (see AlignmentRegionCoverageHBaseDataWriter)
+     *
+     * @param coverage          Coverage bucket
+     * @param bucketStart       First position of the bucket
+     * @param regionCoverage    RegionCoverage to fill. Must have start and initialized arrays.
+     */
+    public static void toRegionCoverage(AlignmentProto.Coverage coverage, long bucketStart, RegionCoverage regionCoverage) {
+        long regionStart = regionCoverage.getStart();
+        short[] all = regionCoverage.getAll();
+        for (int i = 0; i < coverage.getAllCount(); i++) {
+            long index = bucketStart + i - regionStart;
+            if (index >= 0 && index < all.length) {
+                all[(int) index] = (short) coverage.getAll(i);
+            }
+        }
+        toNucleotideCoverage(coverage.getAList(), bucketStart, regionStart, regionCoverage.getA());
+        toNucleotideCoverage(coverage.getCList(), bucketStart, regionStart, regionCoverage.getC());
+        toNucleotideCoverage(coverage.getGList(), bucketStart, regionStart, regionCoverage.getG());
+        toNucleotideCoverage(coverage.getTList(), bucketStart, regionStart, regionCoverage.getT());
+    }
+
+    private static void toNucleotideCoverage(List<Integer> pairs, long bucketStart, long regionStart, short[] nucleotide) {
+        long position = bucketStart;
+        for (int i = 0; i + 1 < pairs.size(); i += 2) {
+            position += pairs.get(i);
+            long index = position - regionStart;
+            if (index >= 0 && index < nucleotide.length) {
+                nucleotide[(int) index] = pairs.get(i + 1).shortValue();
+            }
+            position++;
+        }
+    }
+
     /**
      * Compression Core. UNIMPLEMENTED!
      *
@@ -0,0 +1,55 @@
+package org.opencb.opencga.storage.hbase.alignment.proto;
+
+import org.junit.Test;
+import org.opencb.biodata.models.alignment.stats.RegionCoverage;
+import org.opencb.commons.test.GenericTest;
+
+import static org.junit.Assert.*;
+
+public class AlignmentProtoHelperTest extends GenericTest {
+
+    @Test
+    public void testToRegionCoverage() throws Exception {
+        // Bucket starting at 100. Coverage of 3 positions, "A" covered at 101 and "T" covered at 100 and 102
+        AlignmentProto.Coverage coverage = AlignmentProto.Coverage.newBuilder()
+                .addAll(1).addAll(2).addAll(1)
+                .addA(1).addA(2)
+                .addT(0).addT(1).addT(1).addT(1)
+                .build();
+
+        RegionCoverage regionCoverage = createRegionCoverage(101, 2);
+        AlignmentProtoHelper.toRegionCoverage(coverage, 100, regionCoverage);
+
+        assertArrayEquals(new short[]{2, 1}, regionCoverage.getAll());
+        assertArrayEquals(new short[]{2, 0}, regionCoverage.getA());
+        assertArrayEquals(new short[]{0, 0}, regionCoverage.getC());
+        assertArrayEquals(new short[]{0, 1}, regionCoverage.getT());
+    }
+
+    @Test
+    public void testToRegionCoverageOutOfRegion() throws Exception {
+        AlignmentProto.Coverage coverage = AlignmentProto.Coverage.newBuilder()
+                .addAll(5).addAll(5)
+                .addG(0).addG(5).addG(0).addG(5)
+                .build();
+
+        RegionCoverage regionCoverage = createRegionCoverage(10, 3);
+        AlignmentProtoHelper.toRegionCoverage(coverage, 12, regionCoverage);
+
+        assertArrayEquals(new short[]{0, 0, 5}, regionCoverage.getAll());
+        assertArrayEquals(new short[]{0, 0, 5}, regionCoverage.getG());
+    }
+
+    private RegionCoverage createRegionCoverage(long start, int size) {
+        RegionCoverage regionCoverage = new RegionCoverage();
+        regionCoverage.setChromosome("1");
+        regionCoverage.setStart(start);
+        regionCoverage.setEnd(start + size - 1);
+        regionCoverage.setAll(new short[size]);
+        regionCoverage.setA(new short[size]);
+        regionCoverage.setC(new short[size]);
+        regionCoverage.setG(new short[size]);
+        regionCoverage.setT(new short[size]);
+        return regionCoverage;
+    }
+}
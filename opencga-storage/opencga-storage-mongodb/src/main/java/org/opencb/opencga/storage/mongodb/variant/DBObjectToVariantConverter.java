@@ -33,6 +33,8 @@ public class DBObjectToVariantConverter implements ComplexTypeConverter<Variant,
     public final static String EFFECTS_FIELD = "effs";
     public final static String SOTERM_FIELD = "so";
     public final static String GENE_FIELD = "gene";
+
+    public final static String ANNOTATION_FIELD = "annot";
     
     
     private DBObjectToVariantSourceEntryConverter archivedVariantFileConverter;
@@ -15,6 +15,7 @@ import org.opencb.datastore.mongodb.MongoDBConfiguration;
 import org.opencb.datastore.mongodb.MongoDataStore;
 import org.opencb.datastore.mongodb.MongoDataStoreManager;
 import org.opencb.opencga.storage.core.variant.adaptors.VariantDBIterator;
+import org.opencb.opencga.storage.core.variant.annotation.VariantAnnotationWriter;
 import org.opencb.opencga.storage.mongodb.utils.MongoCredentials;
 import org.opencb.opencga.storage.core.variant.adaptors.VariantDBAdaptor;
 import org.slf4j.Logger;
@@ -390,6 +391,13 @@ public class VariantMongoDBAdaptor implements VariantDBAdaptor {
     }
 
 
+    /**
+     * Writer of annotations over the variants of this database, with bulk updates.
+     */
+    public VariantAnnotationWriter getAnnotationWriter() {
+        return new VariantMongoDBAnnotationWriter(db.getDb().getCollection(collectionName), variantConverter);
+    }
+
     @Override
     public boolean close() {
         mongoManager.close(db.getDatabaseName());
@@ -472,14 +480,14 @@ public class VariantMongoDBAdaptor implements VariantDBAdaptor {
             }
 
             if (options.containsKey("studies")) { // && !options.getList("studies").isEmpty() && !options.getListAs("studies", String.class).get(0).isEmpty()) {
-                System.out.println("# studies = " + options.getList("studies").size());
+                logger.debug("# studies = {}", options.getList("studies").size());
 //                getStudyFilter(options.getListAs("studies", String.class), builder);
                 addQueryListFilter(DBObjectToVariantConverter.FILES_FIELD + "." +
                         DBObjectToVariantSourceEntryConverter.STUDYID_FIELD, options.getListAs("studies", String.class), builder);
             }
 
             if (options.containsKey("files")) { // && !options.getList("files").isEmpty() && !options.getListAs("files", String.class).get(0).isEmpty()) {
-                System.out.println("# files = " + options.getList("files").size());
+                logger.debug("# files = {}", options.getList("files").size());
 //                getFileFilter(options.getListAs("files", String.class), builder);
                 addQueryListFilter(DBObjectToVariantConverter.FILES_FIELD + "." +
                         DBObjectToVariantSourceConverter.FILEID_FIELD, options.getListAs("files", String.class), builder);
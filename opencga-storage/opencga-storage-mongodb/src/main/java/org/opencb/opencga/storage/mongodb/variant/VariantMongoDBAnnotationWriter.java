@@ -0,0 +1,52 @@
+package org.opencb.opencga.storage.mongodb.variant;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mongodb.*;
+import com.mongodb.util.JSON;
+import org.opencb.biodata.models.variant.Variant;
+import org.opencb.opencga.storage.core.variant.annotation.VariantAnnotationWriter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Sets the annotation field of the variants. Each batch is written with one unordered bulk update.
+ */
+public class VariantMongoDBAnnotationWriter implements VariantAnnotationWriter {
+
+    private final DBCollection variantsCollection;
+    private final DBObjectToVariantConverter variantConverter;
+    private final ObjectWriter jsonObjectWriter;
+
+    VariantMongoDBAnnotationWriter(DBCollection variantsCollection, DBObjectToVariantConverter variantConverter) { //Package protected
+        this.variantsCollection = variantsCollection;
+        this.variantConverter = variantConverter;
+        this.jsonObjectWriter = new ObjectMapper().writer();
+    }
+
+    @Override
+    public void write(List<Variant> variants, List<?> annotations) throws IOException {
+        BulkWriteOperation bulk = variantsCollection.initializeUnorderedBulkOperation();
+        int numUpdates = 0;
+        for (int i = 0; i < variants.size(); i++) {
+            Object annotation = annotations.get(i);
+            if (annotation == null) {
+                continue;
+            }
+            DBObject query = new BasicDBObject("_id", variantConverter.buildStorageId(variants.get(i)));
+            DBObject update = new BasicDBObject("$set", new BasicDBObject(DBObjectToVariantConverter.ANNOTATION_FIELD,
+                    JSON.parse(jsonObjectWriter.writeValueAsString(annotation))));
+            bulk.find(query).updateOne(update);
+            numUpdates++;
+        }
+        if (numUpdates == 0) {
+            return;
+        }
+        try {
+            bulk.execute();
+        } catch (MongoException e) {
+            throw new IOException("Unable to write " + numUpdates + " variant annotations", e);
+        }
+    }
+}